@@ -0,0 +1,35 @@
+CREATE INDEX idx_inventory_itemname_nocase ON inventory (itemname COLLATE NOCASE);
+CREATE INDEX idx_inventory_low_stock ON inventory (_id) WHERE itemquantity <= lowthreshold;
+CREATE UNIQUE INDEX idx_inventory_sku ON inventory (sku) WHERE sku IS NOT NULL;
+CREATE INDEX idx_inventory_sync_dirty ON inventory (_id) WHERE (syncbase IS NULL OR itemquantity <> syncbase);
+CREATE UNIQUE INDEX idx_inventory_sync_id ON inventory (syncid);
+CREATE INDEX idx_location_stock_location ON location_stock (locationid, itemid);
+CREATE UNIQUE INDEX idx_locations_name_nocase ON locations (locationname COLLATE NOCASE);
+CREATE INDEX idx_stock_movements_item_time ON stock_movements (itemid, createdat, delta);
+CREATE INDEX idx_stock_movements_time ON stock_movements (createdat);
+CREATE INDEX idx_users_username_nocase ON users (username COLLATE NOCASE);
+CREATE TABLE inventory (_id INTEGER PRIMARY KEY AUTOINCREMENT, itemname TEXT NOT NULL, itemquantity INTEGER NOT NULL, lowthreshold INTEGER NOT NULL DEFAULT 2, lowalerted INTEGER NOT NULL DEFAULT 0, syncid TEXT, syncbase INTEGER, syncversion INTEGER NOT NULL DEFAULT 0, sku TEXT);
+CREATE VIRTUAL TABLE inventory_fts USING fts4(content="inventory", itemname, prefix="2,3");
+CREATE TABLE location_stock (itemid INTEGER NOT NULL, locationid INTEGER NOT NULL, quantity INTEGER NOT NULL, PRIMARY KEY (itemid, locationid)) WITHOUT ROWID;
+CREATE TABLE locations (_id INTEGER PRIMARY KEY AUTOINCREMENT, locationname TEXT NOT NULL);
+CREATE TABLE stock_movements (_id INTEGER PRIMARY KEY AUTOINCREMENT, itemid INTEGER NOT NULL, kind INTEGER NOT NULL, delta INTEGER NOT NULL, createdat INTEGER NOT NULL);
+CREATE TABLE stock_snapshots (itemid INTEGER NOT NULL, asof INTEGER NOT NULL, quantity INTEGER NOT NULL, PRIMARY KEY (itemid, asof)) WITHOUT ROWID;
+CREATE TABLE sync_state (key TEXT PRIMARY KEY, value TEXT NOT NULL) WITHOUT ROWID;
+CREATE TABLE sync_tombstones (syncid TEXT PRIMARY KEY) WITHOUT ROWID;
+CREATE TABLE users (_id INTEGER PRIMARY KEY AUTOINCREMENT, username TEXT NOT NULL, password TEXT NOT NULL);
+CREATE TRIGGER inventory_fts_ai AFTER INSERT ON inventory BEGIN INSERT INTO inventory_fts (docid, itemname) VALUES (new._id, new.itemname); END;
+CREATE TRIGGER inventory_fts_au AFTER UPDATE OF itemname ON inventory BEGIN INSERT INTO inventory_fts (docid, itemname) VALUES (new._id, new.itemname); END;
+CREATE TRIGGER inventory_fts_bd BEFORE DELETE ON inventory BEGIN DELETE FROM inventory_fts WHERE docid = old._id; END;
+CREATE TRIGGER inventory_fts_bu BEFORE UPDATE OF itemname ON inventory BEGIN DELETE FROM inventory_fts WHERE docid = old._id; END;
+CREATE TRIGGER inventory_location_stock_ad AFTER DELETE ON inventory BEGIN DELETE FROM location_stock WHERE itemid = old._id; END;
+CREATE TRIGGER inventory_location_stock_ai AFTER INSERT ON inventory BEGIN INSERT INTO location_stock (itemid, locationid, quantity) VALUES (new._id, 1, new.itemquantity); END;
+CREATE TRIGGER inventory_location_stock_au AFTER UPDATE OF itemquantity ON inventory WHEN new.itemquantity <> (SELECT COALESCE(SUM(quantity), 0) FROM location_stock WHERE itemid = new._id) BEGIN INSERT OR IGNORE INTO location_stock (itemid, locationid, quantity) VALUES (new._id, 1, 0); UPDATE location_stock SET quantity = new.itemquantity - (SELECT COALESCE(SUM(quantity), 0) FROM location_stock WHERE itemid = new._id AND locationid <> 1) WHERE itemid = new._id AND locationid = 1; END;
+CREATE TRIGGER inventory_low_alert_reset AFTER UPDATE OF itemquantity, lowthreshold ON inventory WHEN new.lowalerted = 1 AND new.itemquantity > new.lowthreshold BEGIN UPDATE inventory SET lowalerted = 0 WHERE _id = new._id; END;
+CREATE TRIGGER inventory_sync_id AFTER INSERT ON inventory WHEN new.syncid IS NULL BEGIN UPDATE inventory SET syncid = lower(hex(randomblob(16))) WHERE _id = new._id; END;
+CREATE TRIGGER inventory_sync_tombstone AFTER DELETE ON inventory WHEN old.syncbase IS NOT NULL BEGIN INSERT OR IGNORE INTO sync_tombstones (syncid) VALUES (old.syncid); END;
+CREATE TRIGGER location_stock_total_ad AFTER DELETE ON location_stock BEGIN UPDATE inventory SET itemquantity = (SELECT COALESCE(SUM(quantity), 0) FROM location_stock WHERE itemid = old.itemid) WHERE _id = old.itemid AND itemquantity <> (SELECT COALESCE(SUM(quantity), 0) FROM location_stock WHERE itemid = old.itemid); END;
+CREATE TRIGGER location_stock_total_ai AFTER INSERT ON location_stock BEGIN UPDATE inventory SET itemquantity = (SELECT COALESCE(SUM(quantity), 0) FROM location_stock WHERE itemid = new.itemid) WHERE _id = new.itemid AND itemquantity <> (SELECT COALESCE(SUM(quantity), 0) FROM location_stock WHERE itemid = new.itemid); END;
+CREATE TRIGGER location_stock_total_au AFTER UPDATE OF quantity ON location_stock WHEN new.quantity <> old.quantity BEGIN UPDATE inventory SET itemquantity = (SELECT COALESCE(SUM(quantity), 0) FROM location_stock WHERE itemid = new.itemid) WHERE _id = new.itemid AND itemquantity <> (SELECT COALESCE(SUM(quantity), 0) FROM location_stock WHERE itemid = new.itemid); END;
+CREATE TRIGGER stock_movements_ad AFTER DELETE ON inventory BEGIN INSERT INTO stock_movements (itemid, kind, delta, createdat) VALUES (old._id, 3, -old.itemquantity, CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)); END;
+CREATE TRIGGER stock_movements_ai AFTER INSERT ON inventory BEGIN INSERT INTO stock_movements (itemid, kind, delta, createdat) VALUES (new._id, 1, new.itemquantity, CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)); END;
+CREATE TRIGGER stock_movements_au AFTER UPDATE OF itemquantity ON inventory WHEN new.itemquantity <> old.itemquantity BEGIN INSERT INTO stock_movements (itemid, kind, delta, createdat) VALUES (new._id, 2, new.itemquantity - old.itemquantity, CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)); END;
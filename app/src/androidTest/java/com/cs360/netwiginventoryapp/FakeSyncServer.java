@@ -0,0 +1,222 @@
+package com.cs360.netwiginventoryapp;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.Buffer;
+
+/**
+ * In-memory sync server for MockWebServer, implementing the protocol described in
+ * InventorySyncClient: pushed deltas are added to the server quantity (deduplicated per
+ * device, row and base version), and pulls page through rows by version.
+ */
+public class FakeSyncServer extends Dispatcher {
+
+    private static final class Row {
+        String syncId;
+        String name;
+        int quantity;
+        long version;
+        boolean deleted;
+        // device that made the latest change, its own pulls leave the row out
+        String lastDevice;
+    }
+
+    private final Map<String, Row> mRows = new HashMap<>();
+    // device|syncId|base -> delta already applied for that base
+    private final Map<String, Integer> mApplied = new HashMap<>();
+    private long mVersion;
+
+    private final List<Long> mPushBodySizes = new ArrayList<>();
+    private int mPullRequests;
+    private boolean mAllRequestsGzipped = true;
+    private int mResponsesToDrop;
+
+    @Override
+    public synchronized MockResponse dispatch(RecordedRequest request) {
+        MockResponse response;
+        try {
+            String path = request.getRequestUrl().encodedPath();
+            if (path.endsWith("/" + InventorySyncClient.PUSH_PATH)) {
+                response = push(request);
+            } else if (path.endsWith("/" + InventorySyncClient.PULL_PATH)) {
+                response = pull(request);
+            } else {
+                return new MockResponse().setResponseCode(404);
+            }
+        } catch (IOException | JSONException e) {
+            return new MockResponse().setResponseCode(500);
+        }
+        if (mResponsesToDrop > 0) {
+            // the request has been applied, but the client never hears back
+            mResponsesToDrop--;
+            return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+        }
+        return response;
+    }
+
+    private MockResponse push(RecordedRequest request) throws IOException, JSONException {
+        mPushBodySizes.add(request.getBodySize());
+        mAllRequestsGzipped &= "gzip".equals(request.getHeader("Content-Encoding"));
+        JSONObject body = new JSONObject(gunzip(request.getBody().inputStream()));
+        String device = body.getString("device");
+
+        JSONArray results = new JSONArray();
+        JSONArray changes = body.getJSONArray("changes");
+        for (int i = 0; i < changes.length(); i++) {
+            JSONObject change = changes.getJSONObject(i);
+            String syncId = change.getString("id");
+            JSONObject result = new JSONObject().put("id", syncId);
+
+            Row row = mRows.get(syncId);
+            if (row == null) {
+                // first push of a new item, merged into an existing live item with the same name
+                row = liveRowNamed(change.getString("name"));
+                if (row == null) {
+                    row = new Row();
+                    row.syncId = syncId;
+                    row.name = change.getString("name");
+                    mRows.put(syncId, row);
+                } else {
+                    result.put("mergedInto", row.syncId);
+                }
+            }
+            if (!row.deleted) {
+                String key = device + "|" + row.syncId + "|" + change.getLong("base");
+                int delta = change.getInt("delta");
+                Integer already = mApplied.get(key);
+                int applied = already == null ? 0 : already;
+                if (delta != applied || already == null) {
+                    row.quantity += delta - applied;
+                    row.version = ++mVersion;
+                    row.lastDevice = device;
+                    mApplied.put(key, delta);
+                }
+            }
+            results.put(result.put("quantity", row.quantity).put("version", row.version).put("deleted", row.deleted));
+        }
+
+        JSONArray deletes = body.getJSONArray("deletes");
+        for (int i = 0; i < deletes.length(); i++) {
+            Row row = mRows.get(deletes.getString(i));
+            if (row != null && !row.deleted) {
+                row.deleted = true;
+                row.version = ++mVersion;
+                row.lastDevice = device;
+            }
+        }
+        return json(new JSONObject().put("results", results));
+    }
+
+    private MockResponse pull(RecordedRequest request) throws IOException, JSONException {
+        mPullRequests++;
+        String device = request.getRequestUrl().queryParameter("device");
+        long since = Long.parseLong(request.getRequestUrl().queryParameter("since"));
+        int limit = Integer.parseInt(request.getRequestUrl().queryParameter("limit"));
+
+        List<Row> newer = new ArrayList<>();
+        for (Row row : mRows.values()) {
+            if (row.version > since) {
+                newer.add(row);
+            }
+        }
+        newer.sort((a, b) -> Long.compare(a.version, b.version));
+
+        // the device already has its own changes from its push results, they are skipped but still
+        // move next along
+        JSONArray changes = new JSONArray();
+        long next = since;
+        int i = 0;
+        for (; i < newer.size() && changes.length() < limit; i++) {
+            Row row = newer.get(i);
+            next = row.version;
+            if (!row.lastDevice.equals(device)) {
+                changes.put(new JSONObject().put("id", row.syncId).put("name", row.name).put("quantity", row.quantity)
+                        .put("version", row.version).put("deleted", row.deleted));
+            }
+        }
+        return json(new JSONObject().put("changes", changes).put("next", next).put("more", i < newer.size()));
+    }
+
+    private Row liveRowNamed(String name) {
+        for (Row row : mRows.values()) {
+            if (!row.deleted && row.name.equalsIgnoreCase(name)) {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    private static String gunzip(InputStream in) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(in)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = gzip.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static MockResponse json(JSONObject body) throws IOException {
+        Buffer buffer = new Buffer();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer.outputStream())) {
+            gzip.write(body.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setHeader("Content-Encoding", "gzip")
+                .setBody(buffer);
+    }
+
+    // the next count responses are lost after their request has been applied
+    public synchronized void dropResponses(int count) {
+        mResponsesToDrop = count;
+    }
+
+    // server quantity of the live item called name, or null if there is none
+    public synchronized Integer quantityOf(String name) {
+        Row row = liveRowNamed(name);
+        return row == null ? null : row.quantity;
+    }
+
+    public synchronized int liveRowCount() {
+        int live = 0;
+        for (Row row : mRows.values()) {
+            if (!row.deleted) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    // compressed size of each push request body, in order
+    public synchronized List<Long> getPushBodySizes() {
+        return new ArrayList<>(mPushBodySizes);
+    }
+
+    public synchronized int getPullRequests() {
+        return mPullRequests;
+    }
+
+    public synchronized boolean allRequestsGzipped() {
+        return mAllRequestsGzipped;
+    }
+}
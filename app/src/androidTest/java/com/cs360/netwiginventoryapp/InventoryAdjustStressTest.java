@@ -0,0 +1,171 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented concurrency stress test for relative quantity adjustments. Many threads apply
+ * single and batched deltas at once and the final quantities must be exact.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InventoryAdjustStressTest {
+
+    private static final String DB_NAME = "adjust-stress.db";
+    private static final int ITEMS = 20;
+    private static final int THREADS = 16;
+    private static final int OPS_PER_THREAD = 2_000;
+    private static final int START_QTY = 1_000_000;
+
+    private Context mContext;
+    private InventoryDatabase mDb;
+    private long[] mIds;
+
+    @Before
+    public void setUp() {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        mContext.deleteDatabase(DB_NAME);
+        mDb = new InventoryDatabase(mContext, DB_NAME);
+
+        mIds = new long[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            mDb.addInventoryItem("Item " + i, START_QTY);
+            mIds[i] = mDb.inventoryPrimaryKeyLookup("Item " + i);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        mDb.close();
+        mContext.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void concurrentDeltasAreNeverLost() throws Exception {
+        // expected[i] is what item i must end at, each thread tallies its own successful deltas
+        long[][] applied = new long[THREADS][ITEMS];
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(pool.submit(() -> {
+                Random random = new Random(thread);
+                start.await();
+                for (int op = 0; op < OPS_PER_THREAD; op++) {
+                    if (op % 10 == 0) {
+                        // a small pick list applied as one transaction
+                        List<StockAdjustment> batch = new ArrayList<>();
+                        for (int n = 0; n < 5; n++) {
+                            batch.add(new StockAdjustment(mIds[random.nextInt(ITEMS)], random.nextInt(21) - 10));
+                        }
+                        if (mDb.adjustInventoryItemQuantities(batch, 0)) {
+                            for (StockAdjustment adjustment : batch) {
+                                applied[thread][indexOf(adjustment.getId())] += adjustment.getDelta();
+                            }
+                        }
+                    } else {
+                        int item = random.nextInt(ITEMS);
+                        int delta = random.nextInt(21) - 10;
+                        if (mDb.adjustInventoryItemQuantity(mIds[item], delta, 0)) {
+                            applied[thread][item] += delta;
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        InventoryItemStore table = mDb.readInventory();
+        for (int i = 0; i < ITEMS; i++) {
+            long expected = START_QTY;
+            for (int t = 0; t < THREADS; t++) {
+                expected += applied[t][i];
+            }
+            assertEquals("item " + i, expected, table.getQuantity(table.indexOfId(mIds[i])));
+        }
+        // the write-through cache saw the same deltas
+        assertEquals(0, mDb.verifyInventoryCache());
+    }
+
+    @Test
+    public void floorIsCheckedAtomically() throws Exception {
+        // 100 units and 16 threads each trying to pick 1 unit 20 times: exactly 100 picks can succeed
+        long id = mIds[0];
+        mDb.updateInventoryItemQuantity(id, 100);
+        AtomicInteger picks = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20; i++) {
+                    if (mDb.adjustInventoryItemQuantity(id, -1, 0)) {
+                        picks.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        assertEquals(100, picks.get());
+        InventoryItemStore table = mDb.readInventory();
+        assertEquals(0, table.getQuantity(table.indexOfId(id)));
+    }
+
+    @Test
+    public void failedBatchChangesNothing() {
+        mDb.updateInventoryItemQuantity(mIds[0], 5);
+        mDb.updateInventoryItemQuantity(mIds[1], 5);
+
+        boolean adjusted = mDb.adjustInventoryItemQuantities(Arrays.asList(
+                new StockAdjustment(mIds[0], -3),
+                new StockAdjustment(mIds[1], -6)), 0);
+
+        assertFalse(adjusted);
+        InventoryItemStore table = mDb.readInventory();
+        assertEquals(5, table.getQuantity(table.indexOfId(mIds[0])));
+        assertEquals(5, table.getQuantity(table.indexOfId(mIds[1])));
+        assertEquals(0, mDb.verifyInventoryCache());
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < mIds.length; i++) {
+            if (mIds[i] == id) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("unknown id " + id);
+    }
+}
@@ -0,0 +1,215 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented randomized test of the write-through inventory cache. Applies seeded random
+ * sequences of adds, imports (some aborted part way, so a chunk rolls back), quantity updates,
+ * adjusts that hit the floor, deletes, location writes and sync pulls/push results to an
+ * InventoryDatabase, and checks after every step that the cache still agrees with the table.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InventoryCacheFuzzTest {
+
+    private static final String DB_NAME = "cache-fuzz.db";
+    private static final long[] SEEDS = { 9, 90, 900 };
+    private static final int STEPS = 1_500;
+    // a small name pool, so duplicate and case-only different names come up all the time
+    private static final int NAMES = 40;
+
+    private Context mContext;
+    private InventoryDatabase mDb;
+    private Random mRandom;
+    private long[] mLocations;
+    private long mServerVersion;
+    private int mRemoteItems;
+
+    @Before
+    public void setUp() {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+    }
+
+    @After
+    public void tearDown() {
+        if (mDb != null) {
+            mDb.close();
+        }
+        mContext.deleteDatabase(DB_NAME);
+    }
+
+    private void openEmptyDatabase(long seed) {
+        if (mDb != null) {
+            mDb.close();
+        }
+        mContext.deleteDatabase(DB_NAME);
+        mDb = new InventoryDatabase(mContext, DB_NAME);
+        mRandom = new Random(seed);
+        mServerVersion = 0;
+        mRemoteItems = 0;
+        mLocations = new long[] { InventoryDatabase.DEFAULT_LOCATION_ID, mDb.addLocation("Back room"),
+                mDb.addLocation("Truck") };
+    }
+
+    @Test
+    public void cacheMatchesTableAfterEveryStep() {
+        for (long seed : SEEDS) {
+            openEmptyDatabase(seed);
+            for (int step = 0; step < STEPS; step++) {
+                String op = applyRandomOperation();
+                assertEquals("seed " + seed + ", step " + step + " (" + op + ")", 0, mDb.verifyInventoryCache());
+            }
+        }
+    }
+
+    // applies one random write and returns its name for the failure message
+    private String applyRandomOperation() {
+        switch (mRandom.nextInt(11)) {
+            case 0:
+                mDb.addInventoryItem(randomName(), mRandom.nextInt(50));
+                return "add";
+            case 1:
+                return importItems();
+            case 2:
+                mDb.updateInventoryItemQuantity(randomId(), mRandom.nextInt(50));
+                return "update";
+            case 3:
+            case 4:
+                // often more than the item has, so the floor refuses it
+                mDb.adjustInventoryItemQuantity(randomId(), mRandom.nextInt(61) - 40, 0);
+                return "adjust";
+            case 5:
+                return adjustBatch();
+            case 6:
+                mDb.deleteInventoryItem(randomId());
+                return "delete";
+            case 7:
+                mDb.setLocationQuantity(randomId(), randomLocation(), mRandom.nextInt(30));
+                return "set location quantity";
+            case 8:
+                mDb.adjustLocationQuantity(randomId(), randomLocation(), mRandom.nextInt(41) - 25, 0);
+                return "adjust location quantity";
+            case 9:
+                return syncPull();
+            default:
+                return syncPush();
+        }
+    }
+
+    // an import with duplicate names and small chunks, a third of them fail part way through, the
+    // committed chunks stay and the open one rolls back
+    private String importItems() {
+        int rows = 1 + mRandom.nextInt(30);
+        List<InventoryItem> items = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            items.add(new InventoryItem(randomName(), mRandom.nextInt(50)));
+        }
+        int chunkSize = 1 + mRandom.nextInt(10);
+        if (mRandom.nextInt(3) != 0) {
+            mDb.addInventoryItems(items, chunkSize, null);
+            return "import";
+        }
+
+        int failAt = mRandom.nextInt(rows);
+        try {
+            mDb.addInventoryItems(failingAfter(items, failAt), chunkSize, null);
+            fail("import should have failed at row " + failAt);
+        } catch (IllegalStateException expected) {
+            // the reader gave up, as a malformed CSV would
+        }
+        return "import failing at row " + failAt + ", chunk " + chunkSize;
+    }
+
+    // one batch, all or nothing, a large negative delta anywhere refuses the whole batch
+    private String adjustBatch() {
+        List<StockAdjustment> batch = new ArrayList<>();
+        int size = 1 + mRandom.nextInt(5);
+        for (int i = 0; i < size; i++) {
+            batch.add(new StockAdjustment(randomId(), mRandom.nextInt(61) - 40));
+        }
+        mDb.adjustInventoryItemQuantities(batch, 0);
+        return "adjust batch";
+    }
+
+    // server changes to rows this device has (some deleted on the server), to rows it created
+    // offline under the same name, and to items only the server knows
+    private String syncPull() {
+        List<SyncChange> changes = new ArrayList<>();
+        for (SyncChange local : mDb.readSyncChanges(0, 1 + mRandom.nextInt(5))) {
+            changes.add(SyncChange.incoming(local.getSyncId(), local.getName(), mRandom.nextInt(50),
+                    ++mServerVersion, mRandom.nextInt(4) == 0));
+        }
+        int remote = mRandom.nextInt(3);
+        for (int i = 0; i < remote; i++) {
+            changes.add(SyncChange.incoming("remote-" + mRemoteItems++, randomName(), mRandom.nextInt(50),
+                    ++mServerVersion, false));
+        }
+        mDb.applySyncPull(changes, mServerVersion);
+        return "sync pull of " + changes.size();
+    }
+
+    // the results of pushing the dirty rows and tombstones, some rows deleted on another device
+    private String syncPush() {
+        List<SyncChange> pushed = mDb.readSyncChanges(0, 1 + mRandom.nextInt(5));
+        List<String> deletes = mDb.readSyncDeletes(mRandom.nextInt(5));
+        List<SyncChange> results = new ArrayList<>(pushed.size());
+        for (SyncChange change : pushed) {
+            results.add(SyncChange.incoming(change.getSyncId(), change.getName(),
+                    change.getQuantity() + mRandom.nextInt(10), ++mServerVersion, mRandom.nextInt(5) == 0));
+        }
+        mDb.applySyncPushResults(pushed, deletes, results);
+        return "sync push of " + pushed.size() + " rows, " + deletes.size() + " deletes";
+    }
+
+    private String randomName() {
+        String name = "Item " + mRandom.nextInt(NAMES);
+        return mRandom.nextInt(4) == 0 ? name.toUpperCase() : name;
+    }
+
+    // an id of a current row, or now and then one that does not exist
+    private long randomId() {
+        InventoryItemStore table = mDb.readInventory();
+        if (table.size() == 0 || mRandom.nextInt(10) == 0) {
+            return 1_000_000L + mRandom.nextInt(1000);
+        }
+        return table.getId(mRandom.nextInt(table.size()));
+    }
+
+    private long randomLocation() {
+        return mLocations[mRandom.nextInt(mLocations.length)];
+    }
+
+    // yields the first failAt items, then throws
+    private static Iterable<InventoryItem> failingAfter(List<InventoryItem> items, int failAt) {
+        return () -> new Iterator<InventoryItem>() {
+            private int mNext;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public InventoryItem next() {
+                if (mNext == failAt) {
+                    throw new IllegalStateException("import aborted at row " + failAt);
+                }
+                return items.get(mNext++);
+            }
+        };
+    }
+}
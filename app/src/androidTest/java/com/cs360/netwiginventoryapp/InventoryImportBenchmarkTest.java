@@ -0,0 +1,116 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented benchmark for the bulk import. Reports rows/second for a 50k-row CSV imported with
+ * several commit chunk sizes and for the row-by-row inserts it replaced, fails if the import takes
+ * a minute or more or is not clearly faster than inserting one row at a time.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InventoryImportBenchmarkTest {
+
+    private static final String DB_NAME = "import-benchmark.db";
+    private static final int ROWS = 50_000;
+    // row-by-row inserts are slow enough that a sample gives a stable rate
+    private static final int SINGLE_ROWS = 2_000;
+    private static final int[] CHUNK_SIZES = { 100, InventoryDatabase.DEFAULT_IMPORT_CHUNK_SIZE, 10_000 };
+    private static final long ONE_MINUTE_MS = 60_000;
+
+    private Context mContext;
+    private InventoryDatabase mDb;
+    private String mCsv;
+
+    @Before
+    public void setUp() {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        openEmptyDatabase();
+
+        StringBuilder csv = new StringBuilder(ROWS * 24);
+        csv.append("item name,quantity\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append("Item ").append(i).append(',').append(1 + i % 50).append('\n');
+        }
+        mCsv = csv.toString();
+    }
+
+    @After
+    public void tearDown() {
+        mDb.close();
+        mContext.deleteDatabase(DB_NAME);
+    }
+
+    private void openEmptyDatabase() {
+        if (mDb != null) {
+            mDb.close();
+        }
+        mContext.deleteDatabase(DB_NAME);
+        mDb = new InventoryDatabase(mContext, DB_NAME);
+    }
+
+    // rows/second, elapsed is in milliseconds
+    private static long rowsPerSecond(int rows, long elapsed) {
+        return rows * 1_000L / Math.max(1, elapsed);
+    }
+
+    // imports the CSV into an empty table and returns the elapsed milliseconds
+    private long importCsv(int chunkSize) {
+        openEmptyDatabase();
+        int[] progressCalls = new int[1];
+        InventoryCsvReader reader = new InventoryCsvReader(new StringReader(mCsv));
+
+        long start = SystemClock.elapsedRealtime();
+        int inserted = mDb.addInventoryItems(reader, chunkSize, rowsImported -> progressCalls[0]++);
+        long elapsed = SystemClock.elapsedRealtime() - start;
+
+        assertEquals(ROWS, inserted);
+        assertEquals(0, reader.getSkippedLines());
+        // once per committed chunk, then once at the end
+        assertEquals(ROWS / chunkSize + 1, progressCalls[0]);
+        Log.i("BENCHMARK", "import " + ROWS + " rows, chunk " + chunkSize + ": " + elapsed + " ms, "
+                + rowsPerSecond(ROWS, elapsed) + " rows/s");
+        return elapsed;
+    }
+
+    @Test
+    public void importsFiftyThousandRowsInsideAMinute() {
+        long elapsed = 0;
+        for (int chunkSize : CHUNK_SIZES) {
+            long chunkElapsed = importCsv(chunkSize);
+            if (chunkSize == InventoryDatabase.DEFAULT_IMPORT_CHUNK_SIZE) {
+                elapsed = chunkElapsed;
+            }
+        }
+        assertTrue("50k row import took " + elapsed + " ms", elapsed < ONE_MINUTE_MS);
+        assertEquals(ROWS, mDb.readInventory().size());
+    }
+
+    @Test
+    public void bulkImportBeatsRowByRowInserts() {
+        // one auto-committed insert per row, the only way to add stock before the bulk import
+        long start = SystemClock.elapsedRealtime();
+        for (int i = 0; i < SINGLE_ROWS; i++) {
+            mDb.addInventoryItem("Item " + i, 1 + i % 50);
+        }
+        long singleElapsed = SystemClock.elapsedRealtime() - start;
+        long singleRate = rowsPerSecond(SINGLE_ROWS, singleElapsed);
+        Log.i("BENCHMARK", "row-by-row " + SINGLE_ROWS + " rows: " + singleElapsed + " ms, " + singleRate + " rows/s");
+
+        long bulkRate = rowsPerSecond(ROWS, importCsv(InventoryDatabase.DEFAULT_IMPORT_CHUNK_SIZE));
+        assertTrue("bulk " + bulkRate + " rows/s vs row-by-row " + singleRate + " rows/s", bulkRate > 2 * singleRate);
+    }
+}
@@ -0,0 +1,178 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented tests for locations: an item's total always equals the sum of its per-location stock,
+ * changes made to the total land on the default location (a decrease it cannot cover is refused),
+ * deletes take the stock with them, and a location page lists only the items stocked there with
+ * their quantity at that location.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InventoryLocationTest {
+
+    private static final String DB_NAME = "location-test.db";
+
+    private Context mContext;
+    private InventoryDatabase mDb;
+
+    @Before
+    public void setUp() {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        mContext.deleteDatabase(DB_NAME);
+        mDb = new InventoryDatabase(mContext, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        mDb.close();
+        mContext.deleteDatabase(DB_NAME);
+    }
+
+    // total quantity of the item, read from the table
+    private int total(long id) {
+        return mDb.readInventoryPageAfter(id - 1, 1).get(0).getQuantity();
+    }
+
+    // quantity of the item at a location, or -1 if it is not stocked there
+    private int stockAt(long locationId, long id) {
+        List<InventoryItem> page = mDb.readLocationPageAfter(locationId, id - 1, 1, null);
+        return page.isEmpty() || page.get(0).getId() != id ? -1 : page.get(0).getQuantity();
+    }
+
+    @Test
+    public void defaultLocationExistsAndNamesAreUnique() {
+        List<InventoryLocation> locations = mDb.readLocations();
+        assertEquals(1, locations.size());
+        assertEquals(InventoryDatabase.DEFAULT_LOCATION_ID, locations.get(0).getId());
+
+        long back = mDb.addLocation("Back Room");
+        assertTrue(back > InventoryDatabase.DEFAULT_LOCATION_ID);
+        assertEquals(-1, mDb.addLocation("back room"));
+        assertEquals(2, mDb.readLocations().size());
+        assertEquals("Back Room", mDb.readLocations().get(1).getName());
+    }
+
+    @Test
+    public void totalIsTheSumOfEveryLocation() {
+        long back = mDb.addLocation("Back Room");
+        long truck = mDb.addLocation("Truck");
+        mDb.addInventoryItem("Hammer", 10);
+        long id = mDb.inventoryPrimaryKeyLookup("Hammer");
+        // a new item starts out in the default location
+        assertEquals(10, stockAt(InventoryDatabase.DEFAULT_LOCATION_ID, id));
+        assertEquals(-1, stockAt(back, id));
+
+        assertTrue(mDb.setLocationQuantity(id, back, 4));
+        assertTrue(mDb.adjustLocationQuantity(id, truck, 3, 0));
+        assertEquals(17, total(id));
+        assertTrue(mDb.adjustLocationQuantity(id, back, -4, 0));
+        assertEquals(0, stockAt(back, id));
+        assertEquals(13, total(id));
+        // the cache follows every location write
+        assertEquals(0, mDb.verifyInventoryCache());
+    }
+
+    @Test
+    public void refusedLocationWritesChangeNothing() {
+        long back = mDb.addLocation("Back Room");
+        mDb.addInventoryItem("Saw", 5);
+        long id = mDb.inventoryPrimaryKeyLookup("Saw");
+
+        assertFalse(mDb.adjustLocationQuantity(id, back, -1, 0));
+        assertEquals(-1, stockAt(back, id));
+        assertFalse(mDb.setLocationQuantity(id, back + 100, 3));
+        assertFalse(mDb.setLocationQuantity(id + 100, back, 3));
+        assertFalse(mDb.adjustLocationQuantity(id + 100, back, 3, 0));
+        assertEquals(5, total(id));
+        assertEquals(1, mDb.readLocationPageAfter(InventoryDatabase.DEFAULT_LOCATION_ID, 0, 10, null).size());
+        assertTrue(mDb.readLocationPageAfter(back, 0, 10, null).isEmpty());
+    }
+
+    @Test
+    public void totalChangesLandOnTheDefaultLocation() {
+        long back = mDb.addLocation("Back Room");
+        mDb.addInventoryItem("Drill", 2);
+        long id = mDb.inventoryPrimaryKeyLookup("Drill");
+        mDb.setLocationQuantity(id, back, 8);
+
+        // a change to the total from the totals grid, a scan or a sync adjusts the default location
+        assertTrue(mDb.adjustInventoryItemQuantity(id, 5, 0));
+        assertEquals(7, stockAt(InventoryDatabase.DEFAULT_LOCATION_ID, id));
+
+        // the total (15) could cover these, the default location (7) cannot, so they are refused
+        assertFalse(mDb.updateInventoryItemQuantity(id, 6));
+        assertFalse(mDb.adjustInventoryItemQuantity(id, -8, 0));
+        assertEquals(7, stockAt(InventoryDatabase.DEFAULT_LOCATION_ID, id));
+        assertEquals(15, total(id));
+        assertTrue(mDb.adjustInventoryItemQuantity(id, -7, 0));
+        assertEquals(0, stockAt(InventoryDatabase.DEFAULT_LOCATION_ID, id));
+        assertEquals(8, stockAt(back, id));
+        assertEquals(8, total(id));
+        // the cache only followed the writes that were applied
+        assertEquals(0, mDb.verifyInventoryCache());
+
+        // the ledger still records the real movements, including the location write
+        List<StockMovement> movements = mDb.readStockMovements(id, 10);
+        int[] deltas = { -7, 5, 8, 2 };
+        assertEquals(deltas.length, movements.size());
+        for (int i = 0; i < deltas.length; i++) {
+            assertEquals(deltas[i], movements.get(i).getDelta());
+        }
+    }
+
+    @Test
+    public void deletingAnItemDeletesItsStock() {
+        long back = mDb.addLocation("Back Room");
+        mDb.addInventoryItem("Level", 1);
+        long id = mDb.inventoryPrimaryKeyLookup("Level");
+        mDb.setLocationQuantity(id, back, 3);
+
+        assertTrue(mDb.deleteInventoryItem(id));
+        assertTrue(mDb.readLocationPageAfter(InventoryDatabase.DEFAULT_LOCATION_ID, 0, 10, null).isEmpty());
+        assertTrue(mDb.readLocationPageAfter(back, 0, 10, null).isEmpty());
+    }
+
+    @Test
+    public void locationPagesListOnlyItemsStockedThere() {
+        long back = mDb.addLocation("Back Room");
+        for (int i = 1; i <= 30; i++) {
+            mDb.addInventoryItem("Bolt " + i, i);
+            if (i % 3 == 0) {
+                mDb.setLocationQuantity(mDb.inventoryPrimaryKeyLookup("Bolt " + i), back, 100 + i);
+            }
+        }
+
+        List<InventoryItem> first = mDb.readLocationPageAfter(back, 0, 4, null);
+        assertEquals(4, first.size());
+        assertEquals("Bolt 3", first.get(0).getName());
+        assertEquals(103, first.get(0).getQuantity());
+        List<InventoryItem> next = mDb.readLocationPageAfter(back, first.get(3).getId(), 100, null);
+        assertEquals(6, next.size());
+        assertEquals("Bolt 30", next.get(5).getName());
+        List<InventoryItem> before = mDb.readLocationPageBefore(back, next.get(0).getId(), 2, null);
+        assertEquals(first.get(2).getId(), before.get(0).getId());
+        assertEquals(first.get(3).getId(), before.get(1).getId());
+
+        // "bolt 2" matches Bolt 2 and Bolt 20 to 29, of which 21, 24 and 27 are in the back room
+        String match = InventoryDatabase.toMatchQuery("bolt 2");
+        List<InventoryItem> found = mDb.searchLocationPageAfter(back, match, 0, 10, null);
+        assertEquals(3, found.size());
+        assertEquals("Bolt 21", found.get(0).getName());
+        assertEquals(127, found.get(2).getQuantity());
+        assertEquals(found.get(2).getId(),
+                mDb.searchLocationPageBefore(back, match, Long.MAX_VALUE, 10, null).get(2).getId());
+    }
+}
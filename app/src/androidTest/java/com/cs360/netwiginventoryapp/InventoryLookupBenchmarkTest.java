@@ -0,0 +1,172 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented benchmark for the case-insensitive name lookups at 100k rows. The user lookup and
+ * the item name check of the import are timed at 1k and again at 100k rows. A COLLATE NOCASE index
+ * seek grows with log n, so the median may grow at most 4x, where a table scan would grow ~100x.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InventoryLookupBenchmarkTest {
+
+    private static final String DB_NAME = "lookup-benchmark.db";
+    private static final int SMALL = 1_000;
+    private static final int LARGE = 100_000;
+    private static final int RUNS = 200;
+    // allowed growth of the median from SMALL to LARGE rows, plus slack for timer noise on tiny numbers
+    private static final int MAX_GROWTH = 4;
+    private static final long SLACK_NANOS = 50_000L;
+
+    private Context mContext;
+    private InventoryDatabase mDb;
+
+    @Before
+    public void setUp() {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        mContext.deleteDatabase(DB_NAME);
+        mDb = new InventoryDatabase(mContext, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        mDb.close();
+        mContext.deleteDatabase(DB_NAME);
+    }
+
+    private static String userName(int i) {
+        return "User" + i;
+    }
+
+    private static String itemName(int i) {
+        return "Item " + i;
+    }
+
+    // adds users from..to-1 in one transaction
+    private void addUsers(int from, int to) {
+        SQLiteDatabase db = mDb.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (int i = from; i < to; i++) {
+                mDb.addUser(userName(i), "hash");
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private void addItems(int from, int to) {
+        List<InventoryItem> items = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            items.add(new InventoryItem(itemName(i), 1));
+        }
+        assertEquals(to - from, mDb.addInventoryItems(items, 10_000, null));
+    }
+
+    // median nanoseconds of RUNS lookups of upper-cased names spread over the first rows rows
+    private long medianUserLookup(int rows) {
+        long[] nanos = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            String name = userName((int) ((run * 7919L) % rows)).toUpperCase();
+            long start = SystemClock.elapsedRealtimeNanos();
+            boolean found = mDb.userLookup(name);
+            nanos[run] = SystemClock.elapsedRealtimeNanos() - start;
+            assertTrue(name, found);
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2];
+    }
+
+    // the import skips a name that already exists, so importing one existing (upper-cased) name
+    // costs one seek of the NOCASE item name index and inserts nothing
+    private long medianItemNameCheck(int rows) {
+        long[] nanos = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            String name = itemName((int) ((run * 7919L) % rows)).toUpperCase();
+            List<InventoryItem> duplicate = Collections.singletonList(new InventoryItem(name, 1));
+            long start = SystemClock.elapsedRealtimeNanos();
+            int inserted = mDb.addInventoryItems(duplicate, 1, null);
+            nanos[run] = SystemClock.elapsedRealtimeNanos() - start;
+            assertEquals(name, 0, inserted);
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2];
+    }
+
+    private static void assertLogarithmic(String lookup, long small, long large) {
+        Log.i("BENCHMARK", lookup + " median at " + SMALL + " rows " + small / 1000 + " us, at " + LARGE
+                + " rows " + large / 1000 + " us");
+        assertTrue(lookup + " went from " + small / 1000 + " us to " + large / 1000 + " us",
+                large < MAX_GROWTH * small + SLACK_NANOS);
+    }
+
+    @Test
+    public void userLookupStaysLogarithmic() {
+        addUsers(0, SMALL);
+        mDb.userLookup(userName(0));
+        long small = medianUserLookup(SMALL);
+
+        addUsers(SMALL, LARGE);
+        mDb.userLookup(userName(0));
+        long large = medianUserLookup(LARGE);
+
+        assertLogarithmic("userLookup", small, large);
+    }
+
+    @Test
+    public void itemNameCheckStaysLogarithmic() {
+        addItems(0, SMALL);
+        long small = medianItemNameCheck(SMALL);
+
+        addItems(SMALL, LARGE);
+        long large = medianItemNameCheck(LARGE);
+
+        assertLogarithmic("item name check", small, large);
+    }
+
+    // the plans of the app's name lookups, a SEARCH of the NOCASE index and never a SCAN of the table
+    @Test
+    public void nameLookupsSeekTheNocaseIndexes() {
+        assertSeeks("SELECT EXISTS(SELECT 1 FROM users WHERE username = ? COLLATE NOCASE)",
+                "idx_users_username_nocase (username=?)");
+        assertSeeks("SELECT password FROM users WHERE username = ?1 COLLATE NOCASE ORDER BY _id LIMIT 1",
+                "idx_users_username_nocase (username=?)");
+        assertSeeks("SELECT EXISTS(SELECT 1 FROM inventory WHERE itemname = ? COLLATE NOCASE)",
+                "idx_inventory_itemname_nocase (itemname=?)");
+    }
+
+    private void assertSeeks(String sql, String seek) {
+        StringBuilder plan = new StringBuilder();
+        Cursor cursor = mDb.getReadableDatabase().rawQuery("EXPLAIN QUERY PLAN " + sql, new String[] { "x" });
+        try {
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(3)).append('\n');
+            }
+        } finally {
+            cursor.close();
+        }
+        assertTrue(sql + "\n" + plan, plan.indexOf(seek) >= 0);
+        assertFalse(sql + "\n" + plan, plan.indexOf("SCAN TABLE") >= 0 || plan.indexOf("SCAN users") >= 0
+                || plan.indexOf("SCAN inventory") >= 0);
+    }
+}
@@ -0,0 +1,128 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented test that migrates a 100k-row version 1 database forward and checks
+ * that no data is lost and that every step finishes within its time budget.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InventoryMigrationTest {
+
+    private static final String DB_NAME = "migration-test.db";
+    private static final int ROWS = 100_000;
+    private static final long STEP_BUDGET_MILLIS = 5_000;
+
+    private File mDbFile;
+    private SQLiteDatabase mDb;
+
+    @Before
+    public void createVersion1Database() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(DB_NAME);
+        mDbFile = context.getDatabasePath(DB_NAME);
+        mDb = SQLiteDatabase.openOrCreateDatabase(mDbFile, null);
+
+        // version 1 schema, before the lookup indexes existed
+        mDb.execSQL("CREATE TABLE users (_id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "username TEXT NOT NULL, password TEXT NOT NULL)");
+        mDb.execSQL("CREATE TABLE inventory (_id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "itemname TEXT NOT NULL, itemquantity INTEGER NOT NULL)");
+
+        mDb.beginTransaction();
+        try {
+            SQLiteStatement insert = mDb.compileStatement("INSERT INTO inventory (itemname, itemquantity) VALUES (?, ?)");
+            for (int i = 1; i <= ROWS; i++) {
+                insert.bindString(1, "Item " + i);
+                insert.bindLong(2, i % 500);
+                insert.executeInsert();
+            }
+            insert.close();
+            mDb.execSQL("INSERT INTO users (username, password) VALUES ('admin', 'secret')");
+            mDb.setVersion(1);
+            mDb.setTransactionSuccessful();
+        } finally {
+            mDb.endTransaction();
+        }
+    }
+
+    @After
+    public void deleteDatabase() {
+        mDb.close();
+        SQLiteDatabase.deleteDatabase(mDbFile);
+    }
+
+    @Test
+    public void migratesToCurrentVersionWithoutLosingRows() {
+        long checksumBefore = checksum();
+
+        InventoryDatabase.MIGRATIONS.run(mDb, 1, InventoryDatabase.VERSION);
+
+        assertEquals(ROWS, count("inventory"));
+        assertEquals(1, count("users"));
+        assertEquals(checksumBefore, checksum());
+        assertEquals(1, count("sqlite_master WHERE type = 'index' AND name = 'idx_inventory_itemname_nocase'"));
+        // every existing row gets a sync id, so the first sync can push it
+        assertEquals(0, count("inventory WHERE syncid IS NULL"));
+        // every existing item starts with all of its quantity in the default location
+        assertEquals(ROWS, count("location_stock WHERE locationid = " + InventoryDatabase.DEFAULT_LOCATION_ID));
+        assertEquals(0, count("inventory i WHERE itemquantity <> (SELECT SUM(quantity) FROM location_stock s "
+                + "WHERE s.itemid = i._id)"));
+        for (long millis : InventoryDatabase.MIGRATIONS.getStepMillis()) {
+            assertTrue("step took " + millis + " ms", millis < STEP_BUDGET_MILLIS);
+        }
+    }
+
+    @Test
+    public void copyRowsRebuildsLargeTable() {
+        Migration rebuild = new Migration(1, 2) {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+                db.execSQL("CREATE TABLE inventory_new (_id INTEGER PRIMARY KEY AUTOINCREMENT, "
+                        + "itemname TEXT NOT NULL, itemquantity INTEGER NOT NULL DEFAULT 0)");
+                long copied = copyRows(db, "inventory", "inventory_new", "_id, itemname, itemquantity", 1000);
+                assertEquals(ROWS, copied);
+                db.execSQL("DROP TABLE inventory");
+                db.execSQL("ALTER TABLE inventory_new RENAME TO inventory");
+            }
+        };
+        long checksumBefore = checksum();
+
+        MigrationRunner runner = new MigrationRunner(rebuild);
+        runner.run(mDb, 1, 2);
+
+        assertEquals(ROWS, count("inventory"));
+        assertEquals(checksumBefore, checksum());
+        assertTrue(runner.getStepMillis().get(0) < STEP_BUDGET_MILLIS);
+    }
+
+    private long count(String from) {
+        try (Cursor cursor = mDb.rawQuery("SELECT COUNT(*) FROM " + from, null)) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+
+    // checksum over the id, name and quantity of every inventory row
+    private long checksum() {
+        try (Cursor cursor = mDb.rawQuery("SELECT SUM(_id * 31 + itemquantity + LENGTH(itemname)) FROM inventory", null)) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.paging.PagingSource.LoadParams;
+import androidx.paging.PagingSource.LoadResult;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented benchmark for the first page of the paged grid at 500k rows. The first page is
+ * loaded through InventoryPagingSource from a freshly opened database at 1k and again at 500k rows:
+ * the query plan must be the same primary key seek, the median load time may grow at most 2x and
+ * the heap the load retains may not grow by more than a small slack, where reading the whole
+ * table (or filling the item cache) would cost ~500x.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InventoryPagingBenchmarkTest {
+
+    private static final String DB_NAME = "paging-benchmark.db";
+    private static final int SMALL = 1_000;
+    private static final int LARGE = 500_000;
+    private static final int PAGE = InventoryRepository.DEFAULT_PAGE_SIZE;
+    private static final int RUNS = 100;
+    // allowed growth of the median from SMALL to LARGE rows, plus slack for timer noise on tiny numbers
+    private static final int MAX_GROWTH = 2;
+    private static final long SLACK_NANOS = 50_000L;
+    // allowed growth of the retained heap, GC bookkeeping moves it by a few KB between measurements
+    private static final long SLACK_BYTES = 256 * 1024;
+
+    // same query as InventoryDatabase.SQL_PAGE_AFTER
+    private static final String SQL_PAGE_AFTER = "SELECT _id, itemname, itemquantity FROM inventory WHERE _id > ?"
+            + " ORDER BY _id LIMIT ?";
+
+    private Context mContext;
+    private InventoryDatabase mDb;
+    private ListeningExecutorService mExecutor;
+
+    @Before
+    public void setUp() {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        mContext.deleteDatabase(DB_NAME);
+        mDb = new InventoryDatabase(mContext, DB_NAME);
+        mExecutor = MoreExecutors.newDirectExecutorService();
+    }
+
+    @After
+    public void tearDown() {
+        mExecutor.shutdown();
+        mDb.close();
+        mContext.deleteDatabase(DB_NAME);
+    }
+
+    private void addItems(int from, int to) {
+        List<InventoryItem> items = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            items.add(new InventoryItem("Item " + i, 1 + i % 50));
+        }
+        assertEquals(to - from, mDb.addInventoryItems(items, 10_000, null));
+    }
+
+    // a new connection and an empty item cache, as when the app starts
+    private void reopen() {
+        mDb.close();
+        mDb = new InventoryDatabase(mContext, DB_NAME);
+    }
+
+    @SuppressWarnings("unchecked")
+    private LoadResult.Page<Long, InventoryItem> loadFirstPage() throws Exception {
+        InventoryPagingSource source = new InventoryPagingSource(mDb, mExecutor, null, false);
+        LoadResult<Long, InventoryItem> result = source.loadFuture(new LoadParams.Refresh<>(null, PAGE, false)).get();
+        assertTrue(result.toString(), result instanceof LoadResult.Page);
+        return (LoadResult.Page<Long, InventoryItem>) result;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        runtime.gc();
+        runtime.runFinalization();
+        runtime.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // bytes still reachable after the first load from a freshly opened database, the page included
+    private long firstPageHeapBytes() throws Exception {
+        reopen();
+        long before = usedHeap();
+        LoadResult.Page<Long, InventoryItem> page = loadFirstPage();
+        long retained = usedHeap() - before;
+        assertEquals(PAGE, page.getData().size());
+        return Math.max(0, retained);
+    }
+
+    // median nanoseconds of RUNS first-page loads
+    private long medianFirstPageNanos() throws Exception {
+        long[] nanos = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            LoadResult.Page<Long, InventoryItem> page = loadFirstPage();
+            nanos[run] = SystemClock.elapsedRealtimeNanos() - start;
+            assertEquals(PAGE, page.getData().size());
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2];
+    }
+
+    private String firstPagePlan() {
+        StringBuilder plan = new StringBuilder();
+        Cursor cursor = mDb.getReadableDatabase().rawQuery("EXPLAIN QUERY PLAN " + SQL_PAGE_AFTER,
+                new String[] { "0", Integer.toString(PAGE) });
+        try {
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(3)).append('\n');
+            }
+        } finally {
+            cursor.close();
+        }
+        return plan.toString();
+    }
+
+    @Test
+    public void firstPageCostsTheSameAtHalfAMillionRows() throws Exception {
+        addItems(0, SMALL);
+        String smallPlan = firstPagePlan();
+        long smallHeap = firstPageHeapBytes();
+        long smallNanos = medianFirstPageNanos();
+
+        addItems(SMALL, LARGE);
+        String largePlan = firstPagePlan();
+        long largeHeap = firstPageHeapBytes();
+        long largeNanos = medianFirstPageNanos();
+
+        Log.i("BENCHMARK", "first page of " + PAGE + " at " + SMALL + " rows " + smallNanos / 1000 + " us, "
+                + smallHeap / 1024 + " KB retained, at " + LARGE + " rows " + largeNanos / 1000 + " us, "
+                + largeHeap / 1024 + " KB retained");
+
+        // a seek on the primary key at both sizes, never a scan or a sort of the table
+        assertEquals(smallPlan, largePlan);
+        assertTrue(largePlan, largePlan.contains("INTEGER PRIMARY KEY"));
+        assertFalse(largePlan, largePlan.contains("TEMP B-TREE"));
+
+        assertTrue("first page went from " + smallNanos / 1000 + " us to " + largeNanos / 1000 + " us",
+                largeNanos < MAX_GROWTH * smallNanos + SLACK_NANOS);
+        assertTrue("first page retained " + smallHeap / 1024 + " KB at " + SMALL + " rows and "
+                + largeHeap / 1024 + " KB at " + LARGE + " rows", largeHeap < smallHeap + SLACK_BYTES);
+    }
+}
@@ -0,0 +1,185 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingSource.LoadParams;
+import androidx.paging.PagingSource.LoadResult;
+import androidx.paging.PagingState;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented tests for the keys InventoryPagingSource hands back: the data and the prev/next
+ * keys of refresh, append and prepend loads, the refresh that falls back to the rows before a key
+ * whose rows were all deleted, and the refresh key taken from the scroll position.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InventoryPagingSourceTest {
+
+    private static final String DB_NAME = "paging-source-test.db";
+    private static final int ITEMS = 25;
+    private static final int PAGE = 10;
+
+    private Context mContext;
+    private InventoryDatabase mDb;
+    private ListeningExecutorService mExecutor;
+    private long[] mIds;
+
+    @Before
+    public void setUp() {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        mContext.deleteDatabase(DB_NAME);
+        mDb = new InventoryDatabase(mContext, DB_NAME);
+        // loads run on the test thread, which is not the main thread
+        mExecutor = MoreExecutors.newDirectExecutorService();
+
+        List<InventoryItem> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new InventoryItem("Item " + i, i));
+        }
+        mDb.addInventoryItems(items, ITEMS, null);
+        InventoryItemStore table = mDb.readInventory();
+        mIds = new long[table.size()];
+        for (int i = 0; i < mIds.length; i++) {
+            mIds[i] = table.getId(i);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        mExecutor.shutdown();
+        mDb.close();
+        mContext.deleteDatabase(DB_NAME);
+    }
+
+    private InventoryPagingSource source(boolean refreshFromStart) {
+        return new InventoryPagingSource(mDb, mExecutor, null, refreshFromStart);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LoadResult.Page<Long, InventoryItem> load(InventoryPagingSource source, LoadParams<Long> params)
+            throws Exception {
+        LoadResult<Long, InventoryItem> result = source.loadFuture(params).get();
+        assertTrue(result.toString(), result instanceof LoadResult.Page);
+        return (LoadResult.Page<Long, InventoryItem>) result;
+    }
+
+    // asserts the page holds the rows from..to-1 and has the given keys
+    private void assertPage(LoadResult.Page<Long, InventoryItem> page, int from, int to, Long prevKey, Long nextKey) {
+        List<Long> ids = new ArrayList<>();
+        for (InventoryItem item : page.getData()) {
+            ids.add(item.getId());
+        }
+        List<Long> expected = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            expected.add(mIds[i]);
+        }
+        assertEquals(expected, ids);
+        assertEquals("prevKey", prevKey, page.getPrevKey());
+        assertEquals("nextKey", nextKey, page.getNextKey());
+    }
+
+    @Test
+    public void refreshWithoutKeyStartsAtTheTop() throws Exception {
+        LoadResult.Page<Long, InventoryItem> page = load(source(false), new LoadParams.Refresh<>(null, PAGE, false));
+        assertPage(page, 0, PAGE, null, mIds[PAGE - 1]);
+    }
+
+    @Test
+    public void refreshAtKeyIncludesTheKeyRow() throws Exception {
+        LoadResult.Page<Long, InventoryItem> page = load(source(false), new LoadParams.Refresh<>(mIds[12], PAGE, false));
+        assertPage(page, 12, 22, mIds[12], mIds[21]);
+
+        // the last rows, a short page has nothing after it
+        page = load(source(false), new LoadParams.Refresh<>(mIds[20], PAGE, false));
+        assertPage(page, 20, ITEMS, mIds[20], null);
+    }
+
+    @Test
+    public void refreshFromStartIgnoresTheKey() throws Exception {
+        LoadResult.Page<Long, InventoryItem> page = load(source(true), new LoadParams.Refresh<>(mIds[12], PAGE, false));
+        assertPage(page, 0, PAGE, null, mIds[PAGE - 1]);
+    }
+
+    @Test
+    public void appendReadsTheRowsAfterTheKey() throws Exception {
+        InventoryPagingSource source = source(false);
+        LoadResult.Page<Long, InventoryItem> page = load(source, new LoadParams.Append<>(mIds[PAGE - 1], PAGE, false));
+        assertPage(page, PAGE, 2 * PAGE, mIds[PAGE], mIds[2 * PAGE - 1]);
+
+        page = load(source, new LoadParams.Append<>(mIds[2 * PAGE - 1], PAGE, false));
+        assertPage(page, 2 * PAGE, ITEMS, mIds[2 * PAGE], null);
+
+        page = load(source, new LoadParams.Append<>(mIds[ITEMS - 1], PAGE, false));
+        assertPage(page, 0, 0, null, null);
+    }
+
+    @Test
+    public void prependReadsTheRowsBeforeTheKey() throws Exception {
+        InventoryPagingSource source = source(false);
+        LoadResult.Page<Long, InventoryItem> page = load(source, new LoadParams.Prepend<>(mIds[12], PAGE, false));
+        assertPage(page, 2, 12, mIds[2], mIds[11]);
+
+        page = load(source, new LoadParams.Prepend<>(mIds[2], PAGE, false));
+        assertPage(page, 0, 2, null, mIds[1]);
+
+        page = load(source, new LoadParams.Prepend<>(mIds[0], PAGE, false));
+        assertPage(page, 0, 0, null, null);
+    }
+
+    @Test
+    public void refreshFallsBackWhenEverythingFromTheKeyWasDeleted() throws Exception {
+        for (int i = 15; i < ITEMS; i++) {
+            assertTrue(mDb.deleteInventoryItem(mIds[i]));
+        }
+        LoadResult.Page<Long, InventoryItem> page = load(source(false), new LoadParams.Refresh<>(mIds[20], PAGE, false));
+        assertPage(page, 5, 15, mIds[5], null);
+
+        // fewer rows before the key than a page, nothing before them either
+        for (int i = 5; i < 15; i++) {
+            assertTrue(mDb.deleteInventoryItem(mIds[i]));
+        }
+        page = load(source(false), new LoadParams.Refresh<>(mIds[20], PAGE, false));
+        assertPage(page, 0, 5, null, null);
+    }
+
+    @Test
+    public void refreshOfAnEmptyTableHasNoKeys() throws Exception {
+        for (long id : mIds) {
+            mDb.deleteInventoryItem(id);
+        }
+        assertPage(load(source(false), new LoadParams.Refresh<>(null, PAGE, false)), 0, 0, null, null);
+        assertPage(load(source(false), new LoadParams.Refresh<>(mIds[3], PAGE, false)), 0, 0, null, null);
+    }
+
+    @Test
+    public void refreshKeyIsHalfAnInitialLoadAboveTheAnchor() throws Exception {
+        InventoryPagingSource source = source(false);
+        List<LoadResult.Page<Long, InventoryItem>> pages = Arrays.asList(
+                load(source, new LoadParams.Refresh<>(null, PAGE, false)),
+                load(source, new LoadParams.Append<>(mIds[PAGE - 1], PAGE, false)));
+        PagingConfig config = new PagingConfig(PAGE, PAGE / 2, false, 2 * PAGE);
+
+        // initialLoadSize / 2 = PAGE rows above the anchor
+        assertEquals(Long.valueOf(mIds[15 - PAGE]), source.getRefreshKey(new PagingState<>(pages, 15, config, 0)));
+        // near the top it stops at the first row
+        assertEquals(Long.valueOf(mIds[0]), source.getRefreshKey(new PagingState<>(pages, 3, config, 0)));
+        // nothing scrolled to yet, refresh from the top
+        assertNull(source.getRefreshKey(new PagingState<>(pages, null, config, 0)));
+    }
+}
@@ -0,0 +1,143 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented tests for SKU codes and scan mode: SKUs are unique, lookups stay in memory as
+ * items are re-coded and deleted, and 10k scans are applied well inside one minute.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InventoryScanThroughputTest {
+
+    private static final String DB_NAME = "scan-test.db";
+    private static final int ITEMS = 1_000;
+    private static final int SCANS = 10_000;
+    private static final long ONE_MINUTE_MS = 60_000;
+
+    private Context mContext;
+    private InventoryDatabase mDb;
+    private long[] mIds;
+
+    @Before
+    public void setUp() {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        mContext.deleteDatabase(DB_NAME);
+        mDb = new InventoryDatabase(mContext, DB_NAME);
+
+        mIds = new long[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            mDb.addInventoryItem("Item " + i, 1);
+            mIds[i] = mDb.inventoryPrimaryKeyLookup("Item " + i);
+            assertTrue(mDb.setInventoryItemSku(mIds[i], sku(i)));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        mDb.close();
+        mContext.deleteDatabase(DB_NAME);
+    }
+
+    // EAN-13 style 13 digit code
+    private static String sku(int item) {
+        return String.format("4006381%06d", item);
+    }
+
+    @Test
+    public void skusAreUnique() {
+        assertFalse(mDb.setInventoryItemSku(mIds[1], sku(0)));
+        assertEquals(mIds[0], mDb.inventorySkuLookup(sku(0)));
+        assertEquals(mIds[1], mDb.inventorySkuLookup(sku(1)));
+        // clearing codes leaves any number of items without one
+        assertTrue(mDb.setInventoryItemSku(mIds[0], null));
+        assertTrue(mDb.setInventoryItemSku(mIds[1], null));
+        assertEquals(SkuIndex.NOT_FOUND, mDb.inventorySkuLookup(sku(0)));
+    }
+
+    @Test
+    public void lookupsFollowWrites() {
+        assertEquals(mIds[5], mDb.inventorySkuLookup(sku(5)));
+        mDb.setInventoryItemSku(mIds[5], "RECODED-5");
+        assertEquals(SkuIndex.NOT_FOUND, mDb.inventorySkuLookup(sku(5)));
+        assertEquals(mIds[5], mDb.inventorySkuLookup("RECODED-5"));
+
+        mDb.deleteInventoryItem(mIds[5]);
+        assertEquals(SkuIndex.NOT_FOUND, mDb.inventorySkuLookup("RECODED-5"));
+        // every lookup was answered from the one load
+        assertEquals(1, mDb.getSkuIndex().getLoadCount());
+    }
+
+    @Test
+    public void lookupsSurviveConcurrentInvalidation() throws InterruptedException {
+        // a sync batch invalidates the index from the writer thread while lookups run on readers
+        Thread invalidator = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                mDb.getSkuIndex().invalidate();
+            }
+        });
+        invalidator.start();
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                assertEquals(mIds[i % ITEMS], mDb.inventorySkuLookup(sku(i % ITEMS)));
+            }
+        } finally {
+            invalidator.interrupt();
+            invalidator.join();
+        }
+    }
+
+    @Test
+    public void appliesTenThousandScansInsideAMinute() {
+        int[] expected = new int[ITEMS];
+        int[] unknown = new int[1];
+        int[] applied = new int[1];
+        // the flusher runs on this thread, the scheduler never fires so batches are cut by size
+        ScanSession session = new ScanSession(counts -> {
+            ScanResult result = mDb.applyScanCounts(counts);
+            applied[0] += result.getScansApplied();
+            unknown[0] += result.getUnknownCodes().size();
+        }, (task, delayMillis) -> { }, ScanSession.DEFAULT_MAX_BATCH, ScanSession.DEFAULT_MAX_DELAY_MS);
+
+        Random random = new Random(360);
+        long start = SystemClock.elapsedRealtime();
+        for (int i = 0; i < SCANS; i++) {
+            if (i % 1_000 == 999) {
+                session.scan("NOT-A-SKU");
+                continue;
+            }
+            // a few items are scanned far more often, like a pallet of one product
+            int item = random.nextInt(4) == 0 ? random.nextInt(10) : random.nextInt(ITEMS);
+            expected[item]++;
+            session.scan(sku(item));
+        }
+        session.close();
+        long elapsed = SystemClock.elapsedRealtime() - start;
+
+        Log.i("SCAN", SCANS + " scans in " + elapsed + " ms, " + session.getBatchCount() + " batches, "
+                + (SCANS * ONE_MINUTE_MS / Math.max(1, elapsed)) + " scans/min");
+        assertTrue("10k scans took " + elapsed + " ms", elapsed < ONE_MINUTE_MS);
+        assertEquals(SCANS / ScanSession.DEFAULT_MAX_BATCH, session.getBatchCount());
+        assertEquals(SCANS - SCANS / 1_000, applied[0]);
+        assertEquals(SCANS / 1_000, unknown[0]);
+
+        InventoryItemStore items = mDb.readInventory();
+        for (int i = 0; i < ITEMS; i++) {
+            assertEquals("Item " + i, 1 + expected[i], items.getQuantity(items.indexOfId(mIds[i])));
+        }
+        assertEquals(0, mDb.verifyInventoryCache());
+    }
+}
@@ -0,0 +1,83 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented check of the schema InventoryDatabase creates against the checked-in dump in
+ * app/schemas/inventory-v&lt;VERSION&gt;.sql. The benchmark module's BenchmarkDatabase is compared
+ * with the same file, so a schema change that is not copied there stops the JMH runs. After a
+ * deliberate change, replace the file with the "Created" dump from the failure message.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InventorySchemaTest {
+
+    private static final String DB_NAME = "schema-test.db";
+
+    // same query as BenchmarkDatabase.SQL_DUMP_SCHEMA, the FTS shadow tables are created and worded by
+    // SQLite itself so they are left out
+    private static final String SQL_DUMP_SCHEMA = "SELECT sql FROM sqlite_master WHERE sql IS NOT NULL"
+            + " AND name NOT LIKE 'sqlite_%' AND name <> 'android_metadata'"
+            + " AND NOT (type = 'table' AND name GLOB '*_fts_*') ORDER BY type, name";
+
+    private Context mContext;
+    private InventoryDatabase mDb;
+
+    @Before
+    public void setUp() {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        mContext.deleteDatabase(DB_NAME);
+        mDb = new InventoryDatabase(mContext, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        mDb.close();
+        mContext.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void createdSchemaMatchesTheCheckedInDump() throws IOException {
+        StringBuilder created = new StringBuilder();
+        Cursor cursor = mDb.getReadableDatabase().rawQuery(SQL_DUMP_SCHEMA, null);
+        try {
+            while (cursor.moveToNext()) {
+                created.append(cursor.getString(0).trim().replaceAll("\\s+", " ")).append(";\n");
+            }
+        } finally {
+            cursor.close();
+        }
+
+        String expected = readDump("inventory-v" + InventoryDatabase.VERSION + ".sql");
+        assertEquals("Created:\n" + created, expected, created.toString());
+    }
+
+    // the dump is packaged as a test asset from app/schemas
+    private static String readDump(String name) throws IOException {
+        Context testContext = InstrumentationRegistry.getInstrumentation().getContext();
+        StringBuilder dump = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(testContext.getAssets().open(name), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                dump.append(line).append('\n');
+            }
+        }
+        return dump.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented benchmark for item name search over a 200k-item inventory.
+ * Reports median and p95 latency of a first page of results and fails if the median is 10 ms or more.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InventorySearchBenchmarkTest {
+
+    private static final String DB_NAME = "search-benchmark.db";
+    private static final int ITEMS = 200_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int RUNS = 50;
+    private static final long BUDGET_NANOS = 10_000_000L;
+
+    private static final String[] NOUNS = { "Hammer", "Wrench", "Screwdriver", "Pliers", "Saw", "Drill",
+            "Chisel", "Level", "Clamp", "Sander", "Nails", "Screws", "Bolts", "Washers", "Anchors" };
+    private static final String[] ADJECTIVES = { "Claw", "Steel", "Brass", "Cordless", "Heavy", "Mini",
+            "Precision", "Framing", "Masonry", "Hex", "Torx", "Socket", "Finishing", "Coated", "Outdoor" };
+
+    private Context mContext;
+    private InventoryDatabase mDb;
+
+    @Before
+    public void fillInventory() {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        mContext.deleteDatabase(DB_NAME);
+        mDb = new InventoryDatabase(mContext, DB_NAME);
+
+        List<InventoryItem> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            String name = ADJECTIVES[i % ADJECTIVES.length] + " " + NOUNS[(i / ADJECTIVES.length) % NOUNS.length]
+                    + " " + i;
+            items.add(new InventoryItem(name, 1 + i % 50));
+        }
+        assertEquals(ITEMS, mDb.addInventoryItems(items, 10_000, null));
+    }
+
+    @After
+    public void deleteDatabase() {
+        mDb.close();
+        mContext.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void prefixSearchUnderTenMilliseconds() {
+        String[] queries = { "ham", "cla ham", "cordless dr", "tor scr", "12345", "mas anc 19" };
+        for (String query : queries) {
+            // warm up the statement and page cache
+            mDb.searchInventory(query, PAGE_SIZE);
+
+            long[] nanos = new long[RUNS];
+            int found = 0;
+            for (int run = 0; run < RUNS; run++) {
+                long start = SystemClock.elapsedRealtimeNanos();
+                found = mDb.searchInventory(query, PAGE_SIZE).size();
+                nanos[run] = SystemClock.elapsedRealtimeNanos() - start;
+            }
+            Arrays.sort(nanos);
+            long median = nanos[RUNS / 2];
+            long p95 = nanos[RUNS * 95 / 100];
+            Log.i("BENCHMARK", "search \"" + query + "\" found " + found + " median " + median / 1000
+                    + " us, p95 " + p95 / 1000 + " us");
+
+            assertTrue("no results for " + query, found > 0);
+            assertTrue("median for \"" + query + "\" was " + median / 1000 + " us", median < BUDGET_NANOS);
+        }
+    }
+
+    @Test
+    public void searchFollowsDeletes() {
+        List<InventoryItem> hammers = mDb.searchInventory("claw ham", PAGE_SIZE);
+        assertFalse(hammers.isEmpty());
+
+        long id = hammers.get(0).getId();
+        assertTrue(mDb.deleteInventoryItem(id));
+
+        for (InventoryItem item : mDb.searchInventory("claw ham", PAGE_SIZE)) {
+            assertNotEquals(id, item.getId());
+        }
+    }
+}
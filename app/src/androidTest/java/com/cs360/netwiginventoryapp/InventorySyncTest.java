@@ -0,0 +1,243 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.mockwebserver.MockWebServer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented tests for the offline-first sync: two device databases sync through a
+ * FakeSyncServer running in MockWebServer, concurrent quantity changes are merged as deltas,
+ * retries are not double counted, and large syncs go in bounded, compressed batches.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InventorySyncTest {
+
+    private static final String DB_A = "sync-a-test.db";
+    private static final String DB_B = "sync-b-test.db";
+    private static final int BATCH_SIZE = 500;
+
+    private Context mContext;
+    private MockWebServer mWebServer;
+    private FakeSyncServer mServer;
+    private InventorySyncClient mClient;
+    private InventoryDatabase mDeviceA;
+    private InventoryDatabase mDeviceB;
+
+    @Before
+    public void setUp() throws IOException {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        mContext.deleteDatabase(DB_A);
+        mContext.deleteDatabase(DB_B);
+        mDeviceA = new InventoryDatabase(mContext, DB_A);
+        mDeviceB = new InventoryDatabase(mContext, DB_B);
+
+        mServer = new FakeSyncServer();
+        mWebServer = new MockWebServer();
+        mWebServer.setDispatcher(mServer);
+        mWebServer.start();
+        mClient = new InventorySyncClient(mWebServer.url("/sync/").url());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mWebServer.shutdown();
+        mDeviceA.close();
+        mDeviceB.close();
+        mContext.deleteDatabase(DB_A);
+        mContext.deleteDatabase(DB_B);
+    }
+
+    private InventorySyncEngine.Result sync(InventoryDatabase device) throws IOException {
+        return new InventorySyncEngine(device, mClient, BATCH_SIZE).sync();
+    }
+
+    private static int quantityOf(InventoryDatabase device, String name) {
+        long id = device.inventoryPrimaryKeyLookup(name);
+        assertNotEquals(name + " is missing", InventoryCache.NOT_FOUND, id);
+        InventoryItemStore items = device.readInventory();
+        return items.getQuantity(items.indexOfId(id));
+    }
+
+    @Test
+    public void mergesConcurrentDeltas() throws IOException {
+        mDeviceA.addInventoryItem("Hammer", 10);
+        sync(mDeviceA);
+        sync(mDeviceB);
+        assertEquals(10, quantityOf(mDeviceB, "Hammer"));
+
+        // both devices change the same item while offline
+        mDeviceA.adjustInventoryItemQuantity(mDeviceA.inventoryPrimaryKeyLookup("Hammer"), 5, 0);
+        mDeviceB.adjustInventoryItemQuantity(mDeviceB.inventoryPrimaryKeyLookup("Hammer"), -3, 0);
+        sync(mDeviceA);
+        sync(mDeviceB);
+        sync(mDeviceA);
+
+        // 10 + 5 - 3, neither change overwrote the other
+        assertEquals(Integer.valueOf(12), mServer.quantityOf("Hammer"));
+        assertEquals(12, quantityOf(mDeviceA, "Hammer"));
+        assertEquals(12, quantityOf(mDeviceB, "Hammer"));
+    }
+
+    @Test
+    public void quantitySyncKeepsTheSkuIndex() throws IOException {
+        mDeviceA.addInventoryItem("Hammer", 10);
+        long id = mDeviceA.inventoryPrimaryKeyLookup("Hammer");
+        assertTrue(mDeviceA.setInventoryItemSku(id, "4006381000001"));
+        sync(mDeviceA);
+        assertEquals(id, mDeviceA.inventorySkuLookup("4006381000001"));
+        long loads = mDeviceA.getSkuIndex().getLoadCount();
+
+        // pushing and pulling quantity changes moves no SKU, the index stays loaded
+        mDeviceA.adjustInventoryItemQuantity(id, 5, 0);
+        sync(mDeviceA);
+        sync(mDeviceA);
+        assertEquals(id, mDeviceA.inventorySkuLookup("4006381000001"));
+        assertEquals(loads, mDeviceA.getSkuIndex().getLoadCount());
+        // the rebased quantity reached the cache
+        assertEquals(0, mDeviceA.verifyInventoryCache());
+    }
+
+    @Test
+    public void retriedPushIsNotCountedTwice() throws IOException {
+        mDeviceA.addInventoryItem("Hammer", 10);
+        sync(mDeviceA);
+        mDeviceA.adjustInventoryItemQuantity(mDeviceA.inventoryPrimaryKeyLookup("Hammer"), 5, 0);
+
+        mServer.dropResponses(1);
+        try {
+            sync(mDeviceA);
+        } catch (IOException expected) {
+            // the server applied the push but the response was lost
+        }
+        sync(mDeviceA);
+
+        assertEquals(Integer.valueOf(15), mServer.quantityOf("Hammer"));
+        assertEquals(15, quantityOf(mDeviceA, "Hammer"));
+    }
+
+    @Test
+    public void keepsLocalEditMadeWhilePushing() throws IOException {
+        mDeviceA.addInventoryItem("Hammer", 10);
+        sync(mDeviceA);
+        long id = mDeviceA.inventoryPrimaryKeyLookup("Hammer");
+        mDeviceA.adjustInventoryItemQuantity(id, 5, 0);
+
+        List<SyncChange> pushed = mDeviceA.readSyncChanges(0, BATCH_SIZE);
+        assertEquals(1, pushed.size());
+        assertEquals(5, pushed.get(0).getDelta());
+
+        // edited again after the batch was read, and another device added 5 on the server
+        mDeviceA.adjustInventoryItemQuantity(id, 2, 0);
+        SyncChange result = SyncChange.incoming(pushed.get(0).getSyncId(), "Hammer", 20, 99, false);
+        mDeviceA.applySyncPushResults(pushed, Collections.<String>emptyList(), Collections.singletonList(result));
+
+        assertEquals(22, quantityOf(mDeviceA, "Hammer"));
+        List<SyncChange> remaining = mDeviceA.readSyncChanges(0, BATCH_SIZE);
+        assertEquals(1, remaining.size());
+        assertEquals(2, remaining.get(0).getDelta());
+    }
+
+    @Test
+    public void pulledChangeKeepsUnpushedDelta() throws IOException {
+        mDeviceA.addInventoryItem("Hammer", 10);
+        sync(mDeviceA);
+        long id = mDeviceA.inventoryPrimaryKeyLookup("Hammer");
+        assertTrue(mDeviceA.readSyncChanges(0, BATCH_SIZE).isEmpty());
+
+        mDeviceA.adjustInventoryItemQuantity(id, -1, 0);
+        String syncId = mDeviceA.readSyncChanges(0, BATCH_SIZE).get(0).getSyncId();
+        long version = mDeviceA.getSyncPullVersion() + 100;
+        mDeviceA.applySyncPull(Collections.singletonList(SyncChange.incoming(syncId, "Hammer", 14, version, false)), version);
+
+        assertEquals(13, quantityOf(mDeviceA, "Hammer"));
+        assertEquals(version, mDeviceA.getSyncPullVersion());
+
+        // an older version of the row is ignored
+        assertEquals(0, mDeviceA.applySyncPull(
+                Collections.singletonList(SyncChange.incoming(syncId, "Hammer", 1, version - 1, false)), version));
+        assertEquals(13, quantityOf(mDeviceA, "Hammer"));
+    }
+
+    @Test
+    public void deletesPropagate() throws IOException {
+        mDeviceA.addInventoryItem("Hammer", 10);
+        mDeviceA.addInventoryItem("Saw", 3);
+        sync(mDeviceA);
+        sync(mDeviceB);
+
+        mDeviceA.deleteInventoryItem(mDeviceA.inventoryPrimaryKeyLookup("Hammer"));
+        assertEquals(1, mDeviceA.readSyncDeletes(BATCH_SIZE).size());
+        InventorySyncEngine.Result result = sync(mDeviceA);
+        assertEquals(1, result.deleted);
+        assertTrue(mDeviceA.readSyncDeletes(BATCH_SIZE).isEmpty());
+
+        sync(mDeviceB);
+        assertFalse(mDeviceB.inventoryItemLookup("Hammer"));
+        assertTrue(mDeviceB.inventoryItemLookup("Saw"));
+        // the pulled delete is not pushed back
+        assertTrue(mDeviceB.readSyncDeletes(BATCH_SIZE).isEmpty());
+        assertEquals(1, mServer.liveRowCount());
+    }
+
+    @Test
+    public void sameItemCreatedOfflineIsMerged() throws IOException {
+        mDeviceA.addInventoryItem("Hammer", 4);
+        mDeviceB.addInventoryItem("hammer", 6);
+        sync(mDeviceA);
+        sync(mDeviceB);
+        sync(mDeviceA);
+
+        assertEquals(1, mServer.liveRowCount());
+        assertEquals(Integer.valueOf(10), mServer.quantityOf("Hammer"));
+        assertEquals(1, mDeviceA.readInventory().size());
+        assertEquals(1, mDeviceB.readInventory().size());
+        assertEquals(10, quantityOf(mDeviceA, "Hammer"));
+        assertEquals(10, quantityOf(mDeviceB, "Hammer"));
+    }
+
+    @Test
+    public void syncsThousandsOfRowsInBoundedBatches() throws IOException {
+        int rows = 5_000;
+        List<InventoryItem> items = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            items.add(new InventoryItem("Item " + i, i % 50 + 1));
+        }
+        mDeviceA.addInventoryItems(items, InventoryDatabase.DEFAULT_IMPORT_CHUNK_SIZE, null);
+
+        InventorySyncEngine.Result pushed = sync(mDeviceA);
+        assertEquals(rows, pushed.pushed);
+        List<Long> bodySizes = mServer.getPushBodySizes();
+        assertEquals(rows / BATCH_SIZE, bodySizes.size());
+        assertTrue(mServer.allRequestsGzipped());
+        for (long size : bodySizes) {
+            // one batch of ~80 byte JSON rows, compressed
+            assertTrue("push body was " + size + " bytes", size < BATCH_SIZE * 80L / 2);
+        }
+
+        InventorySyncEngine.Result pulled = sync(mDeviceB);
+        assertEquals(rows, pulled.pulled);
+        assertEquals(rows, mDeviceB.readInventory().size());
+        // A's pull (its own rows are left out) plus B's pages
+        assertEquals(1 + rows / BATCH_SIZE, mServer.getPullRequests());
+
+        // only changed rows are pushed
+        mDeviceA.adjustInventoryItemQuantity(mDeviceA.inventoryPrimaryKeyLookup("Item 7"), 1, 0);
+        assertEquals(1, sync(mDeviceA).pushed);
+        assertEquals(0, sync(mDeviceA).pushed);
+    }
+}
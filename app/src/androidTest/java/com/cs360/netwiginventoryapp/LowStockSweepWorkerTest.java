@@ -0,0 +1,231 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.work.Configuration;
+import androidx.work.ListenableWorker;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.WorkerFactory;
+import androidx.work.WorkerParameters;
+import androidx.work.testing.SynchronousExecutor;
+import androidx.work.testing.TestDriver;
+import androidx.work.testing.TestWorkerBuilder;
+import androidx.work.testing.WorkManagerTestInitHelper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented tests for the periodic low-stock sweep, driven by the WorkManager test scheduler.
+ * The worker runs against a repository over a test database with an in-memory sender, never the
+ * app's database or SmsAlertSender.
+ */
+@RunWith(AndroidJUnit4.class)
+public class LowStockSweepWorkerTest {
+
+    private static final String DB_NAME = "sweep-test.db";
+
+    private Context mContext;
+    private InventoryDatabase mDb;
+    private final List<String> mSent = new ArrayList<>();
+    private LowStockAlertEngine mAlerts;
+    private final InMemoryAlertSender mWorkerSender = new InMemoryAlertSender();
+    private InventoryRepository mRepository;
+
+    @Before
+    public void setUp() {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        mContext.deleteDatabase(DB_NAME);
+        mDb = new InventoryDatabase(mContext, DB_NAME);
+
+        // the repository the scheduled worker gets, the scheduler never fires so only the sweep sends
+        mRepository = new InventoryRepository(mDb, new LowStockAlertEngine(mWorkerSender, "5550100",
+                new TokenBucket(100, 1000, System::currentTimeMillis), (task, delayMillis) -> { }, 0));
+        Configuration config = new Configuration.Builder()
+                .setMinimumLoggingLevel(Log.DEBUG)
+                .setExecutor(new SynchronousExecutor())
+                .setWorkerFactory(workerFactory(mRepository))
+                .build();
+        WorkManagerTestInitHelper.initializeTestWorkManager(mContext, config);
+
+        // records digests instead of texting, the scheduler never fires so only sweep() sends
+        mAlerts = new LowStockAlertEngine((destination, message) -> mSent.add(message), "5550100",
+                new TokenBucket(100, 1000, System::currentTimeMillis), (task, delayMillis) -> { }, 0);
+        // marks on the calling thread, as the repository does on its writer thread
+        mAlerts.setDeliveryListener(mDb::markLowStockAlerted);
+    }
+
+    @After
+    public void tearDown() {
+        mDb.close();
+        mContext.deleteDatabase(DB_NAME);
+    }
+
+    @Test
+    public void schedulesOnePeriodicSweep() throws Exception {
+        LowStockSweepWorker.schedule(mContext);
+        LowStockSweepWorker.schedule(mContext);
+
+        List<WorkInfo> infos = WorkManager.getInstance(mContext)
+                .getWorkInfosForUniqueWork(LowStockSweepWorker.UNIQUE_WORK_NAME).get();
+        assertEquals(1, infos.size());
+        assertEquals(WorkInfo.State.ENQUEUED, infos.get(0).getState());
+    }
+
+    // builds LowStockSweepWorker over the given repository, other workers get the default factory
+    private static WorkerFactory workerFactory(InventoryRepository repository) {
+        return new WorkerFactory() {
+            @Override
+            public ListenableWorker createWorker(Context appContext, String workerClassName,
+                                                 WorkerParameters workerParameters) {
+                if (LowStockSweepWorker.class.getName().equals(workerClassName)) {
+                    return new LowStockSweepWorker(appContext, workerParameters, repository);
+                }
+                return null;
+            }
+        };
+    }
+
+    @Test
+    public void periodicRunAlertsLowItems() throws Exception {
+        mDb.addInventoryItem("Saw", 0);
+
+        LowStockSweepWorker.schedule(mContext);
+        WorkManager workManager = WorkManager.getInstance(mContext);
+        UUID workId = workManager.getWorkInfosForUniqueWork(LowStockSweepWorker.UNIQUE_WORK_NAME).get()
+                .get(0).getId();
+
+        TestDriver driver = WorkManagerTestInitHelper.getTestDriver(mContext);
+        driver.setAllConstraintsMet(workId);
+        driver.setPeriodDelayMet(workId);
+
+        assertEquals(1, mWorkerSender.messages.size());
+        assertEquals("5550100", mWorkerSender.destinations.get(0));
+        assertEquals("LOW INVENTORY ALERT: Inventory item Saw has a quantity of 0", mWorkerSender.messages.get(0));
+        // the mark was queued on the writer thread ahead of this sweep, so nothing is left to report
+        assertEquals(Integer.valueOf(0), mRepository.sweepLowStock(null).get());
+
+        // a periodic request goes back to ENQUEUED for its next period
+        assertEquals(WorkInfo.State.ENQUEUED, workManager.getWorkInfoById(workId).get().getState());
+    }
+
+    @Test
+    public void workerRetriesWhileADigestIsDeferred() {
+        InMemoryAlertSender sender = new InMemoryAlertSender();
+        // one token an hour, the second run's digest has to wait for it
+        InventoryRepository repository = new InventoryRepository(mDb, new LowStockAlertEngine(sender, "5550100",
+                new TokenBucket(1, 3_600_000, System::currentTimeMillis), (task, delayMillis) -> { }, 0));
+        TestWorkerBuilder<LowStockSweepWorker> builder = TestWorkerBuilder.from(mContext, LowStockSweepWorker.class,
+                Executors.newSingleThreadExecutor()).setWorkerFactory(workerFactory(repository));
+
+        mDb.addInventoryItem("Saw", 1);
+        assertEquals(ListenableWorker.Result.success(), builder.build().doWork());
+        mDb.addInventoryItem("Drill", 2);
+        assertEquals(ListenableWorker.Result.retry(), builder.build().doWork());
+        assertEquals(1, sender.messages.size());
+    }
+
+    @Test
+    public void sweepAlertsEachDropOnce() {
+        mDb.addInventoryItem("Hammer", 10);
+        mDb.addInventoryItem("Saw", 1);
+        mDb.addInventoryItem("Drill", 2);
+        long hammer = mDb.inventoryPrimaryKeyLookup("Hammer");
+
+        assertEquals(2, LowStockSweepWorker.sweep(mDb, mAlerts));
+        assertEquals(1, mSent.size());
+        assertEquals("LOW INVENTORY ALERT: 2 items are low: Saw (1), Drill (2)", mSent.get(0));
+
+        // nothing new, nothing sent
+        assertEquals(0, LowStockSweepWorker.sweep(mDb, mAlerts));
+        assertEquals(1, mSent.size());
+
+        // a new drop is alerted on the next run
+        mDb.updateInventoryItemQuantity(hammer, 1);
+        assertEquals(1, LowStockSweepWorker.sweep(mDb, mAlerts));
+        assertEquals("LOW INVENTORY ALERT: Inventory item Hammer has a quantity of 1", mSent.get(1));
+    }
+
+    @Test
+    public void restockResetsAlertState() {
+        mDb.addInventoryItem("Saw", 1);
+        long saw = mDb.inventoryPrimaryKeyLookup("Saw");
+        assertEquals(1, LowStockSweepWorker.sweep(mDb, mAlerts));
+
+        // back above threshold clears the flag, the next drop is a new alert
+        mDb.updateInventoryItemQuantity(saw, 50);
+        assertEquals(0, LowStockSweepWorker.sweep(mDb, mAlerts));
+        mDb.updateInventoryItemQuantity(saw, 2);
+        assertEquals(1, LowStockSweepWorker.sweep(mDb, mAlerts));
+        assertEquals(2, mSent.size());
+
+        // raising the threshold can make an item low without a quantity change
+        mDb.addInventoryItem("Nails", 40);
+        long nails = mDb.inventoryPrimaryKeyLookup("Nails");
+        assertEquals(0, LowStockSweepWorker.sweep(mDb, mAlerts));
+        mDb.setLowStockThreshold(nails, 50);
+        assertEquals(1, LowStockSweepWorker.sweep(mDb, mAlerts));
+    }
+
+    @Test
+    public void deferredDigestLeavesItemsUnalerted() {
+        // one token an hour, the second sweep's digest has to wait for it
+        LowStockAlertEngine alerts = new LowStockAlertEngine((destination, message) -> mSent.add(message), "5550100",
+                new TokenBucket(1, 3_600_000, System::currentTimeMillis), (task, delayMillis) -> { }, 0);
+        alerts.setDeliveryListener(mDb::markLowStockAlerted);
+
+        mDb.addInventoryItem("Saw", 1);
+        assertEquals(1, LowStockSweepWorker.sweep(mDb, alerts));
+        mDb.addInventoryItem("Drill", 2);
+        assertEquals(1, LowStockSweepWorker.sweep(mDb, alerts));
+
+        assertEquals(1, mSent.size());
+        assertEquals(1, alerts.getPendingCount());
+        // not marked, so a sweep in a new process reports it again
+        List<LowStockAlert> unalerted = mDb.readUnalertedLowStockItems();
+        assertEquals(1, unalerted.size());
+        assertEquals("Drill", unalerted.get(0).getName());
+
+        // a repeat sweep joins the waiting digest instead of sending a second one
+        assertEquals(1, LowStockSweepWorker.sweep(mDb, alerts));
+        assertEquals(1, mSent.size());
+        assertEquals(1, alerts.getPendingCount());
+    }
+
+    @Test
+    public void droppedDigestIsReportedAgain() {
+        List<String> dropped = new ArrayList<>();
+        // as SmsAlertSender does without the SEND_SMS permission
+        AlertSender dropping = (destination, message) -> {
+            dropped.add(message);
+            return false;
+        };
+        LowStockAlertEngine alerts = new LowStockAlertEngine(dropping, "5550100",
+                new TokenBucket(100, 1000, System::currentTimeMillis), (task, delayMillis) -> { }, 0);
+        alerts.setDeliveryListener(mDb::markLowStockAlerted);
+
+        mDb.addInventoryItem("Saw", 1);
+        assertEquals(1, LowStockSweepWorker.sweep(mDb, alerts));
+        assertEquals(1, LowStockSweepWorker.sweep(mDb, alerts));
+        assertEquals(2, dropped.size());
+        assertEquals(2, alerts.getDroppedCount());
+
+        // once a digest goes out the item is alerted and the next sweep has nothing to send
+        assertEquals(1, LowStockSweepWorker.sweep(mDb, mAlerts));
+        assertEquals(0, LowStockSweepWorker.sweep(mDb, mAlerts));
+        assertEquals(1, mSent.size());
+    }
+}
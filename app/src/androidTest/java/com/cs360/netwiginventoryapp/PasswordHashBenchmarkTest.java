@@ -0,0 +1,111 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented benchmark that tunes the PBKDF2 work factor to a target login latency on the device it runs
+ * on. Logs the iteration count that reaches TARGET_LOGIN_MS (what PasswordHasher.DEFAULT_ITERATIONS should
+ * be for this device class) and fails if a login with the current default takes more than twice the target.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PasswordHashBenchmarkTest {
+
+    private static final String DB_NAME = "password-benchmark.db";
+    // login latency we aim for: long enough to slow guessing, short enough not to be noticed
+    private static final long TARGET_LOGIN_MS = 250;
+    // iteration count used to measure the cost of one iteration
+    private static final int SAMPLE_ITERATIONS = 20_000;
+    private static final int RUNS = 9;
+    private static final String PASSWORD = "correct horse battery staple";
+
+    private Context mContext;
+    private InventoryDatabase mDb;
+
+    @Before
+    public void setUp() {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        mContext.deleteDatabase(DB_NAME);
+        mDb = new InventoryDatabase(mContext, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        mDb.close();
+        mContext.deleteDatabase(DB_NAME);
+    }
+
+    // median time of RUNS logins (stored password query + verify) against a hash made with iterations
+    private long medianLoginNanos(int iterations) {
+        PasswordHasher hasher = new PasswordHasher(iterations);
+        mDb.addUser("bench" + iterations, hasher.hash(PASSWORD));
+
+        // warm up the statement, the key factory and the JIT
+        assertTrue(hasher.verify(PASSWORD, mDb.readPasswordHash("bench" + iterations)));
+
+        long[] nanos = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            String stored = mDb.readPasswordHash("bench" + iterations);
+            assertTrue(hasher.verify(PASSWORD, stored));
+            nanos[run] = SystemClock.elapsedRealtimeNanos() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2];
+    }
+
+    @Test
+    public void tuneIterationsToTargetLoginLatency() {
+        // PBKDF2 time is linear in the iteration count, so one sample gives the cost per iteration
+        long sample = medianLoginNanos(SAMPLE_ITERATIONS);
+        int tuned = (int) Math.min(Integer.MAX_VALUE / 2,
+                SAMPLE_ITERATIONS * (TARGET_LOGIN_MS * 1_000_000L) / Math.max(sample, 1));
+        // round down to a multiple of 10k so the value is easy to copy into PasswordHasher
+        tuned = Math.max(10_000, tuned / 10_000 * 10_000);
+
+        long tunedNanos = medianLoginNanos(tuned);
+        long defaultNanos = medianLoginNanos(PasswordHasher.DEFAULT_ITERATIONS);
+        Log.i("BENCHMARK", "login with " + SAMPLE_ITERATIONS + " iterations: " + sample / 1_000_000.0 + " ms");
+        Log.i("BENCHMARK", "tuned to " + tuned + " iterations for " + TARGET_LOGIN_MS + " ms, measured "
+                + tunedNanos / 1_000_000.0 + " ms");
+        Log.i("BENCHMARK", "DEFAULT_ITERATIONS " + PasswordHasher.DEFAULT_ITERATIONS + ": "
+                + defaultNanos / 1_000_000.0 + " ms");
+
+        assertTrue("default work factor takes " + defaultNanos / 1_000_000 + " ms per login, tuned value is "
+                + tuned, defaultNanos < TARGET_LOGIN_MS * 2 * 1_000_000L);
+    }
+
+    @Test
+    public void plaintextPasswordIsUpgradedOnce() {
+        PasswordHasher hasher = new PasswordHasher();
+        mDb.addUser("Chad", "Secret");
+
+        // the login path in InventoryRepository: verify, then replace the plaintext if it is unchanged
+        String stored = mDb.readPasswordHash("chad");
+        assertTrue(hasher.verify("Secret", stored));
+        assertTrue(hasher.needsRehash(stored));
+        String upgraded = hasher.hash("Secret");
+        assertTrue(mDb.replacePasswordHash("chad", stored, upgraded));
+        // a second login racing the first finds the row already changed
+        assertFalse(mDb.replacePasswordHash("chad", stored, hasher.hash("Secret")));
+
+        String after = mDb.readPasswordHash("CHAD");
+        assertEquals(upgraded, after);
+        assertFalse(hasher.needsRehash(after));
+        assertTrue(hasher.verify("Secret", after));
+        assertFalse(hasher.verify("secret", after));
+    }
+}
@@ -0,0 +1,47 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.runner.RunWith;
+
+/**
+ * Instrumented run of the shared InventoryStore contract against InventoryDatabase, so the SQLite
+ * store and the local in-memory and mapped log stores are held to the same rules and benchmarked
+ * with the same workload.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SqliteInventoryStoreTest extends InventoryStoreContractTest {
+
+    private static final String DB_NAME = "store-contract-test.db";
+
+    private Context mContext;
+
+    @Override
+    protected InventoryStore createStore() {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        mContext.deleteDatabase(DB_NAME);
+        return new InventoryDatabase(mContext, DB_NAME);
+    }
+
+    @Override
+    protected String storeName() {
+        return "SQLite";
+    }
+
+    @Override
+    protected void reportBenchmark(String line) {
+        Log.i("BENCHMARK", line);
+    }
+
+    @Override
+    @After
+    public void tearDownStore() throws Exception {
+        super.tearDownStore();
+        mContext.deleteDatabase(DB_NAME);
+    }
+}
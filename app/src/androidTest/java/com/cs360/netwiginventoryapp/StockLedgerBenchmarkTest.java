@@ -0,0 +1,181 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented benchmark for the stock movement ledger at 1M movements. Reports the extra bytes
+ * and time each quantity change costs because of the ledger (write amplification), and the
+ * latency of point-in-time quantity queries before and after compaction, and checks that repeated
+ * compactions keep the ledger and snapshot tables bounded while items come and go.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StockLedgerBenchmarkTest {
+
+    private static final String DB_NAME = "ledger-benchmark.db";
+    private static final int ITEMS = 1_000;
+    private static final int MOVEMENTS = 1_000_000;
+    private static final int BATCH = 1_000;
+    private static final int QUERIES = 1_000;
+    private static final int ROUNDS = 20;
+    // items deleted and added again each round
+    private static final int CHURN = 50;
+
+    private Context mContext;
+    private InventoryDatabase mDb;
+    private long[] mIds;
+
+    @Before
+    public void setUp() {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        mContext.deleteDatabase(DB_NAME);
+        mDb = new InventoryDatabase(mContext, DB_NAME);
+
+        List<InventoryItem> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new InventoryItem("Item " + i, 1_000_000));
+        }
+        mDb.addInventoryItems(items, ITEMS, null);
+        refreshIds();
+    }
+
+    @After
+    public void tearDown() {
+        mDb.close();
+        mContext.deleteDatabase(DB_NAME);
+    }
+
+    private long databaseBytes() {
+        SQLiteDatabase db = mDb.getWritableDatabase();
+        db.execSQL("PRAGMA wal_checkpoint(TRUNCATE)");
+        return mContext.getDatabasePath(DB_NAME).length();
+    }
+
+    @Test
+    public void writeAmplificationAndPointInTimeLatency() {
+        Random random = new Random(15);
+        long bytesBefore = databaseBytes();
+        long writeStart = SystemClock.elapsedRealtimeNanos();
+
+        List<StockAdjustment> batch = new ArrayList<>(BATCH);
+        for (int n = 0; n < MOVEMENTS; n += BATCH) {
+            batch.clear();
+            for (int i = 0; i < BATCH; i++) {
+                // never 0, an update that leaves the quantity unchanged is not a movement
+                int delta = 1 + random.nextInt(10);
+                batch.add(new StockAdjustment(mIds[random.nextInt(mIds.length)], random.nextBoolean() ? delta : -delta));
+            }
+            assertTrue(mDb.adjustInventoryItemQuantities(batch, InventoryDatabase.NO_FLOOR));
+        }
+
+        long writeNanos = SystemClock.elapsedRealtimeNanos() - writeStart;
+        long ledgerBytes = databaseBytes() - bytesBefore;
+        long movements = mDb.countStockMovements();
+        Log.i("BENCHMARK", "ledger: " + movements + " movements, " + (ledgerBytes / movements) + " bytes/movement, "
+                + (writeNanos / MOVEMENTS) + " ns per adjusted row (incl. ledger)");
+        assertTrue(movements >= MOVEMENTS);
+
+        long now = System.currentTimeMillis();
+        long[] before = pointInTimeNanos(now);
+        Log.i("BENCHMARK", "quantityAt before compaction: median " + before[QUERIES / 2] / 1000 + " us, p95 "
+                + before[QUERIES * 95 / 100] / 1000 + " us");
+
+        long compactStart = SystemClock.elapsedRealtimeNanos();
+        int folded = mDb.compactStockLedger(now);
+        Log.i("BENCHMARK", "compaction folded " + folded + " movements in "
+                + (SystemClock.elapsedRealtimeNanos() - compactStart) / 1_000_000 + " ms");
+        assertEquals(0, mDb.countStockMovements());
+
+        long[] after = pointInTimeNanos(now);
+        Log.i("BENCHMARK", "quantityAt after compaction: median " + after[QUERIES / 2] / 1000 + " us, p95 "
+                + after[QUERIES * 95 / 100] / 1000 + " us");
+
+        // the answers do not change when the history is folded into snapshots
+        InventoryItemStore table = mDb.readInventory();
+        for (int i = 0; i < 50; i++) {
+            assertEquals(table.getQuantity(i), mDb.quantityAt(table.getId(i), now));
+        }
+    }
+
+    // each round writes a batch of movements, deletes CHURN items, adds CHURN new ones and compacts with
+    // the horizon at the cutoff, so only the latest snapshot of each live item may survive
+    @Test
+    public void repeatedCompactionsStayBounded() throws InterruptedException {
+        Random random = new Random(360);
+        List<StockAdjustment> batch = new ArrayList<>(BATCH);
+        long maxRows = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            batch.clear();
+            for (int i = 0; i < BATCH; i++) {
+                batch.add(new StockAdjustment(mIds[random.nextInt(mIds.length)], 1 + random.nextInt(10)));
+            }
+            assertTrue(mDb.adjustInventoryItemQuantities(batch, InventoryDatabase.NO_FLOOR));
+
+            List<InventoryItem> added = new ArrayList<>(CHURN);
+            for (int i = 0; i < CHURN; i++) {
+                mDb.deleteInventoryItem(mIds[random.nextInt(mIds.length)]);
+                added.add(new InventoryItem("Round " + round + " item " + i, 1));
+            }
+            mDb.addInventoryItems(added, CHURN, null);
+            refreshIds();
+
+            // the movements just written are strictly older than the cutoff
+            Thread.sleep(5);
+            long cutoff = System.currentTimeMillis();
+            mDb.compactStockLedger(cutoff, cutoff);
+
+            long movements = mDb.countStockMovements();
+            long snapshots = mDb.countStockSnapshots();
+            maxRows = Math.max(maxRows, movements + snapshots);
+            assertEquals(0, movements);
+            assertTrue("round " + round + ": " + snapshots + " snapshots for " + mIds.length + " items",
+                    snapshots <= mIds.length);
+
+            // the snapshots left still answer the current quantities
+            InventoryItemStore table = mDb.readInventory();
+            for (int i = 0; i < table.size(); i += table.size() / 20) {
+                assertEquals(table.getQuantity(i), mDb.quantityAt(table.getId(i), cutoff));
+            }
+        }
+        Log.i("BENCHMARK", "ledger after " + ROUNDS + " compactions: at most " + maxRows + " rows for "
+                + mIds.length + " items");
+    }
+
+    private void refreshIds() {
+        InventoryItemStore table = mDb.readInventory();
+        mIds = new long[table.size()];
+        for (int i = 0; i < mIds.length; i++) {
+            mIds[i] = table.getId(i);
+        }
+    }
+
+    private long[] pointInTimeNanos(long timeMillis) {
+        Random random = new Random(360);
+        long[] nanos = new long[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            long id = mIds[random.nextInt(mIds.length)];
+            long start = SystemClock.elapsedRealtimeNanos();
+            mDb.quantityAt(id, timeMillis);
+            nanos[q] = SystemClock.elapsedRealtimeNanos() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+}
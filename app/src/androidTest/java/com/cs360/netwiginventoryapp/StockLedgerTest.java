@@ -0,0 +1,121 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Instrumented tests for the stock movement ledger: every write path is recorded, point-in-time
+ * quantities are right before and after compaction, and compaction bounds the ledger.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StockLedgerTest {
+
+    private static final String DB_NAME = "ledger-test.db";
+
+    private Context mContext;
+    private InventoryDatabase mDb;
+
+    @Before
+    public void setUp() {
+        mContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        mContext.deleteDatabase(DB_NAME);
+        mDb = new InventoryDatabase(mContext, DB_NAME);
+    }
+
+    @After
+    public void tearDown() {
+        mDb.close();
+        mContext.deleteDatabase(DB_NAME);
+    }
+
+    // waits until the wall clock has moved on, so the times around a write are distinct
+    private static long tick() throws InterruptedException {
+        Thread.sleep(5);
+        long now = System.currentTimeMillis();
+        Thread.sleep(5);
+        return now;
+    }
+
+    @Test
+    public void recordsEveryWritePath() {
+        mDb.addInventoryItem("Hammer", 10);
+        long id = mDb.inventoryPrimaryKeyLookup("Hammer");
+        mDb.updateInventoryItemQuantity(id, 7);
+        mDb.adjustInventoryItemQuantity(id, 5, InventoryDatabase.NO_FLOOR);
+        mDb.adjustInventoryItemQuantities(Arrays.asList(new StockAdjustment(id, -2)), 0);
+        // setting the same quantity is not a movement
+        mDb.updateInventoryItemQuantity(id, 10);
+        mDb.deleteInventoryItem(id);
+
+        List<StockMovement> movements = mDb.readStockMovements(id, 100);
+        assertEquals(5, movements.size());
+        int[] deltas = { -10, -2, 5, -3, 10 };
+        for (int i = 0; i < deltas.length; i++) {
+            assertEquals(deltas[i], movements.get(i).getDelta());
+        }
+        assertEquals(StockMovement.KIND_DELETE, movements.get(0).getKind());
+        assertEquals(StockMovement.KIND_ADD, movements.get(4).getKind());
+    }
+
+    @Test
+    public void pointInTimeQuantitySurvivesCompaction() throws InterruptedException {
+        long beforeAdd = tick();
+        mDb.addInventoryItem("Saw", 10);
+        long id = mDb.inventoryPrimaryKeyLookup("Saw");
+        long afterAdd = tick();
+        mDb.adjustInventoryItemQuantity(id, -4, 0);
+        long afterPick = tick();
+        mDb.adjustInventoryItemQuantity(id, 20, 0);
+        long afterReceive = tick();
+
+        assertEquals(0, mDb.quantityAt(id, beforeAdd));
+        assertEquals(10, mDb.quantityAt(id, afterAdd));
+        assertEquals(6, mDb.quantityAt(id, afterPick));
+        assertEquals(26, mDb.quantityAt(id, afterReceive));
+
+        // fold everything up to afterPick into a snapshot
+        assertEquals(2, mDb.compactStockLedger(afterPick));
+        assertEquals(1, mDb.countStockMovements());
+
+        assertEquals(0, mDb.quantityAt(id, beforeAdd));
+        assertEquals(6, mDb.quantityAt(id, afterPick));
+        assertEquals(26, mDb.quantityAt(id, afterReceive));
+
+        // a second compaction builds on the first snapshot
+        mDb.adjustInventoryItemQuantity(id, -1, 0);
+        long afterSecondPick = tick();
+        assertEquals(2, mDb.compactStockLedger(afterSecondPick));
+        assertEquals(0, mDb.countStockMovements());
+        assertEquals(25, mDb.quantityAt(id, afterSecondPick));
+        assertEquals(6, mDb.quantityAt(id, afterPick));
+
+        // an older cutoff than the last one is ignored
+        assertEquals(0, mDb.compactStockLedger(afterAdd));
+    }
+
+    @Test
+    public void deletedItemHasNoStock() throws InterruptedException {
+        mDb.addInventoryItem("Drill", 3);
+        long id = mDb.inventoryPrimaryKeyLookup("Drill");
+        long whileStocked = tick();
+        mDb.deleteInventoryItem(id);
+        long afterDelete = tick();
+
+        mDb.compactStockLedger(afterDelete);
+
+        assertEquals(3, mDb.quantityAt(id, whileStocked));
+        assertEquals(0, mDb.quantityAt(id, afterDelete));
+    }
+}
@@ -0,0 +1,71 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.util.Log;
+
+import java.io.StringReader;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Fills the inventory table with test rows for the
+             : macrobenchmarks (benchmark build type only).
+             :
+             : adb shell am broadcast --ei rows 5000 \
+             :   -n com.cs360.netwiginventoryapp/.BenchmarkSeedReceiver
+             :
+             : Rows go through the normal CSV bulk import, so the
+             : broadcast can be sent before every run: names that
+             : already exist are skipped and the table only ever
+             : holds the requested rows. am broadcast waits for the
+             : import to finish.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class BenchmarkSeedReceiver extends BroadcastReceiver {
+
+    private static final String TAG = "BENCHMARK";
+
+    public static final String EXTRA_ROWS = "rows";
+    private static final int DEFAULT_ROWS = 5000;
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        int rows = intent.getIntExtra(EXTRA_ROWS, DEFAULT_ROWS);
+        PendingResult pending = goAsync();
+
+        InventoryRepository.getInstance(context.getApplicationContext()).importInventory(
+                () -> new StringReader(seedCsv(rows)),
+                imported -> { },
+                new InventoryRepository.Callback<InventoryRepository.ImportResult>() {
+                    @Override
+                    public void onResult(InventoryRepository.ImportResult result) {
+                        Log.i(TAG, "Seeded " + result.imported + " of " + rows + " rows");
+                        pending.setResultCode(result.imported);
+                        pending.finish();
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        Log.e(TAG, "Seeding failed", e);
+                        pending.finish();
+                    }
+                });
+    }
+
+    // "Item 1,1" .. "Item n,n % 50 + 1", quantities spread so some rows are under the low-stock threshold
+    private static String seedCsv(int rows) {
+        StringBuilder csv = new StringBuilder(rows * 16);
+        for (int i = 1; i <= rows; i++) {
+            csv.append("Item ").append(i).append(',').append(i % 50 + 1).append('\n');
+        }
+        return csv.toString();
+    }
+
+} // end BenchmarkSeedReceiver()
@@ -0,0 +1,22 @@
+package com.cs360.netwiginventoryapp;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Delivers an alert message to a destination.
+             : SmsAlertSender sends a text message; tests plug in
+             : an in-memory sender instead.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public interface AlertSender {
+
+    // sends message to destination, must not block for long since it may be called on the UI thread
+    // returns false if the message was dropped instead (e.g. no SEND_SMS permission)
+    boolean send(String destination, String message);
+
+} // end AlertSender()
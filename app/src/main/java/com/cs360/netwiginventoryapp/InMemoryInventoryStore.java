@@ -0,0 +1,360 @@
+package com.cs360.netwiginventoryapp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : InventoryStore held entirely in memory, nothing is
+             : persisted.
+             :
+             : - rows live in a ConcurrentSkipListMap keyed by _id,
+             :   so reads, pages and full scans in _id order never
+             :   take a lock
+             : - writes to a row take one of a fixed set of stripe
+             :   locks chosen by _id, so writers to different rows
+             :   rarely wait for each other, a batch adjust locks
+             :   every stripe it touches in ascending order (no
+             :   deadlock) for all-or-nothing behaviour
+             : - names are counted per case-folded name (duplicate
+             :   names are allowed, as in the table)
+             :
+             : Full reads are weakly consistent: a row written while
+             : readInventory() runs may or may not be included.
+             :
+             : Also the in-memory state behind MappedLogInventoryStore.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class InMemoryInventoryStore implements InventoryStore {
+
+    // power of two so a stripe is picked with a mask
+    private static final int DEFAULT_STRIPES = 16;
+
+    // one inventory row, quantity is only written while holding the row's stripe lock
+    private static final class Row {
+        final long id;
+        final String name;
+        volatile int quantity;
+
+        Row(long id, String name, int quantity) {
+            this.id = id;
+            this.name = name;
+            this.quantity = quantity;
+        }
+    }
+
+    private final ConcurrentSkipListMap<Long, Row> mRows = new ConcurrentSkipListMap<>();
+    // case-folded item name -> number of rows with that name
+    private final ConcurrentHashMap<String, Integer> mNameCounts = new ConcurrentHashMap<>();
+    // case-folded user name -> stored password, the first user added with a name wins (as in the table)
+    private final ConcurrentHashMap<String, String> mUsers = new ConcurrentHashMap<>();
+    private final ReentrantLock[] mStripes;
+    // highest _id handed out so far, ids are never reused (like AUTOINCREMENT)
+    private final AtomicLong mLastId = new AtomicLong();
+
+    public InMemoryInventoryStore() {
+        this(DEFAULT_STRIPES);
+    }
+
+    // stripes is rounded up to a power of two
+    public InMemoryInventoryStore(int stripes) {
+        int count = Integer.highestOneBit(Math.max(stripes, 1) * 2 - 1);
+        mStripes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            mStripes[i] = new ReentrantLock();
+        }
+    }
+
+    /*
+     ***************************************
+     * *   Users
+     * *************************************
+     */
+
+    @Override
+    public void addUser(String uname, String passwordHash) {
+        mUsers.putIfAbsent(InventoryCache.normalize(uname), passwordHash);
+    }
+
+    @Override
+    public boolean userLookup(String uname) {
+        return mUsers.containsKey(InventoryCache.normalize(uname));
+    }
+
+    @Override
+    public String readPasswordHash(String uname) {
+        return mUsers.get(InventoryCache.normalize(uname));
+    }
+
+    @Override
+    public boolean replacePasswordHash(String uname, String expected, String passwordHash) {
+        return mUsers.replace(InventoryCache.normalize(uname), expected, passwordHash);
+    }
+
+    /*
+     ***************************************
+     * *   Inventory
+     * *************************************
+     */
+
+    @Override
+    public void addInventoryItem(String item_name, int qty) {
+        insert(mLastId.incrementAndGet(), item_name, qty);
+    }
+
+    // every row is visible as soon as it is added, chunkSize only sets how often progress is reported
+    @Override
+    public int addInventoryItems(Iterable<InventoryItem> items, int chunkSize, ImportProgressListener listener) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0");
+        }
+        int rowsRead = 0;
+        int rowsInserted = 0;
+        for (InventoryItem item : items) {
+            // claiming the name first makes the existence check and the insert one step
+            if (mNameCounts.putIfAbsent(InventoryCache.normalize(item.getName()), 1) == null) {
+                putRow(mLastId.incrementAndGet(), item.getName(), item.getQuantity());
+                rowsInserted++;
+            }
+            rowsRead++;
+            if (rowsRead % chunkSize == 0 && listener != null) {
+                listener.onProgress(rowsInserted);
+            }
+        }
+        if (listener != null) {
+            listener.onProgress(rowsInserted);
+        }
+        return rowsInserted;
+    }
+
+    @Override
+    public boolean inventoryItemLookup(String item_name) {
+        return mNameCounts.containsKey(InventoryCache.normalize(item_name));
+    }
+
+    @Override
+    public boolean deleteInventoryItem(long id) {
+        Row row;
+        ReentrantLock stripe = stripeOf(id);
+        stripe.lock();
+        try {
+            row = mRows.remove(id);
+        } finally {
+            stripe.unlock();
+        }
+        if (row == null) {
+            return false;
+        }
+        mNameCounts.computeIfPresent(InventoryCache.normalize(row.name), (name, count) -> count == 1 ? null : count - 1);
+        return true;
+    }
+
+    @Override
+    public boolean updateInventoryItemQuantity(long id, int new_qty) {
+        return setQuantity(id, new_qty);
+    }
+
+    @Override
+    public boolean adjustInventoryItemQuantity(long id, int delta, long floor) {
+        ReentrantLock stripe = stripeOf(id);
+        stripe.lock();
+        try {
+            Row row = mRows.get(id);
+            if (row == null) {
+                return false;
+            }
+            long quantity = (long) row.quantity + delta;
+            if (!isAllowed(quantity, floor)) {
+                return false;
+            }
+            row.quantity = (int) quantity;
+            return true;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public boolean adjustInventoryItemQuantities(List<StockAdjustment> adjustments, long floor) {
+        // every stripe the batch touches, locked lowest index first so two batches can never deadlock
+        Set<Integer> stripes = new TreeSet<>();
+        for (StockAdjustment adjustment : adjustments) {
+            stripes.add(stripeIndexOf(adjustment.getId()));
+        }
+        List<ReentrantLock> locked = new ArrayList<>(stripes.size());
+        try {
+            for (int index : stripes) {
+                mStripes[index].lock();
+                locked.add(mStripes[index]);
+            }
+            Map<Long, Integer> quantities = planAdjustments(adjustments, floor);
+            if (quantities == null) {
+                return false;
+            }
+            for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                mRows.get(entry.getKey()).quantity = entry.getValue();
+            }
+            return true;
+        } finally {
+            for (ReentrantLock lock : locked) {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public InventoryItemStore readInventory() {
+        InventoryItemStore inventory = new InventoryItemStore(mRows.size());
+        for (Row row : mRows.values()) {
+            inventory.add(row.id, row.name, row.quantity);
+        }
+        return inventory;
+    }
+
+    @Override
+    public List<InventoryItem> readInventoryPageAfter(long afterId, int limit) {
+        return readPage(mRows.tailMap(afterId, false).values(), limit);
+    }
+
+    @Override
+    public List<InventoryItem> readInventoryPageBefore(long beforeId, int limit) {
+        List<InventoryItem> page = readPage(mRows.headMap(beforeId, false).descendingMap().values(), limit);
+        // walked backwards from beforeId, flip it back into ascending order
+        Collections.reverse(page);
+        return page;
+    }
+
+    // nothing to release, the rows are simply dropped
+    @Override
+    public void close() {
+        mRows.clear();
+        mNameCounts.clear();
+        mUsers.clear();
+    }
+
+    /*
+     ***************************************
+     * *   Used by MappedLogInventoryStore
+     * *************************************
+     */
+
+    // highest _id handed out so far
+    long lastId() {
+        return mLastId.get();
+    }
+
+    // makes sure ids up to lastId are never handed out again
+    void advanceLastId(long lastId) {
+        mLastId.accumulateAndGet(lastId, Math::max);
+    }
+
+    // adds a row with a given id (a new one, or one being replayed)
+    void insert(long id, String item_name, int qty) {
+        putRow(id, item_name, qty);
+        mNameCounts.merge(InventoryCache.normalize(item_name), 1, Integer::sum);
+    }
+
+    // current quantity of row id, or null if there is no such row
+    Integer quantityOf(long id) {
+        Row row = mRows.get(id);
+        return row == null ? null : row.quantity;
+    }
+
+    boolean setQuantity(long id, int qty) {
+        ReentrantLock stripe = stripeOf(id);
+        stripe.lock();
+        try {
+            Row row = mRows.get(id);
+            if (row == null) {
+                return false;
+            }
+            row.quantity = qty;
+            return true;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    // the quantity each adjusted row would end up with, in first-adjusted order, or null if any row
+    // is missing or would go below floor on the way, nothing is changed
+    Map<Long, Integer> planAdjustments(List<StockAdjustment> adjustments, long floor) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (StockAdjustment adjustment : adjustments) {
+            Integer current = quantities.get(adjustment.getId());
+            if (current == null) {
+                current = quantityOf(adjustment.getId());
+                if (current == null) {
+                    return null;
+                }
+            }
+            long quantity = (long) current + adjustment.getDelta();
+            if (!isAllowed(quantity, floor)) {
+                return null;
+            }
+            quantities.put(adjustment.getId(), (int) quantity);
+        }
+        return quantities;
+    }
+
+    // sets the stored password of an existing user (a replayed replacement)
+    void setPasswordHash(String uname, String passwordHash) {
+        mUsers.computeIfPresent(InventoryCache.normalize(uname), (name, old) -> passwordHash);
+    }
+
+    // every user name and stored password, for writing a snapshot
+    Map<String, String> users() {
+        return new HashMap<>(mUsers);
+    }
+
+    private void putRow(long id, String item_name, int qty) {
+        ReentrantLock stripe = stripeOf(id);
+        stripe.lock();
+        try {
+            mRows.put(id, new Row(id, item_name, qty));
+        } finally {
+            stripe.unlock();
+        }
+        advanceLastId(id);
+    }
+
+    // a quantity must be at least floor and still fit in an int
+    private static boolean isAllowed(long quantity, long floor) {
+        return quantity >= floor && quantity >= Integer.MIN_VALUE && quantity <= Integer.MAX_VALUE;
+    }
+
+    private static List<InventoryItem> readPage(Iterable<Row> rows, int limit) {
+        List<InventoryItem> page = new ArrayList<>(Math.min(limit, 256));
+        for (Row row : rows) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(new InventoryItem(row.id, row.name, row.quantity));
+        }
+        return page;
+    }
+
+    private int stripeIndexOf(long id) {
+        return (int) (id ^ (id >>> 32)) & (mStripes.length - 1);
+    }
+
+    private ReentrantLock stripeOf(long id) {
+        return mStripes[stripeIndexOf(id)];
+    }
+
+} // end InMemoryInventoryStore()
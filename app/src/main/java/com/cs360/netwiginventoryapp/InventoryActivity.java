@@ -2,20 +2,26 @@ package com.cs360.netwiginventoryapp;
 
 import static android.view.Gravity.*;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.SearchView;
 
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
+import androidx.paging.PagingLiveData;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import android.Manifest;
 import android.content.DialogInterface;
 import android.content.pm.PackageManager;
+import android.net.Uri;
 import android.os.Bundle;
-import android.telephony.SmsManager;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.view.Menu;
 import android.view.MenuItem;
@@ -24,7 +30,12 @@ import android.widget.EditText;
 import android.widget.LinearLayout;
 import android.widget.Toast;
 
-import java.util.List;
+import java.io.BufferedWriter;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
 
 /*******************************************************************
  Author      : Chad Netwig
@@ -40,104 +51,227 @@ import java.util.List;
 
 public class InventoryActivity extends AppCompatActivity implements MyRecyclerViewAdapter.ItemClickListener {
 
-    MyRecyclerViewAdapter adapter;          // adapter object from custom MyRecyclerViewAdapter class
-    private InventoryDatabase mInventoryDb; // var for SQLite database
+    MyRecyclerViewAdapter adapter;              // adapter object from custom MyRecyclerViewAdapter class
+    private InventoryRepository mRepository;    // runs SQLite database operations off the UI thread
 
     // vars hold inventory item name and qty
     private String item_name_str;
     private String qty_str;
-    private List<String> inventory;
 
-    // vars hold selected position in the RecyclerView
+    // vars hold selected position in the RecyclerView and the inventory row (id, name, qty) it belongs to
     private int selectedPosition = 0;
-    private String selectedValue;
+    private InventoryItem selectedItem;
 
     // *** CONSTANTS ***
     // arbitrary constant for SMS permission code
     private static final int SMS_PERMISSION_CODE = 100;
-    // arbitrary constant for sending SMS notification if an inventory item reaches this quantity
-    private static final int LOW_INVENTORY_ALERT = 2;
-    // SMS destination address constant (set to phone number of Android Emulator)
-    private static final String SMS_DESTINATION = "6505551212";
+    // wait this long after the last keystroke before searching, so a query is not run per character
+    private static final long SEARCH_DEBOUNCE_MS = 300;
 
     // added Menu obj for edit/delete icons enabled/disabled
     private Menu mMenu;
 
+    // debounces search text changes, only the last text typed within SEARCH_DEBOUNCE_MS is searched
+    private final Handler mSearchHandler = new Handler(Looper.getMainLooper());
+    private String mPendingSearchText;
+    private final Runnable mSearchRunnable = () -> mRepository.setSearchText(mPendingSearchText);
+
+    // opens the system file picker and passes the chosen CSV file to importInventory()
+    private final ActivityResultLauncher<String[]> mImportLauncher =
+            registerForActivityResult(new ActivityResultContracts.OpenDocument(), this::importInventory);
+
+    // open the system "save as" picker and pass the chosen file to exportInventory()
+    private final ActivityResultLauncher<String> mExportCsvLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(), uri -> exportInventory(uri, InventoryExporter.Format.CSV));
+    private final ActivityResultLauncher<String> mExportJsonLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(), uri -> exportInventory(uri, InventoryExporter.Format.JSON_LINES));
+    // writes the metrics JSON dump to the chosen file (debug builds only)
+    private final ActivityResultLauncher<String> mExportMetricsLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(), this::exportMetrics);
+    // export in progress, cancelled if the user leaves the screen
+    private Future<Long> mExportFuture;
+    // set once the first page of the grid has been shown and reportFullyDrawn() called
+    private boolean mFullyDrawnReported = false;
+    // location whose stock the grid shows (null for item totals across all locations)
+    private InventoryLocation mLocation;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_inventory);
 
-        // Instantiates Singleton instance of SQLite database
-        mInventoryDb = InventoryDatabase.getInstance(getApplicationContext());
-
-        // Reads Inventory Table and populates the data String Array used for RecyclerView
-        String[] data = loadInventoryTable();
+        // Instantiates Singleton instance of the repository wrapping the SQLite database
+        mRepository = InventoryRepository.getInstance(getApplicationContext());
 
-        // set up the RecyclerView
+        // set up the RecyclerView, starts empty until the inventory table has been read
         RecyclerView recyclerView = findViewById(R.id.inventory_recycler);
         int numberOfColumns = 2;
         recyclerView.setLayoutManager(new GridLayoutManager(this, numberOfColumns));
-        adapter = new MyRecyclerViewAdapter(this, data);
+        adapter = new MyRecyclerViewAdapter(this);
 
         adapter.setClickListener(this);
+        adapter.addOnPagesUpdatedListener(this::onInventoryPagesUpdated);
         recyclerView.setAdapter(adapter);
 
-        // sets default selected value at position 0 in RecyclerView if there is at least 1 item
-        if (data.length > 0) {
-            selectedValue = adapter.getItem(selectedPosition);
-        }
+        // the search box starts collapsed, so start with the full inventory totals
+        mRepository.setSearchText(null);
+        mRepository.setLocation(InventoryPagingSource.NO_LOCATION);
+
+        // Reads the Inventory Table page by page on a background thread as the RecyclerView scrolls
+        // the repository invalidates the pages after every add/edit/delete so the grid stays current
+        PagingLiveData.cachedIn(mRepository.getInventoryPages(), getLifecycle())
+                .observe(this, pagingData -> adapter.submitData(getLifecycle(), pagingData));
 
     } // end onCreate()
 
 
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // dumps the metrics registry to Logcat (debug builds only)
+        mRepository.logOperationStats();
+    }
+
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        mSearchHandler.removeCallbacks(mSearchRunnable);
+        if (isFinishing() && mExportFuture != null) {
+            mExportFuture.cancel(true);
+        }
+    }
+
+
     // inflates app action bar
     @Override
     public boolean onCreateOptionsMenu(Menu menu) {
         getMenuInflater().inflate(R.menu.appbar_menu, menu);
         mMenu = menu;
-        Log.i("LOADINVENTORY", "mData length : " + adapter.mData.length);
-        if (adapter.mData.length > 0) {
-            // enables pencil and trashcan icons on app menu if there is inventory
-            mMenu.findItem(R.id.action_delete).setEnabled(true);
-            mMenu.findItem(R.id.action_edit).setEnabled(true);
+        setUpSearch((SearchView) menu.findItem(R.id.action_search).getActionView());
+        // the metrics screen is a debugging aid, release builds do not show it
+        menu.findItem(R.id.action_metrics).setVisible(BuildConfig.DEBUG);
+        if (BuildConfig.DEBUG) {
+            Log.i("LOADINVENTORY", "item count : " + adapter.getItemCount());
         }
+        updateMenuState();
         return true;
     }
 
 
+    // filters the grid as the user types, each change restarts the debounce timer and a newer
+    // search cancels the loads still running for the previous one
+    private void setUpSearch(SearchView searchView) {
+        searchView.setQueryHint(getString(R.string.search_hint));
+        searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+            @Override
+            public boolean onQueryTextSubmit(String query) {
+                // search right away on the keyboard's search key
+                mSearchHandler.removeCallbacks(mSearchRunnable);
+                mPendingSearchText = query;
+                mSearchRunnable.run();
+                searchView.clearFocus();
+                return true;
+            }
+
+            @Override
+            public boolean onQueryTextChange(String newText) {
+                mSearchHandler.removeCallbacks(mSearchRunnable);
+                mPendingSearchText = newText;
+                mSearchHandler.postDelayed(mSearchRunnable, SEARCH_DEBOUNCE_MS);
+                return true;
+            }
+        });
+    }
+
+
+    // enables pencil and trashcan icons on app menu if there is inventory, else disables them
+    private void updateMenuState() {
+        if (mMenu == null) {
+            return; // menu not inflated yet, onCreateOptionsMenu() will call this again
+        }
+        boolean hasInventory = adapter.getItemCount() > 0;
+        mMenu.findItem(R.id.action_delete).setEnabled(hasInventory);
+        mMenu.findItem(R.id.action_edit).setEnabled(hasInventory);
+    }
+
+
     // Implements reaction to tapping action bar items
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
         switch (item.getItemId()) {
             case R.id.action_edit:
                 // edit action bar icon
-                Log.i("MENU", "Edit Icon Clicked!");
+                if (BuildConfig.DEBUG) {
+                    Log.i("MENU", "Edit Icon Clicked!");
+                }
                 // opens dialog box to edit qty value
                 editAction();
                 return true;
 
             case R.id.action_delete:
                 // delete action bar icon
-                Log.i("MENU", "Delete Icon Clicked!");
+                if (BuildConfig.DEBUG) {
+                    Log.i("MENU", "Delete Icon Clicked!");
+                }
                 // deletes the item selected in the RecyclerView
                 deleteAction();
                 return true;
 
+            case R.id.action_location:
+                // locations menu option
+                if (BuildConfig.DEBUG) {
+                    Log.i("MENU", "Locations Clicked!");
+                }
+                // open dialog box to choose the location shown in the grid
+                showLocationDialogBox();
+                return true;
+
             case R.id.action_new_item:
                 // add new item menu option
-                Log.i("MENU", "Add New Inventory Item Clicked!");
+                if (BuildConfig.DEBUG) {
+                    Log.i("MENU", "Add New Inventory Item Clicked!");
+                }
                 // open dialog box to add a new inventory item
                 showInventoryDialogBox();
                 return true;
 
+            case R.id.action_import:
+                // import inventory menu option
+                if (BuildConfig.DEBUG) {
+                    Log.i("MENU", "Import Inventory Clicked!");
+                }
+                // open file picker to choose a CSV file of "item name,quantity" lines
+                mImportLauncher.launch(new String[] { "text/csv", "text/comma-separated-values", "text/plain" });
+                return true;
+
+            case R.id.action_export_csv:
+                if (BuildConfig.DEBUG) {
+                    Log.i("MENU", "Export Inventory (CSV) Clicked!");
+                }
+                mExportCsvLauncher.launch("inventory.csv");
+                return true;
+
+            case R.id.action_export_jsonl:
+                if (BuildConfig.DEBUG) {
+                    Log.i("MENU", "Export Inventory (JSON Lines) Clicked!");
+                }
+                mExportJsonLauncher.launch("inventory.jsonl");
+                return true;
+
             case R.id.action_notify:
                 // notifications menu option
-                Log.i("MENU", "Notifications Menu Item Clicked!");
+                if (BuildConfig.DEBUG) {
+                    Log.i("MENU", "Notifications Menu Item Clicked!");
+                }
                 // Checks for SMS permissions and prompts user to allow/deny the permission
                 checkPermission(Manifest.permission.SEND_SMS, SMS_PERMISSION_CODE);
                 return true;
 
+            case R.id.action_metrics:
+                showMetricsDialogBox();
+                return true;
+
             default:
                 return super.onOptionsItemSelected(item);
         }
@@ -148,24 +282,27 @@ public class InventoryActivity extends AppCompatActivity implements MyRecyclerVi
     @Override
     public void onItemClick(View view, int position) {
         // Information to Logcat for debugging
-        Log.i("CLICK", "You clicked number " + adapter.getItem(position) + ", which is at cell position " + position);
-        Log.i("CLICK", "Previous clicked number  is " + adapter.previousPosition);
+        if (BuildConfig.DEBUG) {
+            Log.i("CLICK", "You clicked number " + adapter.getItem(position) + ", which is at cell position " + position);
+            Log.i("CLICK", "Previous clicked number  is " + adapter.getSelectedPosition());
+        }
 
 
-        // re-bind current position and previous position so that selected/deselected colors change
-        adapter.notifyItemChanged(position);
-        adapter.notifyItemChanged(adapter.previousPosition);
+        // re-binds the colors of the previously-selected cell and the clicked cell
+        adapter.setSelectedPosition(position);
 
-        // sets selected position and field value
+        // sets selected position and the inventory row it belongs to
         selectedPosition = position;
-        selectedValue = adapter.getItem(position);
+        selectedItem = adapter.getInventoryItem(position);
 
     } // end itemOnClick()
 
 
     // FAB Button for adding inventory
     public void addButtonClick(View view) {
-        Log.i("TAG", "You clicked FAB");
+        if (BuildConfig.DEBUG) {
+            Log.i("TAG", "You clicked FAB");
+        }
         // creates AlertDialog to pass two EdtiText values into inventory variables
         showInventoryDialogBox();
     }
@@ -190,29 +327,42 @@ public class InventoryActivity extends AppCompatActivity implements MyRecyclerVi
         return qty_int;
     }
 
-    // helper function to convert ArrayList of Strings into String Array
-    public String[] loadInventoryTable(){
-
-        // Reads in inventory table to an ArrayList of Strings
-        inventory = mInventoryDb.readInventory();
-        Log.i("LOADINVENTORY", "Inventory table loaded!");
-
-        // Converts ArrayList to String Array
-        String[] inventory_arr = new String[inventory.size()];
-        for (int i = 0; i < inventory.size(); i++) {
-            inventory_arr[i] = inventory.get(i);
+    // called whenever a page of the inventory table is loaded or the pages are refreshed
+    // after an add/edit/delete, only the cells whose item changed are re-bound
+    private void onInventoryPagesUpdated() {
+        if (BuildConfig.DEBUG) {
+            Log.i("LOADINVENTORY", "Inventory pages loaded!");
+        }
+        if (!mFullyDrawnReported) {
+            // the first page is on screen, this is the time-to-full-display the startup benchmark measures
+            mFullyDrawnReported = true;
+            reportFullyDrawn();
         }
-        return inventory_arr;
+        int cellCount = adapter.getItemCount();
+        if (cellCount > 0) {
+            // the selection follows its item when rows are added or removed around it,
+            // the first cell is selected if the item is gone (or nothing was selected yet)
+            selectedPosition = adapter.getSelectedPosition();
+            if (selectedPosition == RecyclerView.NO_POSITION) {
+                selectedPosition = 0;
+                adapter.setSelectedPosition(selectedPosition);
+            }
+            // refreshes the selected item's row
+            selectedItem = adapter.getInventoryItem(selectedPosition);
+        }
+        updateMenuState();
     }
 
 
     // Responds to tapping pencil icon (edit) in App Bar by opening a dialog box with EditText
-    // and passes edited quantity value to updateInventoryItemQuantity
+    // and passes the change to the edited quantity to adjustInventoryItemQuantity
     public void editAction() {
-        // If odd position (quantity column) in RecyclerView is selected displays error, else performs edit
-        if (selectedPosition % 2 == 0) {
+        // If a name cell in RecyclerView is selected displays error, else performs edit
+        if (!MyRecyclerViewAdapter.isQuantityCell(selectedPosition)) {
             Toast.makeText(InventoryActivity.this, "Cannot edit the inventory name!", Toast.LENGTH_SHORT).show();
         } else {
+            // the row as the user saw it when the dialog opened, the grid may refresh while it is open
+            final InventoryItem edited_item = selectedItem;
 
             AlertDialog.Builder alertdialog = new AlertDialog.Builder( InventoryActivity.this );
             alertdialog.setTitle("Enter New Quantity");
@@ -246,39 +396,36 @@ public class InventoryActivity extends AppCompatActivity implements MyRecyclerVi
                     qty_int = validateInteger(qty_str);
 
                     if (qty_int > 0) {
-                        int id = -1;
-                        // gets the inventory item name associated with the currently-selected quantity
-                        String item_name_str = adapter.getItem(selectedPosition - 1);
-
-                        Log.i("SQL", "item name of selected qty: " + item_name_str);
-
-                        // get primary key for the selected selected quantity
-                        id = mInventoryDb.inventoryPrimaryKeyLookup(item_name_str);
-                        Log.i("SQL", "primary key val: " + Integer.toString(id));
-
-                        boolean updateSuccess;
-                        updateSuccess = mInventoryDb.updateInventoryItemQuantity(id, qty_int);
-
-                        if (updateSuccess) {
-                            // populate the inventory String Array with new inventory item
-                            adapter.mData = loadInventoryTable();
-                            // Update the RecyclerView with refreshed data
-                            adapter.notifyDataSetChanged();
-
-                            // checks to see if user had previously granted SMS permission before sending text message
-                            if (checkPermissionAlreadyGranted(Manifest.permission.SEND_SMS)){
-                                // checks inventory level and sends SMS text message based on LOW_INVENTORY_ALERT constant
-                                if (qty_int <= LOW_INVENTORY_ALERT){
-                                    notificationsHandler(SMS_DESTINATION, "LOW INVENTORY ALERT: Inventory item " +
-                                            item_name_str + " has a quantity of " + qty_int);
-                                }
-                            }
+                        // the selected quantity cell already knows its row id, so no lookup by name is needed
+                        long id = edited_item.getId();
+                        String item_name_str = edited_item.getName();
 
-                            Toast.makeText(InventoryActivity.this, "Quantity successfully updated to " + qty_int + "!", Toast.LENGTH_SHORT).show();
+                        if (BuildConfig.DEBUG) {
+                            Log.i("SQL", "item of selected qty: " + id + " " + item_name_str);
+                        }
 
+                        // applies the change the user made to the quantity they were shown as a delta, so a
+                        // concurrent change from another writer (e.g. a scanner) is kept rather than overwritten
+                        int delta = qty_int - edited_item.getQuantity();
+
+                        // updates the quantity on the writer thread, result is delivered back on the UI thread
+                        // the repository checks the item's low-stock threshold and queues an SMS alert if needed
+                        // a location view changes that location's stock, its total follows
+                        InventoryRepository.Callback<Boolean> updated = updateSuccess -> {
+                            if (updateSuccess) {
+                                // reports the change that was applied, a concurrent change may mean the stored
+                                // quantity is not the one typed
+                                Toast.makeText(InventoryActivity.this, "Quantity of \"" + item_name_str + "\" changed by "
+                                        + (delta > 0 ? "+" : "") + delta + "!", Toast.LENGTH_SHORT).show();
+
+                            } else {
+                                Toast.makeText(InventoryActivity.this, "Problem updating quantity!", Toast.LENGTH_SHORT).show();
+                            }
+                        };
+                        if (mLocation == null) {
+                            mRepository.adjustInventoryItemQuantity(id, delta, updated);
                         } else {
-                            Toast.makeText(InventoryActivity.this, "Problem updating quantity!", Toast.LENGTH_SHORT).show();
-                            dialogInterface.dismiss();
+                            mRepository.adjustLocationQuantity(id, mLocation.getId(), delta, updated);
                         }
 
                     } else {
@@ -305,45 +452,27 @@ public class InventoryActivity extends AppCompatActivity implements MyRecyclerVi
 
     // Responds to tapping trashcan icon (delete) in App Bar by deleting the currently-selected item in RecyclerView
     public void deleteAction() {
-        // If odd position (quantity column) in RecyclerView is selected displays error, else performs deletion
-        if (selectedPosition % 2 == 1) {
+        // If a quantity cell in RecyclerView is selected displays error, else performs deletion
+        if (MyRecyclerViewAdapter.isQuantityCell(selectedPosition)) {
             Toast.makeText(InventoryActivity.this, "Cannot delete a quantity field!", Toast.LENGTH_SHORT).show();
         } else {
-            int id = -1;
-            String item_str = selectedValue;
-
-            // get primary key for the selected inventory item
-            id = mInventoryDb.inventoryPrimaryKeyLookup(item_str);
-            Log.i("SQL", "primary key val: " + Integer.toString(id));
+            String item_str = selectedItem.getName();
 
-            // delete selected object
-            boolean deleteSuccess;
-            deleteSuccess = mInventoryDb.deleteInventoryItem(id);
-
-            Log.i("SQL", "deleteSuccess val: " + deleteSuccess);
+            // delete selected row by its id on the writer thread, result is delivered back on the UI thread
+            mRepository.deleteInventoryItem(selectedItem.getId(), deleteSuccess -> {
+                if (BuildConfig.DEBUG) {
+                    Log.i("SQL", "deleteSuccess val: " + deleteSuccess);
+                }
 
-            if (deleteSuccess) {
-                // populate the inventory String Array with new inventory item
-                adapter.mData = loadInventoryTable();
+                if (deleteSuccess) {
+                    // the RecyclerView and app bar icons refresh when the pages reload, which
+                    // moves the selection to the first item since the selected one is gone
+                    Toast.makeText(InventoryActivity.this, "Item \"" + item_str + "\" successfully deleted!", Toast.LENGTH_SHORT).show();
 
-                Log.i("LOADINVENTORY", "RecyclerView Count:  " + adapter.mData.length);
-                if (adapter.mData.length == 0) {
-                    // disables pencil and trashcan icons on app bar if all items are deleted
-                    mMenu.findItem(R.id.action_delete).setEnabled(false);
-                    mMenu.findItem(R.id.action_edit).setEnabled(false);
                 } else {
-                    // after item deleted, sets the RecyclerView position to first item and gets the item's value
-                    selectedPosition = 0;
-                    selectedValue = adapter.getItem(selectedPosition);
+                    Toast.makeText(InventoryActivity.this, "Problem deleting! Select item to delete.", Toast.LENGTH_SHORT).show();
                 }
-
-                // update the RecyclerView with refreshed data from the inventory table
-                adapter.notifyDataSetChanged();
-                Toast.makeText(InventoryActivity.this, "Item \"" + item_str + "\" successfully deleted!", Toast.LENGTH_SHORT).show();
-
-            } else {
-                Toast.makeText(InventoryActivity.this, "Problem deleting! Select item to delete.", Toast.LENGTH_SHORT).show();
-            }
+            });
         }
     } // end deleteAction()
 
@@ -382,7 +511,6 @@ public class InventoryActivity extends AppCompatActivity implements MyRecyclerVi
             public void onClick(DialogInterface dialogInterface, int i) {
 
                 int qty_int;
-                boolean found_item = false;
                 item_name_str = item_name.getText().toString().trim();
                 qty_str=qty.getText().toString().trim();
 
@@ -394,28 +522,15 @@ public class InventoryActivity extends AppCompatActivity implements MyRecyclerVi
                     // convert qty string to integer
                     qty_int = validateInteger(qty_str);
                     if (qty_int > 0) {
-                        // input validation passed - now check if inventory item exists
-                        found_item = mInventoryDb.inventoryItemLookup(item_name_str);
-
-                        if (found_item) {
-                            Toast.makeText(InventoryActivity.this, "Inventory item \"" + item_name_str + "\" already exists!", Toast.LENGTH_SHORT).show();
-                            dialogInterface.dismiss();
-                        } else {
-                            // Adds inventory item because it is unique
-                            mInventoryDb.addInventoryItem(item_name_str, qty_int);
-                            // populate the inventory String Array with new inventory item
-                            adapter.mData = loadInventoryTable();
-
-                            // force update of RecyclerView for newly added inventory item
-                            adapter.notifyDataSetChanged();
-
-                            // set app bar pencil and trashcan to enabled if not already
-                            if (!mMenu.findItem(R.id.action_delete).isEnabled()) {
-                                mMenu.findItem(R.id.action_delete).setEnabled(true);
-                                mMenu.findItem(R.id.action_edit).setEnabled(true);
+                        // input validation passed - now add the item if it does not already exist
+                        String new_item_str = item_name_str;
+                        mRepository.addInventoryItem(new_item_str, qty_int, added -> {
+                            if (!added) {
+                                Toast.makeText(InventoryActivity.this, "Inventory item \"" + new_item_str + "\" already exists!", Toast.LENGTH_SHORT).show();
+                            } else {
+                                Toast.makeText(InventoryActivity.this, "New Inventory Item Added!", Toast.LENGTH_SHORT).show();
                             }
-                            Toast.makeText(InventoryActivity.this, "New Inventory Item Added!", Toast.LENGTH_SHORT).show();
-                        }
+                        });
                     } else {
                         Toast.makeText(InventoryActivity.this, "Quantity must be greater than 0!", Toast.LENGTH_SHORT).show();
                         dialogInterface.dismiss();
@@ -439,6 +554,226 @@ public class InventoryActivity extends AppCompatActivity implements MyRecyclerVi
     } // end showInventoryDialogBox()
 
 
+    // Loads AlertDialog box listing the locations, choosing one shows its stock in the grid
+    public void showLocationDialogBox() {
+        // reads the locations on a background thread, the dialog opens once they are loaded
+        mRepository.readLocations(locations -> {
+            // first entry shows totals, last entry adds a location
+            String[] entries = new String[locations.size() + 2];
+            entries[0] = getString(R.string.location_all);
+            for (int i = 0; i < locations.size(); i++) {
+                entries[i + 1] = locations.get(i).getName();
+            }
+            entries[entries.length - 1] = getString(R.string.location_add);
+
+            AlertDialog.Builder alertdialog = new AlertDialog.Builder( InventoryActivity.this );
+            alertdialog.setTitle(R.string.action_location);
+            alertdialog.setItems(entries, new DialogInterface.OnClickListener() {
+                @Override
+                public void onClick(DialogInterface dialogInterface, int i) {
+                    if (i == 0) {
+                        showLocation(null);
+                    } else if (i <= locations.size()) {
+                        showLocation(locations.get(i - 1));
+                    } else {
+                        showAddLocationDialogBox();
+                    }
+                    dialogInterface.dismiss();
+                }
+            } );
+            alertdialog.setNegativeButton( R.string.cancel, new DialogInterface.OnClickListener() {
+                @Override
+                public void onClick(DialogInterface dialogInterface, int i) {
+                    dialogInterface.dismiss();
+                }
+            } );
+            alertdialog.create().show();
+        });
+    } // end showLocationDialogBox()
+
+
+    // Loads AlertDialog box with one EditText field for adding a location, then shows it in the grid
+    public void showAddLocationDialogBox() {
+        AlertDialog.Builder alertdialog = new AlertDialog.Builder( InventoryActivity.this );
+        alertdialog.setTitle(R.string.location_add);
+        final EditText location_name = new EditText(InventoryActivity.this);
+
+        location_name.setHint("Location Name");
+        location_name.setGravity(CENTER);
+        location_name.setBackgroundResource(R.drawable.inventory_addbox);
+
+        LinearLayout.LayoutParams layoutParams = new LinearLayout.LayoutParams(
+                LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT);
+        layoutParams.setMargins( 20,20,20,20);
+
+        LinearLayout lp = new LinearLayout( getApplicationContext() );
+        lp.setOrientation(LinearLayout.VERTICAL);
+        lp.addView(location_name, layoutParams);
+
+        alertdialog.setView(lp);
+        alertdialog.setPositiveButton(R.string.create, new DialogInterface.OnClickListener() {
+            @Override
+            public void onClick(DialogInterface dialogInterface, int i) {
+                String name = location_name.getText().toString().trim();
+                if (name.isEmpty()) {
+                    Toast.makeText(InventoryActivity.this, "Location name cannot be empty!", Toast.LENGTH_SHORT).show();
+                } else {
+                    mRepository.addLocation(name, id -> {
+                        if (id < 0) {
+                            Toast.makeText(InventoryActivity.this, "Location \"" + name + "\" already exists!", Toast.LENGTH_SHORT).show();
+                        } else {
+                            showLocation(new InventoryLocation(id, name));
+                        }
+                    });
+                }
+                dialogInterface.dismiss();
+            }
+        } );
+        alertdialog.setNegativeButton( R.string.cancel, new DialogInterface.OnClickListener() {
+            @Override
+            public void onClick(DialogInterface dialogInterface, int i) {
+                dialogInterface.dismiss();
+            }
+        } );
+
+        AlertDialog alert=alertdialog.create();
+        alert.setCanceledOnTouchOutside( false );
+        alert.show();
+    } // end showAddLocationDialogBox()
+
+
+    // shows the stock of location in the grid, null shows item totals across all locations
+    private void showLocation(InventoryLocation location) {
+        mLocation = location;
+        mRepository.setLocation(location == null ? InventoryPagingSource.NO_LOCATION : location.getId());
+        showLocationSubtitle();
+    }
+
+    // app bar subtitle names the location shown, no subtitle for totals
+    private void showLocationSubtitle() {
+        getSupportActionBar().setSubtitle(mLocation == null ? null : mLocation.getName());
+    }
+
+
+    // bulk imports a CSV file of inventory items on a background thread, reporting progress
+    // in the app bar subtitle and refreshing the RecyclerView when the import completes
+    public void importInventory(Uri uri) {
+        if (uri == null) {
+            return; // user backed out of the file picker
+        }
+        getSupportActionBar().setSubtitle("Importing...");
+
+        mRepository.importInventory(
+                () -> new InputStreamReader(getContentResolver().openInputStream(uri), StandardCharsets.UTF_8),
+                rows -> getSupportActionBar().setSubtitle("Imported " + rows + " items"),
+                new InventoryRepository.Callback<InventoryRepository.ImportResult>() {
+                    @Override
+                    public void onResult(InventoryRepository.ImportResult result) {
+                        showLocationSubtitle();
+                        Toast.makeText(InventoryActivity.this, "Imported " + result.imported + " items ("
+                                + result.skipped + " lines skipped)", Toast.LENGTH_SHORT).show();
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        Log.e("IMPORT", "Inventory import failed", e);
+                        showLocationSubtitle();
+                        Toast.makeText(InventoryActivity.this, "Problem importing inventory!", Toast.LENGTH_SHORT).show();
+                    }
+                });
+    } // end importInventory()
+
+
+    // streams the inventory to the chosen file on a background thread, progress is shown in the subtitle
+    public void exportInventory(Uri uri, InventoryExporter.Format format) {
+        if (uri == null) {
+            return; // user backed out of the file picker
+        }
+        if (mExportFuture != null && !mExportFuture.isDone()) {
+            Toast.makeText(InventoryActivity.this, "An export is already running", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        getSupportActionBar().setSubtitle("Exporting...");
+
+        mExportFuture = mRepository.exportInventory(
+                () -> new BufferedWriter(new OutputStreamWriter(getContentResolver().openOutputStream(uri),
+                        StandardCharsets.UTF_8), 64 * 1024),
+                format,
+                rows -> getSupportActionBar().setSubtitle("Exported " + rows + " items"),
+                new InventoryRepository.Callback<Long>() {
+                    @Override
+                    public void onResult(Long rows) {
+                        showLocationSubtitle();
+                        Toast.makeText(InventoryActivity.this, "Exported " + rows + " items", Toast.LENGTH_SHORT).show();
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        showLocationSubtitle();
+                        if (e instanceof CancellationException) {
+                            Toast.makeText(InventoryActivity.this, "Export cancelled", Toast.LENGTH_SHORT).show();
+                        } else {
+                            Log.e("EXPORT", "Inventory export failed", e);
+                            Toast.makeText(InventoryActivity.this, "Problem exporting inventory!", Toast.LENGTH_SHORT).show();
+                        }
+                    }
+                });
+    } // end exportInventory()
+
+
+    // Loads AlertDialog box with the latency of every timed operation, which can be saved as JSON or reset
+    public void showMetricsDialogBox() {
+        String summary = InventoryMetrics.summary();
+
+        AlertDialog.Builder alertdialog = new AlertDialog.Builder( InventoryActivity.this );
+        alertdialog.setTitle(R.string.action_metrics);
+        alertdialog.setMessage(summary.isEmpty() ? getString(R.string.metrics_empty) : summary);
+        alertdialog.setPositiveButton(R.string.metrics_save, new DialogInterface.OnClickListener() {
+            @Override
+            public void onClick(DialogInterface dialogInterface, int i) {
+                mExportMetricsLauncher.launch("inventory-metrics.json");
+                dialogInterface.dismiss();
+            }
+        } );
+        alertdialog.setNeutralButton(R.string.metrics_reset, new DialogInterface.OnClickListener() {
+            @Override
+            public void onClick(DialogInterface dialogInterface, int i) {
+                InventoryMetrics.reset();
+                dialogInterface.dismiss();
+            }
+        } );
+        alertdialog.setNegativeButton(R.string.close, new DialogInterface.OnClickListener() {
+            @Override
+            public void onClick(DialogInterface dialogInterface, int i) {
+                dialogInterface.dismiss();
+            }
+        } );
+        alertdialog.create().show();
+    } // end showMetricsDialogBox()
+
+
+    // writes the metrics JSON dump to the chosen file on a background thread
+    public void exportMetrics(Uri uri) {
+        if (uri == null) {
+            return; // user backed out of the file picker
+        }
+        mRepository.exportMetrics(
+                () -> new OutputStreamWriter(getContentResolver().openOutputStream(uri), StandardCharsets.UTF_8),
+                new InventoryRepository.Callback<Void>() {
+                    @Override
+                    public void onResult(Void unused) {
+                        Toast.makeText(InventoryActivity.this, "Metrics saved", Toast.LENGTH_SHORT).show();
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        Log.e("METRICS", "Metrics export failed", e);
+                        Toast.makeText(InventoryActivity.this, "Problem saving metrics!", Toast.LENGTH_SHORT).show();
+                    }
+                });
+    } // end exportMetrics()
+
+
     // function to check for SMS permissions and prompt user when user selects "Notifications" in App Bar
     public void checkPermission(String permission, int requestCode)
     {
@@ -471,25 +806,4 @@ public class InventoryActivity extends AppCompatActivity implements MyRecyclerVi
         }
     }
 
-
-    // function to check if the user already granted SMS permission
-    public boolean checkPermissionAlreadyGranted(String permission) {
-        if (ContextCompat.checkSelfPermission(InventoryActivity.this, permission) == PackageManager.PERMISSION_DENIED) {
-            Log.i("SMS", "SMS not granted!");
-            return false;
-        } else {
-            Log.i("SMS", "SMS already granted!");
-            return true;
-        }
-    }
-
-
-    // sends a text message to the device using the android.telephony.SmsManager
-    public void notificationsHandler(String destination, String message) {
-        SmsManager smsManager = SmsManager.getDefault();
-        smsManager.sendTextMessage
-                (destination, null, message,
-                        null, null);
-    }
-
 } // end InventoryActivity()
\ No newline at end of file
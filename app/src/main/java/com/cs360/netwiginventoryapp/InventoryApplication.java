@@ -0,0 +1,55 @@
+package com.cs360.netwiginventoryapp;
+
+import android.app.Application;
+import android.os.StrictMode;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Application class that owns the lifecycle of the
+             : process-wide SQLite connection.
+             : The connection is opened once on first use and kept
+             : open for the life of the process instead of being
+             : closed after every write.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class InventoryApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        if (BuildConfig.DEBUG) {
+            // flags any disk I/O that still happens on the main thread in debug builds
+            StrictMode.setThreadPolicy(new StrictMode.ThreadPolicy.Builder()
+                    .detectDiskReads()
+                    .detectDiskWrites()
+                    .penaltyLog()
+                    .build());
+        }
+
+        // creates the Singletons up front so every Activity shares the same open connection
+        InventoryRepository.getInstance(this);
+
+        // periodic low-stock sweep, KEEP policy so this does not reset the schedule on every start
+        LowStockSweepWorker.schedule(this);
+        // daily ledger compaction, only while idle and charging
+        LedgerCompactionWorker.schedule(this);
+        // periodic push/pull with the sync server, only if one is configured
+        InventorySyncWorker.schedule(this);
+    }
+
+    // onTerminate() is only invoked on emulated processes; on a real device the OS kills the
+    // process and SQLite's WAL journal keeps the database consistent without an explicit close
+    @Override
+    public void onTerminate() {
+        InventoryDatabase.getInstance(this).close();
+        super.onTerminate();
+    }
+
+} // end InventoryApplication()
@@ -0,0 +1,283 @@
+package com.cs360.netwiginventoryapp;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Write-through, in-memory copy of the inventory table
+             : with SQLite as the backing store.
+             :
+             : The table is loaded once into a columnar
+             : InventoryItemStore and indexed by normalized item name,
+             : so existence checks and name -> primary key resolution
+             : are HashMap hits instead of queries. InventoryDatabase
+             : applies every successful insert/update/delete to the
+             : cache, and invalidates it if a write fails part way.
+             :
+             : Names are normalized the same way SQLite's NOCASE
+             : collation compares them (ASCII letters only are case
+             : folded), so the cache and the table agree on which
+             : names are duplicates.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class InventoryCache {
+
+    // id returned when a name is not in the cache, matches inventoryPrimaryKeyLookup()
+    public static final long NOT_FOUND = -1;
+
+    private InventoryItemStore mItems;
+    // normalized item name -> primary key
+    private final Map<String, Long> mIdsByName = new HashMap<>();
+    // set when the table has two rows whose names differ only by case
+    private boolean mHasDuplicateNames;
+
+    // metrics
+    private long mHits;
+    private long mMisses;
+    private long mLoads;
+    private long mWritesSinceLoad;
+    private long mLoadedAtNanos;
+
+    // true once load() has been called and the cache has not been invalidated since
+    public synchronized boolean isLoaded() {
+        return mItems != null;
+    }
+
+    // replaces the cache contents with a full read of the inventory table (in _id order)
+    public synchronized void load(InventoryItemStore items) {
+        mItems = items;
+        mIdsByName.clear();
+        mHasDuplicateNames = false;
+        for (int i = 0; i < items.size(); i++) {
+            indexName(items.getName(i), items.getId(i));
+        }
+        mLoads++;
+        mWritesSinceLoad = 0;
+        mLoadedAtNanos = System.nanoTime();
+    }
+
+    // drops the cached rows, the next lookup reloads them from the table
+    public synchronized void invalidate() {
+        mItems = null;
+        mIdsByName.clear();
+        mHasDuplicateNames = false;
+    }
+
+    /*
+     ***************************************
+     * *   Lookups
+     * *************************************
+     */
+
+    // returns the primary key of item_name (case-insensitive), or NOT_FOUND
+    // callers must check isLoaded() first, or count the load with recordMiss()
+    public synchronized long idOf(String item_name) {
+        checkLoaded();
+        mHits++;
+        Long id = mIdsByName.get(normalize(item_name));
+        return id == null ? NOT_FOUND : id;
+    }
+
+    // returns true if item_name (case-insensitive) is in the cache
+    public synchronized boolean contains(String item_name) {
+        return idOf(item_name) != NOT_FOUND;
+    }
+
+    // returns the cached quantity of the row with primary key id, or null if there is no such row
+    public synchronized Integer quantityOf(long id) {
+        checkLoaded();
+        mHits++;
+        int index = mItems.indexOfId(id);
+        return index < 0 ? null : mItems.getQuantity(index);
+    }
+
+    // records a lookup that had to go to the database because the cache was not loaded
+    public synchronized void recordMiss() {
+        mMisses++;
+    }
+
+    /*
+     ***************************************
+     * *   Write-through
+     * *************************************
+     */
+
+    // called after a row has been inserted into the table
+    public synchronized void onInserted(long id, String item_name, int qty) {
+        if (mItems == null) {
+            return; // nothing cached yet, the row will be picked up by the next load
+        }
+        if (mItems.indexOfId(id) >= 0) {
+            return; // row was already committed when the table was loaded
+        }
+        mItems.add(id, item_name, qty);
+        indexName(item_name, id);
+        mWritesSinceLoad++;
+    }
+
+    // called after the quantity of a row has been updated in the table
+    public synchronized void onQuantityUpdated(long id, int qty) {
+        if (mItems == null) {
+            return;
+        }
+        int index = mItems.indexOfId(id);
+        if (index >= 0) {
+            mItems.setQuantity(index, qty);
+        }
+        mWritesSinceLoad++;
+    }
+
+    // called after delta has been added to the quantity of a row in the table
+    // deltas commute, so concurrent adjustments leave the cache at the same total as the table
+    // no matter which order their callbacks arrive in
+    public synchronized void onQuantityAdjusted(long id, int delta) {
+        if (mItems == null) {
+            return;
+        }
+        int index = mItems.indexOfId(id);
+        if (index >= 0) {
+            mItems.setQuantity(index, mItems.getQuantity(index) + delta);
+        }
+        mWritesSinceLoad++;
+    }
+
+    // called after a row has been deleted from the table
+    public synchronized void onDeleted(long id) {
+        if (mItems == null) {
+            return;
+        }
+        int index = mItems.indexOfId(id);
+        if (index < 0) {
+            return;
+        }
+        String key = normalize(mItems.getName(index));
+        mItems.remove(index);
+        mWritesSinceLoad++;
+
+        Long indexedId = mIdsByName.get(key);
+        if (indexedId != null && indexedId == id) {
+            mIdsByName.remove(key);
+            if (mHasDuplicateNames) {
+                // another row may share the name, re-point the index at the first one left
+                for (int i = 0; i < mItems.size(); i++) {
+                    if (normalize(mItems.getName(i)).equals(key)) {
+                        mIdsByName.put(key, mItems.getId(i));
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     ***************************************
+     * *   Metrics and consistency
+     * *************************************
+     */
+
+    public synchronized long getHitCount() {
+        return mHits;
+    }
+
+    public synchronized long getMissCount() {
+        return mMisses;
+    }
+
+    // fraction of lookups answered from memory, 0 if there have been no lookups
+    public synchronized double getHitRate() {
+        long total = mHits + mMisses;
+        return total == 0 ? 0 : (double) mHits / total;
+    }
+
+    // number of times the table has been (re)loaded
+    public synchronized long getLoadCount() {
+        return mLoads;
+    }
+
+    // number of write-through updates applied since the table was last loaded
+    public synchronized long getWritesSinceLoad() {
+        return mWritesSinceLoad;
+    }
+
+    // milliseconds since the cache was last loaded from the table, -1 if it is not loaded
+    public synchronized long getStalenessMillis() {
+        if (mItems == null) {
+            return -1;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - mLoadedAtNanos);
+    }
+
+    // number of cached rows, 0 if not loaded
+    public synchronized int size() {
+        return mItems == null ? 0 : mItems.size();
+    }
+
+    // compares the cache with a fresh read of the table, returns the number of rows that differ
+    // (missing, extra, or with a different name/quantity), 0 means the cache is consistent
+    public synchronized int countMismatches(InventoryItemStore table) {
+        checkLoaded();
+        int mismatches = 0;
+        int i = 0;
+        int j = 0;
+        // both stores are in ascending id order, so walk them together
+        while (i < mItems.size() || j < table.size()) {
+            if (j >= table.size() || (i < mItems.size() && mItems.getId(i) < table.getId(j))) {
+                mismatches++; // row only in the cache
+                i++;
+            } else if (i >= mItems.size() || table.getId(j) < mItems.getId(i)) {
+                mismatches++; // row only in the table
+                j++;
+            } else {
+                if (mItems.getQuantity(i) != table.getQuantity(j) || !mItems.getName(i).equals(table.getName(j))) {
+                    mismatches++;
+                }
+                Long indexedId = mIdsByName.get(normalize(table.getName(j)));
+                if (indexedId == null) {
+                    mismatches++; // row is not reachable by name
+                }
+                i++;
+                j++;
+            }
+        }
+        return mismatches;
+    }
+
+    // folds ASCII upper case letters to lower case, the same comparison as SQLite's NOCASE collation
+    static String normalize(String item_name) {
+        for (int i = 0; i < item_name.length(); i++) {
+            char c = item_name.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                char[] chars = item_name.toCharArray();
+                for (int k = i; k < chars.length; k++) {
+                    if (chars[k] >= 'A' && chars[k] <= 'Z') {
+                        chars[k] = (char) (chars[k] + ('a' - 'A'));
+                    }
+                }
+                return new String(chars);
+            }
+        }
+        return item_name; // already normalized, no copy needed
+    }
+
+    // indexes a name, keeping the first (lowest id) row if the name is already present
+    private void indexName(String item_name, long id) {
+        if (mIdsByName.putIfAbsent(normalize(item_name), id) != null) {
+            mHasDuplicateNames = true;
+        }
+    }
+
+    private void checkLoaded() {
+        if (mItems == null) {
+            throw new IllegalStateException("InventoryCache is not loaded");
+        }
+    }
+
+} // end InventoryCache()
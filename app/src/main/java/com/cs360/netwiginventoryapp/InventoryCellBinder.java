@@ -0,0 +1,103 @@
+package com.cs360.netwiginventoryapp;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Fills one grid cell (name or quantity of an
+             : inventory item) for MyRecyclerViewAdapter without
+             : creating any objects, so scrolling through the grid
+             : produces no garbage:
+             : - the selected/deselected colors are resolved once
+             :   and kept as ints
+             : - the quantity is written into a char buffer owned
+             :   by the cell instead of a new String per bind
+             : - selection is a stable cell id (item id and cell
+             :   offset), so it follows the item when rows move
+             :
+             : Kept free of Android classes so the zero-allocation
+             : bind path can be checked in a local unit test.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public final class InventoryCellBinder {
+
+    // number of grid cells used to display one inventory item, InventoryCellUpdateCallback.CELLS_PER_ITEM
+    static final int CELLS_PER_ITEM = 2;
+    // chars needed for any int, "-2147483648"
+    static final int MAX_INT_CHARS = 11;
+
+    // the view side of a cell, implemented by the adapter's ViewHolder
+    interface Cell {
+        void showText(CharSequence text);
+
+        // text is the first length chars of buffer, which the cell keeps using until the next call
+        void showText(char[] buffer, int length);
+
+        void showColors(int background, int text);
+    }
+
+    private final int mSelectedBackground;
+    private final int mSelectedText;
+    private final int mBackground;
+    private final int mText;
+
+    InventoryCellBinder(int selectedBackground, int selectedText, int background, int text) {
+        this.mSelectedBackground = selectedBackground;
+        this.mSelectedText = selectedText;
+        this.mBackground = background;
+        this.mText = text;
+    }
+
+    // name cell is the first cell of an item, quantity cell the second
+    static boolean isQuantityCell(int position) {
+        return position % CELLS_PER_ITEM != 0;
+    }
+
+    // stable id of the cell at position, unique across the grid as long as item ids are
+    static long cellId(InventoryItem item, int position) {
+        return item.getId() * CELLS_PER_ITEM + position % CELLS_PER_ITEM;
+    }
+
+    // full bind: text and colors, buffer belongs to the cell and holds at least MAX_INT_CHARS chars
+    void bind(Cell cell, InventoryItem item, int position, char[] buffer, boolean selected) {
+        if (isQuantityCell(position)) {
+            cell.showText(buffer, formatInt(item.getQuantity(), buffer));
+        } else {
+            cell.showText(item.getName());
+        }
+        bindSelection(cell, selected);
+    }
+
+    // partial bind after the selection moved, the text is left alone
+    void bindSelection(Cell cell, boolean selected) {
+        if (selected) {
+            cell.showColors(mSelectedBackground, mSelectedText);
+        } else {
+            cell.showColors(mBackground, mText);
+        }
+    }
+
+    // writes value in decimal at the start of buffer and returns the number of chars written
+    static int formatInt(int value, char[] buffer) {
+        // works on the negative value so Integer.MIN_VALUE needs no special case
+        boolean negative = value < 0;
+        int rest = negative ? value : -value;
+        int end = MAX_INT_CHARS;
+        // digits are produced last to first, written to the end of the buffer and then moved up
+        do {
+            buffer[--end] = (char) ('0' - rest % 10);
+            rest /= 10;
+        } while (rest != 0);
+        if (negative) {
+            buffer[--end] = '-';
+        }
+        int length = MAX_INT_CHARS - end;
+        System.arraycopy(buffer, end, buffer, 0, length);
+        return length;
+    }
+
+} // end InventoryCellBinder()
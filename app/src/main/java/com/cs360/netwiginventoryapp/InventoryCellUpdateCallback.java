@@ -0,0 +1,74 @@
+package com.cs360.netwiginventoryapp;
+
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Translates item-level list updates into cell-level
+             : RecyclerView updates.
+             :
+             : Each inventory item is shown as CELLS_PER_ITEM cells
+             : in the grid (name cell, then quantity cell), so item
+             : position p covers cells p * 2 and p * 2 + 1.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class InventoryCellUpdateCallback implements ListUpdateCallback {
+
+    // number of grid cells used to display one inventory item
+    public static final int CELLS_PER_ITEM = InventoryCellBinder.CELLS_PER_ITEM;
+    // offset of the quantity cell within an item's cells
+    private static final int QUANTITY_CELL = 1;
+
+    // receives the cell-level updates, normally an AdapterListUpdateCallback
+    private final ListUpdateCallback mCellCallback;
+
+    public InventoryCellUpdateCallback(ListUpdateCallback cellCallback) {
+        this.mCellCallback = cellCallback;
+    }
+
+    @Override
+    public void onInserted(int position, int count) {
+        mCellCallback.onInserted(position * CELLS_PER_ITEM, count * CELLS_PER_ITEM);
+    }
+
+    @Override
+    public void onRemoved(int position, int count) {
+        mCellCallback.onRemoved(position * CELLS_PER_ITEM, count * CELLS_PER_ITEM);
+    }
+
+    // moves both cells of the item, one at a time
+    @Override
+    public void onMoved(int fromPosition, int toPosition) {
+        int from = fromPosition * CELLS_PER_ITEM;
+        int to = toPosition * CELLS_PER_ITEM;
+        if (fromPosition < toPosition) {
+            // each move pulls the next cell of the item down to the item's old start position
+            for (int i = 0; i < CELLS_PER_ITEM; i++) {
+                mCellCallback.onMoved(from, to + CELLS_PER_ITEM - 1);
+            }
+        } else {
+            for (int i = 0; i < CELLS_PER_ITEM; i++) {
+                mCellCallback.onMoved(from + i, to + i);
+            }
+        }
+    }
+
+    // a quantity-only change re-binds just the quantity cell of each changed item
+    @Override
+    public void onChanged(int position, int count, Object payload) {
+        if (payload == InventoryItemDiffCallback.PAYLOAD_QUANTITY) {
+            for (int i = position; i < position + count; i++) {
+                mCellCallback.onChanged(i * CELLS_PER_ITEM + QUANTITY_CELL, 1, payload);
+            }
+        } else {
+            mCellCallback.onChanged(position * CELLS_PER_ITEM, count * CELLS_PER_ITEM, payload);
+        }
+    }
+
+} // end InventoryCellUpdateCallback()
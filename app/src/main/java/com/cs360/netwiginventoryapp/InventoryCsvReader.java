@@ -0,0 +1,172 @@
+package com.cs360.netwiginventoryapp;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Streaming CSV front-end for the bulk import API.
+             : Reads "item name,quantity" lines one at a time so a
+             : large file is never held in memory, and hands them to
+             : InventoryDatabase.addInventoryItems() as an Iterable.
+             :
+             : - an optional header line is skipped automatically
+             : - item names may be quoted ("Bolts, 10mm") with ""
+             :   used to escape a quote inside a quoted name
+             : - blank or malformed lines are skipped and counted
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class InventoryCsvReader implements Iterable<InventoryItem>, Closeable {
+
+    private final BufferedReader mReader;
+    private boolean mIterated = false;
+    private int mSkippedLines = 0;
+
+    public InventoryCsvReader(Reader reader) {
+        this.mReader = (reader instanceof BufferedReader) ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    // returns the number of blank, malformed or non-positive quantity lines that were skipped
+    public int getSkippedLines() {
+        return mSkippedLines;
+    }
+
+    // the reader is a stream, so it can only be iterated once
+    @Override
+    public Iterator<InventoryItem> iterator() {
+        if (mIterated) {
+            throw new IllegalStateException("InventoryCsvReader can only be iterated once");
+        }
+        mIterated = true;
+        return new CsvIterator();
+    }
+
+    @Override
+    public void close() throws IOException {
+        mReader.close();
+    }
+
+    // parses a single CSV line into an InventoryItem, returns null if the line is not a valid item
+    static InventoryItem parseLine(String line) {
+        String name;
+        String qty_str;
+
+        line = line.trim();
+        if (line.isEmpty()) {
+            return null;
+        }
+
+        if (line.charAt(0) == '"') {
+            // quoted item name, "" is an escaped quote
+            StringBuilder sb = new StringBuilder();
+            int i = 1;
+            while (true) {
+                if (i >= line.length()) {
+                    return null; // unterminated quote
+                }
+                char c = line.charAt(i);
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        sb.append('"');
+                        i += 2;
+                        continue;
+                    }
+                    i++;
+                    break;
+                }
+                sb.append(c);
+                i++;
+            }
+            name = sb.toString().trim();
+            int comma = line.indexOf(',', i);
+            if (comma < 0) {
+                return null;
+            }
+            qty_str = line.substring(comma + 1).trim();
+        } else {
+            // unquoted name, quantity is the text after the last comma
+            int comma = line.lastIndexOf(',');
+            if (comma < 0) {
+                return null;
+            }
+            name = line.substring(0, comma).trim();
+            qty_str = line.substring(comma + 1).trim();
+        }
+
+        if (name.isEmpty() || qty_str.isEmpty()) {
+            return null;
+        }
+
+        int qty;
+        try {
+            qty = Integer.parseInt(qty_str);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        // matches the validation in InventoryActivity, quantities must be greater than 0
+        if (qty <= 0) {
+            return null;
+        }
+        return new InventoryItem(name, qty);
+    }
+
+
+    // reads ahead one line at a time, skipping anything that does not parse
+    private class CsvIterator implements Iterator<InventoryItem> {
+        private InventoryItem mNext;
+        private boolean mFirstLine = true;
+        private boolean mDone = false;
+
+        @Override
+        public boolean hasNext() {
+            if (mNext != null) {
+                return true;
+            }
+            if (mDone) {
+                return false;
+            }
+            try {
+                String line;
+                while ((line = mReader.readLine()) != null) {
+                    InventoryItem item = parseLine(line);
+                    boolean header = mFirstLine;
+                    mFirstLine = false;
+                    if (item != null) {
+                        mNext = item;
+                        return true;
+                    }
+                    // a first line that does not parse is treated as a header, not a skipped row
+                    if (!header && !line.trim().isEmpty()) {
+                        mSkippedLines++;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            mDone = true;
+            return false;
+        }
+
+        @Override
+        public InventoryItem next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            InventoryItem item = mNext;
+            mNext = null;
+            return item;
+        }
+    } // end CsvIterator()
+
+} // end InventoryCsvReader()
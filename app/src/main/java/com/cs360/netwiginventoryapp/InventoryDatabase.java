@@ -1,14 +1,24 @@
 package com.cs360.netwiginventoryapp;
 
-import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.sqlite.SQLiteConstraintException;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDoneException;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.os.CancellationSignal;
+import android.os.Looper;
 import android.util.Log;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /*******************************************************************
  Author      : Chad Netwig
@@ -19,28 +29,126 @@ import java.util.List;
              :
  Description : Simple inventory app
              : Model logic for SQLite database CRUD access
+             : SQLite implementation of InventoryStore
              : Comments have been added throughout to explain logic
 ********************************************************************/
 
-public class InventoryDatabase extends SQLiteOpenHelper {
+public class InventoryDatabase extends SQLiteOpenHelper implements InventoryStore, InventorySyncEngine.Store {
 
-    private static final int VERSION = 1;
+    // current schema version, each version after 1 has a step in MIGRATIONS
+    // version 2 adds the case-insensitive lookup indexes
+    // version 3 adds the full-text search index on item names
+    // version 4 adds per-item low-stock thresholds
+    // version 5 remembers which low items have already been alerted
+    // version 6 adds the stock movement ledger and its snapshots
+    // version 7 adds sync change tracking (sync ids, bases, versions, tombstones)
+    // version 8 adds SKU/barcode codes
+    // version 9 adds locations and per-location stock
+    static final int VERSION = 9;
     // constant for the name of the SQLite database
     private static final String DATABASE_NAME = "inventory.db";
+    // low-stock threshold given to new items (and to existing items by the version 4 upgrade)
+    public static final int DEFAULT_LOW_THRESHOLD = 2;
+    // default number of rows committed per transaction during a bulk import
+    public static final int DEFAULT_IMPORT_CHUNK_SIZE = 1000;
+    // location every item is stocked in when it is added, and that changes to an item's total go to
+    public static final long DEFAULT_LOCATION_ID = 1;
+    private static final String DEFAULT_LOCATION_NAME = "Main";
 
     private static InventoryDatabase mInventoryDb;
 
+    // instrumented counters for connection open/close events (should stay at 1 open per process)
+    private static final AtomicInteger mOpenCount = new AtomicInteger();
+    private static final AtomicInteger mCloseCount = new AtomicInteger();
+    // counts operations that were called on the main thread instead of through InventoryRepository
+    private static final AtomicInteger mMainThreadCalls = new AtomicInteger();
+
+    // latency of each hot operation, also a trace section (see InventoryMetrics)
+    private static final InventoryMetrics.Timer TIMER_USER_LOOKUP = InventoryMetrics.timer("db.userLookup");
+    private static final InventoryMetrics.Timer TIMER_READ_PASSWORD = InventoryMetrics.timer("db.readPasswordHash");
+    private static final InventoryMetrics.Timer TIMER_ADD_ITEM = InventoryMetrics.timer("db.addInventoryItem");
+    private static final InventoryMetrics.Timer TIMER_IMPORT = InventoryMetrics.timer("db.addInventoryItems");
+    private static final InventoryMetrics.Timer TIMER_EXPORT = InventoryMetrics.timer("db.exportInventory");
+    private static final InventoryMetrics.Timer TIMER_READ_INVENTORY = InventoryMetrics.timer("db.readInventory");
+    private static final InventoryMetrics.Timer TIMER_READ_PAGE = InventoryMetrics.timer("db.readPage");
+    private static final InventoryMetrics.Timer TIMER_SEARCH_PAGE = InventoryMetrics.timer("db.searchPage");
+    private static final InventoryMetrics.Timer TIMER_LOCATION_PAGE = InventoryMetrics.timer("db.locationPage");
+    private static final InventoryMetrics.Timer TIMER_DELETE_ITEM = InventoryMetrics.timer("db.deleteInventoryItem");
+    private static final InventoryMetrics.Timer TIMER_UPDATE_QTY = InventoryMetrics.timer("db.updateQuantity");
+    private static final InventoryMetrics.Timer TIMER_ADJUST_QTY = InventoryMetrics.timer("db.adjustQuantity");
+    private static final InventoryMetrics.Timer TIMER_ADJUST_BATCH = InventoryMetrics.timer("db.adjustQuantities");
+    private static final InventoryMetrics.Timer TIMER_SCAN = InventoryMetrics.timer("db.applyScanCounts");
+    private static final InventoryMetrics.Timer TIMER_SET_LOCATION_QTY = InventoryMetrics.timer("db.setLocationQuantity");
+    private static final InventoryMetrics.Timer TIMER_ADJUST_LOCATION_QTY = InventoryMetrics.timer("db.adjustLocationQuantity");
+    private static final InventoryMetrics.Timer TIMER_SYNC_PULL = InventoryMetrics.timer("db.applySyncPull");
+
     // getInstance is used to return Singleton instance of InventoryDatabase class
-    public static InventoryDatabase getInstance(Context context) {
+    public static synchronized InventoryDatabase getInstance(Context context) {
         if (mInventoryDb == null) {
-            mInventoryDb = new InventoryDatabase(context);
+            // application context is used so the long-lived connection never holds on to an Activity
+            mInventoryDb = new InventoryDatabase(context.getApplicationContext());
         }
         return mInventoryDb;
     }
 
     // private constructor for Singleton of the SQLite database
     private InventoryDatabase(Context context) {
-        super(context, DATABASE_NAME, null, VERSION);
+        this(context, DATABASE_NAME);
+    }
+
+    // opens a separate database file, used by instrumented tests and benchmarks so they never touch
+    // the app's own inventory
+    InventoryDatabase(Context context, String databaseName) {
+        super(context, databaseName, null, VERSION);
+        // WAL lets readers proceed while a write is in progress on the single shared connection
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    // called each time the underlying connection is actually opened (and the schema/version checked)
+    @Override
+    public void onOpen(SQLiteDatabase db) {
+        super.onOpen(db);
+        mOpenCount.incrementAndGet();
+        if (BuildConfig.DEBUG) {
+            Log.i("SQL", "Database connection opened, count: " + mOpenCount.get());
+        }
+    }
+
+    // closes the long-lived connection, only called when the app process is shutting down
+    @Override
+    public synchronized void close() {
+        mCloseCount.incrementAndGet();
+        if (BuildConfig.DEBUG) {
+            Log.i("SQL", "Database connection closed, count: " + mCloseCount.get());
+        }
+        // compiled statements must be released before their connection is closed
+        mStatementCache.clear();
+        mInventoryCache.invalidate();
+        mSkuIndex.invalidate();
+        super.close();
+    }
+
+    // returns number of times the database connection has been opened
+    public static int getOpenCount() {
+        return mOpenCount.get();
+    }
+
+    // returns number of times the database connection has been closed
+    public static int getCloseCount() {
+        return mCloseCount.get();
+    }
+
+    // returns number of database operations that ran on the main thread (should stay 0)
+    public static int getMainThreadCallCount() {
+        return mMainThreadCalls.get();
+    }
+
+    // records and logs any database operation that is running on the main thread
+    private static void checkNotMainThread(String op) {
+        if (Looper.getMainLooper().isCurrentThread()) {
+            mMainThreadCalls.incrementAndGet();
+            Log.w("SQL", op + "() called on the main thread, use InventoryRepository instead");
+        }
     }
 
     private static final class UserTable {
@@ -48,6 +156,7 @@ public class InventoryDatabase extends SQLiteOpenHelper {
         private static final String COL_ID = "_id";
         private static final String COL_USERNAME = "username";
         private static final String COL_PASSWORD = "password";
+        private static final String IDX_USERNAME = "idx_users_username_nocase";
     }
 
     private static final class InventoryTable {
@@ -55,8 +164,254 @@ public class InventoryDatabase extends SQLiteOpenHelper {
         private static final String COL_ID = "_id";
         private static final String COL_ITEM_NAME = "itemname";
         private static final String COL_ITEM_QTY = "itemquantity";
+        private static final String COL_LOW_THRESHOLD = "lowthreshold";
+        // 1 once an alert has been sent for the current drop below threshold, reset to 0 on restock
+        private static final String COL_LOW_ALERTED = "lowalerted";
+        private static final String IDX_ITEM_NAME = "idx_inventory_itemname_nocase";
+        // FTS4 external-content table over itemname, its docid is the inventory _id
+        private static final String FTS_TABLE = "inventory_fts";
+        // partial index holding only the rows at or below their threshold
+        private static final String IDX_LOW_STOCK = "idx_inventory_low_stock";
+        // id of the row on every device and on the sync server, assigned by a trigger on insert
+        private static final String COL_SYNC_ID = "syncid";
+        // server quantity the row was last synced at, NULL until it has been pushed once
+        private static final String COL_SYNC_BASE = "syncbase";
+        // server version of syncbase, 0 until it has been pushed once
+        private static final String COL_SYNC_VERSION = "syncversion";
+        private static final String IDX_SYNC_ID = "idx_inventory_sync_id";
+        // partial index holding only the rows with changes that have not been pushed
+        private static final String IDX_SYNC_DIRTY = "idx_inventory_sync_dirty";
+        // SKU/barcode printed on the item, NULL if it has none
+        private static final String COL_SKU = "sku";
+        // unique over the items that have a SKU, items without one take no space in it
+        private static final String IDX_SKU = "idx_inventory_sku";
+    }
+
+    // places items are stocked in (warehouses, shelves, bins)
+    private static final class LocationTable {
+        private static final String TABLE = "locations";
+        private static final String COL_ID = "_id";
+        private static final String COL_NAME = "locationname";
+        private static final String IDX_NAME = "idx_locations_name_nocase";
+    }
+
+    // quantity of each item at each location, inventory.itemquantity is kept equal to the sum of an
+    // item's rows here by triggers (see createLocations())
+    private static final class LocationStockTable {
+        private static final String TABLE = "location_stock";
+        private static final String COL_ITEM_ID = "itemid";
+        private static final String COL_LOCATION_ID = "locationid";
+        private static final String COL_QTY = "quantity";
+        // (locationid, itemid), pages one location's items in _id order
+        private static final String IDX_LOCATION = "idx_location_stock_location";
+    }
+
+    // syncIds of synced rows deleted on this device, removed once the server has the delete
+    private static final class SyncTombstoneTable {
+        private static final String TABLE = "sync_tombstones";
+        private static final String COL_SYNC_ID = "syncid";
+    }
+
+    // key/value sync bookkeeping: this device's id and the last pulled server version
+    private static final class SyncStateTable {
+        private static final String TABLE = "sync_state";
+        private static final String COL_KEY = "key";
+        private static final String COL_VALUE = "value";
+        private static final String KEY_DEVICE = "device";
+        private static final String KEY_PULL_VERSION = "pullversion";
     }
 
+    // parameterized SQL for every per-call operation, compiled once by the StatementCache
+    // values are always bound with bindString/bindLong, never concatenated into the SQL text
+    private static final String SQL_INSERT_USER = "INSERT INTO " + UserTable.TABLE + " ("
+            + UserTable.COL_USERNAME + ", " + UserTable.COL_PASSWORD + ") VALUES (?, ?)";
+    private static final String SQL_USER_EXISTS = "SELECT EXISTS(SELECT 1 FROM " + UserTable.TABLE
+            + " WHERE " + UserTable.COL_USERNAME + " = ? COLLATE NOCASE)";
+    // the first user with the name, found with one seek of the NOCASE username index (which is ordered
+    // by _id within a name, so there is no sort)
+    private static final String FIRST_USER_WHERE = " WHERE " + UserTable.COL_USERNAME + " = ?1 COLLATE NOCASE ORDER BY "
+            + UserTable.COL_ID + " LIMIT 1";
+    private static final String SQL_PASSWORD_OF = "SELECT " + UserTable.COL_PASSWORD + " FROM " + UserTable.TABLE
+            + FIRST_USER_WHERE;
+    private static final String SQL_REPLACE_PASSWORD = "UPDATE " + UserTable.TABLE + " SET " + UserTable.COL_PASSWORD
+            + " = ?2 WHERE " + UserTable.COL_ID + " = (SELECT " + UserTable.COL_ID + " FROM " + UserTable.TABLE
+            + FIRST_USER_WHERE + ") AND " + UserTable.COL_PASSWORD + " = ?3";
+    private static final String SQL_INSERT_ITEM = "INSERT INTO " + InventoryTable.TABLE + " ("
+            + InventoryTable.COL_ITEM_NAME + ", " + InventoryTable.COL_ITEM_QTY + ") VALUES (?, ?)";
+    private static final String SQL_INSERT_ITEM_IF_ABSENT = "INSERT INTO " + InventoryTable.TABLE + " ("
+            + InventoryTable.COL_ITEM_NAME + ", " + InventoryTable.COL_ITEM_QTY + ")"
+            + " SELECT ?, ? WHERE NOT EXISTS (SELECT 1 FROM " + InventoryTable.TABLE
+            + " WHERE " + InventoryTable.COL_ITEM_NAME + " = ? COLLATE NOCASE)";
+    private static final String SQL_DELETE_ITEM = "DELETE FROM " + InventoryTable.TABLE
+            + " WHERE " + InventoryTable.COL_ID + " = ?";
+    // a change to the total lands on the default location (see createLocations()), so a decrease is
+    // refused if it would take the default location below 0, even when the total could cover it
+    private static final String SQL_UPDATE_ITEM_QTY = "UPDATE " + InventoryTable.TABLE
+            + " SET " + InventoryTable.COL_ITEM_QTY + " = ?1 WHERE " + InventoryTable.COL_ID + " = ?2"
+            + " AND (?1 >= " + InventoryTable.COL_ITEM_QTY + " OR ?1 - (SELECT COALESCE(SUM(" + LocationStockTable.COL_QTY
+            + "), 0) FROM " + LocationStockTable.TABLE + " WHERE " + LocationStockTable.COL_ITEM_ID + " = ?2 AND "
+            + LocationStockTable.COL_LOCATION_ID + " <> " + DEFAULT_LOCATION_ID + ") >= 0)";
+    // relative update, SQLite reads and writes the quantity in one statement so concurrent deltas are
+    // never lost, the floor check is part of the same WHERE so it cannot race with the update either
+    // the floor applies to the default location too, which is where the delta lands
+    private static final String SQL_ADJUST_ITEM_QTY = "UPDATE " + InventoryTable.TABLE
+            + " SET " + InventoryTable.COL_ITEM_QTY + " = " + InventoryTable.COL_ITEM_QTY + " + ?1"
+            + " WHERE " + InventoryTable.COL_ID + " = ?2 AND " + InventoryTable.COL_ITEM_QTY + " + ?1 >= ?3"
+            + " AND (?1 >= 0 OR COALESCE((SELECT " + LocationStockTable.COL_QTY + " FROM " + LocationStockTable.TABLE
+            + " WHERE " + LocationStockTable.COL_ITEM_ID + " = ?2 AND " + LocationStockTable.COL_LOCATION_ID + " = "
+            + DEFAULT_LOCATION_ID + "), 0) + ?1 >= ?3)";
+    private static final String SQL_SET_SKU = "UPDATE " + InventoryTable.TABLE
+            + " SET " + InventoryTable.COL_SKU + " = ? WHERE " + InventoryTable.COL_ID + " = ?";
+    // reads only the SKU index (sku plus rowid), never the table
+    private static final String SQL_READ_SKUS = "SELECT " + InventoryTable.COL_SKU + ", " + InventoryTable.COL_ID
+            + " FROM " + InventoryTable.TABLE + " INDEXED BY " + InventoryTable.IDX_SKU
+            + " WHERE " + InventoryTable.COL_SKU + " IS NOT NULL";
+    private static final String SQL_UPDATE_LOW_THRESHOLD = "UPDATE " + InventoryTable.TABLE
+            + " SET " + InventoryTable.COL_LOW_THRESHOLD + " = ? WHERE " + InventoryTable.COL_ID + " = ?";
+
+    // low-stock queries, the WHERE clause is the same as the partial index's so SQLite reads the index
+    // (which only holds low rows) instead of scanning the table
+    private static final String LOW_STOCK_WHERE = InventoryTable.COL_ITEM_QTY + " <= " + InventoryTable.COL_LOW_THRESHOLD;
+    private static final String SQL_READ_LOW_STOCK = "SELECT " + InventoryTable.COL_ID + ", " + InventoryTable.COL_ITEM_NAME
+            + ", " + InventoryTable.COL_ITEM_QTY + ", " + InventoryTable.COL_LOW_THRESHOLD + " FROM " + InventoryTable.TABLE
+            + " WHERE " + LOW_STOCK_WHERE + " ORDER BY " + InventoryTable.COL_ID;
+    private static final String SQL_READ_UNALERTED_LOW_STOCK = "SELECT " + InventoryTable.COL_ID + ", " + InventoryTable.COL_ITEM_NAME
+            + ", " + InventoryTable.COL_ITEM_QTY + ", " + InventoryTable.COL_LOW_THRESHOLD + " FROM " + InventoryTable.TABLE
+            + " WHERE " + LOW_STOCK_WHERE + " AND " + InventoryTable.COL_LOW_ALERTED + " = 0 ORDER BY " + InventoryTable.COL_ID;
+    // an item restocked while its alert was on the way is left unmarked, so its next drop is alerted
+    private static final String SQL_MARK_LOW_ALERTED = "UPDATE " + InventoryTable.TABLE + " SET " + InventoryTable.COL_LOW_ALERTED
+            + " = 1 WHERE " + InventoryTable.COL_ID + " = ? AND " + InventoryTable.COL_LOW_ALERTED + " = 0 AND " + LOW_STOCK_WHERE;
+    private static final String SQL_UNALERTED_LOW_STOCK_ITEM = "SELECT " + InventoryTable.COL_ID + ", " + InventoryTable.COL_ITEM_NAME
+            + ", " + InventoryTable.COL_ITEM_QTY + ", " + InventoryTable.COL_LOW_THRESHOLD + " FROM " + InventoryTable.TABLE
+            + " WHERE " + InventoryTable.COL_ID + " = ? AND " + LOW_STOCK_WHERE + " AND " + InventoryTable.COL_LOW_ALERTED + " = 0";
+
+    // sync queries, a row needs pushing when it is new or its quantity has moved away from its base
+    // the WHERE clause is the same as the partial index's so only changed rows are read
+    private static final String SYNC_DIRTY_WHERE = "(" + InventoryTable.COL_SYNC_BASE + " IS NULL OR "
+            + InventoryTable.COL_ITEM_QTY + " <> " + InventoryTable.COL_SYNC_BASE + ")";
+    private static final String SQL_READ_SYNC_CHANGES = "SELECT " + InventoryTable.COL_ID + ", " + InventoryTable.COL_SYNC_ID
+            + ", " + InventoryTable.COL_ITEM_NAME + ", " + InventoryTable.COL_ITEM_QTY + ", " + InventoryTable.COL_SYNC_BASE
+            + ", " + InventoryTable.COL_SYNC_VERSION + " FROM " + InventoryTable.TABLE + " WHERE " + SYNC_DIRTY_WHERE
+            + " AND " + InventoryTable.COL_ID + " > ? ORDER BY " + InventoryTable.COL_ID + " LIMIT ?";
+    private static final String SQL_READ_SYNC_DELETES = "SELECT " + SyncTombstoneTable.COL_SYNC_ID + " FROM "
+            + SyncTombstoneTable.TABLE + " LIMIT ?";
+    private static final String SQL_DELETE_SYNC_TOMBSTONE = "DELETE FROM " + SyncTombstoneTable.TABLE
+            + " WHERE " + SyncTombstoneTable.COL_SYNC_ID + " = ?";
+    private static final String SQL_DELETE_SYNCED_ITEM = "DELETE FROM " + InventoryTable.TABLE
+            + " WHERE " + InventoryTable.COL_SYNC_ID + " = ?";
+    private static final String SQL_SYNC_ID_EXISTS = "SELECT EXISTS(SELECT 1 FROM " + InventoryTable.TABLE
+            + " WHERE " + InventoryTable.COL_SYNC_ID + " = ?)";
+    // rebases a pushed row on the server's merged quantity ?1, keeping any local change made after the
+    // push read it (quantity - base - pushed delta ?2), and re-keys it to ?4 if the server merged it
+    // SQLite evaluates every SET expression against the row as it was before the update
+    private static final String SQL_APPLY_PUSHED = "UPDATE " + InventoryTable.TABLE + " SET "
+            + InventoryTable.COL_ITEM_QTY + " = " + InventoryTable.COL_ITEM_QTY + " + ?1 - COALESCE("
+            + InventoryTable.COL_SYNC_BASE + ", 0) - ?2, " + InventoryTable.COL_SYNC_BASE + " = ?1, "
+            + InventoryTable.COL_SYNC_VERSION + " = ?3, " + InventoryTable.COL_SYNC_ID + " = ?4"
+            + " WHERE " + InventoryTable.COL_SYNC_ID + " = ?5";
+    // rebases a row on a newer pulled quantity ?1, an unpushed local delta (quantity - base) is kept
+    private static final String SQL_APPLY_PULLED = "UPDATE " + InventoryTable.TABLE + " SET "
+            + InventoryTable.COL_ITEM_QTY + " = " + InventoryTable.COL_ITEM_QTY + " + ?1 - COALESCE("
+            + InventoryTable.COL_SYNC_BASE + ", 0), " + InventoryTable.COL_SYNC_BASE + " = ?1, "
+            + InventoryTable.COL_SYNC_VERSION + " = ?2 WHERE " + InventoryTable.COL_SYNC_ID + " = ?3 AND "
+            + InventoryTable.COL_SYNC_VERSION + " < ?2";
+    // a pulled item this device also created offline (same name, never pushed) takes the server's
+    // syncId, its local quantity is kept as an unpushed delta on top of the server's
+    private static final String SQL_ADOPT_PULLED = "UPDATE " + InventoryTable.TABLE + " SET "
+            + InventoryTable.COL_ITEM_QTY + " = " + InventoryTable.COL_ITEM_QTY + " + ?1, "
+            + InventoryTable.COL_SYNC_BASE + " = ?1, " + InventoryTable.COL_SYNC_VERSION + " = ?2, "
+            + InventoryTable.COL_SYNC_ID + " = ?3 WHERE " + InventoryTable.COL_ID + " = (SELECT " + InventoryTable.COL_ID
+            + " FROM " + InventoryTable.TABLE + " WHERE " + InventoryTable.COL_ITEM_NAME + " = ?4 COLLATE NOCASE AND "
+            + InventoryTable.COL_SYNC_BASE + " IS NULL LIMIT 1)";
+    // an item created on another device, skipped if this device has deleted it but not pushed that yet
+    private static final String SQL_INSERT_PULLED = "INSERT INTO " + InventoryTable.TABLE + " ("
+            + InventoryTable.COL_ITEM_NAME + ", " + InventoryTable.COL_ITEM_QTY + ", " + InventoryTable.COL_SYNC_BASE + ", "
+            + InventoryTable.COL_SYNC_VERSION + ", " + InventoryTable.COL_SYNC_ID + ") SELECT ?4, ?1, ?1, ?2, ?3"
+            + " WHERE NOT EXISTS (SELECT 1 FROM " + SyncTombstoneTable.TABLE + " WHERE "
+            + SyncTombstoneTable.COL_SYNC_ID + " = ?3)";
+    // location queries
+    private static final String SQL_INSERT_LOCATION = "INSERT INTO " + LocationTable.TABLE + " ("
+            + LocationTable.COL_NAME + ") VALUES (?)";
+    private static final String SQL_READ_LOCATIONS = "SELECT " + LocationTable.COL_ID + ", " + LocationTable.COL_NAME
+            + " FROM " + LocationTable.TABLE + " ORDER BY " + LocationTable.COL_ID;
+    // adds a 0 row for an item at a location if it has none yet, only for an item and location that exist
+    private static final String SQL_INSERT_LOCATION_STOCK = "INSERT OR IGNORE INTO " + LocationStockTable.TABLE + " ("
+            + LocationStockTable.COL_ITEM_ID + ", " + LocationStockTable.COL_LOCATION_ID + ", " + LocationStockTable.COL_QTY
+            + ") SELECT ?1, ?2, 0 WHERE EXISTS (SELECT 1 FROM " + InventoryTable.TABLE + " WHERE " + InventoryTable.COL_ID
+            + " = ?1) AND EXISTS (SELECT 1 FROM " + LocationTable.TABLE + " WHERE " + LocationTable.COL_ID + " = ?2)";
+    private static final String SQL_UPDATE_LOCATION_QTY = "UPDATE " + LocationStockTable.TABLE + " SET "
+            + LocationStockTable.COL_QTY + " = ?3 WHERE " + LocationStockTable.COL_ITEM_ID + " = ?1 AND "
+            + LocationStockTable.COL_LOCATION_ID + " = ?2";
+    // relative update with the floor check in the WHERE, as SQL_ADJUST_ITEM_QTY
+    private static final String SQL_ADJUST_LOCATION_QTY = "UPDATE " + LocationStockTable.TABLE + " SET "
+            + LocationStockTable.COL_QTY + " = " + LocationStockTable.COL_QTY + " + ?3 WHERE "
+            + LocationStockTable.COL_ITEM_ID + " = ?1 AND " + LocationStockTable.COL_LOCATION_ID + " = ?2 AND "
+            + LocationStockTable.COL_QTY + " + ?3 >= ?4";
+    private static final String SQL_ITEM_QTY = "SELECT " + InventoryTable.COL_ITEM_QTY + " FROM " + InventoryTable.TABLE
+            + " WHERE " + InventoryTable.COL_ID + " = ?";
+
+    // keyset pagination over one location's stock, in item _id order, through the (locationid, itemid)
+    // index, with the item name joined from inventory by primary key
+    private static final String LOCATION_PAGE_SELECT = "SELECT " + InventoryTable.TABLE + "." + InventoryTable.COL_ID + ", "
+            + InventoryTable.TABLE + "." + InventoryTable.COL_ITEM_NAME + ", " + LocationStockTable.TABLE + "."
+            + LocationStockTable.COL_QTY + " FROM " + LocationStockTable.TABLE + " JOIN " + InventoryTable.TABLE + " ON "
+            + InventoryTable.TABLE + "." + InventoryTable.COL_ID + " = " + LocationStockTable.TABLE + "."
+            + LocationStockTable.COL_ITEM_ID + " WHERE " + LocationStockTable.TABLE + "." + LocationStockTable.COL_LOCATION_ID + " = ? AND ";
+    private static final String SQL_LOCATION_PAGE_AFTER = LOCATION_PAGE_SELECT + LocationStockTable.TABLE + "."
+            + LocationStockTable.COL_ITEM_ID + " > ? ORDER BY " + LocationStockTable.TABLE + "." + LocationStockTable.COL_ITEM_ID
+            + " LIMIT ?";
+    private static final String SQL_LOCATION_PAGE_BEFORE = LOCATION_PAGE_SELECT + LocationStockTable.TABLE + "."
+            + LocationStockTable.COL_ITEM_ID + " < ? ORDER BY " + LocationStockTable.TABLE + "." + LocationStockTable.COL_ITEM_ID
+            + " DESC LIMIT ?";
+    // the same with the name filtered by an FTS query, as SQL_SEARCH_AFTER/BEFORE
+    private static final String LOCATION_SEARCH_SELECT = "SELECT " + InventoryTable.TABLE + "." + InventoryTable.COL_ID + ", "
+            + InventoryTable.TABLE + "." + InventoryTable.COL_ITEM_NAME + ", " + LocationStockTable.TABLE + "."
+            + LocationStockTable.COL_QTY + " FROM " + InventoryTable.FTS_TABLE + " JOIN " + LocationStockTable.TABLE + " ON "
+            + LocationStockTable.TABLE + "." + LocationStockTable.COL_ITEM_ID + " = " + InventoryTable.FTS_TABLE + ".docid AND "
+            + LocationStockTable.TABLE + "." + LocationStockTable.COL_LOCATION_ID + " = ? JOIN " + InventoryTable.TABLE + " ON "
+            + InventoryTable.TABLE + "." + InventoryTable.COL_ID + " = " + InventoryTable.FTS_TABLE + ".docid WHERE "
+            + InventoryTable.FTS_TABLE + " MATCH ? AND ";
+    private static final String SQL_LOCATION_SEARCH_AFTER = LOCATION_SEARCH_SELECT + InventoryTable.FTS_TABLE
+            + ".docid > ? ORDER BY " + InventoryTable.FTS_TABLE + ".docid LIMIT ?";
+    private static final String SQL_LOCATION_SEARCH_BEFORE = LOCATION_SEARCH_SELECT + InventoryTable.FTS_TABLE
+            + ".docid < ? ORDER BY " + InventoryTable.FTS_TABLE + ".docid DESC LIMIT ?";
+
+    private static final String SQL_READ_SYNC_STATE = "SELECT " + SyncStateTable.COL_VALUE + " FROM "
+            + SyncStateTable.TABLE + " WHERE " + SyncStateTable.COL_KEY + " = ?";
+    private static final String SQL_WRITE_SYNC_STATE = "INSERT OR REPLACE INTO " + SyncStateTable.TABLE + " ("
+            + SyncStateTable.COL_KEY + ", " + SyncStateTable.COL_VALUE + ") VALUES (?, ?)";
+
+    private static final String SQL_READ_INVENTORY = "SELECT " + InventoryTable.COL_ID + ", " + InventoryTable.COL_ITEM_NAME
+            + ", " + InventoryTable.COL_ITEM_QTY + " FROM " + InventoryTable.TABLE + " ORDER BY " + InventoryTable.COL_ID;
+
+    // keyset pagination queries, _id is the INTEGER PRIMARY KEY so both are index seeks
+    private static final String SQL_PAGE_AFTER = "SELECT " + InventoryTable.COL_ID + ", " + InventoryTable.COL_ITEM_NAME
+            + ", " + InventoryTable.COL_ITEM_QTY + " FROM " + InventoryTable.TABLE + " WHERE " + InventoryTable.COL_ID
+            + " > ? ORDER BY " + InventoryTable.COL_ID + " LIMIT ?";
+    private static final String SQL_PAGE_BEFORE = "SELECT " + InventoryTable.COL_ID + ", " + InventoryTable.COL_ITEM_NAME
+            + ", " + InventoryTable.COL_ITEM_QTY + " FROM " + InventoryTable.TABLE + " WHERE " + InventoryTable.COL_ID
+            + " < ? ORDER BY " + InventoryTable.COL_ID + " DESC LIMIT ?";
+
+    // keyset pagination over the rows whose name matches an FTS query
+    // FTS returns matches in docid order, so the ORDER BY does not need a sort step
+    private static final String SQL_SEARCH_AFTER = "SELECT " + InventoryTable.TABLE + "." + InventoryTable.COL_ID + ", "
+            + InventoryTable.TABLE + "." + InventoryTable.COL_ITEM_NAME + ", " + InventoryTable.TABLE + "." + InventoryTable.COL_ITEM_QTY
+            + " FROM " + InventoryTable.FTS_TABLE + " JOIN " + InventoryTable.TABLE + " ON " + InventoryTable.TABLE + "."
+            + InventoryTable.COL_ID + " = " + InventoryTable.FTS_TABLE + ".docid WHERE " + InventoryTable.FTS_TABLE
+            + " MATCH ? AND " + InventoryTable.FTS_TABLE + ".docid > ? ORDER BY " + InventoryTable.FTS_TABLE + ".docid LIMIT ?";
+    private static final String SQL_SEARCH_BEFORE = "SELECT " + InventoryTable.TABLE + "." + InventoryTable.COL_ID + ", "
+            + InventoryTable.TABLE + "." + InventoryTable.COL_ITEM_NAME + ", " + InventoryTable.TABLE + "." + InventoryTable.COL_ITEM_QTY
+            + " FROM " + InventoryTable.FTS_TABLE + " JOIN " + InventoryTable.TABLE + " ON " + InventoryTable.TABLE + "."
+            + InventoryTable.COL_ID + " = " + InventoryTable.FTS_TABLE + ".docid WHERE " + InventoryTable.FTS_TABLE
+            + " MATCH ? AND " + InventoryTable.FTS_TABLE + ".docid < ? ORDER BY " + InventoryTable.FTS_TABLE + ".docid DESC LIMIT ?";
+
+    // prepared statements reused for the lifetime of the connection
+    private final StatementCache mStatementCache = new StatementCache();
+    // write-through copy of the inventory table, answers name lookups without a query
+    private final InventoryCache mInventoryCache = new InventoryCache();
+    // write-through SKU -> _id map, answers barcode scans without a query
+    private final SkuIndex mSkuIndex = new SkuIndex();
+
     @Override
     public void onCreate(SQLiteDatabase db) {
 
@@ -73,18 +428,278 @@ public class InventoryDatabase extends SQLiteOpenHelper {
         String createInventoryTable = "CREATE TABLE " + InventoryTable.TABLE + " ("
                 + InventoryTable.COL_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
                 + InventoryTable.COL_ITEM_NAME + " TEXT NOT NULL, "
-                + InventoryTable.COL_ITEM_QTY + " INTEGER NOT NULL)";
+                + InventoryTable.COL_ITEM_QTY + " INTEGER NOT NULL, "
+                + InventoryTable.COL_LOW_THRESHOLD + " INTEGER NOT NULL DEFAULT " + DEFAULT_LOW_THRESHOLD + ", "
+                + InventoryTable.COL_LOW_ALERTED + " INTEGER NOT NULL DEFAULT 0, "
+                + InventoryTable.COL_SYNC_ID + " TEXT, "
+                + InventoryTable.COL_SYNC_BASE + " INTEGER, "
+                + InventoryTable.COL_SYNC_VERSION + " INTEGER NOT NULL DEFAULT 0, "
+                + InventoryTable.COL_SKU + " TEXT)";
 
         // method to execute above sql query
         db.execSQL(createInventoryTable);
 
+        createLookupIndexes(db);
+        createSearchIndex(db);
+        createLowStockIndex(db);
+        createLowStockAlertReset(db);
+        StockLedger.createSchema(db, InventoryTable.TABLE, InventoryTable.COL_ID, InventoryTable.COL_ITEM_QTY);
+        createSyncTracking(db);
+        createSkuIndex(db);
+        createLocations(db);
+
     } // end onCreate()
 
+    // upgrades the schema in place one version at a time so existing users and inventory are kept
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        db.execSQL("drop table if exists " + UserTable.TABLE);
-        db.execSQL("drop table if exists " + InventoryTable.TABLE);
-        onCreate(db);
+        MIGRATIONS.run(db, oldVersion, newVersion);
+    }
+
+    /*
+     ***************************************
+     * *   Schema migrations
+     * *************************************
+     */
+
+    // 1 -> 2: case-insensitive lookup indexes
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(SQLiteDatabase db) {
+            createLookupIndexes(db);
+        }
+    };
+
+    // 2 -> 3: full-text search index, filled from the existing rows
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(SQLiteDatabase db) {
+            createSearchIndex(db);
+            db.execSQL("INSERT INTO " + InventoryTable.FTS_TABLE + " (" + InventoryTable.FTS_TABLE + ") VALUES ('rebuild')");
+        }
+    };
+
+    // 3 -> 4: per-item low-stock threshold, existing items get the old app-wide threshold
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(SQLiteDatabase db) {
+            // ADD COLUMN with a constant default only changes the schema, existing rows are not rewritten
+            db.execSQL("ALTER TABLE " + InventoryTable.TABLE + " ADD COLUMN " + InventoryTable.COL_LOW_THRESHOLD
+                    + " INTEGER NOT NULL DEFAULT " + DEFAULT_LOW_THRESHOLD);
+            createLowStockIndex(db);
+        }
+    };
+
+    // 4 -> 5: per-item alert state, items already low start out un-alerted so the first sweep reports them
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(SQLiteDatabase db) {
+            db.execSQL("ALTER TABLE " + InventoryTable.TABLE + " ADD COLUMN " + InventoryTable.COL_LOW_ALERTED
+                    + " INTEGER NOT NULL DEFAULT 0");
+            createLowStockAlertReset(db);
+        }
+    };
+
+    // 5 -> 6: stock movement ledger, each existing item starts with an opening movement for its quantity
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(SQLiteDatabase db) {
+            StockLedger.createSchema(db, InventoryTable.TABLE, InventoryTable.COL_ID, InventoryTable.COL_ITEM_QTY);
+            StockLedger.seedFromInventory(db, InventoryTable.TABLE, InventoryTable.COL_ID, InventoryTable.COL_ITEM_QTY);
+        }
+    };
+
+    // 6 -> 7: sync change tracking, every existing item is new to the server and is pushed by the first sync
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(SQLiteDatabase db) {
+            db.execSQL("ALTER TABLE " + InventoryTable.TABLE + " ADD COLUMN " + InventoryTable.COL_SYNC_ID + " TEXT");
+            db.execSQL("ALTER TABLE " + InventoryTable.TABLE + " ADD COLUMN " + InventoryTable.COL_SYNC_BASE + " INTEGER");
+            db.execSQL("ALTER TABLE " + InventoryTable.TABLE + " ADD COLUMN " + InventoryTable.COL_SYNC_VERSION
+                    + " INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("UPDATE " + InventoryTable.TABLE + " SET " + InventoryTable.COL_SYNC_ID + " = " + NEW_SYNC_ID);
+            createSyncTracking(db);
+        }
+    };
+
+    // 7 -> 8: SKU/barcode column, existing items start without one
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(SQLiteDatabase db) {
+            db.execSQL("ALTER TABLE " + InventoryTable.TABLE + " ADD COLUMN " + InventoryTable.COL_SKU + " TEXT");
+            createSkuIndex(db);
+        }
+    };
+
+    // 8 -> 9: locations, every existing item starts out with all of its quantity in the default location
+    static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(SQLiteDatabase db) {
+            createLocations(db);
+        }
+    };
+
+    // ordered migration steps used by onUpgrade(), add new steps here when VERSION is bumped
+    static final MigrationRunner MIGRATIONS = new MigrationRunner(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4,
+            MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7, MIGRATION_7_8, MIGRATION_8_9);
+
+    // creates COLLATE NOCASE indexes so the case-insensitive name lookups are index seeks instead
+    // of full table scans (UPPER(col) = ... cannot use an index)
+    // the indexes are not UNIQUE so an upgrade can never fail on existing rows that differ only by case
+    private static void createLookupIndexes(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + UserTable.IDX_USERNAME + " ON " + UserTable.TABLE
+                + " (" + UserTable.COL_USERNAME + " COLLATE NOCASE)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + InventoryTable.IDX_ITEM_NAME + " ON " + InventoryTable.TABLE
+                + " (" + InventoryTable.COL_ITEM_NAME + " COLLATE NOCASE)");
+    }
+
+    // creates a partial index over just the rows at or below their threshold, so finding low items
+    // costs a read of the (usually tiny) index rather than a scan of the whole inventory
+    // SQLite keeps rows moving in and out of it as quantities and thresholds change
+    private static void createLowStockIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + InventoryTable.IDX_LOW_STOCK + " ON " + InventoryTable.TABLE
+                + " (" + InventoryTable.COL_ID + ") WHERE " + LOW_STOCK_WHERE);
+    }
+
+    // clears an item's alerted flag when its quantity goes back above its threshold (from any write
+    // path: edit, import or sync), so the next drop below threshold is alerted again
+    private static void createLowStockAlertReset(SQLiteDatabase db) {
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS inventory_low_alert_reset AFTER UPDATE OF "
+                + InventoryTable.COL_ITEM_QTY + ", " + InventoryTable.COL_LOW_THRESHOLD + " ON " + InventoryTable.TABLE
+                + " WHEN new." + InventoryTable.COL_LOW_ALERTED + " = 1 AND new." + InventoryTable.COL_ITEM_QTY
+                + " > new." + InventoryTable.COL_LOW_THRESHOLD
+                + " BEGIN UPDATE " + InventoryTable.TABLE + " SET " + InventoryTable.COL_LOW_ALERTED + " = 0 WHERE "
+                + InventoryTable.COL_ID + " = new." + InventoryTable.COL_ID + "; END");
+    }
+
+    // partial UNIQUE index, two items can never share a SKU but any number can have none
+    private static void createSkuIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS " + InventoryTable.IDX_SKU + " ON " + InventoryTable.TABLE
+                + " (" + InventoryTable.COL_SKU + ") WHERE " + InventoryTable.COL_SKU + " IS NOT NULL");
+    }
+
+    // sum of the item's location rows, a seek of at most one row per location on the primary key
+    private static String locationStockTotal(String itemId) {
+        return "(SELECT COALESCE(SUM(" + LocationStockTable.COL_QTY + "), 0) FROM " + LocationStockTable.TABLE
+                + " WHERE " + LocationStockTable.COL_ITEM_ID + " = " + itemId + ")";
+    }
+
+    // sets inventory.itemquantity of itemId to the sum of its location rows, if that changed it
+    private static String updateItemTotal(String itemId) {
+        return "UPDATE " + InventoryTable.TABLE + " SET " + InventoryTable.COL_ITEM_QTY + " = " + locationStockTotal(itemId)
+                + " WHERE " + InventoryTable.COL_ID + " = " + itemId + " AND " + InventoryTable.COL_ITEM_QTY + " <> "
+                + locationStockTotal(itemId) + ";";
+    }
+
+    // creates the locations and per-location stock tables, the default location, a default-location
+    // row for every existing item, and the triggers that keep the two quantities in step:
+    // - a change to a location row sets the item's inventory.itemquantity to the new sum, so the totals
+    //   grid, low-stock index, ledger and sync all keep reading one maintained column (no GROUP BY)
+    // - a change made to inventory.itemquantity itself (totals grid, scans, import, sync) goes to the
+    //   item's default-location row; a decrease the default location cannot cover is refused by
+    //   SQL_ADJUST_ITEM_QTY / SQL_UPDATE_ITEM_QTY, only a pulled server quantity can still take it below 0
+    // - new items start in the default location, deleted items lose their location rows
+    // each trigger only writes when the other side actually differs, so they never feed each other
+    private static void createLocations(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + LocationTable.TABLE + " ("
+                + LocationTable.COL_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + LocationTable.COL_NAME + " TEXT NOT NULL)");
+        db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS " + LocationTable.IDX_NAME + " ON " + LocationTable.TABLE
+                + " (" + LocationTable.COL_NAME + " COLLATE NOCASE)");
+        db.execSQL("INSERT OR IGNORE INTO " + LocationTable.TABLE + " (" + LocationTable.COL_ID + ", "
+                + LocationTable.COL_NAME + ") VALUES (" + DEFAULT_LOCATION_ID + ", '" + DEFAULT_LOCATION_NAME + "')");
+
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + LocationStockTable.TABLE + " ("
+                + LocationStockTable.COL_ITEM_ID + " INTEGER NOT NULL, "
+                + LocationStockTable.COL_LOCATION_ID + " INTEGER NOT NULL, "
+                + LocationStockTable.COL_QTY + " INTEGER NOT NULL, "
+                + "PRIMARY KEY (" + LocationStockTable.COL_ITEM_ID + ", " + LocationStockTable.COL_LOCATION_ID + ")) WITHOUT ROWID");
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + LocationStockTable.IDX_LOCATION + " ON " + LocationStockTable.TABLE
+                + " (" + LocationStockTable.COL_LOCATION_ID + ", " + LocationStockTable.COL_ITEM_ID + ")");
+        db.execSQL("INSERT OR IGNORE INTO " + LocationStockTable.TABLE + " (" + LocationStockTable.COL_ITEM_ID + ", "
+                + LocationStockTable.COL_LOCATION_ID + ", " + LocationStockTable.COL_QTY + ") SELECT " + InventoryTable.COL_ID
+                + ", " + DEFAULT_LOCATION_ID + ", " + InventoryTable.COL_ITEM_QTY + " FROM " + InventoryTable.TABLE);
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS location_stock_total_ai AFTER INSERT ON " + LocationStockTable.TABLE
+                + " BEGIN " + updateItemTotal("new." + LocationStockTable.COL_ITEM_ID) + " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS location_stock_total_au AFTER UPDATE OF " + LocationStockTable.COL_QTY
+                + " ON " + LocationStockTable.TABLE + " WHEN new." + LocationStockTable.COL_QTY + " <> old." + LocationStockTable.COL_QTY
+                + " BEGIN " + updateItemTotal("new." + LocationStockTable.COL_ITEM_ID) + " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS location_stock_total_ad AFTER DELETE ON " + LocationStockTable.TABLE
+                + " BEGIN " + updateItemTotal("old." + LocationStockTable.COL_ITEM_ID) + " END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS inventory_location_stock_ai AFTER INSERT ON " + InventoryTable.TABLE
+                + " BEGIN INSERT INTO " + LocationStockTable.TABLE + " (" + LocationStockTable.COL_ITEM_ID + ", "
+                + LocationStockTable.COL_LOCATION_ID + ", " + LocationStockTable.COL_QTY + ") VALUES (new." + InventoryTable.COL_ID
+                + ", " + DEFAULT_LOCATION_ID + ", new." + InventoryTable.COL_ITEM_QTY + "); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS inventory_location_stock_au AFTER UPDATE OF " + InventoryTable.COL_ITEM_QTY
+                + " ON " + InventoryTable.TABLE + " WHEN new." + InventoryTable.COL_ITEM_QTY + " <> "
+                + locationStockTotal("new." + InventoryTable.COL_ID)
+                + " BEGIN INSERT OR IGNORE INTO " + LocationStockTable.TABLE + " (" + LocationStockTable.COL_ITEM_ID + ", "
+                + LocationStockTable.COL_LOCATION_ID + ", " + LocationStockTable.COL_QTY + ") VALUES (new." + InventoryTable.COL_ID
+                + ", " + DEFAULT_LOCATION_ID + ", 0);"
+                + " UPDATE " + LocationStockTable.TABLE + " SET " + LocationStockTable.COL_QTY + " = new." + InventoryTable.COL_ITEM_QTY
+                + " - (SELECT COALESCE(SUM(" + LocationStockTable.COL_QTY + "), 0) FROM " + LocationStockTable.TABLE + " WHERE "
+                + LocationStockTable.COL_ITEM_ID + " = new." + InventoryTable.COL_ID + " AND " + LocationStockTable.COL_LOCATION_ID
+                + " <> " + DEFAULT_LOCATION_ID + ") WHERE " + LocationStockTable.COL_ITEM_ID + " = new." + InventoryTable.COL_ID
+                + " AND " + LocationStockTable.COL_LOCATION_ID + " = " + DEFAULT_LOCATION_ID + "; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS inventory_location_stock_ad AFTER DELETE ON " + InventoryTable.TABLE
+                + " BEGIN DELETE FROM " + LocationStockTable.TABLE + " WHERE " + LocationStockTable.COL_ITEM_ID
+                + " = old." + InventoryTable.COL_ID + "; END");
+    }
+
+    // random 128-bit id as 32 hex digits, unique across devices without any coordination
+    private static final String NEW_SYNC_ID = "lower(hex(randomblob(16)))";
+
+    // creates the sync indexes, bookkeeping tables and triggers
+    // - inventory_sync_id gives every inserted row a syncId, whichever code path inserted it (a pulled
+    //   row already has one); the UPDATE it makes touches no column other triggers watch
+    // - inventory_sync_tombstone remembers deletes of rows the server knows about so they can be pushed
+    private static void createSyncTracking(SQLiteDatabase db) {
+        db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS " + InventoryTable.IDX_SYNC_ID + " ON " + InventoryTable.TABLE
+                + " (" + InventoryTable.COL_SYNC_ID + ")");
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + InventoryTable.IDX_SYNC_DIRTY + " ON " + InventoryTable.TABLE
+                + " (" + InventoryTable.COL_ID + ") WHERE " + SYNC_DIRTY_WHERE);
+
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + SyncTombstoneTable.TABLE + " ("
+                + SyncTombstoneTable.COL_SYNC_ID + " TEXT PRIMARY KEY) WITHOUT ROWID");
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + SyncStateTable.TABLE + " ("
+                + SyncStateTable.COL_KEY + " TEXT PRIMARY KEY, "
+                + SyncStateTable.COL_VALUE + " TEXT NOT NULL) WITHOUT ROWID");
+        db.execSQL("INSERT OR IGNORE INTO " + SyncStateTable.TABLE + " (" + SyncStateTable.COL_KEY + ", "
+                + SyncStateTable.COL_VALUE + ") VALUES ('" + SyncStateTable.KEY_DEVICE + "', " + NEW_SYNC_ID + ")");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS inventory_sync_id AFTER INSERT ON " + InventoryTable.TABLE
+                + " WHEN new." + InventoryTable.COL_SYNC_ID + " IS NULL"
+                + " BEGIN UPDATE " + InventoryTable.TABLE + " SET " + InventoryTable.COL_SYNC_ID + " = " + NEW_SYNC_ID
+                + " WHERE " + InventoryTable.COL_ID + " = new." + InventoryTable.COL_ID + "; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS inventory_sync_tombstone AFTER DELETE ON " + InventoryTable.TABLE
+                + " WHEN old." + InventoryTable.COL_SYNC_BASE + " IS NOT NULL"
+                + " BEGIN INSERT OR IGNORE INTO " + SyncTombstoneTable.TABLE + " (" + SyncTombstoneTable.COL_SYNC_ID
+                + ") VALUES (old." + InventoryTable.COL_SYNC_ID + "); END");
+    }
+
+    // creates the FTS4 search index over item names
+    // it is an external-content table, the names are stored once in inventory and the triggers
+    // keep the index in step with every insert, rename and delete
+    // prefix="2,3" adds prefix indexes so short "ham*" style queries are single index reads
+    // a change to the quantity alone does not touch the index
+    private static void createSearchIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS " + InventoryTable.FTS_TABLE + " USING fts4(content=\""
+                + InventoryTable.TABLE + "\", " + InventoryTable.COL_ITEM_NAME + ", prefix=\"2,3\")");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS inventory_fts_ai AFTER INSERT ON " + InventoryTable.TABLE
+                + " BEGIN INSERT INTO " + InventoryTable.FTS_TABLE + " (docid, " + InventoryTable.COL_ITEM_NAME + ")"
+                + " VALUES (new." + InventoryTable.COL_ID + ", new." + InventoryTable.COL_ITEM_NAME + "); END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS inventory_fts_bd BEFORE DELETE ON " + InventoryTable.TABLE
+                + " BEGIN DELETE FROM " + InventoryTable.FTS_TABLE + " WHERE docid = old." + InventoryTable.COL_ID + "; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS inventory_fts_bu BEFORE UPDATE OF " + InventoryTable.COL_ITEM_NAME
+                + " ON " + InventoryTable.TABLE
+                + " BEGIN DELETE FROM " + InventoryTable.FTS_TABLE + " WHERE docid = old." + InventoryTable.COL_ID + "; END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS inventory_fts_au AFTER UPDATE OF " + InventoryTable.COL_ITEM_NAME
+                + " ON " + InventoryTable.TABLE
+                + " BEGIN INSERT INTO " + InventoryTable.FTS_TABLE + " (docid, " + InventoryTable.COL_ITEM_NAME + ")"
+                + " VALUES (new." + InventoryTable.COL_ID + ", new." + InventoryTable.COL_ITEM_NAME + "); END");
     }
 
     /*
@@ -92,157 +707,1132 @@ public class InventoryDatabase extends SQLiteOpenHelper {
     * *   SQLite methods for Login handling
     * *************************************
      */
-    public void addUser(String uname, String pw) {
+    @Override
+    public void addUser(String uname, String passwordHash) {
+        checkNotMainThread("addUser");
         // getWriteableDatabase() is called to obtain a writeable SQLiteDatabase object
         SQLiteDatabase db = getWritableDatabase();
-        // Holds the table columns and associated data to be inserted into a table
-        ContentValues values = new ContentValues();
+        SQLiteStatement insert = mStatementCache.acquire(db, SQL_INSERT_USER);
 
-        values.put(UserTable.COL_USERNAME, uname);
-        values.put(UserTable.COL_PASSWORD, pw);
+        synchronized (insert) {
+            insert.bindString(1, uname);
+            insert.bindString(2, passwordHash);
+            insert.executeInsert();
+        }
+    }
 
-        db.insert(UserTable.TABLE, null, values);
+    @Override
+    public boolean userLookup(String uname) {
+        checkNotMainThread("userLookup");
+        long start = TIMER_USER_LOOKUP.start();
+        try {
+            SQLiteDatabase db = getReadableDatabase();
 
-        db.close();
+            SQLiteStatement lookup = mStatementCache.acquire(db, SQL_USER_EXISTS);
+            synchronized (lookup) {
+                lookup.bindString(1, uname);
+                return lookup.simpleQueryForLong() == 1;
+            }
+        } finally {
+            TIMER_USER_LOOKUP.stop(start);
+        }
     }
 
-    public boolean userLookup(String uname) {
+    // the password is compared by the caller (PasswordHasher.verify), not in SQL
+    @Override
+    public String readPasswordHash(String uname) {
+        checkNotMainThread("readPasswordHash");
+        long start = TIMER_READ_PASSWORD.start();
+        try {
+            SQLiteDatabase db = getReadableDatabase();
 
-        SQLiteDatabase db = getReadableDatabase();
+            SQLiteStatement lookup = mStatementCache.acquire(db, SQL_PASSWORD_OF);
+            synchronized (lookup) {
+                lookup.bindString(1, uname);
+                try {
+                    return lookup.simpleQueryForString();
+                } catch (SQLiteDoneException e) {
+                    // no such user
+                    return null;
+                }
+            }
+        } finally {
+            TIMER_READ_PASSWORD.stop(start);
+        }
+    }
 
-        String sql = "SELECT * FROM " + UserTable.TABLE + " WHERE UPPER(" + UserTable.COL_USERNAME + ") = \"" + uname.toUpperCase() + "\"";
-        Log.i("SQL", sql);
+    @Override
+    public boolean replacePasswordHash(String uname, String expected, String passwordHash) {
+        checkNotMainThread("replacePasswordHash");
+        SQLiteDatabase db = getWritableDatabase();
 
-        Cursor cursor = db.rawQuery(sql, null);
+        SQLiteStatement update = mStatementCache.acquire(db, SQL_REPLACE_PASSWORD);
+        synchronized (update) {
+            update.bindString(1, uname);
+            update.bindString(2, passwordHash);
+            update.bindString(3, expected);
+            return update.executeUpdateDelete() == 1;
+        }
+    }
 
-        if (cursor.moveToFirst()) {
-            cursor.close();
-            return true;
+    /*
+     ************************************************
+     * *   SQLite methods for Inventory CRUD handling
+     * **********************************************
+     */
+    @Override
+    public void addInventoryItem(String item_name, int qty) {
+        checkNotMainThread("addInventoryItem");
+        long start = TIMER_ADD_ITEM.start();
+        try {
+            // getWriteableDatabase() is called to obtain a writeable SQLiteDatabase object
+            SQLiteDatabase db = getWritableDatabase();
+            SQLiteStatement insert = mStatementCache.acquire(db, SQL_INSERT_ITEM);
+
+            long id;
+            synchronized (insert) {
+                insert.bindString(1, item_name);
+                insert.bindLong(2, qty);
+                id = insert.executeInsert();
+            }
+            if (id != -1) {
+                mInventoryCache.onInserted(id, item_name, qty);
+            }
+        } finally {
+            TIMER_ADD_ITEM.stop(start);
         }
-        cursor.close();
-        return false;
     }
+    // bulk inserts items using one compiled INSERT statement, committing every chunkSize rows
+    // items whose name already exists (case-insensitive) are skipped, returns number of rows inserted
+    @Override
+    public int addInventoryItems(Iterable<InventoryItem> items, int chunkSize, ImportProgressListener listener) {
+        checkNotMainThread("addInventoryItems");
+        long start = TIMER_IMPORT.start();
+        try {
+            if (chunkSize <= 0) {
+                throw new IllegalArgumentException("chunkSize must be greater than 0");
+            }
 
-    public boolean pwLookup(String uname, String pw){
-        SQLiteDatabase db = getReadableDatabase();
+            SQLiteDatabase db = getWritableDatabase();
 
-        String sql = "SELECT * FROM " + UserTable.TABLE + " WHERE UPPER(" + UserTable.COL_USERNAME + ") = \"" + uname.toUpperCase() + "\""
-                + " AND " + UserTable.COL_PASSWORD + " = \"" + pw + "\"";
-        Log.i("SQL", sql);
+            // compiled once and re-bound for every row, so SQLite only parses/plans the statement one time
+            // (a private statement rather than a cached one, so a long import never holds a shared statement)
+            SQLiteStatement insert = db.compileStatement(SQL_INSERT_ITEM_IF_ABSENT);
 
-        Cursor cursor = db.rawQuery(sql, null);
+            int rowsRead = 0;
+            int rowsInserted = 0;
+            boolean completed = false;
 
-        if (cursor.moveToFirst()) {
-            cursor.close();
-            return true;
+            db.beginTransaction();
+            try {
+                for (InventoryItem item : items) {
+                    insert.bindString(1, item.getName());
+                    insert.bindLong(2, item.getQuantity());
+                    insert.bindString(3, item.getName());
+                    // executeInsert() returns -1 when the NOT EXISTS guard skipped the row
+                    long id = insert.executeInsert();
+                    if (id != -1) {
+                        rowsInserted++;
+                        mInventoryCache.onInserted(id, item.getName(), item.getQuantity());
+                    }
+                    rowsRead++;
+
+                    if (rowsRead % chunkSize == 0) {
+                        // commits the current chunk and starts the next one
+                        db.setTransactionSuccessful();
+                        db.endTransaction();
+                        if (listener != null) {
+                            listener.onProgress(rowsInserted);
+                        }
+                        db.beginTransaction();
+                    }
+                }
+                db.setTransactionSuccessful();
+                completed = true;
+            } finally {
+                db.endTransaction();
+                insert.close();
+                if (!completed) {
+                    // the uncommitted chunk was rolled back but is already in the cache
+                    mInventoryCache.invalidate();
+                }
+            }
+
+            if (listener != null) {
+                listener.onProgress(rowsInserted);
+            }
+            if (BuildConfig.DEBUG) {
+                Log.i("SQL", "Bulk import inserted " + rowsInserted + " of " + rowsRead + " rows");
+            }
+            return rowsInserted;
+        } finally {
+            TIMER_IMPORT.stop(start);
+        }
+    }
+
+    // streams the whole Inventory Table, in _id order, to out as CSV or JSON Lines
+    // rows go from the cursor window to the writer one at a time, nothing is held per row
+    public long exportInventory(Writer out, InventoryExporter.Format format,
+                                InventoryExporter.ProgressListener listener) throws IOException {
+        checkNotMainThread("exportInventory");
+        long start = TIMER_EXPORT.start();
+        try {
+            SQLiteDatabase db = getReadableDatabase();
+
+            Cursor cursor = db.rawQuery(SQL_READ_INVENTORY, null);
+            try {
+                return new InventoryExporter(format).export(cursor, out, listener);
+            } finally {
+                cursor.close();
+            }
+        } finally {
+            TIMER_EXPORT.stop(start);
+        }
+    }
+
+    // reads the whole Inventory Table, in _id order, into a columnar InventoryItemStore
+    // no object is created per row, ids and quantities are read straight into primitive arrays
+    @Override
+    public InventoryItemStore readInventory() {
+        checkNotMainThread("readInventory");
+        long start = TIMER_READ_INVENTORY.start();
+        try {
+            SQLiteDatabase db = getReadableDatabase();
+
+            Cursor cursor = db.rawQuery(SQL_READ_INVENTORY, null);
+            try {
+                InventoryItemStore inventory = new InventoryItemStore(cursor.getCount());
+                while (cursor.moveToNext()) {
+                    inventory.add(cursor.getLong(0), cursor.getString(1), cursor.getInt(2));
+                }
+                return inventory;
+            } finally {
+                cursor.close();
+            }
+        } finally {
+            TIMER_READ_INVENTORY.stop(start);
         }
-        cursor.close();
-        return false;
+    }
+
+    @Override
+    public List<InventoryItem> readInventoryPageAfter(long afterId, int limit) {
+        return readInventoryPageAfter(afterId, limit, null);
+    }
 
+    @Override
+    public List<InventoryItem> readInventoryPageBefore(long beforeId, int limit) {
+        return readInventoryPageBefore(beforeId, limit, null);
+    }
+
+    // reads up to limit items with _id greater than afterId, in _id order
+    // signal may be null, cancelling it stops the query with an OperationCanceledException
+    public List<InventoryItem> readInventoryPageAfter(long afterId, int limit, CancellationSignal signal) {
+        checkNotMainThread("readInventoryPageAfter");
+        return readInventoryPage(TIMER_READ_PAGE, SQL_PAGE_AFTER, new String[] { Long.toString(afterId), Integer.toString(limit) },
+                limit, signal);
+    }
+
+    // reads up to limit items with _id less than beforeId, in _id order
+    public List<InventoryItem> readInventoryPageBefore(long beforeId, int limit, CancellationSignal signal) {
+        checkNotMainThread("readInventoryPageBefore");
+        List<InventoryItem> page = readInventoryPage(TIMER_READ_PAGE, SQL_PAGE_BEFORE,
+                new String[] { Long.toString(beforeId), Integer.toString(limit) }, limit, signal);
+        // query walks backwards from beforeId, flip it back into ascending order
+        Collections.reverse(page);
+        return page;
     }
 
     /*
-     ************************************************
-     * *   SQLite methods for Inventory CRUD handling
-     * **********************************************
+     ***************************************
+     * *   Item name search
+     * *************************************
      */
-    public void addInventoryItem(String item_name, int qty) {
-        // getWriteableDatabase() is called to obtain a writeable SQLiteDatabase object
-        SQLiteDatabase db = getWritableDatabase();
-        // Holds the table columns and associated data to be inserted into a table
-        ContentValues values = new ContentValues();
 
-        values.put(InventoryTable.COL_ITEM_NAME, item_name);
-        values.put(InventoryTable.COL_ITEM_QTY, qty);
+    // returns up to limit items, in _id order, with a word in their name starting with each word
+    // typed into text, e.g. "cla ham" finds "Claw Hammer"
+    public List<InventoryItem> searchInventory(String text, int limit) {
+        checkNotMainThread("searchInventory");
+        String matchQuery = toMatchQuery(text);
+        if (matchQuery == null) {
+            return new ArrayList<InventoryItem>();
+        }
+        return searchInventoryPageAfter(matchQuery, 0, limit, null);
+    }
 
-        db.insert(InventoryTable.TABLE, null, values);
+    // reads up to limit matches of matchQuery (built by toMatchQuery()) with _id greater than afterId
+    public List<InventoryItem> searchInventoryPageAfter(String matchQuery, long afterId, int limit, CancellationSignal signal) {
+        checkNotMainThread("searchInventoryPageAfter");
+        return readInventoryPage(TIMER_SEARCH_PAGE, SQL_SEARCH_AFTER,
+                new String[] { matchQuery, Long.toString(afterId), Integer.toString(limit) }, limit, signal);
+    }
 
-        db.close();
+    // reads up to limit matches of matchQuery with _id less than beforeId, in _id order
+    public List<InventoryItem> searchInventoryPageBefore(String matchQuery, long beforeId, int limit, CancellationSignal signal) {
+        checkNotMainThread("searchInventoryPageBefore");
+        List<InventoryItem> page = readInventoryPage(TIMER_SEARCH_PAGE, SQL_SEARCH_BEFORE,
+                new String[] { matchQuery, Long.toString(beforeId), Integer.toString(limit) }, limit, signal);
+        Collections.reverse(page);
+        return page;
     }
 
-    // reads all fields from the Inventory Table and builds and returns an ArrayList of Strings
-    public List<String> readInventory() {
+    // turns typed text into an FTS MATCH expression, one prefix term per word ("cla* ham*")
+    // words are split the same way as the FTS "simple" tokenizer (ASCII letters and digits, any
+    // non-ASCII character) and ASCII-lowercased, so typed operators and quotes are never interpreted
+    // returns null if the text has no searchable words
+    static String toMatchQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder(text.length() + 8);
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean wordChar = c >= 0x80 || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+            if (wordChar) {
+                if (!inWord && match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append((c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c);
+                inWord = true;
+            } else if (inWord) {
+                match.append('*');
+                inWord = false;
+            }
+        }
+        if (inWord) {
+            match.append('*');
+        }
+        return match.length() == 0 ? null : match.toString();
+    }
 
-        List<String> inventory = new ArrayList<String>();
-        SQLiteDatabase db = getReadableDatabase();
+    // runs one page query, timed by timer
+    private List<InventoryItem> readInventoryPage(InventoryMetrics.Timer timer, String sql, String[] args, int limit,
+                                                  CancellationSignal signal) {
+        long start = timer.start();
+        try {
+            List<InventoryItem> page = new ArrayList<InventoryItem>(limit);
+            SQLiteDatabase db = getReadableDatabase();
 
-        String sql = "SELECT * FROM " + InventoryTable.TABLE;
-        Log.i("SQL", sql);
+            Cursor cursor = db.rawQuery(sql, args, signal);
+            try {
+                while (cursor.moveToNext()) {
+                    page.add(new InventoryItem(cursor.getLong(0), cursor.getString(1), cursor.getInt(2)));
+                }
+            } finally {
+                cursor.close();
+            }
+            return page;
+        } finally {
+            timer.stop(start);
+        }
+    }
 
-        Cursor cursor = db.rawQuery(sql, null);
+    @Override
+    public boolean deleteInventoryItem(long id) {
+        checkNotMainThread("deleteInventoryItem");
+        long start = TIMER_DELETE_ITEM.start();
+        try {
+            // getWriteableDatabase() is called to obtain a writeable SQLiteDatabase object
+            SQLiteDatabase db = getWritableDatabase();
+            SQLiteStatement delete = mStatementCache.acquire(db, SQL_DELETE_ITEM);
 
-        if (cursor.moveToFirst()) {
-            do {
-                inventory.add(cursor.getString(1));
-                inventory.add(cursor.getString(2));
-            } while (cursor.moveToNext());
+            boolean deleted;
+            synchronized (delete) {
+                delete.bindLong(1, id);
+                deleted = delete.executeUpdateDelete() > 0;
+            }
+            if (deleted) {
+                mInventoryCache.onDeleted(id);
+                mSkuIndex.onDeleted(id);
+            }
+            return deleted;
+        } finally {
+            TIMER_DELETE_ITEM.stop(start);
         }
-        cursor.close();
-    return inventory;
+    }
+
+    // returns false (and changes nothing) if there is no such item, or it is a decrease that would take
+    // the default location below 0
+    @Override
+    public boolean updateInventoryItemQuantity(long id, int new_qty) {
+        checkNotMainThread("updateInventoryItemQuantity");
+        long start = TIMER_UPDATE_QTY.start();
+        try {
+            // getWriteableDatabase() is called to obtain a writeable SQLiteDatabase object
+            SQLiteDatabase db = getWritableDatabase();
+            SQLiteStatement update = mStatementCache.acquire(db, SQL_UPDATE_ITEM_QTY);
 
+            boolean updated;
+            synchronized (update) {
+                update.bindLong(1, new_qty);
+                update.bindLong(2, id);
+                updated = update.executeUpdateDelete() > 0;
+            }
+            if (updated) {
+                mInventoryCache.onQuantityUpdated(id, new_qty);
+            }
+            return updated;
+        } finally {
+            TIMER_UPDATE_QTY.stop(start);
+        }
     }
 
-    public boolean deleteInventoryItem(int id) {
-        // getWriteableDatabase() is called to obtain a writeable SQLiteDatabase object
+    // adds delta to the quantity of the item with primary key id, atomically
+    // returns false (and changes nothing) if there is no such item or the result would be below floor,
+    // in total or in the default location the delta lands on
+    @Override
+    public boolean adjustInventoryItemQuantity(long id, int delta, long floor) {
+        checkNotMainThread("adjustInventoryItemQuantity");
+        long start = TIMER_ADJUST_QTY.start();
+        try {
+            SQLiteDatabase db = getWritableDatabase();
+            SQLiteStatement adjust = mStatementCache.acquire(db, SQL_ADJUST_ITEM_QTY);
+
+            boolean adjusted;
+            synchronized (adjust) {
+                adjusted = executeAdjust(adjust, id, delta, floor);
+            }
+            if (adjusted) {
+                mInventoryCache.onQuantityAdjusted(id, delta);
+            }
+            return adjusted;
+        } finally {
+            TIMER_ADJUST_QTY.stop(start);
+        }
+    }
+
+    // applies every adjustment in one transaction, all or nothing
+    // returns false and rolls back if any item is missing or would end up below floor
+    // an item may appear more than once, its deltas are applied in order
+    @Override
+    public boolean adjustInventoryItemQuantities(List<StockAdjustment> adjustments, long floor) {
+        checkNotMainThread("adjustInventoryItemQuantities");
+        long start = TIMER_ADJUST_BATCH.start();
+        try {
+            SQLiteDatabase db = getWritableDatabase();
+            SQLiteStatement adjust = mStatementCache.acquire(db, SQL_ADJUST_ITEM_QTY);
+
+            boolean adjusted = true;
+            // the statement lock is taken before the transaction, the same order as a single adjust
+            // (lock, then connection), so the two can never deadlock
+            synchronized (adjust) {
+                db.beginTransaction();
+                try {
+                    for (StockAdjustment adjustment : adjustments) {
+                        if (!executeAdjust(adjust, adjustment.getId(), adjustment.getDelta(), floor)) {
+                            adjusted = false;
+                            break;
+                        }
+                    }
+                    if (adjusted) {
+                        db.setTransactionSuccessful();
+                    }
+                } finally {
+                    db.endTransaction();
+                }
+            }
+
+            // the cache only sees the batch once it has been committed
+            if (adjusted) {
+                for (StockAdjustment adjustment : adjustments) {
+                    mInventoryCache.onQuantityAdjusted(adjustment.getId(), adjustment.getDelta());
+                }
+            }
+            return adjusted;
+        } finally {
+            TIMER_ADJUST_BATCH.stop(start);
+        }
+    }
+
+    // caller holds the statement's lock
+    private static boolean executeAdjust(SQLiteStatement adjust, long id, int delta, long floor) {
+        adjust.bindLong(1, delta);
+        adjust.bindLong(2, id);
+        adjust.bindLong(3, floor);
+        return adjust.executeUpdateDelete() > 0;
+    }
+
+    /*
+     ***************************************
+     * *   Stock movement ledger
+     * *************************************
+     */
+
+    // returns the quantity the item with primary key id had at timeMillis (epoch milliseconds),
+    // 0 if it did not exist then
+    public int quantityAt(long id, long timeMillis) {
+        checkNotMainThread("quantityAt");
+        return StockLedger.quantityAt(getReadableDatabase(), id, timeMillis);
+    }
+
+    // returns up to limit movements of the item with primary key id, newest first
+    public List<StockMovement> readStockMovements(long id, int limit) {
+        checkNotMainThread("readStockMovements");
+        return StockLedger.readMovements(getReadableDatabase(), id, limit);
+    }
+
+    // folds ledger movements at or before cutoffMillis into per-item snapshots, returns how many were folded
+    // snapshots superseded more than StockLedger.SNAPSHOT_RETENTION_MS before the cutoff are dropped
+    public int compactStockLedger(long cutoffMillis) {
+        return compactStockLedger(cutoffMillis, cutoffMillis - StockLedger.SNAPSHOT_RETENTION_MS);
+    }
+
+    // as above, dropping the snapshots superseded (or of items deleted) at or before horizonMillis
+    public int compactStockLedger(long cutoffMillis, long horizonMillis) {
+        checkNotMainThread("compactStockLedger");
+        int folded = StockLedger.compact(getWritableDatabase(), InventoryTable.TABLE, InventoryTable.COL_ID,
+                cutoffMillis, horizonMillis);
+        if (BuildConfig.DEBUG) {
+            Log.i("SQL", "Ledger compaction folded " + folded + " movements");
+        }
+        return folded;
+    }
+
+    public long countStockMovements() {
+        checkNotMainThread("countStockMovements");
+        return StockLedger.countMovements(getReadableDatabase());
+    }
+
+    public long countStockSnapshots() {
+        checkNotMainThread("countStockSnapshots");
+        return StockLedger.countSnapshots(getReadableDatabase());
+    }
+
+    /*
+     ***************************************
+     * *   SKU/barcode codes and scan mode
+     * *************************************
+     */
+
+    // gives the item with primary key id the SKU sku (null clears it)
+    // returns false if there is no such item or another item already has that SKU
+    public boolean setInventoryItemSku(long id, String sku) {
+        checkNotMainThread("setInventoryItemSku");
         SQLiteDatabase db = getWritableDatabase();
+        SQLiteStatement update = mStatementCache.acquire(db, SQL_SET_SKU);
 
-        int rowsDeleted = db.delete(InventoryTable.TABLE,InventoryTable.COL_ID + " = ?",
-                new String[] { Integer.toString(id)});
+        boolean updated;
+        synchronized (update) {
+            if (sku == null) {
+                update.bindNull(1);
+            } else {
+                update.bindString(1, sku);
+            }
+            update.bindLong(2, id);
+            try {
+                updated = update.executeUpdateDelete() > 0;
+            } catch (SQLiteConstraintException e) {
+                return false; // the unique index rejected a duplicate SKU
+            }
+        }
+        if (updated) {
+            mSkuIndex.onSkuChanged(id, sku);
+        }
+        return updated;
+    }
 
-        db.close();
-        return rowsDeleted > 0;
+    // returns the primary key of the item with this SKU, or SkuIndex.NOT_FOUND
+    // answered from the in-memory SkuIndex, the table is only read on the first lookup
+    public long inventorySkuLookup(String sku) {
+        checkNotMainThread("inventorySkuLookup");
+        return skuIdOf(sku);
     }
 
-    public boolean updateInventoryItemQuantity(int id, int new_qty) {
-        // getWriteableDatabase() is called to obtain a writeable SQLiteDatabase object
+    // adds each code's scan count to the quantity of the item with that SKU, in one transaction
+    // codes are resolved in memory, so a batch costs one UPDATE per distinct item and one commit
+    public ScanResult applyScanCounts(Map<String, Integer> countsByCode) {
+        checkNotMainThread("applyScanCounts");
+        long start = TIMER_SCAN.start();
+        try {
+            // loads the index before the transaction, the lookups below are then map hits
+            loadSkuIndexIfNeeded();
+            SQLiteDatabase db = getWritableDatabase();
+            SQLiteStatement adjust = mStatementCache.acquire(db, SQL_ADJUST_ITEM_QTY);
+
+            List<StockAdjustment> applied = new ArrayList<StockAdjustment>(countsByCode.size());
+            List<String> unknown = new ArrayList<String>();
+            int scansApplied = 0;
+            // statement lock before the transaction, see adjustInventoryItemQuantities()
+            synchronized (adjust) {
+                db.beginTransaction();
+                try {
+                    for (Map.Entry<String, Integer> entry : countsByCode.entrySet()) {
+                        long id = skuIdOf(entry.getKey());
+                        int count = entry.getValue();
+                        // a miss in the map, or an item deleted since it was loaded
+                        if (id == SkuIndex.NOT_FOUND || !executeAdjust(adjust, id, count, NO_FLOOR)) {
+                            unknown.add(entry.getKey());
+                            continue;
+                        }
+                        applied.add(new StockAdjustment(id, count));
+                        scansApplied += count;
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+            }
+            for (StockAdjustment adjustment : applied) {
+                mInventoryCache.onQuantityAdjusted(adjustment.getId(), adjustment.getDelta());
+            }
+            return new ScanResult(scansApplied, applied.size(), unknown);
+        } finally {
+            TIMER_SCAN.stop(start);
+        }
+    }
+
+    // returns the primary key of the item with this SKU, or SkuIndex.NOT_FOUND, loading the index first if needed
+    // the load and the lookup hold one lock, so an invalidate() by a sync batch on the writer thread
+    // cannot land between them
+    private long skuIdOf(String sku) {
+        synchronized (mSkuIndex) {
+            loadSkuIndexIfNeeded();
+            return mSkuIndex.idOf(sku);
+        }
+    }
+
+    // reads the SKU index from the table if it is not loaded (the first lookup, or after an invalidate())
+    private void loadSkuIndexIfNeeded() {
+        synchronized (mSkuIndex) {
+            if (!mSkuIndex.isLoaded()) {
+                Cursor cursor = getReadableDatabase().rawQuery(SQL_READ_SKUS, null);
+                try {
+                    int count = cursor.getCount();
+                    String[] skus = new String[count];
+                    long[] ids = new long[count];
+                    for (int i = 0; cursor.moveToNext(); i++) {
+                        skus[i] = cursor.getString(0);
+                        ids[i] = cursor.getLong(1);
+                    }
+                    mSkuIndex.load(skus, ids, count);
+                } finally {
+                    cursor.close();
+                }
+            }
+        }
+    }
+
+    public SkuIndex getSkuIndex() {
+        return mSkuIndex;
+    }
+
+    /*
+     ***************************************
+     * *   Locations
+     * *************************************
+     */
+
+    // adds a location, returns its primary key, or -1 if a location with that name (case-insensitive) exists
+    public long addLocation(String location_name) {
+        checkNotMainThread("addLocation");
         SQLiteDatabase db = getWritableDatabase();
+        SQLiteStatement insert = mStatementCache.acquire(db, SQL_INSERT_LOCATION);
 
-        ContentValues values = new ContentValues();
-        values.put(InventoryTable.COL_ITEM_QTY, new_qty);
+        synchronized (insert) {
+            insert.bindString(1, location_name);
+            try {
+                return insert.executeInsert();
+            } catch (SQLiteConstraintException e) {
+                return -1; // the unique name index rejected a duplicate
+            }
+        }
+    }
+
+    // every location, default location first
+    public List<InventoryLocation> readLocations() {
+        checkNotMainThread("readLocations");
+        Cursor cursor = getReadableDatabase().rawQuery(SQL_READ_LOCATIONS, null);
+        try {
+            List<InventoryLocation> locations = new ArrayList<InventoryLocation>(cursor.getCount());
+            while (cursor.moveToNext()) {
+                locations.add(new InventoryLocation(cursor.getLong(0), cursor.getString(1)));
+            }
+            return locations;
+        } finally {
+            cursor.close();
+        }
+    }
 
-        int rowsUpdated = db.update(InventoryTable.TABLE, values,InventoryTable.COL_ID + " = ?",
-                new String[] { Integer.toString(id)});
+    // sets the quantity of item id at locationId, the item's total follows through the triggers
+    // returns false if there is no such item or location
+    public boolean setLocationQuantity(long id, long locationId, int qty) {
+        checkNotMainThread("setLocationQuantity");
+        long start = TIMER_SET_LOCATION_QTY.start();
+        try {
+            SQLiteDatabase db = getWritableDatabase();
+            SQLiteStatement insert = mStatementCache.acquire(db, SQL_INSERT_LOCATION_STOCK);
+            SQLiteStatement update = mStatementCache.acquire(db, SQL_UPDATE_LOCATION_QTY);
+            SQLiteStatement total = mStatementCache.acquire(db, SQL_ITEM_QTY);
 
-        db.close();
-        return rowsUpdated > 0;
+            boolean updated;
+            long newTotal = 0;
+            // statement locks always in the same order (insert, then update), before the transaction
+            synchronized (insert) {
+                synchronized (update) {
+                    db.beginTransaction();
+                    try {
+                        executeInsertLocationStock(insert, id, locationId);
+                        update.bindLong(1, id);
+                        update.bindLong(2, locationId);
+                        update.bindLong(3, qty);
+                        updated = update.executeUpdateDelete() > 0;
+                        if (updated) {
+                            synchronized (total) {
+                                total.bindLong(1, id);
+                                newTotal = total.simpleQueryForLong();
+                            }
+                        }
+                        db.setTransactionSuccessful();
+                    } finally {
+                        db.endTransaction();
+                    }
+                }
+            }
+            if (updated) {
+                mInventoryCache.onQuantityUpdated(id, (int) newTotal);
+            }
+            return updated;
+        } finally {
+            TIMER_SET_LOCATION_QTY.stop(start);
+        }
     }
 
-    // returns true if item_name is found in the Inventory Table, else false
-    public boolean inventoryItemLookup(String item_name) {
+    // adds delta to the quantity of item id at locationId (an item not yet stocked there starts at 0)
+    // returns false (and changes nothing) if there is no such item or location, or the location's
+    // quantity would end up below floor
+    public boolean adjustLocationQuantity(long id, long locationId, int delta, long floor) {
+        checkNotMainThread("adjustLocationQuantity");
+        long start = TIMER_ADJUST_LOCATION_QTY.start();
+        try {
+            SQLiteDatabase db = getWritableDatabase();
+            SQLiteStatement insert = mStatementCache.acquire(db, SQL_INSERT_LOCATION_STOCK);
+            SQLiteStatement adjust = mStatementCache.acquire(db, SQL_ADJUST_LOCATION_QTY);
 
+            boolean adjusted;
+            synchronized (insert) {
+                synchronized (adjust) {
+                    db.beginTransaction();
+                    try {
+                        executeInsertLocationStock(insert, id, locationId);
+                        adjust.bindLong(1, id);
+                        adjust.bindLong(2, locationId);
+                        adjust.bindLong(3, delta);
+                        adjust.bindLong(4, floor);
+                        adjusted = adjust.executeUpdateDelete() > 0;
+                        // a refused adjust also drops the 0 row it may have just added
+                        if (adjusted) {
+                            db.setTransactionSuccessful();
+                        }
+                    } finally {
+                        db.endTransaction();
+                    }
+                }
+            }
+            if (adjusted) {
+                mInventoryCache.onQuantityAdjusted(id, delta);
+            }
+            return adjusted;
+        } finally {
+            TIMER_ADJUST_LOCATION_QTY.stop(start);
+        }
+    }
+
+    // caller holds the statement's lock
+    private static void executeInsertLocationStock(SQLiteStatement insert, long id, long locationId) {
+        insert.bindLong(1, id);
+        insert.bindLong(2, locationId);
+        insert.executeInsert();
+    }
+
+    // reads up to limit items stocked at locationId with _id greater than afterId, in _id order, each
+    // with its quantity at that location
+    public List<InventoryItem> readLocationPageAfter(long locationId, long afterId, int limit, CancellationSignal signal) {
+        checkNotMainThread("readLocationPageAfter");
+        return readInventoryPage(TIMER_LOCATION_PAGE, SQL_LOCATION_PAGE_AFTER, new String[] { Long.toString(locationId),
+                Long.toString(afterId), Integer.toString(limit) }, limit, signal);
+    }
+
+    // reads up to limit items stocked at locationId with _id less than beforeId, in _id order
+    public List<InventoryItem> readLocationPageBefore(long locationId, long beforeId, int limit, CancellationSignal signal) {
+        checkNotMainThread("readLocationPageBefore");
+        List<InventoryItem> page = readInventoryPage(TIMER_LOCATION_PAGE, SQL_LOCATION_PAGE_BEFORE, new String[] { Long.toString(locationId),
+                Long.toString(beforeId), Integer.toString(limit) }, limit, signal);
+        Collections.reverse(page);
+        return page;
+    }
+
+    // reads up to limit matches of matchQuery stocked at locationId with _id greater than afterId
+    public List<InventoryItem> searchLocationPageAfter(long locationId, String matchQuery, long afterId, int limit,
+                                                       CancellationSignal signal) {
+        checkNotMainThread("searchLocationPageAfter");
+        return readInventoryPage(TIMER_LOCATION_PAGE, SQL_LOCATION_SEARCH_AFTER, new String[] { Long.toString(locationId), matchQuery,
+                Long.toString(afterId), Integer.toString(limit) }, limit, signal);
+    }
+
+    // reads up to limit matches of matchQuery stocked at locationId with _id less than beforeId, in _id order
+    public List<InventoryItem> searchLocationPageBefore(long locationId, String matchQuery, long beforeId, int limit,
+                                                        CancellationSignal signal) {
+        checkNotMainThread("searchLocationPageBefore");
+        List<InventoryItem> page = readInventoryPage(TIMER_LOCATION_PAGE, SQL_LOCATION_SEARCH_BEFORE, new String[] { Long.toString(locationId),
+                matchQuery, Long.toString(beforeId), Integer.toString(limit) }, limit, signal);
+        Collections.reverse(page);
+        return page;
+    }
+
+    /*
+     ***************************************
+     * *   Sync (InventorySyncEngine.Store)
+     * *************************************
+     */
+
+    @Override
+    public String getSyncDeviceId() {
+        checkNotMainThread("getSyncDeviceId");
+        return readSyncState(SyncStateTable.KEY_DEVICE);
+    }
+
+    // reads from the sync-dirty partial index, so the cost is the number of changed rows, not the table
+    @Override
+    public List<SyncChange> readSyncChanges(long afterId, int limit) {
+        checkNotMainThread("readSyncChanges");
         SQLiteDatabase db = getReadableDatabase();
+        Cursor cursor = db.rawQuery(SQL_READ_SYNC_CHANGES, new String[] { Long.toString(afterId), Integer.toString(limit) });
+        try {
+            List<SyncChange> changes = new ArrayList<SyncChange>(cursor.getCount());
+            while (cursor.moveToNext()) {
+                int qty = cursor.getInt(3);
+                int base = cursor.isNull(4) ? 0 : cursor.getInt(4);
+                changes.add(SyncChange.outgoing(cursor.getLong(0), cursor.getString(1), cursor.getString(2),
+                        qty - base, qty, cursor.getLong(5)));
+            }
+            return changes;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    @Override
+    public List<String> readSyncDeletes(int limit) {
+        checkNotMainThread("readSyncDeletes");
+        List<String> deletes = new ArrayList<String>();
+        if (limit <= 0) {
+            return deletes;
+        }
+        SQLiteDatabase db = getReadableDatabase();
+        Cursor cursor = db.rawQuery(SQL_READ_SYNC_DELETES, new String[] { Integer.toString(limit) });
+        try {
+            while (cursor.moveToNext()) {
+                deletes.add(cursor.getString(0));
+            }
+            return deletes;
+        } finally {
+            cursor.close();
+        }
+    }
 
-        String sql = "SELECT * FROM " + InventoryTable.TABLE + " WHERE UPPER(" + InventoryTable.COL_ITEM_NAME + ") = \"" + item_name.toUpperCase() + "\"";
-        Log.i("SQL", sql);
+    // rebases every pushed row on the server's merged quantity and clears the pushed tombstones
+    // a row the server reports deleted (deleted on another device) is deleted here too
+    @Override
+    public void applySyncPushResults(List<SyncChange> pushed, List<String> deletes, List<SyncChange> results) {
+        checkNotMainThread("applySyncPushResults");
+        Map<String, SyncChange> pushedById = new HashMap<String, SyncChange>(pushed.size() * 2);
+        for (SyncChange change : pushed) {
+            pushedById.put(change.getSyncId(), change);
+        }
+
+        SQLiteDatabase db = getWritableDatabase();
+        // private statements, a sync batch never holds a shared cached statement
+        SQLiteStatement rebase = db.compileStatement(SQL_APPLY_PUSHED);
+        SQLiteStatement deleteItem = db.compileStatement(SQL_DELETE_SYNCED_ITEM);
+        SQLiteStatement deleteTombstone = db.compileStatement(SQL_DELETE_SYNC_TOMBSTONE);
+        int rebased = 0;
+        int removed = 0;
+        db.beginTransaction();
+        try {
+            for (SyncChange result : results) {
+                SyncChange sent = pushedById.get(result.getSyncId());
+                if (sent == null) {
+                    continue; // not part of this batch
+                }
+                if (result.isDeleted()) {
+                    removed += deleteSynced(deleteItem, deleteTombstone, result.getSyncId());
+                    continue;
+                }
+                // a merge can only name an id this device has never pulled, the app never creates a
+                // second item with an existing name, so the re-key cannot collide
+                String syncId = result.getMergedInto() != null ? result.getMergedInto() : result.getSyncId();
+                rebase.bindLong(1, result.getQuantity());
+                rebase.bindLong(2, sent.getDelta());
+                rebase.bindLong(3, result.getVersion());
+                rebase.bindString(4, syncId);
+                rebase.bindString(5, result.getSyncId());
+                rebased += rebase.executeUpdateDelete();
+            }
+            for (String syncId : deletes) {
+                deleteTombstone.bindString(1, syncId);
+                deleteTombstone.executeUpdateDelete();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            rebase.close();
+            deleteItem.close();
+            deleteTombstone.close();
+        }
+        // only reached once the batch has committed
+        invalidateAfterSync(rebased + removed, removed);
+    }
 
-        Cursor cursor = db.rawQuery(sql, null);
+    @Override
+    public long getSyncPullVersion() {
+        checkNotMainThread("getSyncPullVersion");
+        String version = readSyncState(SyncStateTable.KEY_PULL_VERSION);
+        return version == null ? 0 : Long.parseLong(version);
+    }
+
+    // applies a page of server changes and moves the pull version past them, all or nothing
+    // a change older than the row's own version (already merged by a push) is skipped
+    @Override
+    public int applySyncPull(List<SyncChange> changes, long nextVersion) {
+        checkNotMainThread("applySyncPull");
+        long start = TIMER_SYNC_PULL.start();
+        try {
+            SQLiteDatabase db = getWritableDatabase();
+            SQLiteStatement exists = db.compileStatement(SQL_SYNC_ID_EXISTS);
+            SQLiteStatement rebase = db.compileStatement(SQL_APPLY_PULLED);
+            SQLiteStatement adopt = db.compileStatement(SQL_ADOPT_PULLED);
+            SQLiteStatement insert = db.compileStatement(SQL_INSERT_PULLED);
+            SQLiteStatement deleteItem = db.compileStatement(SQL_DELETE_SYNCED_ITEM);
+            SQLiteStatement deleteTombstone = db.compileStatement(SQL_DELETE_SYNC_TOMBSTONE);
+            SQLiteStatement state = db.compileStatement(SQL_WRITE_SYNC_STATE);
 
-        if (cursor.moveToFirst()) {
+            int applied = 0;
+            int insertedOrRemoved = 0;
+            db.beginTransaction();
+            try {
+                for (SyncChange change : changes) {
+                    if (change.isDeleted()) {
+                        int removed = deleteSynced(deleteItem, deleteTombstone, change.getSyncId());
+                        applied += removed;
+                        insertedOrRemoved += removed;
+                        continue;
+                    }
+                    exists.bindString(1, change.getSyncId());
+                    if (exists.simpleQueryForLong() == 1) {
+                        rebase.bindLong(1, change.getQuantity());
+                        rebase.bindLong(2, change.getVersion());
+                        rebase.bindString(3, change.getSyncId());
+                        applied += rebase.executeUpdateDelete();
+                        continue;
+                    }
+                    adopt.bindLong(1, change.getQuantity());
+                    adopt.bindLong(2, change.getVersion());
+                    adopt.bindString(3, change.getSyncId());
+                    adopt.bindString(4, change.getName());
+                    if (adopt.executeUpdateDelete() > 0) {
+                        applied++;
+                        continue;
+                    }
+                    insert.bindLong(1, change.getQuantity());
+                    insert.bindLong(2, change.getVersion());
+                    insert.bindString(3, change.getSyncId());
+                    insert.bindString(4, change.getName());
+                    if (insert.executeInsert() != -1) {
+                        applied++;
+                        insertedOrRemoved++;
+                    }
+                }
+                state.bindString(1, SyncStateTable.KEY_PULL_VERSION);
+                state.bindString(2, Long.toString(nextVersion));
+                state.executeInsert();
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+                exists.close();
+                rebase.close();
+                adopt.close();
+                insert.close();
+                deleteItem.close();
+                deleteTombstone.close();
+                state.close();
+            }
+            // only reached once the page has committed
+            invalidateAfterSync(applied, insertedOrRemoved);
+            return applied;
+        } finally {
+            TIMER_SYNC_PULL.stop(start);
+        }
+    }
+
+    // a committed sync batch moved quantities outside the cache's write-through path, so the next
+    // lookup reloads the cache; sync never changes a SKU, so the SKU index is only reloaded when
+    // rows came or went
+    private void invalidateAfterSync(int changed, int insertedOrRemoved) {
+        if (changed > 0) {
+            mInventoryCache.invalidate();
+        }
+        if (insertedOrRemoved > 0) {
+            mSkuIndex.invalidate();
+        }
+    }
+
+    // deletes a row the server has deleted, without leaving a tombstone to push back
+    private static int deleteSynced(SQLiteStatement deleteItem, SQLiteStatement deleteTombstone, String syncId) {
+        deleteItem.bindString(1, syncId);
+        int deleted = deleteItem.executeUpdateDelete();
+        deleteTombstone.bindString(1, syncId);
+        deleteTombstone.executeUpdateDelete();
+        return deleted;
+    }
+
+    private String readSyncState(String key) {
+        SQLiteDatabase db = getReadableDatabase();
+        Cursor cursor = db.rawQuery(SQL_READ_SYNC_STATE, new String[] { key });
+        try {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        } finally {
             cursor.close();
-            return true;
         }
-        cursor.close();
-        return false;
     }
 
-    // returns primary key for item_name is it is found in the Inventory Table, else -1
-    public int inventoryPrimaryKeyLookup(String item_name) {
-        int key = -1;
+    /*
+     ***************************************
+     * *   Low-stock thresholds
+     * *************************************
+     */
+
+    // sets the quantity at or below which the item with primary key id is reported as low
+    public boolean setLowStockThreshold(long id, int threshold) {
+        checkNotMainThread("setLowStockThreshold");
+        SQLiteDatabase db = getWritableDatabase();
+        SQLiteStatement update = mStatementCache.acquire(db, SQL_UPDATE_LOW_THRESHOLD);
+
+        synchronized (update) {
+            update.bindLong(1, threshold);
+            update.bindLong(2, id);
+            return update.executeUpdateDelete() > 0;
+        }
+    }
+
+    // returns the item with primary key id if it is at or below its threshold and has not been alerted
+    // yet, else null
+    public LowStockAlert unalertedLowStockItem(long id) {
+        checkNotMainThread("unalertedLowStockItem");
         SQLiteDatabase db = getReadableDatabase();
-        //Toast.makeText(InventoryDatabase.this, "item_name value: " + item_name, Toast.LENGTH_SHORT).show();
-        Log.i("LOOKUP", item_name);
-        String sql = "SELECT rowid, * FROM " + InventoryTable.TABLE + " WHERE UPPER(" + InventoryTable.COL_ITEM_NAME + ") = \"" + item_name.toUpperCase() + "\"";
-        Log.i("SQL", sql);
 
-        Cursor cursor = db.rawQuery(sql, null);
+        Cursor cursor = db.rawQuery(SQL_UNALERTED_LOW_STOCK_ITEM, new String[] { Long.toString(id) });
+        try {
+            return cursor.moveToFirst() ? toLowStockAlert(cursor) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    // returns every item at or below its threshold, in _id order, read from the low-stock index
+    public List<LowStockAlert> readLowStockItems() {
+        checkNotMainThread("readLowStockItems");
+        SQLiteDatabase db = getReadableDatabase();
 
-        if (cursor.moveToFirst()) {
-            key = cursor.getInt(0);
+        Cursor cursor = db.rawQuery(SQL_READ_LOW_STOCK, null);
+        try {
+            List<LowStockAlert> low = new ArrayList<LowStockAlert>(cursor.getCount());
+            while (cursor.moveToNext()) {
+                low.add(toLowStockAlert(cursor));
+            }
+            return low;
+        } finally {
             cursor.close();
-            return key;
         }
-        cursor.close();
-        return key; // returns -1 if cannot find the primary key
     }
 
-} // end InventoryDatabase()
\ No newline at end of file
+    // returns every low item that has not been alerted yet, in _id order, read from the low-stock index
+    public List<LowStockAlert> readUnalertedLowStockItems() {
+        checkNotMainThread("readUnalertedLowStockItems");
+        SQLiteDatabase db = getReadableDatabase();
+
+        Cursor cursor = db.rawQuery(SQL_READ_UNALERTED_LOW_STOCK, null);
+        try {
+            List<LowStockAlert> low = new ArrayList<LowStockAlert>(cursor.getCount());
+            while (cursor.moveToNext()) {
+                low.add(toLowStockAlert(cursor));
+            }
+            return low;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    // marks the items of a sent alert as alerted, in one transaction, returns the number marked
+    // an item is only alerted once per drop below its threshold, one that is no longer low is skipped
+    public int markLowStockAlerted(List<LowStockAlert> alerts) {
+        checkNotMainThread("markLowStockAlerted");
+        SQLiteDatabase db = getWritableDatabase();
+        SQLiteStatement mark = mStatementCache.acquire(db, SQL_MARK_LOW_ALERTED);
+        int marked = 0;
+
+        // statement lock before the transaction, see adjustInventoryItemQuantities()
+        synchronized (mark) {
+            db.beginTransaction();
+            try {
+                for (LowStockAlert alert : alerts) {
+                    mark.bindLong(1, alert.getId());
+                    marked += mark.executeUpdateDelete();
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        }
+        return marked;
+    }
+
+    private static LowStockAlert toLowStockAlert(Cursor cursor) {
+        return new LowStockAlert(cursor.getLong(0), cursor.getString(1), cursor.getInt(2), cursor.getInt(3));
+    }
+
+    // returns true if item_name is found in the Inventory Table, else false
+    // answered from the in-memory InventoryCache, the table is only read on the first lookup
+    @Override
+    public boolean inventoryItemLookup(String item_name) {
+        checkNotMainThread("inventoryItemLookup");
+        return loadedInventoryCache().contains(item_name);
+    }
+
+    // returns primary key for item_name is it is found in the Inventory Table, else -1
+    // answered from the in-memory InventoryCache, the table is only read on the first lookup
+    public int inventoryPrimaryKeyLookup(String item_name) {
+        checkNotMainThread("inventoryPrimaryKeyLookup");
+        return (int) loadedInventoryCache().idOf(item_name); // returns -1 if cannot find the primary key
+    }
+
+    // returns the inventory cache, loading it from the table first if needed
+    // the table is read while holding the cache lock so a concurrent write-through is never lost
+    private InventoryCache loadedInventoryCache() {
+        synchronized (mInventoryCache) {
+            if (!mInventoryCache.isLoaded()) {
+                mInventoryCache.recordMiss();
+                mInventoryCache.load(readInventory());
+            }
+            return mInventoryCache;
+        }
+    }
+
+    // returns the write-through inventory cache (exposes hit-rate and staleness metrics)
+    public InventoryCache getInventoryCache() {
+        return mInventoryCache;
+    }
+
+    // re-reads the table and returns the number of rows where the cache disagrees with it (0 = consistent)
+    public int verifyInventoryCache() {
+        checkNotMainThread("verifyInventoryCache");
+        synchronized (mInventoryCache) {
+            return loadedInventoryCache().countMismatches(readInventory());
+        }
+    }
+
+    // returns the cache of compiled statements (exposes hit/miss counters)
+    public StatementCache getStatementCache() {
+        return mStatementCache;
+    }
+
+} // end InventoryDatabase()
@@ -0,0 +1,47 @@
+package com.cs360.netwiginventoryapp;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Simple model object for a single row of the
+             : inventory table (primary key, item name, quantity)
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class InventoryItem {
+
+    // id used for rows that have not been inserted into the inventory table yet
+    public static final long NO_ID = -1;
+
+    private final long mId;
+    private final String mName;
+    private final int mQuantity;
+
+    // constructor used for new items that do not have a primary key yet (e.g. bulk import)
+    public InventoryItem(String name, int quantity) {
+        this(NO_ID, name, quantity);
+    }
+
+    public InventoryItem(long id, String name, int quantity) {
+        this.mId = id;
+        this.mName = name;
+        this.mQuantity = quantity;
+    }
+
+    public long getId() {
+        return mId;
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    public int getQuantity() {
+        return mQuantity;
+    }
+
+} // end InventoryItem()
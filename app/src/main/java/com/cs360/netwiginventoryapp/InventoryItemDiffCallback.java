@@ -0,0 +1,51 @@
+package com.cs360.netwiginventoryapp;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : DiffUtil callback used by MyRecyclerViewAdapter to
+             : work out which inventory rows changed between two
+             : loads of the inventory table.
+             :
+             : Rows are matched by their primary key (_id), and a
+             : quantity-only change is reported with the
+             : PAYLOAD_QUANTITY payload so only the quantity cell
+             : has to be re-bound.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class InventoryItemDiffCallback extends DiffUtil.ItemCallback<InventoryItem> {
+
+    // payload sent when only the quantity of an item changed
+    public static final Object PAYLOAD_QUANTITY = new Object();
+
+    // same row in the inventory table
+    @Override
+    public boolean areItemsTheSame(@NonNull InventoryItem oldItem, @NonNull InventoryItem newItem) {
+        return oldItem.getId() == newItem.getId();
+    }
+
+    // same values displayed in the grid
+    @Override
+    public boolean areContentsTheSame(@NonNull InventoryItem oldItem, @NonNull InventoryItem newItem) {
+        return oldItem.getQuantity() == newItem.getQuantity()
+                && oldItem.getName().equals(newItem.getName());
+    }
+
+    // only called when areContentsTheSame() is false
+    @Override
+    public Object getChangePayload(@NonNull InventoryItem oldItem, @NonNull InventoryItem newItem) {
+        if (oldItem.getName().equals(newItem.getName())) {
+            return PAYLOAD_QUANTITY;
+        }
+        return null; // name changed, re-bind both cells
+    }
+
+} // end InventoryItemDiffCallback()
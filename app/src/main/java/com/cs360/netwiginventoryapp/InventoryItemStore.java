@@ -0,0 +1,122 @@
+package com.cs360.netwiginventoryapp;
+
+import java.util.Arrays;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Compact, columnar in-memory copy of the inventory
+             : table.
+             : Rows are held in parallel primitive arrays (long id,
+             : int quantity) plus an array of name references, so a
+             : full-table load allocates three arrays instead of one
+             : object (and boxed/String quantity) per row.
+             :
+             : Rows are kept in ascending _id order, which is the
+             : order they are read from the table and the order
+             : AUTOINCREMENT assigns new keys, so a row can be found
+             : by id with a binary search.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class InventoryItemStore {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] mIds;
+    private int[] mQuantities;
+    private String[] mNames;
+    private int mSize;
+
+    public InventoryItemStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // capacity is the number of rows that can be added before the arrays grow
+    public InventoryItemStore(int capacity) {
+        capacity = Math.max(capacity, 1);
+        mIds = new long[capacity];
+        mQuantities = new int[capacity];
+        mNames = new String[capacity];
+    }
+
+    // number of rows in the store
+    public int size() {
+        return mSize;
+    }
+
+    public long getId(int index) {
+        checkIndex(index);
+        return mIds[index];
+    }
+
+    public String getName(int index) {
+        checkIndex(index);
+        return mNames[index];
+    }
+
+    public int getQuantity(int index) {
+        checkIndex(index);
+        return mQuantities[index];
+    }
+
+    public void setQuantity(int index, int quantity) {
+        checkIndex(index);
+        mQuantities[index] = quantity;
+    }
+
+    // appends a row, id must be greater than the id of the last row
+    public void add(long id, String name, int quantity) {
+        if (mSize > 0 && id <= mIds[mSize - 1]) {
+            throw new IllegalArgumentException("ids must be added in ascending order: " + id);
+        }
+        if (mSize == mIds.length) {
+            grow();
+        }
+        mIds[mSize] = id;
+        mNames[mSize] = name;
+        mQuantities[mSize] = quantity;
+        mSize++;
+    }
+
+    // removes the row at index, shifting the following rows down
+    public void remove(int index) {
+        checkIndex(index);
+        int moved = mSize - index - 1;
+        System.arraycopy(mIds, index + 1, mIds, index, moved);
+        System.arraycopy(mQuantities, index + 1, mQuantities, index, moved);
+        System.arraycopy(mNames, index + 1, mNames, index, moved);
+        mSize--;
+        mNames[mSize] = null; // lets the removed name be garbage collected
+    }
+
+    // returns the index of the row with primary key id, or a negative value if there is none
+    public int indexOfId(long id) {
+        return Arrays.binarySearch(mIds, 0, mSize, id);
+    }
+
+    // builds an InventoryItem for the row at index, for callers that need a single row as an object
+    public InventoryItem get(int index) {
+        checkIndex(index);
+        return new InventoryItem(mIds[index], mNames[index], mQuantities[index]);
+    }
+
+    // doubles the capacity of all three columns
+    private void grow() {
+        int capacity = mIds.length * 2;
+        mIds = Arrays.copyOf(mIds, capacity);
+        mQuantities = Arrays.copyOf(mQuantities, capacity);
+        mNames = Arrays.copyOf(mNames, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + mSize);
+        }
+    }
+
+} // end InventoryItemStore()
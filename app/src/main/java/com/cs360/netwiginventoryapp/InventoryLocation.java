@@ -0,0 +1,34 @@
+package com.cs360.netwiginventoryapp;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Simple model object for a single row of the
+             : locations table (primary key, location name), a
+             : warehouse, shelf or bin items are stocked in
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class InventoryLocation {
+
+    private final long mId;
+    private final String mName;
+
+    public InventoryLocation(long id, String name) {
+        this.mId = id;
+        this.mName = name;
+    }
+
+    public long getId() {
+        return mId;
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+} // end InventoryLocation()
@@ -0,0 +1,212 @@
+package com.cs360.netwiginventoryapp;
+
+import android.os.Trace;
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Process-wide registry of named timers and counters
+             : for the hot paths (database operations, repository
+             : operations, adapter inflate/bind).
+             :
+             : Timers and counters are created once, into static
+             : final fields, recording into them afterwards is a few
+             : atomic adds and never creates an object. Each timed
+             : section is also an android.os.Trace section named
+             : after the timer, so it shows up in systrace/Perfetto.
+             :
+             : The numbers are read back with toJson() (the debug
+             : metrics dialog and its JSON export) or log(), which
+             : only logs in debug builds.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public final class InventoryMetrics {
+
+    private static final String TAG = "METRICS";
+
+    private static final Map<String, Timer> mTimers = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> mCounters = new ConcurrentHashMap<>();
+
+    private InventoryMetrics() {
+    }
+
+    // returns the timer with this name, creating it the first time
+    // call once and keep the result, the lookup is not meant for the hot path
+    public static Timer timer(String name) {
+        Timer timer = mTimers.get(name);
+        if (timer == null) {
+            Timer created = new Timer(name);
+            timer = mTimers.putIfAbsent(name, created);
+            if (timer == null) {
+                timer = created;
+            }
+        }
+        return timer;
+    }
+
+    // returns the counter with this name, creating it the first time
+    public static Counter counter(String name) {
+        Counter counter = mCounters.get(name);
+        if (counter == null) {
+            Counter created = new Counter(name);
+            counter = mCounters.putIfAbsent(name, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        return counter;
+    }
+
+    // zeroes every timer and counter, e.g. before measuring one scenario
+    public static void reset() {
+        for (Timer timer : mTimers.values()) {
+            timer.mHistogram.reset();
+        }
+        for (Counter counter : mCounters.values()) {
+            counter.mValue.set(0);
+        }
+    }
+
+    // every timer that has recorded something and every counter, sorted by name:
+    // {"timers":{"db.readPage":{"count":3,"totalMs":1.2,"meanUs":400,"p50Us":511,"p90Us":1023,
+    //   "p99Us":1023,"maxUs":700}},"counters":{"ui.inflate":12}}
+    public static String toJson() {
+        StringBuilder json = new StringBuilder(1024);
+        json.append("{\"timers\":{");
+        boolean first = true;
+        for (Timer timer : new TreeMap<>(mTimers).values()) {
+            LatencyHistogram histogram = timer.mHistogram;
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append('"').append(timer.mName).append("\":{\"count\":").append(histogram.getCount())
+                    .append(",\"totalMs\":").append(histogram.getTotalNanos() / 1_000_000.0)
+                    .append(",\"meanUs\":").append(histogram.getMeanNanos() / 1000)
+                    .append(",\"p50Us\":").append(histogram.percentileNanos(0.50) / 1000)
+                    .append(",\"p90Us\":").append(histogram.percentileNanos(0.90) / 1000)
+                    .append(",\"p99Us\":").append(histogram.percentileNanos(0.99) / 1000)
+                    .append(",\"maxUs\":").append(histogram.getMaxNanos() / 1000)
+                    .append('}');
+        }
+        json.append("},\"counters\":{");
+        first = true;
+        for (Counter counter : new TreeMap<>(mCounters).values()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append('"').append(counter.mName).append("\":").append(counter.get());
+        }
+        return json.append("}}").toString();
+    }
+
+    public static void writeJson(Writer out) throws IOException {
+        out.write(toJson());
+        out.write('\n');
+    }
+
+    // one line per timer that has recorded something, for the debug metrics dialog
+    public static String summary() {
+        StringBuilder text = new StringBuilder(1024);
+        for (Timer timer : new TreeMap<>(mTimers).values()) {
+            LatencyHistogram histogram = timer.mHistogram;
+            if (histogram.getCount() > 0) {
+                text.append(timer.mName).append(": n=").append(histogram.getCount())
+                        .append(" p50=").append(histogram.percentileNanos(0.50) / 1000)
+                        .append("us p99=").append(histogram.percentileNanos(0.99) / 1000)
+                        .append("us max=").append(histogram.getMaxNanos() / 1000).append("us\n");
+            }
+        }
+        for (Counter counter : new TreeMap<>(mCounters).values()) {
+            text.append(counter.mName).append(": ").append(counter.get()).append('\n');
+        }
+        return text.toString();
+    }
+
+    // logs the JSON dump, debug builds only
+    public static void log() {
+        if (BuildConfig.DEBUG) {
+            Log.i(TAG, toJson());
+        }
+    }
+
+    // latency histogram of one operation
+    public static final class Timer {
+        private final String mName;
+        private final LatencyHistogram mHistogram = new LatencyHistogram();
+
+        private Timer(String name) {
+            this.mName = name;
+        }
+
+        // opens a trace section and returns the start time to pass to stop()
+        // always stop() in a finally block on the same thread, trace sections must nest
+        public long start() {
+            Trace.beginSection(mName);
+            return System.nanoTime();
+        }
+
+        // records the time since start and closes the trace section start() opened
+        public void stop(long start) {
+            mHistogram.record(System.nanoTime() - start);
+            Trace.endSection();
+        }
+
+        // records a duration measured elsewhere, no trace section
+        public void record(long nanos) {
+            mHistogram.record(nanos);
+        }
+
+        public String getName() {
+            return mName;
+        }
+
+        public LatencyHistogram getHistogram() {
+            return mHistogram;
+        }
+    }
+
+    // running total, e.g. an event count or time spent on the main thread
+    public static final class Counter {
+        private final String mName;
+        private final AtomicLong mValue = new AtomicLong();
+
+        private Counter(String name) {
+            this.mName = name;
+        }
+
+        public void increment() {
+            mValue.incrementAndGet();
+        }
+
+        public void add(long delta) {
+            mValue.addAndGet(delta);
+        }
+
+        public long get() {
+            return mValue.get();
+        }
+
+        public String getName() {
+            return mName;
+        }
+    }
+
+} // end InventoryMetrics()
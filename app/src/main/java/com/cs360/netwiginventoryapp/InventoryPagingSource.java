@@ -0,0 +1,178 @@
+package com.cs360.netwiginventoryapp;
+
+import android.database.SQLException;
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.ListenableFuturePagingSource;
+import androidx.paging.PagingState;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.util.List;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Keyset-paginated PagingSource over the inventory
+             : table, ordered by primary key (_id).
+             :
+             : The key of a page is an _id, pages are read with
+             : "WHERE _id > ? ORDER BY _id LIMIT ?" (or "_id < ?"
+             : when prepending), so each window is an index seek on
+             : the primary key and the cost of a load never depends
+             : on how many rows are in the table.
+             :
+             : With a search query only rows whose name matches it
+             : are paged, read through the FTS index in _id order.
+             : With a location only the items stocked there are
+             : paged, each with its quantity at that location, read
+             : through the (locationid, itemid) index in _id order.
+             : A load that is abandoned (e.g. the user typed another
+             : character) is cancelled inside SQLite.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class InventoryPagingSource extends ListenableFuturePagingSource<Long, InventoryItem> {
+
+    private final InventoryDatabase mInventoryDb;
+    // page loads run on the repository's reader threads
+    private final ListeningExecutorService mExecutor;
+    // FTS MATCH expression from InventoryDatabase.toMatchQuery(), null pages the whole table
+    private final String mMatchQuery;
+    // location whose stock is paged, NO_LOCATION pages item totals
+    private final long mLocationId;
+    // true if the first refresh should start at the top instead of at the previous scroll position
+    private final boolean mRefreshFromStart;
+
+    // location id that pages every item with its total quantity
+    public static final long NO_LOCATION = 0;
+
+    public InventoryPagingSource(InventoryDatabase inventoryDb, ListeningExecutorService executor,
+                                 @Nullable String matchQuery, boolean refreshFromStart) {
+        this(inventoryDb, executor, matchQuery, NO_LOCATION, refreshFromStart);
+    }
+
+    public InventoryPagingSource(InventoryDatabase inventoryDb, ListeningExecutorService executor,
+                                 @Nullable String matchQuery, long locationId, boolean refreshFromStart) {
+        this.mInventoryDb = inventoryDb;
+        this.mExecutor = executor;
+        this.mMatchQuery = matchQuery;
+        this.mLocationId = locationId;
+        this.mRefreshFromStart = refreshFromStart;
+    }
+
+    @NonNull
+    @Override
+    public ListenableFuture<LoadResult<Long, InventoryItem>> loadFuture(@NonNull LoadParams<Long> params) {
+        CancellationSignal signal = new CancellationSignal();
+        ListenableFuture<LoadResult<Long, InventoryItem>> future = mExecutor.submit(() -> {
+            try {
+                return load(params, signal);
+            } catch (OperationCanceledException e) {
+                return new LoadResult.Invalid<>();
+            } catch (SQLException e) {
+                return new LoadResult.Error<>(e);
+            }
+        });
+        // paging cancels the future when the load is no longer wanted, stop the query with it
+        future.addListener(() -> {
+            if (future.isCancelled()) {
+                signal.cancel();
+            }
+        }, MoreExecutors.directExecutor());
+        return future;
+    }
+
+    // reads one window of rows around the key in params
+    private LoadResult<Long, InventoryItem> load(LoadParams<Long> params, CancellationSignal signal) {
+        Long key = (params instanceof LoadParams.Refresh && mRefreshFromStart) ? null : params.getKey();
+        int loadSize = params.getLoadSize();
+        List<InventoryItem> items;
+        Long prevKey;
+        Long nextKey;
+
+        if (params instanceof LoadParams.Prepend) {
+            // rows before the first loaded row
+            items = readBefore(key, loadSize, signal);
+            prevKey = items.size() < loadSize ? null : firstId(items);
+            nextKey = items.isEmpty() ? null : lastId(items);
+
+        } else if (params instanceof LoadParams.Append) {
+            // rows after the last loaded row
+            items = readAfter(key, loadSize, signal);
+            prevKey = items.isEmpty() ? null : firstId(items);
+            nextKey = items.size() < loadSize ? null : lastId(items);
+
+        } else {
+            // refresh starts at the key (inclusive), or at the beginning of the table
+            long afterId = (key == null) ? 0 : key - 1;
+            items = readAfter(afterId, loadSize, signal);
+            if (items.isEmpty() && key != null) {
+                // everything from the key onward was deleted, show the rows before it instead
+                items = readBefore(key, loadSize, signal);
+                prevKey = items.size() < loadSize ? null : firstId(items);
+                nextKey = null;
+            } else {
+                prevKey = (key == null || items.isEmpty()) ? null : firstId(items);
+                nextKey = items.size() < loadSize ? null : lastId(items);
+            }
+        }
+        return new LoadResult.Page<>(items, prevKey, nextKey);
+    }
+
+    // after an invalidate (add/edit/delete), reload starting a little before the row the user was
+    // looking at so the visible part of the grid stays in place
+    @Nullable
+    @Override
+    public Long getRefreshKey(@NonNull PagingState<Long, InventoryItem> state) {
+        Integer anchorPosition = state.getAnchorPosition();
+        if (anchorPosition == null) {
+            return null;
+        }
+        InventoryItem item = state.closestItemToPosition(
+                Math.max(0, anchorPosition - state.getConfig().initialLoadSize / 2));
+        return item == null ? null : item.getId();
+    }
+
+    private List<InventoryItem> readAfter(long afterId, int limit, CancellationSignal signal) {
+        if (mLocationId != NO_LOCATION) {
+            return mMatchQuery == null
+                    ? mInventoryDb.readLocationPageAfter(mLocationId, afterId, limit, signal)
+                    : mInventoryDb.searchLocationPageAfter(mLocationId, mMatchQuery, afterId, limit, signal);
+        }
+        if (mMatchQuery == null) {
+            return mInventoryDb.readInventoryPageAfter(afterId, limit, signal);
+        }
+        return mInventoryDb.searchInventoryPageAfter(mMatchQuery, afterId, limit, signal);
+    }
+
+    private List<InventoryItem> readBefore(long beforeId, int limit, CancellationSignal signal) {
+        if (mLocationId != NO_LOCATION) {
+            return mMatchQuery == null
+                    ? mInventoryDb.readLocationPageBefore(mLocationId, beforeId, limit, signal)
+                    : mInventoryDb.searchLocationPageBefore(mLocationId, mMatchQuery, beforeId, limit, signal);
+        }
+        if (mMatchQuery == null) {
+            return mInventoryDb.readInventoryPageBefore(beforeId, limit, signal);
+        }
+        return mInventoryDb.searchInventoryPageBefore(mMatchQuery, beforeId, limit, signal);
+    }
+
+    private static Long firstId(List<InventoryItem> items) {
+        return items.get(0).getId();
+    }
+
+    private static Long lastId(List<InventoryItem> items) {
+        return items.get(items.size() - 1).getId();
+    }
+
+} // end InventoryPagingSource()
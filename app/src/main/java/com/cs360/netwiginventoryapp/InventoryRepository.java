@@ -0,0 +1,615 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.paging.InvalidatingPagingSourceFactory;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Asynchronous front-end for InventoryDatabase.
+             : Every database operation runs on a background thread
+             : and its result is posted back to the main looper, so
+             : the Activities never do database I/O on the UI thread.
+             :
+             : Threading policy (single writer / multiple readers):
+             : - all writes run in order on one writer thread
+             : - reads run on a small bounded pool, WAL lets them
+             :   proceed while the writer is busy
+             : - password hashing runs on its own thread, so a slow
+             :   hash never holds up a read or a write
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class InventoryRepository {
+
+    private static final String TAG = "REPOSITORY";
+
+    // number of threads used for read-only queries
+    private static final int READER_THREADS = 2;
+
+    // default number of inventory items loaded per page of the grid
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    // pages held in memory before the ones furthest from the scroll position are dropped
+    private static final int MAX_PAGES_IN_MEMORY = 5;
+
+    private static InventoryRepository mRepository;
+
+    private final InventoryDatabase mInventoryDb;
+    // collects low-stock items found after quantity/threshold changes into rate-limited SMS digests
+    private final LowStockAlertEngine mLowStockAlerts;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    // single writer thread, keeps every insert/update/delete serialized
+    private final ExecutorService mWriteExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "inventory-db-writer"));
+    // bounded reader pool, idle reader threads are allowed to time out
+    private final ThreadPoolExecutor mReadExecutor;
+    // hashes and verifies passwords, PBKDF2 is slow on purpose so it gets a thread of its own
+    private final ExecutorService mAuthExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "inventory-auth"));
+    private final PasswordHasher mPasswordHasher = new PasswordHasher();
+    // runs syncs one at a time, the network waits happen here instead of on the writer thread
+    private final ExecutorService mSyncExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "inventory-sync"));
+
+    // creates a new InventoryPagingSource for each generation, invalidate() is called after every
+    // inventory write so the grid reloads the pages around the scroll position
+    private final InvalidatingPagingSourceFactory<Long, InventoryItem> mPagingSourceFactory;
+    // FTS MATCH expression the grid is filtered by, null shows every item
+    private volatile String mSearchQuery;
+    // location whose stock the grid shows, InventoryPagingSource.NO_LOCATION shows item totals
+    private volatile long mLocationId = InventoryPagingSource.NO_LOCATION;
+    // set when the search or location changes so the next page source starts at the top of the new results
+    private final AtomicBoolean mSearchChanged = new AtomicBoolean();
+
+    // per-operation timing, used to show that callers on the main thread only pay to enqueue work
+    private final Map<String, OperationStats> mStats = new TreeMap<>();
+
+    // callback used to deliver a result on the main thread
+    public interface Callback<T> {
+        void onResult(T result);
+
+        // called on the main thread instead of onResult() if the operation threw
+        default void onError(Exception e) {
+            Log.e(TAG, "Database operation failed", e);
+        }
+    }
+
+    // result of a bulk CSV import
+    public static final class ImportResult {
+        public final int imported;
+        public final int skipped;
+
+        ImportResult(int imported, int skipped) {
+            this.imported = imported;
+            this.skipped = skipped;
+        }
+    }
+
+    // outcome of a login attempt
+    public enum LoginResult {
+        SUCCESS,
+        WRONG_PASSWORD,
+        NO_SUCH_USER
+    }
+
+    // getInstance is used to return Singleton instance of InventoryRepository class
+    public static synchronized InventoryRepository getInstance(Context context) {
+        if (mRepository == null) {
+            Handler mainHandler = new Handler(Looper.getMainLooper());
+            LowStockAlertEngine alerts = new LowStockAlertEngine(new SmsAlertSender(context), SmsAlertSender.SMS_DESTINATION,
+                    new TokenBucket(LowStockAlertEngine.DEFAULT_BURST, LowStockAlertEngine.DEFAULT_REFILL_MS,
+                            SystemClock::elapsedRealtime),
+                    mainHandler::postDelayed, LowStockAlertEngine.DEFAULT_DIGEST_WINDOW_MS);
+            mRepository = new InventoryRepository(InventoryDatabase.getInstance(context), alerts);
+        }
+        return mRepository;
+    }
+
+    // package-private so instrumented tests can run a repository over their own database and alert engine
+    InventoryRepository(InventoryDatabase inventoryDb, LowStockAlertEngine lowStockAlerts) {
+        this.mInventoryDb = inventoryDb;
+        this.mLowStockAlerts = lowStockAlerts;
+        // items are recorded as alerted only once their digest has been sent, a digest that is
+        // deferred and lost with the process, or dropped, leaves them to be found again
+        mLowStockAlerts.setDeliveryListener(alerts ->
+                write("markLowStockAlerted", () -> mInventoryDb.markLowStockAlerted(alerts), null));
+
+        AtomicInteger readerCount = new AtomicInteger();
+        mReadExecutor = new ThreadPoolExecutor(READER_THREADS, READER_THREADS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> new Thread(runnable, "inventory-db-reader-" + readerCount.incrementAndGet()));
+        mReadExecutor.allowCoreThreadTimeOut(true);
+
+        ListeningExecutorService pageExecutor = MoreExecutors.listeningDecorator(mReadExecutor);
+        mPagingSourceFactory = new InvalidatingPagingSourceFactory<>(
+                () -> new InventoryPagingSource(mInventoryDb, pageExecutor, mSearchQuery, mLocationId,
+                        mSearchChanged.getAndSet(false)));
+    }
+
+    /*
+     ***************************************
+     * *   Login operations
+     * *************************************
+     */
+    // hashes pw on the auth thread, then stores the user on the writer thread
+    // callback runs once the user has been stored
+    public Future<Void> addUser(String uname, String pw, Callback<Void> callback) {
+        return submit(mAuthExecutor, "addUser", () -> {
+            String passwordHash = mPasswordHasher.hash(pw);
+            await(write("insertUser", () -> {
+                mInventoryDb.addUser(uname, passwordHash);
+                return null;
+            }, null));
+            return null;
+        }, callback);
+    }
+
+    public Future<Boolean> userLookup(String uname, Callback<Boolean> callback) {
+        return read("userLookup", () -> mInventoryDb.userLookup(uname), callback);
+    }
+
+    // checks uname and pw on the auth thread: one indexed query for the stored password, then a
+    // constant-time PasswordHasher compare
+    // a plaintext (or weaker) stored password that matches is replaced by a new hash before the
+    // result is delivered, if the row changed in the meantime the replacement is simply skipped
+    public Future<LoginResult> login(String uname, String pw, Callback<LoginResult> callback) {
+        return submit(mAuthExecutor, "login", () -> {
+            String stored = mInventoryDb.readPasswordHash(uname);
+            if (stored == null) {
+                return LoginResult.NO_SUCH_USER;
+            }
+            if (!mPasswordHasher.verify(pw, stored)) {
+                return LoginResult.WRONG_PASSWORD;
+            }
+            if (mPasswordHasher.needsRehash(stored)) {
+                String upgraded = mPasswordHasher.hash(pw);
+                try {
+                    boolean replaced = await(write("upgradePassword",
+                            () -> mInventoryDb.replacePasswordHash(uname, stored, upgraded), null));
+                    if (BuildConfig.DEBUG) {
+                        Log.i(TAG, "Stored password upgraded to a hash: " + replaced);
+                    }
+                } catch (RuntimeException e) {
+                    // the password was right, a failed upgrade is retried on the next login
+                    Log.w(TAG, "Stored password upgrade failed", e);
+                }
+            }
+            return LoginResult.SUCCESS;
+        }, callback);
+    }
+
+    /*
+     ***************************************
+     * *   Inventory operations
+     * *************************************
+     */
+
+    // returns a stream of paged inventory windows for the RecyclerView using DEFAULT_PAGE_SIZE
+    public LiveData<PagingData<InventoryItem>> getInventoryPages() {
+        return getInventoryPages(DEFAULT_PAGE_SIZE);
+    }
+
+    // returns a stream of paged inventory windows, pages of pageSize items are loaded on demand,
+    // the next page is prefetched when the scroll position is within half a page of the end,
+    // and at most MAX_PAGES_IN_MEMORY pages are kept so memory does not grow with the table
+    public LiveData<PagingData<InventoryItem>> getInventoryPages(int pageSize) {
+        PagingConfig config = new PagingConfig(pageSize, pageSize / 2, false,
+                pageSize * 2, pageSize * MAX_PAGES_IN_MEMORY);
+        Pager<Long, InventoryItem> pager = new Pager<>(config, mPagingSourceFactory);
+        return PagingLiveData.getLiveData(pager);
+    }
+
+    // filters the paged grid to items whose name has words starting with the words in text,
+    // null or blank text shows every item again
+    // loads still running for the previous text are cancelled when the grid is invalidated
+    public void setSearchText(String text) {
+        String matchQuery = InventoryDatabase.toMatchQuery(text);
+        if (Objects.equals(matchQuery, mSearchQuery)) {
+            return;
+        }
+        mSearchQuery = matchQuery;
+        mSearchChanged.set(true);
+        mPagingSourceFactory.invalidate();
+    }
+
+    // shows the stock of one location in the paged grid, InventoryPagingSource.NO_LOCATION shows
+    // every item with its total across all locations again
+    public void setLocation(long locationId) {
+        if (locationId == mLocationId) {
+            return;
+        }
+        mLocationId = locationId;
+        mSearchChanged.set(true);
+        mPagingSourceFactory.invalidate();
+    }
+
+    // adds a location, returns its primary key, or -1 if a location with that name already exists
+    public Future<Long> addLocation(String location_name, Callback<Long> callback) {
+        return write("addLocation", () -> mInventoryDb.addLocation(location_name), callback);
+    }
+
+    // returns every location, the default location first
+    public Future<List<InventoryLocation>> readLocations(Callback<List<InventoryLocation>> callback) {
+        return read("readLocations", () -> mInventoryDb.readLocations(), callback);
+    }
+
+    // sets the quantity of the item at one location, its total follows, returns false if there is
+    // no such item or location
+    public Future<Boolean> setLocationQuantity(long id, long locationId, int qty, Callback<Boolean> callback) {
+        return writeInventory("setLocationQuantity", () -> {
+            boolean updated = mInventoryDb.setLocationQuantity(id, locationId, qty);
+            if (updated) {
+                checkLowStock(id);
+            }
+            return updated;
+        }, callback);
+    }
+
+    // adds delta to the quantity of the item at one location in one atomic statement, returns false if
+    // there is no such item or location or its quantity there would go below 0
+    public Future<Boolean> adjustLocationQuantity(long id, long locationId, int delta, Callback<Boolean> callback) {
+        return writeInventory("adjustLocationQuantity", () -> {
+            boolean adjusted = mInventoryDb.adjustLocationQuantity(id, locationId, delta, 0);
+            if (adjusted) {
+                checkLowStock(id);
+            }
+            return adjusted;
+        }, callback);
+    }
+
+    // adds item_name if it does not already exist, returns false if it was a duplicate
+    // the existence check and the insert run together on the writer thread so they cannot race
+    public Future<Boolean> addInventoryItem(String item_name, int qty, Callback<Boolean> callback) {
+        return writeInventory("addInventoryItem", () -> {
+            if (mInventoryDb.inventoryItemLookup(item_name)) {
+                return false;
+            }
+            mInventoryDb.addInventoryItem(item_name, qty);
+            return true;
+        }, callback);
+    }
+
+    // deletes the item with primary key id, returns false if nothing was deleted
+    public Future<Boolean> deleteInventoryItem(long id, Callback<Boolean> callback) {
+        return writeInventory("deleteInventoryItem", () -> mInventoryDb.deleteInventoryItem(id), callback);
+    }
+
+    // sets the quantity of the item with primary key id, returns false if nothing was updated
+    // an item left at or below its threshold is queued for the next low-stock digest
+    public Future<Boolean> updateInventoryItemQuantity(long id, int new_qty, Callback<Boolean> callback) {
+        return writeInventory("updateInventoryItemQuantity", () -> {
+            boolean updated = mInventoryDb.updateInventoryItemQuantity(id, new_qty);
+            if (updated) {
+                checkLowStock(id);
+            }
+            return updated;
+        }, callback);
+    }
+
+    // adds delta to the quantity of the item with primary key id in one atomic statement, so it never
+    // overwrites a change made by another writer, returns false if the item is gone or would go below 0
+    public Future<Boolean> adjustInventoryItemQuantity(long id, int delta, Callback<Boolean> callback) {
+        return writeInventory("adjustInventoryItemQuantity", () -> {
+            boolean adjusted = mInventoryDb.adjustInventoryItemQuantity(id, delta, 0);
+            if (adjusted) {
+                checkLowStock(id);
+            }
+            return adjusted;
+        }, callback);
+    }
+
+    // applies a batch of adjustments (e.g. a received shipment or a pick list) in one transaction,
+    // returns false and changes nothing if any item is gone or would go below 0
+    public Future<Boolean> adjustInventoryItemQuantities(List<StockAdjustment> adjustments, Callback<Boolean> callback) {
+        return writeInventory("adjustInventoryItemQuantities", () -> {
+            boolean adjusted = mInventoryDb.adjustInventoryItemQuantities(adjustments, 0);
+            if (adjusted) {
+                // each item is checked once even if the batch adjusts it several times
+                LinkedHashSet<Long> ids = new LinkedHashSet<>();
+                for (StockAdjustment adjustment : adjustments) {
+                    ids.add(adjustment.getId());
+                }
+                for (long id : ids) {
+                    checkLowStock(id);
+                }
+            }
+            return adjusted;
+        }, callback);
+    }
+
+    // gives the item a SKU/barcode (null clears it), returns false if another item already has it
+    public Future<Boolean> setInventoryItemSku(long id, String sku, Callback<Boolean> callback) {
+        return write("setInventoryItemSku", () -> mInventoryDb.setInventoryItemSku(id, sku), callback);
+    }
+
+    // returns the primary key of the item with this SKU, or SkuIndex.NOT_FOUND
+    public Future<Long> inventorySkuLookup(String sku, Callback<Long> callback) {
+        return read("inventorySkuLookup", () -> mInventoryDb.inventorySkuLookup(sku), callback);
+    }
+
+    // starts receiving stock by barcode, every scan() adds one to the item with that SKU
+    // scans are batched and each batch is applied on the writer thread in one transaction, its
+    // result (including any codes no item has) is delivered to callback on the main thread
+    // call from the main thread, close() the session when scanning is done
+    public ScanSession startScanSession(Callback<ScanResult> callback) {
+        return new ScanSession(
+                counts -> writeInventory("applyScanCounts", () -> mInventoryDb.applyScanCounts(counts), callback),
+                mMainHandler::postDelayed, ScanSession.DEFAULT_MAX_BATCH, ScanSession.DEFAULT_MAX_DELAY_MS);
+    }
+
+    // sets the low-stock threshold of the item with primary key id, returns false if nothing was updated
+    public Future<Boolean> setLowStockThreshold(long id, int threshold, Callback<Boolean> callback) {
+        return write("setLowStockThreshold", () -> {
+            boolean updated = mInventoryDb.setLowStockThreshold(id, threshold);
+            if (updated) {
+                checkLowStock(id);
+            }
+            return updated;
+        }, callback);
+    }
+
+    public LowStockAlertEngine getLowStockAlerts() {
+        return mLowStockAlerts;
+    }
+
+    // returns the quantity the item had at timeMillis, from the nearest ledger snapshot plus replay
+    public Future<Integer> quantityAt(long id, long timeMillis, Callback<Integer> callback) {
+        return read("quantityAt", () -> mInventoryDb.quantityAt(id, timeMillis), callback);
+    }
+
+    // returns the most recent movements of the item, newest first
+    public Future<List<StockMovement>> readStockMovements(long id, int limit, Callback<List<StockMovement>> callback) {
+        return read("readStockMovements", () -> mInventoryDb.readStockMovements(id, limit), callback);
+    }
+
+    // folds ledger movements older than cutoffMillis into snapshots, on the writer thread
+    public Future<Integer> compactStockLedger(long cutoffMillis, Callback<Integer> callback) {
+        return write("compactStockLedger", () -> mInventoryDb.compactStockLedger(cutoffMillis), callback);
+    }
+
+    // finds every low item not alerted yet and sends them as one digest, returns how many were found
+    // runs on the writer thread, the caller (LowStockSweepWorker) waits on the returned Future
+    // the items are marked alerted by a write queued once the digest has been sent
+    public Future<Integer> sweepLowStock(Callback<Integer> callback) {
+        return write("sweepLowStock", () -> LowStockSweepWorker.sweep(mInventoryDb, mLowStockAlerts), callback);
+    }
+
+    // reports the item to the alert engine while it is low and not alerted yet (the engine keeps one
+    // pending alert per item), otherwise withdraws any pending alert, an item that is not low (or was
+    // alerted already) has nothing to send
+    // a primary key lookup, filtered by the same condition as the low-stock index
+    private void checkLowStock(long id) {
+        LowStockAlert low = mInventoryDb.unalertedLowStockItem(id);
+        if (low == null) {
+            mLowStockAlerts.onRestocked(id);
+        } else {
+            mLowStockAlerts.onLowStock(low);
+        }
+    }
+
+    // bulk imports a CSV stream, progress is delivered on the main thread after each committed chunk
+    public Future<ImportResult> importInventory(Callable<Reader> source, InventoryStore.ImportProgressListener progress,
+                                                Callback<ImportResult> callback) {
+        return writeInventory("importInventory", () -> {
+            try (InventoryCsvReader reader = new InventoryCsvReader(source.call())) {
+                int imported = mInventoryDb.addInventoryItems(reader, InventoryDatabase.DEFAULT_IMPORT_CHUNK_SIZE,
+                        rows -> mMainHandler.post(() -> progress.onProgress(rows)));
+                return new ImportResult(imported, reader.getSkippedLines());
+            }
+        }, callback);
+    }
+
+    // streams the inventory to the writer opened by sink on a reader thread, progress is delivered on
+    // the main thread, cancel the returned Future to stop the export
+    public Future<Long> exportInventory(Callable<Writer> sink, InventoryExporter.Format format,
+                                       InventoryExporter.ProgressListener progress, Callback<Long> callback) {
+        return read("exportInventory", () -> {
+            try (Writer out = sink.call()) {
+                return mInventoryDb.exportInventory(out, format,
+                        rows -> mMainHandler.post(() -> progress.onProgress(rows)));
+            }
+        }, callback);
+    }
+
+    // pushes local changes to the sync server and pulls everyone else's, on the sync thread
+    // the sync's database writes are queued on the writer thread like any other write
+    public Future<InventorySyncEngine.Result> syncInventory(InventorySyncClient client,
+                                                            Callback<InventorySyncEngine.Result> callback) {
+        return submit(mSyncExecutor, "syncInventory", () -> {
+            InventorySyncEngine.Result result = new InventorySyncEngine(new WriterSyncStore(), client).sync();
+            if (result.pulled > 0) {
+                mPagingSourceFactory.invalidate();
+                // pulled quantities may have crossed thresholds, alert them like a local edit
+                sweepLowStock(null);
+            }
+            return result;
+        }, callback);
+    }
+
+    // InventorySyncEngine.Store that reads directly and runs each batch write on the writer thread
+    private final class WriterSyncStore implements InventorySyncEngine.Store {
+        @Override
+        public String getSyncDeviceId() {
+            return mInventoryDb.getSyncDeviceId();
+        }
+
+        @Override
+        public List<SyncChange> readSyncChanges(long afterId, int limit) {
+            return mInventoryDb.readSyncChanges(afterId, limit);
+        }
+
+        @Override
+        public List<String> readSyncDeletes(int limit) {
+            return mInventoryDb.readSyncDeletes(limit);
+        }
+
+        @Override
+        public void applySyncPushResults(List<SyncChange> pushed, List<String> deletes, List<SyncChange> results) {
+            await(writeInventory("applySyncPushResults", () -> {
+                mInventoryDb.applySyncPushResults(pushed, deletes, results);
+                return null;
+            }, null));
+        }
+
+        @Override
+        public long getSyncPullVersion() {
+            return mInventoryDb.getSyncPullVersion();
+        }
+
+        @Override
+        public int applySyncPull(List<SyncChange> changes, long nextVersion) {
+            return await(write("applySyncPull", () -> mInventoryDb.applySyncPull(changes, nextVersion), null));
+        }
+    }
+
+    // blocks the calling (background) thread until future completes, rethrowing its failure
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new CancellationException("Interrupted while waiting for the writer thread");
+        }
+    }
+
+    /*
+     ***************************************
+     * *   Executor plumbing
+     * *************************************
+     */
+    private <T> Future<T> read(String op, Callable<T> task, Callback<T> callback) {
+        return submit(mReadExecutor, op, task, callback);
+    }
+
+    private <T> Future<T> write(String op, Callable<T> task, Callback<T> callback) {
+        return submit(mWriteExecutor, op, task, callback);
+    }
+
+    // runs an inventory write, then invalidates the paged grid so it reloads the changed rows
+    private <T> Future<T> writeInventory(String op, Callable<T> task, Callback<T> callback) {
+        return write(op, () -> {
+            try {
+                return task.call();
+            } finally {
+                mPagingSourceFactory.invalidate();
+            }
+        }, callback);
+    }
+
+    // runs task on executor and posts the result (or error) to callback on the main thread
+    private <T> Future<T> submit(ExecutorService executor, String op, Callable<T> task, Callback<T> callback) {
+        long callerStart = SystemClock.elapsedRealtimeNanos();
+        OperationStats stats = statsFor(op);
+
+        Future<T> future = executor.submit(() -> {
+            long start = stats.worker.start();
+            try {
+                T result = task.call();
+                if (callback != null) {
+                    mMainHandler.post(() -> callback.onResult(result));
+                }
+                return result;
+            } catch (Exception e) {
+                if (callback != null) {
+                    mMainHandler.post(() -> callback.onError(e));
+                }
+                throw e;
+            } finally {
+                stats.worker.stop(start);
+            }
+        });
+
+        // time the calling thread spent in the repository, this is all the main thread pays
+        if (Looper.getMainLooper().isCurrentThread()) {
+            stats.mainThreadNanos.add(SystemClock.elapsedRealtimeNanos() - callerStart);
+        }
+        return future;
+    }
+
+    private OperationStats statsFor(String op) {
+        synchronized (mStats) {
+            OperationStats stats = mStats.get(op);
+            if (stats == null) {
+                stats = new OperationStats(op);
+                mStats.put(op, stats);
+            }
+            return stats;
+        }
+    }
+
+    // logs every metric (repository operations, database operations, adapter binds), plus the number
+    // of InventoryDatabase calls that were made directly on the main thread (should be 0)
+    // debug builds only, see InventoryMetrics
+    public void logOperationStats() {
+        InventoryMetrics.log();
+        if (BuildConfig.DEBUG) {
+            Log.i(TAG, "InventoryDatabase calls on main thread: " + InventoryDatabase.getMainThreadCallCount());
+        }
+    }
+
+    // writes every metric as JSON to the writer opened by sink, on a reader thread
+    public Future<Void> exportMetrics(Callable<Writer> sink, Callback<Void> callback) {
+        return read("exportMetrics", () -> {
+            try (Writer out = sink.call()) {
+                InventoryMetrics.writeJson(out);
+            }
+            return null;
+        }, callback);
+    }
+
+    // metrics of a single repository operation, registered as repo.<op>
+    private static final class OperationStats {
+        // worker thread time per call, the call count is the timer's count
+        final InventoryMetrics.Timer worker;
+        final InventoryMetrics.Counter mainThreadNanos;
+
+        OperationStats(String op) {
+            worker = InventoryMetrics.timer("repo." + op);
+            mainThreadNanos = InventoryMetrics.counter("repo." + op + ".mainThreadNanos");
+        }
+    }
+
+} // end InventoryRepository()
@@ -0,0 +1,103 @@
+package com.cs360.netwiginventoryapp;
+
+import java.util.List;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Storage engine for the user and inventory tables.
+             :
+             : Implementations:
+             : - InventoryDatabase: SQLite, the one the app ships
+             : - InMemoryInventoryStore: lock-striped maps, nothing
+             :   is persisted (JVM hosts and tests)
+             : - MappedLogInventoryStore: append-only log in a
+             :   memory-mapped file, replayed on open
+             :
+             : Plain Java only, so code written against this
+             : interface runs on any JVM. The shared rules every
+             : implementation must follow are checked by
+             : InventoryStoreContractTest (src/sharedTest):
+             : - item and user names compare case-insensitively
+             :   (ASCII only, like SQLite's NOCASE)
+             : - stored passwords are opaque strings (PasswordHasher
+             :   hashes), a store never hashes or compares them
+             : - ids are assigned in ascending order and never reused
+             : - a batch is applied all or nothing
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public interface InventoryStore extends AutoCloseable {
+
+    // floor passed to the adjust methods when a quantity is allowed to go negative
+    long NO_FLOOR = Long.MIN_VALUE;
+
+    // callback used to report bulk import progress, called after each committed chunk
+    interface ImportProgressListener {
+        void onProgress(int rowsImported);
+    }
+
+    /*
+     ***************************************
+     * *   Users
+     * *************************************
+     */
+
+    // adds a user, passwordHash is stored exactly as given
+    void addUser(String uname, String passwordHash);
+
+    // returns true if a user named uname exists
+    boolean userLookup(String uname);
+
+    // stored password of uname (the first user added with that name), or null if there is no such user
+    String readPasswordHash(String uname);
+
+    // replaces the stored password of uname with passwordHash only if it is still expected, returns
+    // false (and changes nothing) if it has changed since it was read or there is no such user
+    boolean replacePasswordHash(String uname, String expected, String passwordHash);
+
+    /*
+     ***************************************
+     * *   Inventory
+     * *************************************
+     */
+
+    // inserts a new item, the caller checks for an existing name first (see inventoryItemLookup)
+    void addInventoryItem(String item_name, int qty);
+
+    // bulk inserts items, committing every chunkSize rows, items whose name already exists
+    // (case-insensitive) are skipped, returns number of rows inserted
+    int addInventoryItems(Iterable<InventoryItem> items, int chunkSize, ImportProgressListener listener);
+
+    // returns true if an item named item_name exists
+    boolean inventoryItemLookup(String item_name);
+
+    boolean deleteInventoryItem(long id);
+
+    boolean updateInventoryItemQuantity(long id, int new_qty);
+
+    // adds delta to the quantity of item id atomically, returns false (and changes nothing) if there
+    // is no such item or the result would be below floor
+    boolean adjustInventoryItemQuantity(long id, int delta, long floor);
+
+    // applies every adjustment, in order, all or nothing
+    boolean adjustInventoryItemQuantities(List<StockAdjustment> adjustments, long floor);
+
+    // every item, in _id order
+    InventoryItemStore readInventory();
+
+    // up to limit items with _id greater than afterId, in _id order
+    List<InventoryItem> readInventoryPageAfter(long afterId, int limit);
+
+    // up to limit items with _id less than beforeId, in _id order
+    List<InventoryItem> readInventoryPageBefore(long beforeId, int limit);
+
+    // releases the store, it cannot be used afterwards
+    @Override
+    void close();
+
+} // end InventoryStore()
@@ -0,0 +1,244 @@
+package com.cs360.netwiginventoryapp;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.JsonWriter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : HTTP client for the inventory sync server.
+             :
+             : POST {base}/push   gzip JSON body
+             :   {"device":d,"changes":[{"id","name","delta","base"}],
+             :    "deletes":[id,...]}
+             :   -> {"results":[{"id","quantity","version",
+             :                   "deleted","mergedInto"?}]}
+             : GET  {base}/pull?device=d&since=v&limit=n
+             :   -> {"changes":[{"id","name","quantity","version",
+             :                   "deleted"}],"next":v,"more":bool}
+             :
+             : Request and response bodies are gzip compressed and
+             : streamed through JsonWriter/JsonReader, so a batch is
+             : never held as one string or byte array.
+             :
+             : "base" is the server version a delta was made against.
+             : The server remembers the last delta it applied per
+             : (device, id, base) and only applies the difference,
+             : so a push retried after a lost response is not
+             : counted twice. A pull may leave out the rows whose
+             : latest change came from the pulling device, it
+             : already has them from its push results.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class InventorySyncClient {
+
+    static final String PUSH_PATH = "push";
+    static final String PULL_PATH = "pull";
+
+    private static final int CONNECT_TIMEOUT_MS = 15_000;
+    private static final int READ_TIMEOUT_MS = 30_000;
+
+    // one page of pulled changes
+    public static final class PullPage {
+        public final List<SyncChange> changes;
+        // version to pull from next time, at or past the newest version in changes
+        public final long nextVersion;
+        // true if the server has more changes after this page
+        public final boolean more;
+
+        PullPage(List<SyncChange> changes, long nextVersion, boolean more) {
+            this.changes = changes;
+            this.nextVersion = nextVersion;
+            this.more = more;
+        }
+    }
+
+    private final URL mBaseUrl;
+
+    // baseUrl is the sync endpoint, e.g. https://sync.example.com/inventory/ (trailing slash optional)
+    public InventorySyncClient(URL baseUrl) throws IOException {
+        String base = baseUrl.toString();
+        this.mBaseUrl = new URL(base.endsWith("/") ? base : base + "/");
+    }
+
+    // sends one batch of changed rows and deleted syncIds, returns the server's merged rows
+    public List<SyncChange> push(String device, List<SyncChange> changes, List<String> deletes) throws IOException {
+        HttpURLConnection connection = open(new URL(mBaseUrl, PUSH_PATH));
+        try {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+            connection.setRequestProperty("Content-Encoding", "gzip");
+            // unknown length, the body is compressed while it is written
+            connection.setChunkedStreamingMode(0);
+
+            try (JsonWriter json = new JsonWriter(new OutputStreamWriter(new GZIPOutputStream(
+                    new BufferedOutputStream(connection.getOutputStream())), StandardCharsets.UTF_8))) {
+                json.beginObject();
+                json.name("device").value(device);
+                json.name("changes").beginArray();
+                for (SyncChange change : changes) {
+                    json.beginObject();
+                    json.name("id").value(change.getSyncId());
+                    json.name("name").value(change.getName());
+                    json.name("delta").value(change.getDelta());
+                    json.name("base").value(change.getVersion());
+                    json.endObject();
+                }
+                json.endArray();
+                json.name("deletes").beginArray();
+                for (String syncId : deletes) {
+                    json.value(syncId);
+                }
+                json.endArray();
+                json.endObject();
+            }
+
+            List<SyncChange> results = new ArrayList<SyncChange>(changes.size());
+            try (JsonReader json = openResponse(connection)) {
+                json.beginObject();
+                while (json.hasNext()) {
+                    if (json.nextName().equals("results")) {
+                        json.beginArray();
+                        while (json.hasNext()) {
+                            results.add(readChange(json));
+                        }
+                        json.endArray();
+                    } else {
+                        json.skipValue();
+                    }
+                }
+                json.endObject();
+            }
+            return results;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    // reads up to limit server changes newer than since, oldest first
+    public PullPage pull(String device, long since, int limit) throws IOException {
+        URL url = new URL(mBaseUrl, PULL_PATH + "?device=" + URLEncoder.encode(device, "UTF-8")
+                + "&since=" + since + "&limit=" + limit);
+        HttpURLConnection connection = open(url);
+        try {
+            List<SyncChange> changes = new ArrayList<SyncChange>(limit);
+            long next = since;
+            boolean more = false;
+            try (JsonReader json = openResponse(connection)) {
+                json.beginObject();
+                while (json.hasNext()) {
+                    switch (json.nextName()) {
+                        case "changes":
+                            json.beginArray();
+                            while (json.hasNext()) {
+                                changes.add(readChange(json));
+                            }
+                            json.endArray();
+                            break;
+                        case "next":
+                            next = json.nextLong();
+                            break;
+                        case "more":
+                            more = json.nextBoolean();
+                            break;
+                        default:
+                            json.skipValue();
+                    }
+                }
+                json.endObject();
+            }
+            return new PullPage(changes, next, more);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static HttpURLConnection open(URL url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+        connection.setReadTimeout(READ_TIMEOUT_MS);
+        // set explicitly, so HttpURLConnection leaves the gzip stream for us to decode
+        connection.setRequestProperty("Accept-Encoding", "gzip");
+        connection.setRequestProperty("Accept", "application/json");
+        return connection;
+    }
+
+    // checks the status and returns a reader over the (possibly gzip) response body
+    private static JsonReader openResponse(HttpURLConnection connection) throws IOException {
+        int status = connection.getResponseCode();
+        if (status != HttpURLConnection.HTTP_OK) {
+            throw new IOException("Sync server returned HTTP " + status + " for " + connection.getURL().getPath());
+        }
+        InputStream in = new BufferedInputStream(connection.getInputStream());
+        if ("gzip".equalsIgnoreCase(connection.getContentEncoding())) {
+            in = new GZIPInputStream(in);
+        }
+        return new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    // {"id","name","quantity","version","deleted","mergedInto"}, missing fields keep their defaults
+    private static SyncChange readChange(JsonReader json) throws IOException {
+        String syncId = null;
+        String name = null;
+        int quantity = 0;
+        long version = 0;
+        boolean deleted = false;
+        String mergedInto = null;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            String field = json.nextName();
+            if (json.peek() == JsonToken.NULL) {
+                json.nextNull();
+                continue;
+            }
+            switch (field) {
+                case "id":
+                    syncId = json.nextString();
+                    break;
+                case "name":
+                    name = json.nextString();
+                    break;
+                case "quantity":
+                    quantity = json.nextInt();
+                    break;
+                case "version":
+                    version = json.nextLong();
+                    break;
+                case "deleted":
+                    deleted = json.nextBoolean();
+                    break;
+                case "mergedInto":
+                    mergedInto = json.nextString();
+                    break;
+                default:
+                    json.skipValue();
+            }
+        }
+        json.endObject();
+        return new SyncChange(0, syncId, name, 0, quantity, version, deleted, mergedInto);
+    }
+
+} // end InventorySyncClient()
@@ -0,0 +1,146 @@
+package com.cs360.netwiginventoryapp;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.List;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Offline-first sync of the local inventory table with
+             : a shared sync server, so every device in a warehouse
+             : converges on the same numbers.
+             :
+             : Each row keeps the server quantity it was last synced
+             : at (its base) and the server version of that base.
+             : A sync is two passes:
+             : - push: the rows changed since their base are sent
+             :   as deltas (quantity - base), in batches, the server
+             :   adds each delta to its own quantity and returns
+             :   the merged value, so two devices selling from the
+             :   same shelf are both counted instead of the last
+             :   write winning
+             : - pull: server changes newer than the last pulled
+             :   version are applied on top of any local delta not
+             :   pushed yet
+             :
+             : Only one batch is held in memory at a time, so a sync
+             : of any number of rows has the same footprint. Pull
+             : only runs after a complete push, which keeps a retried
+             : push (after a lost response) against the same base,
+             : see InventorySyncClient.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class InventorySyncEngine {
+
+    private static final String TAG = "SYNC";
+
+    // rows per push request and per pull page
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    // local side of the sync, implemented by InventoryDatabase
+    public interface Store {
+        // stable id of this device, sent with every request
+        String getSyncDeviceId();
+
+        // up to limit changed rows with _id greater than afterId, in _id order
+        List<SyncChange> readSyncChanges(long afterId, int limit);
+
+        // up to limit syncIds of synced rows deleted on this device
+        List<String> readSyncDeletes(int limit);
+
+        // applies the server's results for one pushed batch, in one transaction
+        void applySyncPushResults(List<SyncChange> pushed, List<String> deletes, List<SyncChange> results);
+
+        // server version of the newest change pulled so far
+        long getSyncPullVersion();
+
+        // applies one pulled page and records nextVersion, in one transaction, returns rows changed
+        int applySyncPull(List<SyncChange> changes, long nextVersion);
+    }
+
+    // counts from one sync
+    public static final class Result {
+        public final int pushed;
+        public final int deleted;
+        public final int pulled;
+        public final int requests;
+
+        Result(int pushed, int deleted, int pulled, int requests) {
+            this.pushed = pushed;
+            this.deleted = deleted;
+            this.pulled = pulled;
+            this.requests = requests;
+        }
+    }
+
+    private final Store mStore;
+    private final InventorySyncClient mClient;
+    private final int mBatchSize;
+
+    public InventorySyncEngine(Store store, InventorySyncClient client) {
+        this(store, client, DEFAULT_BATCH_SIZE);
+    }
+
+    public InventorySyncEngine(Store store, InventorySyncClient client, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than 0");
+        }
+        this.mStore = store;
+        this.mClient = client;
+        this.mBatchSize = batchSize;
+    }
+
+    // pushes every local change then pulls every server change, throws on the first failed request
+    // a failed sync leaves unpushed rows changed and the pull version where it was, so it can simply
+    // be run again
+    public Result sync() throws IOException {
+        String device = mStore.getSyncDeviceId();
+        int pushed = 0;
+        int deleted = 0;
+        int pulled = 0;
+        int requests = 0;
+
+        // push, keyset on _id so a row edited again while the sync runs is left for the next sync
+        // instead of being sent twice
+        long afterId = 0;
+        while (true) {
+            List<SyncChange> changes = mStore.readSyncChanges(afterId, mBatchSize);
+            List<String> deletes = mStore.readSyncDeletes(mBatchSize - changes.size());
+            if (changes.isEmpty() && deletes.isEmpty()) {
+                break;
+            }
+            List<SyncChange> results = mClient.push(device, changes, deletes);
+            mStore.applySyncPushResults(changes, deletes, results);
+            requests++;
+            pushed += changes.size();
+            deleted += deletes.size();
+            if (!changes.isEmpty()) {
+                afterId = changes.get(changes.size() - 1).getId();
+            }
+        }
+
+        // pull
+        long since = mStore.getSyncPullVersion();
+        InventorySyncClient.PullPage page;
+        do {
+            page = mClient.pull(device, since, mBatchSize);
+            pulled += mStore.applySyncPull(page.changes, page.nextVersion);
+            requests++;
+            since = page.nextVersion;
+        } while (page.more);
+
+        if (BuildConfig.DEBUG) {
+            Log.i(TAG, "Sync pushed " + pushed + ", deleted " + deleted + ", pulled " + pulled
+                    + " in " + requests + " requests");
+        }
+        return new Result(pushed, deleted, pulled, requests);
+    }
+
+} // end InventorySyncEngine()
@@ -0,0 +1,91 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Periodic background sync with the sync server set
+             : in R.string.sync_server_url. Edits are made offline
+             : against the local database as usual, and this worker
+             : pushes/pulls them whenever the device has a network
+             : connection. Nothing is scheduled while the URL is
+             : empty.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class InventorySyncWorker extends Worker {
+
+    private static final String TAG = "SYNC";
+
+    static final String UNIQUE_WORK_NAME = "inventory-sync";
+    static final long SYNC_INTERVAL_MINUTES = 60;
+
+    public InventorySyncWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    // schedules the periodic sync if a server is configured, safe to call every time the app starts
+    public static void schedule(Context context) {
+        if (context.getString(R.string.sync_server_url).isEmpty()) {
+            return;
+        }
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(InventorySyncWorker.class,
+                SYNC_INTERVAL_MINUTES, TimeUnit.MINUTES)
+                .setConstraints(constraints)
+                // a failed sync is safe to repeat, back off so an unreachable server is not hammered
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 1, TimeUnit.MINUTES)
+                .build();
+
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(UNIQUE_WORK_NAME,
+                ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        try {
+            InventorySyncClient client = new InventorySyncClient(new URL(context.getString(R.string.sync_server_url)));
+            InventorySyncEngine.Result result = InventoryRepository.getInstance(context).syncInventory(client, null).get();
+            if (BuildConfig.DEBUG) {
+                Log.i(TAG, "Synced in " + result.requests + " requests");
+            }
+            return Result.success();
+        } catch (IOException e) {
+            Log.e(TAG, "Sync server URL is not valid", e);
+            return Result.failure();
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Sync failed", e);
+            return Result.retry();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        }
+    }
+
+} // end InventorySyncWorker()
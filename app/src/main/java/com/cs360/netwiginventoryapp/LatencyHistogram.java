@@ -0,0 +1,110 @@
+package com.cs360.netwiginventoryapp;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Lock-free latency histogram with power-of-two
+             : buckets, for timing hot paths (queries, binds).
+             :
+             : Bucket b counts durations in [2^(b-1), 2^b) ns, so
+             : 64 fixed buckets cover every possible duration and
+             : record() is a few atomic adds: no lock, no object
+             : is created, safe from any thread. Percentiles are
+             : read back as the upper bound of the bucket they fall
+             : in (within a factor of 2, capped at the largest
+             : duration seen), which is enough to spot a regression.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong mCount = new AtomicLong();
+    private final AtomicLong mTotalNanos = new AtomicLong();
+    private final AtomicLong mMaxNanos = new AtomicLong();
+
+    // adds one duration, negative durations (a clock that went backwards) count as 0
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        mBuckets.incrementAndGet(bucketOf(nanos));
+        mCount.incrementAndGet();
+        mTotalNanos.addAndGet(nanos);
+        long max = mMaxNanos.get();
+        while (nanos > max && !mMaxNanos.compareAndSet(max, nanos)) {
+            max = mMaxNanos.get();
+        }
+    }
+
+    public long getCount() {
+        return mCount.get();
+    }
+
+    public long getTotalNanos() {
+        return mTotalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return mMaxNanos.get();
+    }
+
+    public long getMeanNanos() {
+        long count = mCount.get();
+        return count == 0 ? 0 : mTotalNanos.get() / count;
+    }
+
+    // duration that fraction (0..1) of the recorded durations are at or below, 0 if nothing was recorded
+    // read while other threads record, the result is as of some moment during the call
+    public long percentileNanos(double fraction) {
+        long count = 0;
+        long[] buckets = new long[BUCKETS];
+        for (int b = 0; b < BUCKETS; b++) {
+            buckets[b] = mBuckets.get(b);
+            count += buckets[b];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        // rank of the wanted duration, 1-based
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += buckets[b];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(b), mMaxNanos.get());
+            }
+        }
+        return mMaxNanos.get();
+    }
+
+    // clears every bucket, durations recorded while this runs may survive it
+    public void reset() {
+        for (int b = 0; b < BUCKETS; b++) {
+            mBuckets.set(b, 0);
+        }
+        mCount.set(0);
+        mTotalNanos.set(0);
+        mMaxNanos.set(0);
+    }
+
+    // 0 for 0 ns, otherwise 1 + the index of the highest set bit
+    static int bucketOf(long nanos) {
+        return BUCKETS - Long.numberOfLeadingZeros(nanos);
+    }
+
+    // largest duration that falls in bucket b
+    static long upperBoundOf(int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+} // end LatencyHistogram()
@@ -0,0 +1,78 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Daily maintenance job that folds stock movements
+             : older than RETAIN_DAYS into ledger snapshots, so the
+             : movement table stays bounded however long the app
+             : is used. Runs only while the device is idle and
+             : charging.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class LedgerCompactionWorker extends Worker {
+
+    private static final String TAG = "LEDGER";
+
+    static final String UNIQUE_WORK_NAME = "ledger-compaction";
+    // movements newer than this stay in the ledger, older ones are folded into a snapshot
+    static final long RETAIN_DAYS = 30;
+
+    public LedgerCompactionWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    // schedules the daily compaction, safe to call every time the app starts
+    public static void schedule(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiresCharging(true)
+                .setRequiresDeviceIdle(true)
+                .build();
+
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(LedgerCompactionWorker.class, 1, TimeUnit.DAYS)
+                .setConstraints(constraints)
+                .build();
+
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(UNIQUE_WORK_NAME,
+                ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(RETAIN_DAYS);
+        try {
+            int folded = InventoryRepository.getInstance(getApplicationContext()).compactStockLedger(cutoff, null).get();
+            if (BuildConfig.DEBUG) {
+                Log.i(TAG, "Folded " + folded + " movements older than " + RETAIN_DAYS + " days");
+            }
+            return Result.success();
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Ledger compaction failed", e);
+            return Result.retry();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        }
+    }
+
+} // end LedgerCompactionWorker()
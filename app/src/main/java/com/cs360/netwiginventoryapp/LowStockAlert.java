@@ -0,0 +1,45 @@
+package com.cs360.netwiginventoryapp;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Immutable snapshot of an inventory item whose
+             : quantity is at or below its low-stock threshold.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public final class LowStockAlert {
+
+    private final long mId;
+    private final String mName;
+    private final int mQuantity;
+    private final int mThreshold;
+
+    public LowStockAlert(long id, String name, int quantity, int threshold) {
+        this.mId = id;
+        this.mName = name;
+        this.mQuantity = quantity;
+        this.mThreshold = threshold;
+    }
+
+    public long getId() {
+        return mId;
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    public int getQuantity() {
+        return mQuantity;
+    }
+
+    public int getThreshold() {
+        return mThreshold;
+    }
+
+} // end LowStockAlert()
@@ -0,0 +1,190 @@
+package com.cs360.netwiginventoryapp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Turns low-stock events into a small number of alert
+             : messages.
+             : - events are held for a digest window and sent as one
+             :   message, an item reported twice in the window is
+             :   only listed once (with its latest quantity)
+             : - every send takes a token from a TokenBucket, when
+             :   the bucket is empty the digest keeps collecting
+             :   until the next token is due
+             : - messages go to a pluggable AlertSender, the
+             :   DeliveryListener is told which alerts a sent digest
+             :   carried, so items are only recorded as alerted once
+             :   their alert has actually gone out; a digest the
+             :   sender drops is reported again by the next sweep
+             :
+             : A bulk update that drops 500 items below threshold
+             : therefore sends one digest, not 500 texts.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class LowStockAlertEngine {
+
+    // how long low-stock events are collected before a digest is sent
+    public static final long DEFAULT_DIGEST_WINDOW_MS = 30_000;
+    // at most this many digests in a burst...
+    public static final int DEFAULT_BURST = 3;
+    // ...and after that no more than one every 5 minutes
+    public static final long DEFAULT_REFILL_MS = 5 * 60_000;
+    // items listed by name in one digest, the rest are counted
+    static final int MAX_ITEMS_PER_DIGEST = 10;
+
+    // runs a task after a delay, a main-thread Handler in the app and a manual queue in tests
+    public interface Scheduler {
+        void schedule(Runnable task, long delayMillis);
+    }
+
+    // called on the thread that flushed, with the alerts of each digest the sender accepted
+    public interface DeliveryListener {
+        void onDelivered(List<LowStockAlert> alerts);
+    }
+
+    private final AlertSender mSender;
+    private final String mDestination;
+    private final TokenBucket mRateLimiter;
+    private final Scheduler mScheduler;
+    private final long mDigestWindowMillis;
+    private volatile DeliveryListener mDeliveryListener;
+
+    // low items waiting for the next digest, keyed by item id in the order they were reported
+    private final Map<Long, LowStockAlert> mPending = new LinkedHashMap<>();
+    private boolean mFlushScheduled;
+
+    private long mSentCount;
+    private long mCoalescedCount;
+    private long mDeferredCount;
+    private long mDroppedCount;
+
+    public LowStockAlertEngine(AlertSender sender, String destination, TokenBucket rateLimiter,
+                               Scheduler scheduler, long digestWindowMillis) {
+        this.mSender = sender;
+        this.mDestination = destination;
+        this.mRateLimiter = rateLimiter;
+        this.mScheduler = scheduler;
+        this.mDigestWindowMillis = digestWindowMillis;
+    }
+
+    public void setDeliveryListener(DeliveryListener listener) {
+        this.mDeliveryListener = listener;
+    }
+
+    // reports an item at or below its threshold, it is sent with the next digest
+    public void onLowStock(LowStockAlert alert) {
+        synchronized (this) {
+            if (mPending.put(alert.getId(), alert) != null) {
+                mCoalescedCount++;
+            }
+            if (mFlushScheduled) {
+                return;
+            }
+            mFlushScheduled = true;
+        }
+        mScheduler.schedule(this::flush, mDigestWindowMillis);
+    }
+
+    // reports an item back above its threshold, drops it from the digest if it has not been sent yet
+    public synchronized void onRestocked(long id) {
+        mPending.remove(id);
+    }
+
+    // sends the pending items as one digest if the rate limiter allows it, otherwise tries again
+    // when the next token is due
+    public void flush() {
+        List<LowStockAlert> digest;
+        long retryInMillis = 0;
+        synchronized (this) {
+            mFlushScheduled = false;
+            if (mPending.isEmpty()) {
+                return;
+            }
+            if (mRateLimiter.tryAcquire()) {
+                digest = new ArrayList<>(mPending.values());
+                mPending.clear();
+            } else {
+                digest = null;
+                retryInMillis = Math.max(1, mRateLimiter.millisUntilNextToken());
+                mFlushScheduled = true;
+                mDeferredCount++;
+            }
+        }
+
+        if (digest == null) {
+            mScheduler.schedule(this::flush, retryInMillis);
+            return;
+        }
+
+        boolean sent = mSender.send(mDestination, formatDigest(digest));
+        synchronized (this) {
+            if (sent) {
+                mSentCount++;
+            } else {
+                mDroppedCount++;
+            }
+        }
+        DeliveryListener listener = mDeliveryListener;
+        if (sent && listener != null) {
+            listener.onDelivered(digest);
+        }
+    }
+
+    // one item keeps the original single-item alert text, more are listed up to MAX_ITEMS_PER_DIGEST
+    static String formatDigest(List<LowStockAlert> alerts) {
+        if (alerts.size() == 1) {
+            LowStockAlert alert = alerts.get(0);
+            return "LOW INVENTORY ALERT: Inventory item " + alert.getName() + " has a quantity of " + alert.getQuantity();
+        }
+
+        StringBuilder message = new StringBuilder("LOW INVENTORY ALERT: ")
+                .append(alerts.size()).append(" items are low: ");
+        int listed = Math.min(alerts.size(), MAX_ITEMS_PER_DIGEST);
+        for (int i = 0; i < listed; i++) {
+            LowStockAlert alert = alerts.get(i);
+            if (i > 0) {
+                message.append(", ");
+            }
+            message.append(alert.getName()).append(" (").append(alert.getQuantity()).append(')');
+        }
+        if (alerts.size() > listed) {
+            message.append(" and ").append(alerts.size() - listed).append(" more");
+        }
+        return message.toString();
+    }
+
+    public synchronized int getPendingCount() {
+        return mPending.size();
+    }
+
+    // digests sent
+    public synchronized long getSentCount() {
+        return mSentCount;
+    }
+
+    // events merged into an alert already waiting for the same item
+    public synchronized long getCoalescedCount() {
+        return mCoalescedCount;
+    }
+
+    // digests held back by the rate limiter
+    public synchronized long getDeferredCount() {
+        return mDeferredCount;
+    }
+
+    // digests the sender dropped, their items were not recorded as alerted
+    public synchronized long getDroppedCount() {
+        return mDroppedCount;
+    }
+
+} // end LowStockAlertEngine()
@@ -0,0 +1,118 @@
+package com.cs360.netwiginventoryapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Periodic background sweep for low inventory.
+             : Items can go low without anyone editing them in the
+             : UI (bulk imports, sync), so every few hours this
+             : worker reads the items at or below their threshold
+             : that have not been alerted yet and sends them as one
+             : digest through the same LowStockAlertEngine/
+             : SmsAlertSender path as an edit. They are marked
+             : alerted once the digest has been sent; if the rate
+             : limiter holds it back the run asks to be retried,
+             : so the alert is not left to a process that may not
+             : live to send it.
+             :
+             : Each run is a single query on the low-stock partial
+             : index, and runs only when the battery and storage are
+             : not low.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class LowStockSweepWorker extends Worker {
+
+    private static final String TAG = "LOWSTOCK";
+
+    // unique name so scheduling on every app start keeps the one existing periodic request
+    static final String UNIQUE_WORK_NAME = "low-stock-sweep";
+    // how often the sweep runs, WorkManager batches it with other work within the flex window
+    static final long SWEEP_INTERVAL_HOURS = 6;
+    static final long SWEEP_FLEX_HOURS = 1;
+
+    private final InventoryRepository mRepository;
+
+    public LowStockSweepWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        this(context, params, InventoryRepository.getInstance(context));
+    }
+
+    // tests hand in a repository over their own database and sender through a WorkerFactory
+    LowStockSweepWorker(@NonNull Context context, @NonNull WorkerParameters params, InventoryRepository repository) {
+        super(context, params);
+        this.mRepository = repository;
+    }
+
+    // schedules the periodic sweep, safe to call every time the app starts
+    public static void schedule(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiresBatteryNotLow(true)
+                .setRequiresStorageNotLow(true)
+                .build();
+
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(LowStockSweepWorker.class,
+                SWEEP_INTERVAL_HOURS, TimeUnit.HOURS, SWEEP_FLEX_HOURS, TimeUnit.HOURS)
+                .setConstraints(constraints)
+                .build();
+
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(UNIQUE_WORK_NAME,
+                ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    // runs the sweep on the repository's writer thread so it is ordered with every other write
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            int reported = mRepository.sweepLowStock(null).get();
+            int pending = mRepository.getLowStockAlerts().getPendingCount();
+            if (BuildConfig.DEBUG) {
+                Log.i(TAG, "Low-stock sweep reported " + reported + " items, " + pending + " still waiting");
+            }
+            // a deferred digest's items are not marked alerted, the retry finds them again
+            return pending > 0 ? Result.retry() : Result.success();
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Low-stock sweep failed", e);
+            return Result.retry();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        }
+    }
+
+    // reports the low items that have not been alerted and sends them straight away as one digest
+    // (subject to the engine's rate limit), returns the number of items reported
+    // the engine's DeliveryListener marks them alerted once the digest has been sent
+    static int sweep(InventoryDatabase inventoryDb, LowStockAlertEngine alerts) {
+        List<LowStockAlert> low = inventoryDb.readUnalertedLowStockItems();
+        if (low.isEmpty()) {
+            return 0;
+        }
+        for (LowStockAlert alert : low) {
+            alerts.onLowStock(alert);
+        }
+        // the sweep result is already a batch, no need to wait for the digest window
+        alerts.flush();
+        return low.size();
+    }
+
+} // end LowStockSweepWorker()
@@ -32,8 +32,8 @@ import android.widget.Toast;
 
 public class MainActivity extends AppCompatActivity {
 
-    // var for SQLite database
-    private InventoryDatabase mInventoryDb;
+    // var for repository that runs SQLite database operations off the UI thread
+    private InventoryRepository mRepository;
     // variables for login screen EditText
     private EditText userNameEdt;
     private EditText passwordEdt;
@@ -44,8 +44,8 @@ public class MainActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
 
-        // Instantiates Singleton instance of SQLite database
-        mInventoryDb = InventoryDatabase.getInstance(getApplicationContext());
+        // Instantiates Singleton instance of the repository wrapping the SQLite database
+        mRepository = InventoryRepository.getInstance(getApplicationContext());
 
         // initialize EditText vars on Login screen
         userNameEdt = findViewById(R.id.username);
@@ -71,26 +71,29 @@ public class MainActivity extends AppCompatActivity {
             return;
         }
         else {
-            // check to see if username exists in SQLite db
-            if (mInventoryDb.userLookup(userName)){
-                Log.i("USER", "User found!");
-                // check password
-                if (mInventoryDb.pwLookup(userName, password)){
-                    Log.i("USER", "User passed authentication!");
-                    // Launch Inventory layout after user passed authentication
-                    launchInventoryActivity();
-                    //Intent myIntent = new Intent(this, InventoryActivity.class);
-                    //startActivity(myIntent);
-                } else {
-                    Toast.makeText(MainActivity.this, "Password Incorrect!", Toast.LENGTH_SHORT).show();
-                    passwordEdt.setText("");
+            // check username and password against the SQLite db (hashing runs on a background thread)
+            mRepository.login(userName, password, result -> {
+                switch (result) {
+                    case SUCCESS:
+                        if (BuildConfig.DEBUG) {
+                            Log.i("USER", "User passed authentication!");
+                        }
+                        // Launch Inventory layout after user passed authentication
+                        launchInventoryActivity();
+                        break;
+                    case WRONG_PASSWORD:
+                        Toast.makeText(MainActivity.this, "Password Incorrect!", Toast.LENGTH_SHORT).show();
+                        passwordEdt.setText("");
+                        break;
+                    case NO_SUCH_USER:
+                        if (BuildConfig.DEBUG) {
+                            Log.i("USER", "User not found!");
+                        }
+                        // call dialog to prompt for new user creation
+                        newUserDialog(userName, password);
+                        break;
                 }
-
-            } else {
-                Log.i("USER", "User not found!");
-                // call dialog to prompt for new user creation
-                newUserDialog(userName, password);
-            }
+            });
         }
     }
 
@@ -125,11 +128,12 @@ public class MainActivity extends AppCompatActivity {
                             public void onClick(DialogInterface dialog,
                                                 int which)
                             {
-                                 mInventoryDb.addUser(uname, pw);
-                                Toast.makeText(MainActivity.this, "New Account Created!", Toast.LENGTH_SHORT).show();
+                                mRepository.addUser(uname, pw, result -> {
+                                    Toast.makeText(MainActivity.this, "New Account Created!", Toast.LENGTH_SHORT).show();
 
-                                // Launch Inventory layout after user account successfully created
-                                launchInventoryActivity();
+                                    // Launch Inventory layout after user account successfully created
+                                    launchInventoryActivity();
+                                });
                             }
                         });
 
@@ -146,7 +150,9 @@ public class MainActivity extends AppCompatActivity {
                                                 int which)
                             {
                                 // If user clicked nod ialog box is canceled
-                                Log.i("USER", "You Clicked No");
+                                if (BuildConfig.DEBUG) {
+                                    Log.i("USER", "You Clicked No");
+                                }
                                 dialog.cancel();
                             }
                         });
@@ -0,0 +1,627 @@
+package com.cs360.netwiginventoryapp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : InventoryStore kept as an append-only log of changes
+             : in a memory-mapped file, with the current state held
+             : in an InMemoryInventoryStore.
+             :
+             : File layout:
+             :   header  int magic, int format version
+             :   records int length, byte type + payload (length
+             :           bytes), int CRC32 of type + payload
+             :   zeros   the unused rest of the mapping
+             :
+             : A write is checked against the in-memory state,
+             : appended to the log and only then applied, so the log
+             : always holds at least what readers have seen. A batch
+             : (import chunk, batch adjust) is a single record, so it
+             : is recovered completely or not at all.
+             :
+             : Crash recovery: on open the log is replayed from the
+             : start and stops at the first record that is cut off,
+             : zero length or fails its CRC (a write torn by a
+             : crash). Everything from there on is zeroed and new
+             : records are appended in its place.
+             :
+             : When the mapping is full the live state is written to
+             : a new file (a snapshot, which drops deleted rows and
+             : old quantities), sized for what is left to grow, and
+             : renamed over the log, so a crash during compaction
+             : leaves either the old log or the new one.
+             :
+             : Writers are serialized (the log is sequential), reads
+             : go straight to the in-memory state without locking.
+             : forceEachWrite flushes the mapping after every write,
+             : without it a write survives a process crash but not a
+             : power loss.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class MappedLogInventoryStore implements InventoryStore {
+
+    private static final int MAGIC = 0x494E564C; // "INVL"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    // length before and CRC after each record
+    private static final int RECORD_OVERHEAD = 8;
+
+    private static final byte TYPE_USER = 1;          // name, password
+    private static final byte TYPE_INSERT = 2;        // count, then (id, name, quantity) per row
+    private static final byte TYPE_SET_QUANTITY = 3;  // count, then (id, quantity) per row
+    private static final byte TYPE_DELETE = 4;        // id
+    private static final byte TYPE_LAST_ID = 5;       // highest id ever handed out (written by compaction)
+    private static final byte TYPE_PASSWORD = 6;      // name, new stored password
+
+    static final int DEFAULT_INITIAL_CAPACITY = 1 << 20;
+    // rows per insert record when a snapshot is written
+    private static final int SNAPSHOT_ROWS_PER_RECORD = 1000;
+
+    private final File mFile;
+    private final boolean mForceEachWrite;
+    private final int mInitialCapacity;
+    private final InMemoryInventoryStore mState = new InMemoryInventoryStore();
+
+    // guards the log and every write, reads only use mState
+    private final Object mWriteLock = new Object();
+    private FileChannel mChannel;
+    private MappedByteBuffer mLog;
+    // offset just past the last complete record
+    private int mLogEnd;
+    private boolean mClosed;
+
+    // reused to encode one record at a time
+    private final ByteArrayOutputStream mRecordBytes = new ByteArrayOutputStream(256);
+    private final DataOutputStream mRecord = new DataOutputStream(mRecordBytes);
+    private final CRC32 mCrc = new CRC32();
+
+    // recovery results, for logging and tests
+    private int mRecoveredRecords;
+    private boolean mDiscardedTornTail;
+
+    // opens (or creates) the log at file and replays it
+    public MappedLogInventoryStore(File file, boolean forceEachWrite) throws IOException {
+        this(file, forceEachWrite, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    MappedLogInventoryStore(File file, boolean forceEachWrite, int initialCapacity) throws IOException {
+        this.mFile = file;
+        this.mForceEachWrite = forceEachWrite;
+        this.mInitialCapacity = Math.max(initialCapacity, HEADER_SIZE + RECORD_OVERHEAD + 1);
+        open();
+    }
+
+    // number of records replayed when the log was opened
+    public int getRecoveredRecords() {
+        return mRecoveredRecords;
+    }
+
+    // true if open found an incomplete or corrupt record at the end of the log and dropped it
+    public boolean discardedTornTail() {
+        return mDiscardedTornTail;
+    }
+
+    // offset just past the last complete record, for tests
+    int logEnd() {
+        synchronized (mWriteLock) {
+            return mLogEnd;
+        }
+    }
+
+    /*
+     ***************************************
+     * *   Users
+     * *************************************
+     */
+
+    @Override
+    public void addUser(String uname, String passwordHash) {
+        synchronized (mWriteLock) {
+            try {
+                beginRecord(TYPE_USER);
+                writeString(uname);
+                writeString(passwordHash);
+                appendRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            mState.addUser(uname, passwordHash);
+        }
+    }
+
+    @Override
+    public boolean userLookup(String uname) {
+        return mState.userLookup(uname);
+    }
+
+    @Override
+    public String readPasswordHash(String uname) {
+        return mState.readPasswordHash(uname);
+    }
+
+    // the expected value is checked here, the record only holds the new password
+    @Override
+    public boolean replacePasswordHash(String uname, String expected, String passwordHash) {
+        synchronized (mWriteLock) {
+            String current = mState.readPasswordHash(uname);
+            if (current == null || !current.equals(expected)) {
+                return false;
+            }
+            try {
+                beginRecord(TYPE_PASSWORD);
+                writeString(uname);
+                writeString(passwordHash);
+                appendRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            mState.setPasswordHash(uname, passwordHash);
+            return true;
+        }
+    }
+
+    /*
+     ***************************************
+     * *   Inventory
+     * *************************************
+     */
+
+    @Override
+    public void addInventoryItem(String item_name, int qty) {
+        synchronized (mWriteLock) {
+            long id = mState.lastId() + 1;
+            try {
+                beginRecord(TYPE_INSERT);
+                mRecord.writeInt(1);
+                writeRow(id, item_name, qty);
+                appendRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            mState.insert(id, item_name, qty);
+        }
+    }
+
+    // each chunk is appended as one record, then applied
+    @Override
+    public int addInventoryItems(Iterable<InventoryItem> items, int chunkSize, ImportProgressListener listener) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0");
+        }
+        int rowsRead = 0;
+        int rowsInserted = 0;
+        synchronized (mWriteLock) {
+            List<InventoryItem> chunk = new ArrayList<>();
+            // names added by the current chunk, so a name repeated within it is skipped as well
+            Set<String> chunkNames = new HashSet<>();
+            long nextId = mState.lastId() + 1;
+            for (InventoryItem item : items) {
+                String name = InventoryCache.normalize(item.getName());
+                if (!mState.inventoryItemLookup(name) && chunkNames.add(name)) {
+                    chunk.add(new InventoryItem(nextId++, item.getName(), item.getQuantity()));
+                }
+                rowsRead++;
+                if (rowsRead % chunkSize == 0) {
+                    rowsInserted += commitChunk(chunk);
+                    chunkNames.clear();
+                    if (listener != null) {
+                        listener.onProgress(rowsInserted);
+                    }
+                }
+            }
+            rowsInserted += commitChunk(chunk);
+        }
+        if (listener != null) {
+            listener.onProgress(rowsInserted);
+        }
+        return rowsInserted;
+    }
+
+    @Override
+    public boolean inventoryItemLookup(String item_name) {
+        return mState.inventoryItemLookup(item_name);
+    }
+
+    @Override
+    public boolean deleteInventoryItem(long id) {
+        synchronized (mWriteLock) {
+            if (mState.quantityOf(id) == null) {
+                return false;
+            }
+            try {
+                beginRecord(TYPE_DELETE);
+                mRecord.writeLong(id);
+                appendRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return mState.deleteInventoryItem(id);
+        }
+    }
+
+    @Override
+    public boolean updateInventoryItemQuantity(long id, int new_qty) {
+        synchronized (mWriteLock) {
+            if (mState.quantityOf(id) == null) {
+                return false;
+            }
+            appendQuantities(Collections.singletonMap(id, new_qty));
+            return mState.setQuantity(id, new_qty);
+        }
+    }
+
+    @Override
+    public boolean adjustInventoryItemQuantity(long id, int delta, long floor) {
+        return adjustInventoryItemQuantities(Collections.singletonList(new StockAdjustment(id, delta)), floor);
+    }
+
+    @Override
+    public boolean adjustInventoryItemQuantities(List<StockAdjustment> adjustments, long floor) {
+        synchronized (mWriteLock) {
+            // resolved against the current state first, the log only ever gets absolute quantities
+            Map<Long, Integer> quantities = mState.planAdjustments(adjustments, floor);
+            if (quantities == null) {
+                return false;
+            }
+            appendQuantities(quantities);
+            for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                mState.setQuantity(entry.getKey(), entry.getValue());
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public InventoryItemStore readInventory() {
+        return mState.readInventory();
+    }
+
+    @Override
+    public List<InventoryItem> readInventoryPageAfter(long afterId, int limit) {
+        return mState.readInventoryPageAfter(afterId, limit);
+    }
+
+    @Override
+    public List<InventoryItem> readInventoryPageBefore(long beforeId, int limit) {
+        return mState.readInventoryPageBefore(beforeId, limit);
+    }
+
+    // flushes and unmaps the log, writes afterwards throw IllegalStateException
+    @Override
+    public void close() {
+        synchronized (mWriteLock) {
+            if (mClosed) {
+                return;
+            }
+            mClosed = true;
+            mLog.force();
+            mLog = null;
+            try {
+                mChannel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // rewrites the log as a snapshot of the live state, dropping deleted rows and superseded quantities
+    public void compact() throws IOException {
+        synchronized (mWriteLock) {
+            rewriteLog(0);
+        }
+    }
+
+    /*
+     ***************************************
+     * *   Open and recovery
+     * *************************************
+     */
+
+    private void open() throws IOException {
+        mChannel = new RandomAccessFile(mFile, "rw").getChannel();
+        long size = mChannel.size();
+        if (size > Integer.MAX_VALUE) {
+            mChannel.close();
+            throw new IOException("Inventory log is too large to map: " + size + " bytes");
+        }
+        if (size < HEADER_SIZE) {
+            // new file, or one whose creation was interrupted before the header was written
+            mChannel.truncate(0);
+            mLog = mChannel.map(FileChannel.MapMode.READ_WRITE, 0, mInitialCapacity);
+            mLog.putInt(0, MAGIC);
+            mLog.putInt(4, FORMAT_VERSION);
+            mLog.force();
+            mLogEnd = HEADER_SIZE;
+            return;
+        }
+
+        mLog = mChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        if (mLog.getInt(0) != MAGIC || mLog.getInt(4) != FORMAT_VERSION) {
+            mChannel.close();
+            throw new IOException(mFile + " is not an inventory log");
+        }
+        replay();
+    }
+
+    // applies every complete record and zeroes whatever follows the last one
+    private void replay() {
+        int position = HEADER_SIZE;
+        int limit = mLog.capacity();
+        while (limit - position > RECORD_OVERHEAD) {
+            int length = mLog.getInt(position);
+            if (length <= 0 || length > limit - position - RECORD_OVERHEAD) {
+                break;
+            }
+            ByteBuffer record = slice(position + 4, length);
+            mCrc.reset();
+            mCrc.update(record.duplicate());
+            if ((int) mCrc.getValue() != mLog.getInt(position + 4 + length)) {
+                break;
+            }
+            applyRecord(record);
+            mRecoveredRecords++;
+            position += length + RECORD_OVERHEAD;
+        }
+        mLogEnd = position;
+
+        // a torn record leaves non-zero bytes behind, clear them so they are never mistaken for data
+        for (int i = position; i < limit; i++) {
+            if (mLog.get(i) != 0) {
+                mDiscardedTornTail = true;
+                mLog.put(i, (byte) 0);
+            }
+        }
+        if (mDiscardedTornTail) {
+            mLog.force();
+        }
+    }
+
+    private void applyRecord(ByteBuffer record) {
+        byte type = record.get();
+        switch (type) {
+            case TYPE_USER:
+                mState.addUser(readString(record), readString(record));
+                break;
+            case TYPE_INSERT: {
+                int count = record.getInt();
+                for (int i = 0; i < count; i++) {
+                    long id = record.getLong();
+                    String name = readString(record);
+                    mState.insert(id, name, record.getInt());
+                }
+                break;
+            }
+            case TYPE_SET_QUANTITY: {
+                int count = record.getInt();
+                for (int i = 0; i < count; i++) {
+                    mState.setQuantity(record.getLong(), record.getInt());
+                }
+                break;
+            }
+            case TYPE_DELETE:
+                mState.deleteInventoryItem(record.getLong());
+                break;
+            case TYPE_LAST_ID:
+                mState.advanceLastId(record.getLong());
+                break;
+            case TYPE_PASSWORD:
+                mState.setPasswordHash(readString(record), readString(record));
+                break;
+            default:
+                // a record from a newer format, the CRC matched so it is not corruption
+                throw new IllegalStateException("Unknown inventory log record type " + type);
+        }
+    }
+
+    /*
+     ***************************************
+     * *   Appending
+     * *************************************
+     */
+
+    private void beginRecord(byte type) throws IOException {
+        if (mClosed) {
+            throw new IllegalStateException("Inventory log is closed");
+        }
+        mRecordBytes.reset();
+        mRecord.writeByte(type);
+    }
+
+    // writes the record built since beginRecord() to the end of the log
+    private void appendRecord() throws IOException {
+        int length = mRecordBytes.size();
+        if (mLog.capacity() - mLogEnd < length + RECORD_OVERHEAD) {
+            rewriteLog(length + RECORD_OVERHEAD);
+        }
+        byte[] bytes = mRecordBytes.toByteArray();
+        mCrc.reset();
+        mCrc.update(bytes, 0, length);
+
+        mLog.putInt(mLogEnd, length);
+        mLog.position(mLogEnd + 4);
+        mLog.put(bytes, 0, length);
+        mLog.putInt(mLogEnd + 4 + length, (int) mCrc.getValue());
+        if (mForceEachWrite) {
+            mLog.force();
+        }
+        mLogEnd += length + RECORD_OVERHEAD;
+    }
+
+    // appends one import chunk as a single insert record and applies it, returns its row count
+    private int commitChunk(List<InventoryItem> chunk) {
+        int rows = chunk.size();
+        if (rows == 0) {
+            return 0;
+        }
+        try {
+            beginRecord(TYPE_INSERT);
+            mRecord.writeInt(rows);
+            for (InventoryItem item : chunk) {
+                writeRow(item.getId(), item.getName(), item.getQuantity());
+            }
+            appendRecord();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (InventoryItem item : chunk) {
+            mState.insert(item.getId(), item.getName(), item.getQuantity());
+        }
+        chunk.clear();
+        return rows;
+    }
+
+    private void appendQuantities(Map<Long, Integer> quantities) {
+        try {
+            beginRecord(TYPE_SET_QUANTITY);
+            mRecord.writeInt(quantities.size());
+            for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                mRecord.writeLong(entry.getKey());
+                mRecord.writeInt(entry.getValue());
+            }
+            appendRecord();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     ***************************************
+     * *   Compaction
+     * *************************************
+     */
+
+    // writes the live state to a new file with room for at least spare more bytes (at least twice
+    // the snapshot, so compactions stay rare as the data grows) and renames it over the log
+    private void rewriteLog(int spare) throws IOException {
+        if (mClosed) {
+            throw new IllegalStateException("Inventory log is closed");
+        }
+        // the record being appended is still in mRecordBytes, the snapshot is built in its own buffer
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(snapshot);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+
+        ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+        DataOutputStream fields = new DataOutputStream(record);
+        fields.writeByte(TYPE_LAST_ID);
+        fields.writeLong(mState.lastId());
+        writeSnapshotRecord(out, record);
+
+        for (Map.Entry<String, String> user : mState.users().entrySet()) {
+            fields.writeByte(TYPE_USER);
+            writeString(fields, user.getKey());
+            writeString(fields, user.getValue());
+            writeSnapshotRecord(out, record);
+        }
+
+        InventoryItemStore rows = mState.readInventory();
+        for (int start = 0; start < rows.size(); start += SNAPSHOT_ROWS_PER_RECORD) {
+            int end = Math.min(start + SNAPSHOT_ROWS_PER_RECORD, rows.size());
+            fields.writeByte(TYPE_INSERT);
+            fields.writeInt(end - start);
+            for (int i = start; i < end; i++) {
+                fields.writeLong(rows.getId(i));
+                writeString(fields, rows.getName(i));
+                fields.writeInt(rows.getQuantity(i));
+            }
+            writeSnapshotRecord(out, record);
+        }
+
+        long needed = (long) snapshot.size() + spare;
+        long capacity = Math.max(mInitialCapacity, Long.highestOneBit(needed * 2 - 1) * 2);
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IOException("Inventory log cannot grow past 2 GB");
+        }
+
+        // the new log is complete and on disk before it replaces the old one
+        File next = new File(mFile.getPath() + ".compact");
+        try (RandomAccessFile file = new RandomAccessFile(next, "rw")) {
+            file.setLength(0);
+            file.write(snapshot.toByteArray());
+            file.setLength(capacity);
+            file.getFD().sync();
+        }
+        mLog.force();
+        mChannel.close();
+        if (!next.renameTo(mFile)) {
+            throw new IOException("Could not replace " + mFile + " with its compacted log");
+        }
+
+        mChannel = new RandomAccessFile(mFile, "rw").getChannel();
+        mLog = mChannel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        mLogEnd = snapshot.size();
+    }
+
+    // frames the fields collected in record (type + payload) into out, then clears record
+    private void writeSnapshotRecord(DataOutputStream out, ByteArrayOutputStream record) throws IOException {
+        byte[] bytes = record.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.writeInt((int) crc.getValue());
+        record.reset();
+    }
+
+    /*
+     ***************************************
+     * *   Encoding
+     * *************************************
+     */
+
+    private void writeRow(long id, String item_name, int qty) throws IOException {
+        mRecord.writeLong(id);
+        writeString(item_name);
+        mRecord.writeInt(qty);
+    }
+
+    private void writeString(String value) throws IOException {
+        writeString(mRecord, value);
+    }
+
+    // int byte count, then UTF-8 (not writeUTF, which is limited to 64 KB and not quite UTF-8)
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer record) {
+        byte[] bytes = new byte[record.getInt()];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // the length bytes at offset in the log as their own buffer, positioned at 0
+    private ByteBuffer slice(int offset, int length) {
+        ByteBuffer view = mLog.duplicate();
+        view.position(offset);
+        view.limit(offset + length);
+        return view.slice();
+    }
+
+} // end MappedLogInventoryStore()
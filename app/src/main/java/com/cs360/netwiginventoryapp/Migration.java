@@ -0,0 +1,76 @@
+package com.cs360.netwiginventoryapp;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : A single schema migration step for InventoryDatabase,
+             : moving the schema from startVersion to endVersion
+             : without dropping any data.
+             : Steps are run in order by MigrationRunner.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public abstract class Migration {
+
+    // default number of rows copied per statement by copyRows()
+    public static final int DEFAULT_COPY_CHUNK_SIZE = 5000;
+
+    public final int startVersion;
+    public final int endVersion;
+
+    protected Migration(int startVersion, int endVersion) {
+        if (endVersion <= startVersion) {
+            throw new IllegalArgumentException("Migration must move forward: " + startVersion + " -> " + endVersion);
+        }
+        this.startVersion = startVersion;
+        this.endVersion = endVersion;
+    }
+
+    // applies the schema change, called inside a transaction by MigrationRunner
+    public abstract void migrate(SQLiteDatabase db);
+
+    // copies columns from source into target chunkSize rows at a time, in rowid order
+    // rows move table-to-table inside SQLite, so memory use does not depend on the table size
+    // returns the number of rows copied
+    protected static long copyRows(SQLiteDatabase db, String source, String target, String columns, int chunkSize) {
+        SQLiteStatement copy = db.compileStatement("INSERT INTO " + target + " (" + columns + ") SELECT "
+                + columns + " FROM " + source + " WHERE rowid > ? ORDER BY rowid LIMIT ?");
+        // highest rowid in the next chunk, NULL once every row has been copied
+        SQLiteStatement chunkEnd = db.compileStatement("SELECT MAX(rowid) FROM (SELECT rowid FROM " + source
+                + " WHERE rowid > ? ORDER BY rowid LIMIT ?)");
+        long copied = 0;
+        long lastRowId = Long.MIN_VALUE;
+        try {
+            while (true) {
+                chunkEnd.bindLong(1, lastRowId);
+                chunkEnd.bindLong(2, chunkSize);
+                String end = chunkEnd.simpleQueryForString();
+                if (end == null) {
+                    break;
+                }
+
+                copy.bindLong(1, lastRowId);
+                copy.bindLong(2, chunkSize);
+                copied += copy.executeUpdateDelete();
+                lastRowId = Long.parseLong(end);
+            }
+        } finally {
+            copy.close();
+            chunkEnd.close();
+        }
+        return copied;
+    }
+
+    @Override
+    public String toString() {
+        return "Migration " + startVersion + " -> " + endVersion;
+    }
+
+} // end Migration()
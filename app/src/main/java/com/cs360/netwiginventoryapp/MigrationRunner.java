@@ -0,0 +1,95 @@
+package com.cs360.netwiginventoryapp;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Versioned, non-destructive schema migration runner.
+             : Finds the chain of Migration steps from the current
+             : schema version to the target version and runs them in
+             : order, each one in its own transaction, timing each
+             : step.
+             :
+             : When called from SQLiteOpenHelper.onUpgrade() the step
+             : transactions are nested inside the helper's upgrade
+             : transaction, so a failing step rolls the whole upgrade
+             : back and the database stays at its old version.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class MigrationRunner {
+
+    private static final String TAG = "MIGRATION";
+
+    private final List<Migration> mMigrations = new ArrayList<>();
+    // duration of each step from the last run(), in milliseconds
+    private final List<Long> mStepMillis = new ArrayList<>();
+
+    public MigrationRunner(Migration... migrations) {
+        Collections.addAll(mMigrations, migrations);
+    }
+
+    // returns the ordered steps that take the schema from fromVersion to toVersion
+    // throws IllegalStateException if some version in between has no migration
+    public List<Migration> plan(int fromVersion, int toVersion) {
+        List<Migration> steps = new ArrayList<>();
+        int version = fromVersion;
+        while (version < toVersion) {
+            Migration next = null;
+            for (Migration migration : mMigrations) {
+                // takes the step that moves furthest without overshooting the target
+                if (migration.startVersion == version && migration.endVersion <= toVersion
+                        && (next == null || migration.endVersion > next.endVersion)) {
+                    next = migration;
+                }
+            }
+            if (next == null) {
+                throw new IllegalStateException("No migration from version " + version + " towards " + toVersion);
+            }
+            steps.add(next);
+            version = next.endVersion;
+        }
+        return steps;
+    }
+
+    // runs every step from fromVersion to toVersion, each in its own transaction
+    public void run(SQLiteDatabase db, int fromVersion, int toVersion) {
+        List<Migration> steps = plan(fromVersion, toVersion);
+        mStepMillis.clear();
+
+        for (Migration step : steps) {
+            long start = SystemClock.elapsedRealtime();
+
+            db.beginTransaction();
+            try {
+                step.migrate(db);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+
+            long elapsed = SystemClock.elapsedRealtime() - start;
+            mStepMillis.add(elapsed);
+            if (BuildConfig.DEBUG) {
+                Log.i(TAG, step + " completed in " + elapsed + " ms");
+            }
+        }
+    }
+
+    // returns the duration of each step run by the last call to run(), in milliseconds
+    public List<Long> getStepMillis() {
+        return Collections.unmodifiableList(mStepMillis);
+    }
+
+} // end MigrationRunner()
@@ -1,16 +1,23 @@
 package com.cs360.netwiginventoryapp;
 
 import android.content.Context;
-import android.graphics.Color;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+import androidx.lifecycle.Lifecycle;
+import androidx.paging.AsyncPagingDataDiffer;
+import androidx.paging.PagingData;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
 import androidx.recyclerview.widget.RecyclerView;
 
+import java.util.List;
+
+import kotlin.Unit;
+
 /*******************************************************************
  Author      : Chad Netwig
  App Name    : Chad's Inventory App
@@ -21,63 +28,182 @@ import androidx.recyclerview.widget.RecyclerView;
  Description : Implementation of the RecyclerView Adapter used to
              : hold a GridView layout of the inventory items.
              :
+             : Each InventoryItem is shown as two cells (name and
+             : quantity). Items arrive as pages from the paging
+             : library, pages are loaded as the grid scrolls and
+             : new generations are diffed against the current one
+             : on a background thread by AsyncPagingDataDiffer, so
+             : only the cells that actually changed are re-bound.
+             :
+             : Binding creates no objects (see InventoryCellBinder).
+             : The selected cell is tracked by its stable id, and a
+             : selection change re-binds only the colors of the two
+             : cells involved (PAYLOAD_SELECTION).
+             :
              : Comments have been added throughout to explain logic
 ********************************************************************/
 
 public class MyRecyclerViewAdapter extends RecyclerView.Adapter<MyRecyclerViewAdapter.ViewHolder> {
 
-    public String[] mData;
+    // payload of a selection change, only the cell colors are re-bound
+    static final Object PAYLOAD_SELECTION = new Object();
+
+    // inflate and bind latency, see InventoryMetrics
+    private static final InventoryMetrics.Timer TIMER_INFLATE = InventoryMetrics.timer("ui.inflate");
+    private static final InventoryMetrics.Timer TIMER_BIND = InventoryMetrics.timer("ui.bind");
+
+    // holds the loaded pages, computes item diffs off the UI thread and dispatches them as cell-level updates
+    private final AsyncPagingDataDiffer<InventoryItem> mDiffer;
     private LayoutInflater mInflater;
     private ItemClickListener mClickListener;
+    // cell colors, resolved once
+    private final InventoryCellBinder mBinder;
 
-    // added to record previously-selected position in the RecyclerView (used for 'deselection')
-    public int previousPosition;
+    // stable id of the selected cell, and the position it was last seen at
+    private long mSelectedCellId = RecyclerView.NO_ID;
+    private int mSelectedPosition = RecyclerView.NO_POSITION;
 
-    // data is passed into the constructor and inflated
-    MyRecyclerViewAdapter(Context context, String[] data) {
+    // adapter starts empty, data is provided with submitData()
+    MyRecyclerViewAdapter(Context context) {
         this.mInflater = LayoutInflater.from(context);
-        this.mData = data;
+        this.mBinder = new InventoryCellBinder(
+                ContextCompat.getColor(context, R.color.inventory_selected),    // blue
+                ContextCompat.getColor(context, R.color.white),
+                ContextCompat.getColor(context, R.color.inventory_deselected),  // light blue
+                ContextCompat.getColor(context, R.color.black));
+        this.mDiffer = new AsyncPagingDataDiffer<>(new InventoryItemDiffCallback(),
+                new InventoryCellUpdateCallback(new AdapterListUpdateCallback(this)));
+        // a cell keeps its view holder (and its selection) when rows are inserted or removed above it
+        setHasStableIds(true);
+    }
+
+    // presents a new generation of paged data, diffing it against the current pages in the background
+    void submitData(Lifecycle lifecycle, PagingData<InventoryItem> pagingData) {
+        mDiffer.submitData(lifecycle, pagingData);
+    }
+
+    // listener is called on the UI thread whenever pages are loaded, dropped or refreshed
+    void addOnPagesUpdatedListener(Runnable listener) {
+        mDiffer.addOnPagesUpdatedListener(() -> {
+            listener.run();
+            return Unit.INSTANCE;
+        });
     }
 
     // inflates the cell layout from xml when needed
     @Override
     @NonNull
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View view = mInflater.inflate(R.layout.inventory_item, parent, false);
-        return new ViewHolder(view);
+        long start = TIMER_INFLATE.start();
+        try {
+            View view = mInflater.inflate(R.layout.inventory_item, parent, false);
+            return new ViewHolder(view);
+        } finally {
+            TIMER_INFLATE.stop(start);
+        }
     }
 
     // binds the data to the TextView in each cell
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        holder.myTextView.setText(mData[position]); // populates cell with text
+        long start = TIMER_BIND.start();
+        try {
+            // getItem() on the differ also tells the pager where the grid is, which triggers prefetching
+            InventoryItem item = mDiffer.getItem(position / InventoryCellUpdateCallback.CELLS_PER_ITEM);
+            boolean selected = InventoryCellBinder.cellId(item, position) == mSelectedCellId;
+            if (selected) {
+                mSelectedPosition = position;
+            }
+            // populates cell with text and selected/deselected colors
+            mBinder.bind(holder, item, position, holder.mQuantityText, selected);
+        } finally {
+            TIMER_BIND.stop(start);
+        }
+    }
 
-        Log.i("BIND", "Value of position is: " + position);
-        Log.i("BIND", "Value of previousPosition is: " + previousPosition);
-        // changes selected/deselected cell colors
-        if(position == previousPosition) {
-            // selected item color
-            holder.myTextView.setBackgroundColor(Color.parseColor("#1435ED"));  // blue
-            holder.myTextView.setTextColor(Color.parseColor("#FFFFFF"));        // white
+    // a selection change only re-binds the colors, anything else is a full bind
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (!isSelectionOnly(payloads)) {
+            onBindViewHolder(holder, position);
+            return;
         }
-        else {
-            // deselected item color
-            holder.myTextView.setBackgroundColor(Color.parseColor("#9BBAE8"));  // light blue
-            holder.myTextView.setTextColor(Color.parseColor("#FF000000"));      // black
+        long start = TIMER_BIND.start();
+        try {
+            mBinder.bindSelection(holder, getItemId(position) == mSelectedCellId);
+        } finally {
+            TIMER_BIND.stop(start);
         }
     }
 
+    // indexed loop, a for-each would create an iterator on every bind
+    private static boolean isSelectionOnly(List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < payloads.size(); i++) {
+            if (payloads.get(i) != PAYLOAD_SELECTION) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // stable id of the cell, built from the item's row id
+    // uses peek() so RecyclerView asking for ids does not trigger page loads
+    @Override
+    public long getItemId(int position) {
+        InventoryItem item = mDiffer.peek(position / InventoryCellUpdateCallback.CELLS_PER_ITEM);
+        return item == null ? RecyclerView.NO_ID : InventoryCellBinder.cellId(item, position);
+    }
+
 
     // total number of cells
     @Override
     public int getItemCount() {
-        return mData.length;
+        return mDiffer.getItemCount() * InventoryCellUpdateCallback.CELLS_PER_ITEM;
+    }
+
+
+    // selects the cell at position, re-binding the colors of the old and the new selected cell
+    void setSelectedPosition(int position) {
+        int previous = getSelectedPosition();
+        mSelectedCellId = getItemId(position);
+        mSelectedPosition = position;
+        if (previous != position && previous != RecyclerView.NO_POSITION) {
+            notifyItemChanged(previous, PAYLOAD_SELECTION);
+        }
+        notifyItemChanged(position, PAYLOAD_SELECTION);
+    }
+
+    // current position of the selected cell, NO_POSITION if nothing is selected or its item is gone
+    int getSelectedPosition() {
+        if (mSelectedCellId == RecyclerView.NO_ID) {
+            return RecyclerView.NO_POSITION;
+        }
+        // usually the cell has not moved since it was last bound
+        if (mSelectedPosition != RecyclerView.NO_POSITION && mSelectedPosition < getItemCount()
+                && getItemId(mSelectedPosition) == mSelectedCellId) {
+            return mSelectedPosition;
+        }
+        // rows were inserted or removed, look for it among the loaded cells
+        mSelectedPosition = RecyclerView.NO_POSITION;
+        for (int i = 0; i < getItemCount(); i++) {
+            if (getItemId(i) == mSelectedCellId) {
+                mSelectedPosition = i;
+                break;
+            }
+        }
+        return mSelectedPosition;
     }
 
 
     // stores and recycles views as they are scrolled off screen
-    public class ViewHolder extends RecyclerView.ViewHolder implements View.OnClickListener {
+    public class ViewHolder extends RecyclerView.ViewHolder implements View.OnClickListener,
+            InventoryCellBinder.Cell {
         TextView myTextView;
+        // text of a quantity cell, reused by every bind of this cell
+        final char[] mQuantityText = new char[InventoryCellBinder.MAX_INT_CHARS];
 
         ViewHolder(View itemView) {
             super(itemView);
@@ -89,15 +215,49 @@ public class MyRecyclerViewAdapter extends RecyclerView.Adapter<MyRecyclerViewAd
         @Override
         public void onClick(View view) {
             if (mClickListener != null) mClickListener.onItemClick(view, getAdapterPosition());
-            previousPosition = getLayoutPosition();
+        }
+
+        @Override
+        public void showText(CharSequence text) {
+            myTextView.setText(text);
+        }
+
+        // TextView reads the buffer until the next setText(), which is exactly how the buffer is reused
+        @Override
+        public void showText(char[] buffer, int length) {
+            myTextView.setText(buffer, 0, length);
+        }
+
+        @Override
+        public void showColors(int background, int text) {
+            myTextView.setBackgroundColor(background);
+            myTextView.setTextColor(text);
         }
 
     } // end Viewholder()
 
 
-    // convenience method for getting data at click position
-    String getItem(int id) {
-        return mData[id];
+    // convenience method for getting the cell text at click position (item name or quantity)
+    String getItem(int position) {
+        return cellText(getInventoryItem(position), position);
+    }
+
+    // returns the inventory item that the cell at position belongs to
+    // uses peek() so looking up the selection does not trigger page loads
+    InventoryItem getInventoryItem(int position) {
+        return mDiffer.peek(position / InventoryCellUpdateCallback.CELLS_PER_ITEM);
+    }
+
+    // name cell is the first cell of an item, quantity cell the second
+    static boolean isQuantityCell(int position) {
+        return InventoryCellBinder.isQuantityCell(position);
+    }
+
+    private static String cellText(InventoryItem item, int position) {
+        if (isQuantityCell(position)) {
+            return Integer.toString(item.getQuantity());
+        }
+        return item.getName();
     }
 
 
@@ -0,0 +1,157 @@
+package com.cs360.netwiginventoryapp;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Salted PBKDF2-HMAC-SHA256 password hashes for the
+             : users table.
+             :
+             : Stored form (one TEXT column, no schema change):
+             :   pbkdf2-sha256$<iterations>$<salt>$<hash>
+             : salt and hash are Base64, the iteration count travels
+             : with each hash so raising the work factor never breaks
+             : existing logins.
+             :
+             : Anything without the prefix is a plaintext password
+             : from before hashing, it is still accepted (compared in
+             : constant time) and needsRehash() reports it so the
+             : caller can replace it after a successful login.
+             :
+             : Hashing and verifying are deliberately slow (that is
+             : the work factor), never call them on the main thread.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public final class PasswordHasher {
+
+    // work factor for new hashes, tuned with PasswordHashBenchmarkTest to keep a login on the devices we
+    // use near PasswordHashBenchmarkTest.TARGET_LOGIN_MS, hashes made with fewer are upgraded on login
+    public static final int DEFAULT_ITERATIONS = 120_000;
+
+    static final String PREFIX = "pbkdf2-sha256$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    // refuses stored counts above this, so a damaged row cannot stall a login for minutes
+    private static final int MAX_ITERATIONS = 10_000_000;
+
+    private final int mIterations;
+    private final SecureRandom mRandom = new SecureRandom();
+
+    public PasswordHasher() {
+        this(DEFAULT_ITERATIONS);
+    }
+
+    public PasswordHasher(int iterations) {
+        if (iterations < 1 || iterations > MAX_ITERATIONS) {
+            throw new IllegalArgumentException("iterations must be between 1 and " + MAX_ITERATIONS);
+        }
+        this.mIterations = iterations;
+    }
+
+    public int getIterations() {
+        return mIterations;
+    }
+
+    // returns a new salted hash of password in the stored form
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        mRandom.nextBytes(salt);
+        byte[] hash = derive(password, salt, mIterations, HASH_BITS);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + mIterations + "$" + base64.encodeToString(salt) + "$" + base64.encodeToString(hash);
+    }
+
+    // returns true if password matches stored (a hash or a legacy plaintext password)
+    // a malformed hash never matches
+    public boolean verify(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        if (!isHashed(stored)) {
+            return constantTimeEquals(password.getBytes(StandardCharsets.UTF_8),
+                    stored.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String[] parts = stored.substring(PREFIX.length()).split("\\$", -1);
+        if (parts.length != 3) {
+            return false;
+        }
+        int iterations = parseIterations(parts[0]);
+        byte[] salt;
+        byte[] expected;
+        try {
+            salt = Base64.getDecoder().decode(parts[1]);
+            expected = Base64.getDecoder().decode(parts[2]);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (iterations < 1 || salt.length == 0 || expected.length == 0) {
+            return false;
+        }
+        return constantTimeEquals(derive(password, salt, iterations, expected.length * 8), expected);
+    }
+
+    // returns true if stored should be replaced by hash(password) once password has been verified:
+    // it is plaintext or uses fewer iterations than this hasher
+    public boolean needsRehash(String stored) {
+        if (stored == null || !isHashed(stored)) {
+            return true;
+        }
+        int end = stored.indexOf('$', PREFIX.length());
+        return end < 0 || parseIterations(stored.substring(PREFIX.length(), end)) < mIterations;
+    }
+
+    // returns true if stored is in the hashed form rather than a legacy plaintext password
+    public static boolean isHashed(String stored) {
+        return stored.startsWith(PREFIX);
+    }
+
+    // compares every byte whatever the contents, so the time taken says nothing about how much of a
+    // guess was right, only the lengths (public for hashes) can make it return early
+    static boolean constantTimeEquals(byte[] a, byte[] b) {
+        if (a.length != b.length) {
+            return false;
+        }
+        int diff = 0;
+        for (int i = 0; i < a.length; i++) {
+            diff |= a[i] ^ b[i];
+        }
+        return diff == 0;
+    }
+
+    // iteration count field of a stored hash, or -1 if it is not a usable number
+    private static int parseIterations(String field) {
+        try {
+            int iterations = Integer.parseInt(field);
+            return iterations <= MAX_ITERATIONS ? iterations : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations, int bits) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, bits);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            // PBKDF2WithHmacSHA256 is available on every supported API level (26+)
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+} // end PasswordHasher()
@@ -0,0 +1,44 @@
+package com.cs360.netwiginventoryapp;
+
+import java.util.Collections;
+import java.util.List;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Outcome of applying one batch of barcode scans.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public final class ScanResult {
+
+    private final int mScansApplied;
+    private final int mItemsUpdated;
+    private final List<String> mUnknownCodes;
+
+    public ScanResult(int scansApplied, int itemsUpdated, List<String> unknownCodes) {
+        this.mScansApplied = scansApplied;
+        this.mItemsUpdated = itemsUpdated;
+        this.mUnknownCodes = Collections.unmodifiableList(unknownCodes);
+    }
+
+    // scans that matched an item and were added to its quantity
+    public int getScansApplied() {
+        return mScansApplied;
+    }
+
+    // distinct items whose quantity changed
+    public int getItemsUpdated() {
+        return mItemsUpdated;
+    }
+
+    // codes in the batch that no item has, each listed once
+    public List<String> getUnknownCodes() {
+        return mUnknownCodes;
+    }
+
+} // end ScanResult()
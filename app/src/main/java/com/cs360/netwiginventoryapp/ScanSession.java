@@ -0,0 +1,135 @@
+package com.cs360.netwiginventoryapp;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : "Scan mode" for receiving stock with a barcode
+             : scanner. Each scan adds one to the scanned item.
+             :
+             : Scans are collected and counted per code, then handed
+             : to the Flusher as one batch when maxBatch scans have
+             : been collected or maxDelayMillis after the first scan
+             : of a batch, whichever comes first. The Flusher applies
+             : the whole batch in one transaction, so 10 scans of
+             : the same box are one UPDATE of +10 and a burst of
+             : scans costs one commit instead of one per scan.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class ScanSession {
+
+    public static final int DEFAULT_MAX_BATCH = 200;
+    public static final long DEFAULT_MAX_DELAY_MS = 500;
+
+    // applies one batch, code -> number of times it was scanned (in first-scanned order)
+    public interface Flusher {
+        void flush(Map<String, Integer> countsByCode);
+    }
+
+    private final Flusher mFlusher;
+    private final LowStockAlertEngine.Scheduler mScheduler;
+    private final int mMaxBatch;
+    private final long mMaxDelayMillis;
+
+    private Map<String, Integer> mPending = new LinkedHashMap<>();
+    private int mPendingScans;
+    private boolean mFlushScheduled;
+    private boolean mClosed;
+
+    private long mScans;
+    private long mBatches;
+
+    public ScanSession(Flusher flusher, LowStockAlertEngine.Scheduler scheduler, int maxBatch, long maxDelayMillis) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch must be greater than 0");
+        }
+        this.mFlusher = flusher;
+        this.mScheduler = scheduler;
+        this.mMaxBatch = maxBatch;
+        this.mMaxDelayMillis = maxDelayMillis;
+    }
+
+    // records one scan, blank codes (a scanner's stray Enter) are ignored
+    public void scan(String code) {
+        if (code == null) {
+            return;
+        }
+        code = code.trim();
+        if (code.isEmpty()) {
+            return;
+        }
+
+        boolean full;
+        boolean scheduleFlush = false;
+        synchronized (this) {
+            if (mClosed) {
+                throw new IllegalStateException("ScanSession is closed");
+            }
+            Integer count = mPending.get(code);
+            mPending.put(code, count == null ? 1 : count + 1);
+            mPendingScans++;
+            mScans++;
+            full = mPendingScans >= mMaxBatch;
+            if (!full && !mFlushScheduled) {
+                mFlushScheduled = true;
+                scheduleFlush = true;
+            }
+        }
+
+        if (full) {
+            flush();
+        } else if (scheduleFlush) {
+            mScheduler.schedule(this::onFlushDue, mMaxDelayMillis);
+        }
+    }
+
+    // hands every pending scan to the Flusher now
+    public void flush() {
+        Map<String, Integer> batch;
+        synchronized (this) {
+            if (mPending.isEmpty()) {
+                return;
+            }
+            batch = mPending;
+            mPending = new LinkedHashMap<>();
+            mPendingScans = 0;
+            mBatches++;
+        }
+        mFlusher.flush(batch);
+    }
+
+    // flushes what is left, later scans are rejected
+    public void close() {
+        synchronized (this) {
+            mClosed = true;
+        }
+        flush();
+    }
+
+    private void onFlushDue() {
+        synchronized (this) {
+            mFlushScheduled = false;
+        }
+        flush();
+    }
+
+    public synchronized int getPendingScans() {
+        return mPendingScans;
+    }
+
+    public synchronized long getScanCount() {
+        return mScans;
+    }
+
+    public synchronized long getBatchCount() {
+        return mBatches;
+    }
+
+} // end ScanSession()
@@ -0,0 +1,113 @@
+package com.cs360.netwiginventoryapp;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : In-memory SKU/barcode -> primary key map for the
+             : inventory table, so resolving a scanned code is a
+             : HashMap hit instead of a query.
+             :
+             : It is loaded from the table on first use (a read of
+             : the partial SKU index only) and InventoryDatabase
+             : applies every SKU assignment and delete to it, the
+             : same write-through scheme as InventoryCache.
+             :
+             : SKUs are compared exactly, barcodes are case
+             : sensitive.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class SkuIndex {
+
+    // id returned when a SKU is not assigned to any item
+    public static final long NOT_FOUND = -1;
+
+    private Map<String, Long> mIdsBySku;
+    // reverse map, so a deleted or re-coded item's old SKU can be dropped without a search
+    private final Map<Long, String> mSkusById = new HashMap<>();
+
+    private long mHits;
+    private long mLoads;
+
+    public synchronized boolean isLoaded() {
+        return mIdsBySku != null;
+    }
+
+    // replaces the contents with skus[i] -> ids[i] for every item that has a SKU
+    public synchronized void load(String[] skus, long[] ids, int count) {
+        mIdsBySku = new HashMap<>(Math.max(16, count * 2));
+        mSkusById.clear();
+        for (int i = 0; i < count; i++) {
+            mIdsBySku.put(skus[i], ids[i]);
+            mSkusById.put(ids[i], skus[i]);
+        }
+        mLoads++;
+    }
+
+    // drops the map, the next lookup reloads it from the table
+    public synchronized void invalidate() {
+        mIdsBySku = null;
+        mSkusById.clear();
+    }
+
+    // returns the primary key of the item with this SKU, or NOT_FOUND
+    // callers must check isLoaded() first
+    public synchronized long idOf(String sku) {
+        checkLoaded();
+        mHits++;
+        Long id = mIdsBySku.get(sku);
+        return id == null ? NOT_FOUND : id;
+    }
+
+    // returns the SKU of the item with primary key id, or null if it has none
+    public synchronized String skuOf(long id) {
+        checkLoaded();
+        return mSkusById.get(id);
+    }
+
+    // called after the item with primary key id has been given sku (null clears it)
+    public synchronized void onSkuChanged(long id, String sku) {
+        if (mIdsBySku == null) {
+            return; // nothing loaded yet, the next load reads the new SKU
+        }
+        String old = mSkusById.remove(id);
+        if (old != null) {
+            mIdsBySku.remove(old);
+        }
+        if (sku != null) {
+            mIdsBySku.put(sku, id);
+            mSkusById.put(id, sku);
+        }
+    }
+
+    // called after the item with primary key id has been deleted
+    public synchronized void onDeleted(long id) {
+        onSkuChanged(id, null);
+    }
+
+    public synchronized int size() {
+        return mIdsBySku == null ? 0 : mIdsBySku.size();
+    }
+
+    public synchronized long getHitCount() {
+        return mHits;
+    }
+
+    public synchronized long getLoadCount() {
+        return mLoads;
+    }
+
+    private void checkLoaded() {
+        if (mIdsBySku == null) {
+            throw new IllegalStateException("SkuIndex is not loaded");
+        }
+    }
+
+} // end SkuIndex()
@@ -0,0 +1,60 @@
+package com.cs360.netwiginventoryapp;
+
+import android.Manifest;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.telephony.SmsManager;
+import android.util.Log;
+
+import androidx.core.content.ContextCompat;
+
+import java.util.ArrayList;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : AlertSender that sends a text message using the
+             : android.telephony.SmsManager (the SMS code that was
+             : InventoryActivity.notificationsHandler()).
+             : Nothing is sent unless the user has granted the
+             : SEND_SMS permission.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class SmsAlertSender implements AlertSender {
+
+    // SMS destination address constant (set to phone number of Android Emulator)
+    public static final String SMS_DESTINATION = "6505551212";
+
+    private final Context mContext;
+
+    public SmsAlertSender(Context context) {
+        // application context so the sender never holds on to an Activity
+        this.mContext = context.getApplicationContext();
+    }
+
+    @Override
+    public boolean send(String destination, String message) {
+        if (ContextCompat.checkSelfPermission(mContext, Manifest.permission.SEND_SMS) == PackageManager.PERMISSION_DENIED) {
+            if (BuildConfig.DEBUG) {
+                Log.i("SMS", "SMS not granted, alert dropped: " + message);
+            }
+            return false;
+        }
+
+        SmsManager smsManager = SmsManager.getDefault();
+        // a digest can be longer than one SMS, split it instead of letting the carrier truncate it
+        ArrayList<String> parts = smsManager.divideMessage(message);
+        if (parts.size() > 1) {
+            smsManager.sendMultipartTextMessage(destination, null, parts, null, null);
+        } else {
+            smsManager.sendTextMessage(destination, null, message, null, null);
+        }
+        return true;
+    }
+
+} // end SmsAlertSender()
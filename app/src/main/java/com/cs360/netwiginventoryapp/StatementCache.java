@@ -0,0 +1,76 @@
+package com.cs360.netwiginventoryapp;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Cache of precompiled, parameterized SQLiteStatements
+             : keyed by their SQL text.
+             : Each statement is compiled once against the long-lived
+             : connection and re-bound on every call, so SQLite does
+             : not have to parse and plan the query again.
+             :
+             : A cached SQLiteStatement is not thread-safe, callers
+             : must synchronize on the statement while binding and
+             : executing it.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class StatementCache {
+
+    private final Map<String, SQLiteStatement> mStatements = new HashMap<>();
+    // connection the cached statements were compiled against
+    private SQLiteDatabase mDb;
+
+    private final AtomicLong mHits = new AtomicLong();
+    private final AtomicLong mMisses = new AtomicLong();
+
+    // returns the compiled statement for sql, compiling and caching it on the first request
+    public synchronized SQLiteStatement acquire(SQLiteDatabase db, String sql) {
+        if (db != mDb) {
+            // statements belong to a connection, so a reopened database invalidates the cache
+            clear();
+            mDb = db;
+        }
+
+        SQLiteStatement statement = mStatements.get(sql);
+        if (statement == null) {
+            mMisses.incrementAndGet();
+            statement = db.compileStatement(sql);
+            mStatements.put(sql, statement);
+        } else {
+            mHits.incrementAndGet();
+        }
+        return statement;
+    }
+
+    // closes and forgets every cached statement, called when the connection is closed
+    public synchronized void clear() {
+        for (SQLiteStatement statement : mStatements.values()) {
+            statement.close();
+        }
+        mStatements.clear();
+        mDb = null;
+    }
+
+    // number of acquire() calls that reused an already compiled statement
+    public long getHitCount() {
+        return mHits.get();
+    }
+
+    // number of acquire() calls that had to compile a new statement
+    public long getMissCount() {
+        return mMisses.get();
+    }
+
+} // end StatementCache()
@@ -0,0 +1,34 @@
+package com.cs360.netwiginventoryapp;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Immutable relative quantity change for one item,
+             : positive when receiving stock and negative when
+             : picking it.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public final class StockAdjustment {
+
+    private final long mId;
+    private final int mDelta;
+
+    public StockAdjustment(long id, int delta) {
+        this.mId = id;
+        this.mDelta = delta;
+    }
+
+    public long getId() {
+        return mId;
+    }
+
+    public int getDelta() {
+        return mDelta;
+    }
+
+} // end StockAdjustment()
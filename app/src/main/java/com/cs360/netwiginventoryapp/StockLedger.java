@@ -0,0 +1,255 @@
+package com.cs360.netwiginventoryapp;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Append-only stock movement ledger for the inventory
+             : table, with snapshot compaction.
+             :
+             : - every insert, quantity change and delete of an
+             :   inventory row appends a movement (item, kind, delta,
+             :   time); triggers write it inside the same statement
+             :   as the change, so the ledger can never disagree
+             :   with the table whichever code path made the change
+             : - compact() folds movements older than a cutoff into
+             :   one snapshot row per item and deletes them, so the
+             :   ledger only holds recent history
+             : - quantityAt() answers "how many at time t" from the
+             :   item's latest snapshot at or before t plus the few
+             :   movements after it, two index range reads
+             :
+             : Times older than the last compaction resolve to the
+             : snapshot taken at or before them. Each compaction
+             : also drops the snapshots superseded before a
+             : retention horizon, keeping the latest one per item,
+             : and every snapshot of an item deleted before it, so
+             : the snapshot table stays bounded by the live items
+             : too. Times before an item's oldest kept snapshot
+             : resolve to 0.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public final class StockLedger {
+
+    static final String MOVEMENT_TABLE = "stock_movements";
+    static final String COL_ID = "_id";
+    static final String COL_ITEM_ID = "itemid";
+    static final String COL_KIND = "kind";
+    static final String COL_DELTA = "delta";
+    static final String COL_CREATED_AT = "createdat";
+    // (itemid, createdat) plus the rowid covers the replay query without touching the table
+    static final String IDX_MOVEMENT_ITEM_TIME = "idx_stock_movements_item_time";
+    // used by compaction to find everything older than the cutoff
+    static final String IDX_MOVEMENT_TIME = "idx_stock_movements_time";
+
+    static final String SNAPSHOT_TABLE = "stock_snapshots";
+    static final String COL_AS_OF = "asof";
+    static final String COL_QUANTITY = "quantity";
+
+    // how long superseded snapshots are kept after a compaction, point-in-time answers go back this far
+    static final long SNAPSHOT_RETENTION_MS = TimeUnit.DAYS.toMillis(365);
+
+    // current time in epoch milliseconds, evaluated by SQLite inside the triggers
+    private static final String NOW_MILLIS = "CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)";
+
+    private static final String SQL_LATEST_SNAPSHOT = "SELECT " + COL_QUANTITY + " FROM " + SNAPSHOT_TABLE
+            + " WHERE " + COL_ITEM_ID + " = ? AND " + COL_AS_OF + " <= ? ORDER BY " + COL_AS_OF + " DESC LIMIT 1";
+    // every movement still in the ledger is newer than the last compaction, so the ones up to the
+    // requested time are exactly the ones to add to the snapshot
+    private static final String SQL_REPLAY = "SELECT TOTAL(" + COL_DELTA + ") FROM " + MOVEMENT_TABLE
+            + " WHERE " + COL_ITEM_ID + " = ? AND " + COL_CREATED_AT + " <= ?";
+    private static final String SQL_READ_MOVEMENTS = "SELECT " + COL_ID + ", " + COL_ITEM_ID + ", " + COL_KIND + ", "
+            + COL_DELTA + ", " + COL_CREATED_AT + " FROM " + MOVEMENT_TABLE + " WHERE " + COL_ITEM_ID + " = ?"
+            + " ORDER BY " + COL_CREATED_AT + " DESC, " + COL_ID + " DESC LIMIT ?";
+    private static final String SQL_LAST_COMPACTION = "SELECT MAX(" + COL_AS_OF + ") FROM " + SNAPSHOT_TABLE;
+
+    // one new snapshot per item with movements up to the cutoff: its previous snapshot plus those movements
+    private static final String SQL_FOLD_INTO_SNAPSHOTS = "INSERT OR REPLACE INTO " + SNAPSHOT_TABLE + " ("
+            + COL_ITEM_ID + ", " + COL_AS_OF + ", " + COL_QUANTITY + ")"
+            + " SELECT m." + COL_ITEM_ID + ", ?1, IFNULL((SELECT s." + COL_QUANTITY + " FROM " + SNAPSHOT_TABLE
+            + " s WHERE s." + COL_ITEM_ID + " = m." + COL_ITEM_ID + " ORDER BY s." + COL_AS_OF + " DESC LIMIT 1), 0)"
+            + " + SUM(m." + COL_DELTA + ") FROM " + MOVEMENT_TABLE + " m"
+            + " WHERE m." + COL_CREATED_AT + " <= ?1 GROUP BY m." + COL_ITEM_ID;
+    private static final String SQL_DELETE_FOLDED = "DELETE FROM " + MOVEMENT_TABLE + " WHERE " + COL_CREATED_AT + " <= ?";
+    // a snapshot is superseded once the same item has a newer one at or before the horizon, which
+    // leaves each item its latest snapshot at or before the horizon plus every newer one
+    private static final String SQL_PRUNE_SUPERSEDED = "DELETE FROM " + SNAPSHOT_TABLE + " WHERE EXISTS (SELECT 1 FROM "
+            + SNAPSHOT_TABLE + " s WHERE s." + COL_ITEM_ID + " = " + SNAPSHOT_TABLE + "." + COL_ITEM_ID
+            + " AND s." + COL_AS_OF + " > " + SNAPSHOT_TABLE + "." + COL_AS_OF + " AND s." + COL_AS_OF + " <= ?1)";
+
+    private StockLedger() {
+    }
+
+    // creates the ledger tables, indexes and the triggers on the inventory table
+    static void createSchema(SQLiteDatabase db, String inventoryTable, String idColumn, String qtyColumn) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + MOVEMENT_TABLE + " ("
+                + COL_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + COL_ITEM_ID + " INTEGER NOT NULL, "
+                + COL_KIND + " INTEGER NOT NULL, "
+                + COL_DELTA + " INTEGER NOT NULL, "
+                + COL_CREATED_AT + " INTEGER NOT NULL)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + IDX_MOVEMENT_ITEM_TIME + " ON " + MOVEMENT_TABLE
+                + " (" + COL_ITEM_ID + ", " + COL_CREATED_AT + ", " + COL_DELTA + ")");
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + IDX_MOVEMENT_TIME + " ON " + MOVEMENT_TABLE
+                + " (" + COL_CREATED_AT + ")");
+
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + SNAPSHOT_TABLE + " ("
+                + COL_ITEM_ID + " INTEGER NOT NULL, "
+                + COL_AS_OF + " INTEGER NOT NULL, "
+                + COL_QUANTITY + " INTEGER NOT NULL, "
+                + "PRIMARY KEY (" + COL_ITEM_ID + ", " + COL_AS_OF + ")) WITHOUT ROWID");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + MOVEMENT_TABLE + "_ai AFTER INSERT ON " + inventoryTable
+                + " BEGIN " + appendMovement("new." + idColumn, StockMovement.KIND_ADD, "new." + qtyColumn) + " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + MOVEMENT_TABLE + "_au AFTER UPDATE OF " + qtyColumn
+                + " ON " + inventoryTable + " WHEN new." + qtyColumn + " <> old." + qtyColumn
+                + " BEGIN " + appendMovement("new." + idColumn, StockMovement.KIND_ADJUST,
+                "new." + qtyColumn + " - old." + qtyColumn) + " END");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS " + MOVEMENT_TABLE + "_ad AFTER DELETE ON " + inventoryTable
+                + " BEGIN " + appendMovement("old." + idColumn, StockMovement.KIND_DELETE, "-old." + qtyColumn) + " END");
+    }
+
+    // records the current quantity of every existing row as its opening movement
+    static void seedFromInventory(SQLiteDatabase db, String inventoryTable, String idColumn, String qtyColumn) {
+        db.execSQL("INSERT INTO " + MOVEMENT_TABLE + " (" + COL_ITEM_ID + ", " + COL_KIND + ", " + COL_DELTA + ", "
+                + COL_CREATED_AT + ") SELECT " + idColumn + ", " + StockMovement.KIND_ADD + ", " + qtyColumn + ", "
+                + NOW_MILLIS + " FROM " + inventoryTable + " ORDER BY " + idColumn);
+    }
+
+    private static String appendMovement(String itemId, int kind, String delta) {
+        return "INSERT INTO " + MOVEMENT_TABLE + " (" + COL_ITEM_ID + ", " + COL_KIND + ", " + COL_DELTA + ", "
+                + COL_CREATED_AT + ") VALUES (" + itemId + ", " + kind + ", " + delta + ", " + NOW_MILLIS + ");";
+    }
+
+    // returns the quantity item had at timeMillis, 0 if it did not exist yet (or had been deleted)
+    static int quantityAt(SQLiteDatabase db, long itemId, long timeMillis) {
+        String item = Long.toString(itemId);
+        String time = Long.toString(timeMillis);
+
+        long quantity = 0;
+        Cursor snapshot = db.rawQuery(SQL_LATEST_SNAPSHOT, new String[] { item, time });
+        try {
+            if (snapshot.moveToFirst()) {
+                quantity = snapshot.getLong(0);
+            }
+        } finally {
+            snapshot.close();
+        }
+
+        // replays only the movements after the snapshot, compaction keeps this range short
+        Cursor replay = db.rawQuery(SQL_REPLAY, new String[] { item, time });
+        try {
+            replay.moveToFirst();
+            quantity += replay.getLong(0);
+        } finally {
+            replay.close();
+        }
+        return (int) quantity;
+    }
+
+    // returns up to limit movements of item, newest first
+    static List<StockMovement> readMovements(SQLiteDatabase db, long itemId, int limit) {
+        Cursor cursor = db.rawQuery(SQL_READ_MOVEMENTS, new String[] { Long.toString(itemId), Integer.toString(limit) });
+        try {
+            List<StockMovement> movements = new ArrayList<StockMovement>(cursor.getCount());
+            while (cursor.moveToNext()) {
+                movements.add(new StockMovement(cursor.getLong(0), cursor.getLong(1), cursor.getInt(2),
+                        cursor.getInt(3), cursor.getLong(4)));
+            }
+            return movements;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    // every snapshot of an item that is gone from the inventory table, has no movements left and no
+    // snapshot after the horizon, its last snapshot is the 0 its delete left
+    private static String pruneDeleted(String inventoryTable, String idColumn) {
+        return "DELETE FROM " + SNAPSHOT_TABLE + " WHERE NOT EXISTS (SELECT 1 FROM " + inventoryTable
+                + " i WHERE i." + idColumn + " = " + SNAPSHOT_TABLE + "." + COL_ITEM_ID + ")"
+                + " AND NOT EXISTS (SELECT 1 FROM " + MOVEMENT_TABLE + " m WHERE m." + COL_ITEM_ID + " = "
+                + SNAPSHOT_TABLE + "." + COL_ITEM_ID + ")"
+                + " AND NOT EXISTS (SELECT 1 FROM " + SNAPSHOT_TABLE + " s WHERE s." + COL_ITEM_ID + " = "
+                + SNAPSHOT_TABLE + "." + COL_ITEM_ID + " AND s." + COL_AS_OF + " > ?1)";
+    }
+
+    // folds every movement at or before cutoffMillis into snapshots and deletes them, then drops the
+    // snapshots superseded or deleted at or before horizonMillis, all in one transaction
+    // a cutoff at or before the previous compaction's is ignored, returns the number of movements folded
+    static int compact(SQLiteDatabase db, String inventoryTable, String idColumn, long cutoffMillis,
+                       long horizonMillis) {
+        db.beginTransaction();
+        try {
+            SQLiteStatement last = db.compileStatement(SQL_LAST_COMPACTION);
+            String lastCutoff;
+            try {
+                lastCutoff = last.simpleQueryForString();
+            } finally {
+                last.close();
+            }
+            if (lastCutoff != null && cutoffMillis <= Long.parseLong(lastCutoff)) {
+                return 0;
+            }
+
+            SQLiteStatement fold = db.compileStatement(SQL_FOLD_INTO_SNAPSHOTS);
+            SQLiteStatement delete = db.compileStatement(SQL_DELETE_FOLDED);
+            SQLiteStatement pruneSuperseded = db.compileStatement(SQL_PRUNE_SUPERSEDED);
+            SQLiteStatement pruneDeleted = db.compileStatement(pruneDeleted(inventoryTable, idColumn));
+            int folded;
+            try {
+                fold.bindLong(1, cutoffMillis);
+                fold.execute();
+                delete.bindLong(1, cutoffMillis);
+                folded = delete.executeUpdateDelete();
+
+                // the horizon never passes the cutoff, the snapshot just taken is always kept
+                long horizon = Math.min(horizonMillis, cutoffMillis);
+                pruneSuperseded.bindLong(1, horizon);
+                pruneSuperseded.executeUpdateDelete();
+                pruneDeleted.bindLong(1, horizon);
+                pruneDeleted.executeUpdateDelete();
+            } finally {
+                fold.close();
+                delete.close();
+                pruneSuperseded.close();
+                pruneDeleted.close();
+            }
+            db.setTransactionSuccessful();
+            return folded;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // number of movements currently in the ledger
+    static long countMovements(SQLiteDatabase db) {
+        return count(db, MOVEMENT_TABLE);
+    }
+
+    // number of snapshots currently kept
+    static long countSnapshots(SQLiteDatabase db) {
+        return count(db, SNAPSHOT_TABLE);
+    }
+
+    private static long count(SQLiteDatabase db, String table) {
+        SQLiteStatement count = db.compileStatement("SELECT COUNT(*) FROM " + table);
+        try {
+            return count.simpleQueryForLong();
+        } finally {
+            count.close();
+        }
+    }
+
+} // end StockLedger()
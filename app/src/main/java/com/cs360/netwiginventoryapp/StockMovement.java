@@ -0,0 +1,57 @@
+package com.cs360.netwiginventoryapp;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Immutable entry of the stock movement ledger, one
+             : change to one item's quantity.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public final class StockMovement {
+
+    // kinds of movement, stored in the ledger's kind column
+    public static final int KIND_ADD = 1;       // item created with a starting quantity
+    public static final int KIND_ADJUST = 2;    // quantity changed (set, adjusted, imported or synced)
+    public static final int KIND_DELETE = 3;    // item deleted, its remaining quantity leaves the ledger
+
+    private final long mId;
+    private final long mItemId;
+    private final int mKind;
+    private final int mDelta;
+    private final long mCreatedAtMillis;
+
+    public StockMovement(long id, long itemId, int kind, int delta, long createdAtMillis) {
+        this.mId = id;
+        this.mItemId = itemId;
+        this.mKind = kind;
+        this.mDelta = delta;
+        this.mCreatedAtMillis = createdAtMillis;
+    }
+
+    public long getId() {
+        return mId;
+    }
+
+    public long getItemId() {
+        return mItemId;
+    }
+
+    public int getKind() {
+        return mKind;
+    }
+
+    public int getDelta() {
+        return mDelta;
+    }
+
+    // wall-clock time of the change, milliseconds since the epoch
+    public long getCreatedAtMillis() {
+        return mCreatedAtMillis;
+    }
+
+} // end StockMovement()
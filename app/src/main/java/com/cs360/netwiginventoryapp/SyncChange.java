@@ -0,0 +1,90 @@
+package com.cs360.netwiginventoryapp;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Immutable change to one synced inventory row, as it
+             : travels between the device and the sync server.
+             :
+             : - pushed changes carry the delta made on this device
+             :   since the server version it was based on
+             : - pushed results and pulled changes carry the server's
+             :   merged quantity and the row's new server version
+             :
+             : Rows are identified across devices by syncId, the
+             : local _id (id) only means something on this device.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public final class SyncChange {
+
+    private final long mId;
+    private final String mSyncId;
+    private final String mName;
+    private final int mDelta;
+    private final int mQuantity;
+    private final long mVersion;
+    private final boolean mDeleted;
+    // set on a push result when the server already had an item with this name, the row is
+    // re-keyed to the server's syncId instead of creating a duplicate
+    private final String mMergedInto;
+
+    public SyncChange(long id, String syncId, String name, int delta, int quantity, long version,
+                      boolean deleted, String mergedInto) {
+        this.mId = id;
+        this.mSyncId = syncId;
+        this.mName = name;
+        this.mDelta = delta;
+        this.mQuantity = quantity;
+        this.mVersion = version;
+        this.mDeleted = deleted;
+        this.mMergedInto = mergedInto;
+    }
+
+    // a local change to push, version is the server version the delta was made against (0 if new)
+    public static SyncChange outgoing(long id, String syncId, String name, int delta, int quantity, long baseVersion) {
+        return new SyncChange(id, syncId, name, delta, quantity, baseVersion, false, null);
+    }
+
+    // the server's state of a row, from a push result or a pull
+    public static SyncChange incoming(String syncId, String name, int quantity, long version, boolean deleted) {
+        return new SyncChange(0, syncId, name, 0, quantity, version, deleted, null);
+    }
+
+    public long getId() {
+        return mId;
+    }
+
+    public String getSyncId() {
+        return mSyncId;
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    public int getDelta() {
+        return mDelta;
+    }
+
+    public int getQuantity() {
+        return mQuantity;
+    }
+
+    public long getVersion() {
+        return mVersion;
+    }
+
+    public boolean isDeleted() {
+        return mDeleted;
+    }
+
+    public String getMergedInto() {
+        return mMergedInto;
+    }
+
+} // end SyncChange()
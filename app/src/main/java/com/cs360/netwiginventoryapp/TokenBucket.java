@@ -0,0 +1,79 @@
+package com.cs360.netwiginventoryapp;
+
+import java.util.function.LongSupplier;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Token-bucket rate limiter.
+             : Holds up to capacity tokens and gains one token every
+             : refillMillis; each send takes a token, so at most
+             : capacity messages go out in a burst and after that no
+             : more than one per refillMillis.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+public class TokenBucket {
+
+    private final int mCapacity;
+    private final long mRefillMillis;
+    // current time in milliseconds, SystemClock.elapsedRealtime() in the app, a fake clock in tests
+    private final LongSupplier mClock;
+
+    private int mTokens;
+    // time the next token is due
+    private long mNextRefillAt;
+
+    public TokenBucket(int capacity, long refillMillis, LongSupplier clock) {
+        if (capacity <= 0 || refillMillis <= 0) {
+            throw new IllegalArgumentException("capacity and refillMillis must be greater than 0");
+        }
+        this.mCapacity = capacity;
+        this.mRefillMillis = refillMillis;
+        this.mClock = clock;
+        // starts full
+        this.mTokens = capacity;
+        this.mNextRefillAt = clock.getAsLong() + refillMillis;
+    }
+
+    // takes a token if one is available, returns false if the caller must wait
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (mTokens == 0) {
+            return false;
+        }
+        mTokens--;
+        return true;
+    }
+
+    // returns how long until tryAcquire() will succeed, 0 if a token is available now
+    public synchronized long millisUntilNextToken() {
+        refill();
+        return mTokens > 0 ? 0 : mNextRefillAt - mClock.getAsLong();
+    }
+
+    public synchronized int getAvailableTokens() {
+        refill();
+        return mTokens;
+    }
+
+    // adds the tokens earned since the last refill, without ever going over capacity
+    private void refill() {
+        long now = mClock.getAsLong();
+        if (now < mNextRefillAt) {
+            return;
+        }
+        long earned = 1 + (now - mNextRefillAt) / mRefillMillis;
+        mTokens = (int) Math.min(mCapacity, mTokens + earned);
+        mNextRefillAt += earned * mRefillMillis;
+        if (mTokens == mCapacity) {
+            // a full bucket does not bank time towards the next token
+            mNextRefillAt = now + mRefillMillis;
+        }
+    }
+
+} // end TokenBucket()
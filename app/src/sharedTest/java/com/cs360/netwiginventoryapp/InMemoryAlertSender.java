@@ -0,0 +1,20 @@
+package com.cs360.netwiginventoryapp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AlertSender stand-in for local and instrumented tests, records each message instead of sending it.
+ */
+public class InMemoryAlertSender implements AlertSender {
+
+    public final List<String> destinations = new ArrayList<>();
+    public final List<String> messages = new ArrayList<>();
+
+    @Override
+    public synchronized boolean send(String destination, String message) {
+        destinations.add(destination);
+        messages.add(message);
+        return true;
+    }
+}
@@ -0,0 +1,275 @@
+package com.cs360.netwiginventoryapp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Conformance and benchmark suite every InventoryStore implementation runs, shared by the local
+ * (in-memory, mapped log) and instrumented (SQLite) tests through src/sharedTest.
+ */
+public abstract class InventoryStoreContractTest {
+
+    // rows used by the throughput benchmark
+    private static final int BENCHMARK_ROWS = 20_000;
+
+    protected InventoryStore mStore;
+
+    // returns a new, empty store
+    protected abstract InventoryStore createStore() throws Exception;
+
+    // short name reported with the benchmark numbers
+    protected abstract String storeName();
+
+    // reports one line of benchmark numbers, the instrumented run logs it under the BENCHMARK tag like
+    // the other device benchmarks, the local runs (no android.util.Log there) do not report
+    protected void reportBenchmark(String line) {
+    }
+
+    @Before
+    public void setUpStore() throws Exception {
+        mStore = createStore();
+    }
+
+    // subclasses that override this to clean up must call it first
+    @After
+    public void tearDownStore() throws Exception {
+        mStore.close();
+    }
+
+    private long idOf(String item_name) {
+        InventoryItemStore items = mStore.readInventory();
+        for (int i = 0; i < items.size(); i++) {
+            if (items.getName(i).equals(item_name)) {
+                return items.getId(i);
+            }
+        }
+        fail("no item named " + item_name);
+        return -1;
+    }
+
+    private int quantityOf(long id) {
+        InventoryItemStore items = mStore.readInventory();
+        int index = items.indexOfId(id);
+        assertTrue("no item with id " + id, index >= 0);
+        return items.getQuantity(index);
+    }
+
+    /*
+     ***************************************
+     * *   Conformance
+     * *************************************
+     */
+
+    @Test
+    public void userNamesIgnoreCaseAndPasswordsAreStoredAsGiven() {
+        assertFalse(mStore.userLookup("chad"));
+        assertNull(mStore.readPasswordHash("chad"));
+        mStore.addUser("Chad", "Secret");
+
+        assertTrue(mStore.userLookup("chad"));
+        assertTrue(mStore.userLookup("CHAD"));
+        assertEquals("Secret", mStore.readPasswordHash("chad"));
+        assertNull(mStore.readPasswordHash("other"));
+
+        // a later user with the same name never shadows the first
+        mStore.addUser("CHAD", "Other");
+        assertEquals("Secret", mStore.readPasswordHash("Chad"));
+    }
+
+    @Test
+    public void passwordIsOnlyReplacedIfUnchanged() {
+        mStore.addUser("Chad", "Secret");
+
+        assertFalse(mStore.replacePasswordHash("chad", "Stale", "Hash"));
+        assertEquals("Secret", mStore.readPasswordHash("chad"));
+        assertTrue(mStore.replacePasswordHash("CHAD", "Secret", "Hash"));
+        assertEquals("Hash", mStore.readPasswordHash("chad"));
+        assertFalse(mStore.replacePasswordHash("other", "Secret", "Hash"));
+        assertFalse(mStore.userLookup("other"));
+    }
+
+    @Test
+    public void itemsAreReadBackInIdOrder() {
+        mStore.addInventoryItem("Bolts", 10);
+        mStore.addInventoryItem("Nuts", 20);
+        mStore.addInventoryItem("Washers", 30);
+
+        InventoryItemStore items = mStore.readInventory();
+        assertEquals(3, items.size());
+        assertEquals("Bolts", items.getName(0));
+        assertEquals(20, items.getQuantity(1));
+        assertTrue(items.getId(0) < items.getId(1) && items.getId(1) < items.getId(2));
+
+        assertTrue(mStore.inventoryItemLookup("bolts"));
+        assertTrue(mStore.inventoryItemLookup("WASHERS"));
+        assertFalse(mStore.inventoryItemLookup("Screws"));
+    }
+
+    @Test
+    public void deletedIdsAreNotReused() {
+        mStore.addInventoryItem("Bolts", 10);
+        long bolts = idOf("Bolts");
+        assertTrue(mStore.deleteInventoryItem(bolts));
+        assertFalse(mStore.deleteInventoryItem(bolts));
+        assertFalse(mStore.inventoryItemLookup("Bolts"));
+
+        mStore.addInventoryItem("Nuts", 20);
+        assertTrue(idOf("Nuts") > bolts);
+    }
+
+    @Test
+    public void updatesReportMissingItems() {
+        mStore.addInventoryItem("Bolts", 10);
+        long bolts = idOf("Bolts");
+
+        assertTrue(mStore.updateInventoryItemQuantity(bolts, 7));
+        assertEquals(7, quantityOf(bolts));
+        assertFalse(mStore.updateInventoryItemQuantity(bolts + 100, 7));
+        assertFalse(mStore.adjustInventoryItemQuantity(bolts + 100, 1, 0));
+    }
+
+    @Test
+    public void adjustStopsAtFloor() {
+        mStore.addInventoryItem("Bolts", 10);
+        long bolts = idOf("Bolts");
+
+        assertTrue(mStore.adjustInventoryItemQuantity(bolts, -10, 0));
+        assertEquals(0, quantityOf(bolts));
+        assertFalse(mStore.adjustInventoryItemQuantity(bolts, -1, 0));
+        assertEquals(0, quantityOf(bolts));
+        assertTrue(mStore.adjustInventoryItemQuantity(bolts, -1, InventoryStore.NO_FLOOR));
+        assertEquals(-1, quantityOf(bolts));
+    }
+
+    @Test
+    public void batchAdjustIsAllOrNothing() {
+        mStore.addInventoryItem("Bolts", 10);
+        mStore.addInventoryItem("Nuts", 1);
+        long bolts = idOf("Bolts");
+        long nuts = idOf("Nuts");
+
+        // nuts would go below 0, so bolts must not change either
+        assertFalse(mStore.adjustInventoryItemQuantities(Arrays.asList(
+                new StockAdjustment(bolts, -5), new StockAdjustment(nuts, -2)), 0));
+        assertEquals(10, quantityOf(bolts));
+        assertEquals(1, quantityOf(nuts));
+
+        // a missing item fails the batch too
+        assertFalse(mStore.adjustInventoryItemQuantities(Arrays.asList(
+                new StockAdjustment(bolts, -5), new StockAdjustment(nuts + 100, 1)), 0));
+        assertEquals(10, quantityOf(bolts));
+    }
+
+    @Test
+    public void batchAdjustAppliesRepeatedItemsInOrder() {
+        mStore.addInventoryItem("Bolts", 1);
+        long bolts = idOf("Bolts");
+
+        // the floor is checked after every step, -6 drops below 0 even though +10 follows
+        assertTrue(mStore.adjustInventoryItemQuantities(Arrays.asList(
+                new StockAdjustment(bolts, -1), new StockAdjustment(bolts, 5)), 0));
+        assertEquals(5, quantityOf(bolts));
+        assertFalse(mStore.adjustInventoryItemQuantities(Arrays.asList(
+                new StockAdjustment(bolts, -6), new StockAdjustment(bolts, 10)), 0));
+        assertEquals(5, quantityOf(bolts));
+    }
+
+    @Test
+    public void bulkImportSkipsExistingAndRepeatedNames() {
+        mStore.addInventoryItem("Bolts", 10);
+        List<InventoryItem> items = Arrays.asList(
+                new InventoryItem("BOLTS", 1),
+                new InventoryItem("Nuts", 2),
+                new InventoryItem("nuts", 3),
+                new InventoryItem("Washers", 4),
+                new InventoryItem("Screws", 5));
+        List<Integer> progress = new ArrayList<>();
+
+        assertEquals(3, mStore.addInventoryItems(items, 2, progress::add));
+
+        // after each chunk of 2 rows read, then once at the end
+        assertEquals(Arrays.asList(1, 2, 3), progress);
+        InventoryItemStore stored = mStore.readInventory();
+        assertEquals(4, stored.size());
+        assertEquals(10, stored.getQuantity(0));
+        assertEquals("Nuts", stored.getName(1));
+        assertEquals(2, stored.getQuantity(1));
+    }
+
+    @Test
+    public void pagesWalkBothWays() {
+        for (int i = 0; i < 10; i++) {
+            mStore.addInventoryItem("Item " + i, i);
+        }
+        InventoryItemStore all = mStore.readInventory();
+
+        List<InventoryItem> first = mStore.readInventoryPageAfter(0, 4);
+        assertEquals(4, first.size());
+        assertEquals(all.getId(0), first.get(0).getId());
+        List<InventoryItem> next = mStore.readInventoryPageAfter(first.get(3).getId(), 4);
+        assertEquals("Item 4", next.get(0).getName());
+        assertEquals(2, mStore.readInventoryPageAfter(next.get(3).getId(), 4).size());
+
+        List<InventoryItem> before = mStore.readInventoryPageBefore(next.get(0).getId(), 3);
+        assertEquals(Arrays.asList("Item 1", "Item 2", "Item 3"),
+                Arrays.asList(before.get(0).getName(), before.get(1).getName(), before.get(2).getName()));
+        assertTrue(mStore.readInventoryPageBefore(all.getId(0), 3).isEmpty());
+    }
+
+    /*
+     ***************************************
+     * *   Benchmark
+     * *************************************
+     */
+
+    // the same mixed workload for every store: bulk import, single inserts, adjusts, name lookups and a
+    // full read, timings are reported so the stores can be compared from one run
+    @Test
+    public void mixedWorkloadThroughput() {
+        List<InventoryItem> items = new ArrayList<>(BENCHMARK_ROWS);
+        for (int i = 0; i < BENCHMARK_ROWS; i++) {
+            items.add(new InventoryItem("Imported " + i, 100));
+        }
+        long start = System.nanoTime();
+        assertEquals(BENCHMARK_ROWS, mStore.addInventoryItems(items, 1000, null));
+        long importNanos = System.nanoTime() - start;
+
+        int singles = BENCHMARK_ROWS / 10;
+        start = System.nanoTime();
+        for (int i = 0; i < singles; i++) {
+            mStore.addInventoryItem("Added " + i, 1);
+        }
+        long insertNanos = System.nanoTime() - start;
+
+        InventoryItemStore all = mStore.readInventory();
+        start = System.nanoTime();
+        for (int i = 0; i < singles; i++) {
+            assertTrue(mStore.adjustInventoryItemQuantity(all.getId(i * 7 % all.size()), -1, 0));
+        }
+        long adjustNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < singles; i++) {
+            assertTrue(mStore.inventoryItemLookup("IMPORTED " + (i * 13 % BENCHMARK_ROWS)));
+        }
+        long lookupNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        InventoryItemStore read = mStore.readInventory();
+        long readNanos = System.nanoTime() - start;
+        assertEquals(BENCHMARK_ROWS + singles, read.size());
+
+        reportBenchmark(String.format("InventoryStore %s: import %d rows %.1f ms, %d inserts %.1f ms,"
+                        + " %d adjusts %.1f ms, %d lookups %.1f ms, full read %.1f ms",
+                storeName(), BENCHMARK_ROWS, importNanos / 1e6, singles, insertNanos / 1e6,
+                singles, adjustNanos / 1e6, singles, lookupNanos / 1e6, readNanos / 1e6));
+    }
+
+}
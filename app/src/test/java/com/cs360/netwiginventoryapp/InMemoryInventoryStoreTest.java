@@ -0,0 +1,62 @@
+package com.cs360.netwiginventoryapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the lock-striped in-memory store: the shared InventoryStore contract, plus
+ * concurrent single and batch adjusts that must not lose an update or deadlock.
+ */
+public class InMemoryInventoryStoreTest extends InventoryStoreContractTest {
+
+    @Override
+    protected InventoryStore createStore() {
+        return new InMemoryInventoryStore();
+    }
+
+    @Override
+    protected String storeName() {
+        return "in-memory";
+    }
+
+    @Test
+    public void concurrentAdjustsAreNotLost() throws InterruptedException {
+        for (int i = 0; i < 8; i++) {
+            mStore.addInventoryItem("Item " + i, 0);
+        }
+        InventoryItemStore items = mStore.readInventory();
+        long first = items.getId(0);
+        long last = items.getId(items.size() - 1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final boolean reversed = t % 2 == 1;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    mStore.adjustInventoryItemQuantity(first, 1, InventoryStore.NO_FLOOR);
+                    // batches lock stripes in opposite orders from half the threads
+                    mStore.adjustInventoryItemQuantities(reversed
+                            ? Arrays.asList(new StockAdjustment(last, 1), new StockAdjustment(first, 1))
+                            : Arrays.asList(new StockAdjustment(first, 1), new StockAdjustment(last, 1)),
+                            InventoryStore.NO_FLOOR);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(30_000);
+            assertFalse("adjusts deadlocked", thread.isAlive());
+        }
+
+        InventoryItemStore after = mStore.readInventory();
+        assertEquals(40_000, after.getQuantity(after.indexOfId(first)));
+        assertEquals(20_000, after.getQuantity(after.indexOfId(last)));
+    }
+}
@@ -0,0 +1,181 @@
+package com.cs360.netwiginventoryapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for InventoryCache. A TreeMap stands in for the inventory table, random
+ * insert/update/delete sequences are applied to both, and the cache is checked against the table.
+ */
+public class InventoryCacheTest {
+
+    private static final String[] NAMES = { "Hammer", "hammer", "Nails", "Saw", "Drill", "Bolts", "Wrench" };
+
+    // the "table": _id -> { name, quantity }
+    private final TreeMap<Long, Object[]> mTable = new TreeMap<>();
+    private long mNextId = 1;
+
+    private InventoryItemStore readTable() {
+        InventoryItemStore store = new InventoryItemStore();
+        for (Map.Entry<Long, Object[]> row : mTable.entrySet()) {
+            store.add(row.getKey(), (String) row.getValue()[0], (Integer) row.getValue()[1]);
+        }
+        return store;
+    }
+
+    // mirrors the NOCASE comparison used by the table's lookup queries
+    private long tableIdOf(String name) {
+        for (Map.Entry<Long, Object[]> row : mTable.entrySet()) {
+            if (((String) row.getValue()[0]).equalsIgnoreCase(name)) {
+                return row.getKey();
+            }
+        }
+        return InventoryCache.NOT_FOUND;
+    }
+
+    @Test
+    public void staysConsistentAcrossRandomMutations() {
+        InventoryCache cache = new InventoryCache();
+        Random random = new Random(360);
+
+        for (int run = 0; run < 20; run++) {
+            mTable.clear();
+            cache.invalidate();
+
+            for (int step = 0; step < 500; step++) {
+                // load part way through some runs so writes before and after the load are covered
+                if (!cache.isLoaded() && random.nextInt(50) == 0) {
+                    cache.load(readTable());
+                }
+
+                int op = random.nextInt(3);
+                if (op == 0 || mTable.isEmpty()) {
+                    long id = mNextId++;
+                    String name = NAMES[random.nextInt(NAMES.length)] + random.nextInt(20);
+                    int qty = random.nextInt(100);
+                    mTable.put(id, new Object[] { name, qty });
+                    cache.onInserted(id, name, qty);
+                } else {
+                    List<Long> ids = new ArrayList<>(mTable.keySet());
+                    long id = ids.get(random.nextInt(ids.size()));
+                    if (op == 1) {
+                        int qty = random.nextInt(100);
+                        mTable.get(id)[1] = qty;
+                        cache.onQuantityUpdated(id, qty);
+                    } else {
+                        mTable.remove(id);
+                        cache.onDeleted(id);
+                    }
+                }
+            }
+
+            if (!cache.isLoaded()) {
+                cache.load(readTable());
+            }
+            assertEquals(0, cache.countMismatches(readTable()));
+            assertEquals(mTable.size(), cache.size());
+            for (String name : NAMES) {
+                for (int i = 0; i < 20; i++) {
+                    assertEquals(name + i, tableIdOf(name + i), cache.idOf(name + i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void lookupsAreCaseInsensitive() {
+        InventoryCache cache = new InventoryCache();
+        InventoryItemStore table = new InventoryItemStore();
+        table.add(1, "Hammer", 5);
+        cache.load(table);
+
+        assertTrue(cache.contains("HAMMER"));
+        assertEquals(1, cache.idOf("hammer"));
+        assertFalse(cache.contains("Saw"));
+    }
+
+    @Test
+    public void deletingDuplicateNameFallsBackToRemainingRow() {
+        InventoryCache cache = new InventoryCache();
+        InventoryItemStore table = new InventoryItemStore();
+        table.add(1, "Hammer", 5);
+        table.add(2, "HAMMER", 7);
+        cache.load(table);
+
+        assertEquals(1, cache.idOf("hammer"));
+        cache.onDeleted(1);
+        assertEquals(2, cache.idOf("hammer"));
+    }
+
+    @Test
+    public void detectsMismatchWithTable() {
+        InventoryCache cache = new InventoryCache();
+        InventoryItemStore table = new InventoryItemStore();
+        table.add(1, "Hammer", 5);
+        table.add(2, "Saw", 2);
+        cache.load(table);
+
+        InventoryItemStore changed = new InventoryItemStore();
+        changed.add(1, "Hammer", 6);
+        changed.add(2, "Saw", 2);
+        changed.add(3, "Drill", 1);
+        assertEquals(2, cache.countMismatches(changed));
+    }
+
+    @Test
+    public void tracksHitRateAndWrites() {
+        InventoryCache cache = new InventoryCache();
+        cache.recordMiss();
+        cache.load(new InventoryItemStore());
+        cache.contains("Hammer");
+        cache.contains("Saw");
+        cache.contains("Drill");
+        cache.onInserted(1, "Hammer", 5);
+
+        assertEquals(3, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.75, cache.getHitRate(), 0.0001);
+        assertEquals(1, cache.getWritesSinceLoad());
+        assertTrue(cache.getStalenessMillis() >= 0);
+    }
+
+    @Test
+    public void concurrentAdjustmentsKeepExactTotal() throws InterruptedException {
+        InventoryCache cache = new InventoryCache();
+        InventoryItemStore store = new InventoryItemStore();
+        store.add(1, "Hammer", 1000);
+        cache.load(store);
+
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final int sign = (t % 2 == 0) ? 1 : -1;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    cache.onQuantityAdjusted(1, sign * (1 + i % 3));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // four threads add and four subtract the same deltas
+        assertEquals(Integer.valueOf(1000), cache.quantityOf(1));
+        assertEquals(80_000, cache.getWritesSinceLoad());
+    }
+
+    @Test
+    public void normalizesLikeNocase() {
+        assertEquals("hammer 10mm", InventoryCache.normalize("HaMMer 10MM"));
+        // NOCASE only folds ASCII letters
+        assertEquals("\u00C9clair", InventoryCache.normalize("\u00C9CLAIR"));
+    }
+}
@@ -0,0 +1,140 @@
+package com.cs360.netwiginventoryapp;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Local unit tests for InventoryCellBinder: cell text, colors and ids, and that binding a cell
+ * allocates nothing.
+ */
+public class InventoryCellBinderTest {
+
+    private static final int SELECTED_BACKGROUND = 0xFF1435ED;
+    private static final int SELECTED_TEXT = 0xFFFFFFFF;
+    private static final int BACKGROUND = 0xFF9BBAE8;
+    private static final int TEXT = 0xFF000000;
+
+    private final InventoryCellBinder mBinder =
+            new InventoryCellBinder(SELECTED_BACKGROUND, SELECTED_TEXT, BACKGROUND, TEXT);
+
+    // remembers what was last shown, without allocating
+    private static class RecordingCell implements InventoryCellBinder.Cell {
+        final char[] buffer = new char[InventoryCellBinder.MAX_INT_CHARS];
+        CharSequence text;
+        char[] shownBuffer;
+        int shownLength;
+        int background;
+        int textColor;
+
+        @Override
+        public void showText(CharSequence text) {
+            this.text = text;
+            this.shownBuffer = null;
+        }
+
+        @Override
+        public void showText(char[] buffer, int length) {
+            this.text = null;
+            this.shownBuffer = buffer;
+            this.shownLength = length;
+        }
+
+        @Override
+        public void showColors(int background, int text) {
+            this.background = background;
+            this.textColor = text;
+        }
+
+        String shown() {
+            return text != null ? text.toString() : new String(shownBuffer, 0, shownLength);
+        }
+    }
+
+    private static String format(int value) {
+        char[] buffer = new char[InventoryCellBinder.MAX_INT_CHARS];
+        return new String(buffer, 0, InventoryCellBinder.formatInt(value, buffer));
+    }
+
+    @Test
+    public void formatsEveryInt() {
+        for (int value : new int[] { 0, 7, -7, 10, 42, -100, 123456789, Integer.MAX_VALUE, Integer.MIN_VALUE }) {
+            assertEquals(Integer.toString(value), format(value));
+        }
+    }
+
+    @Test
+    public void bindsNameAndQuantityCells() {
+        InventoryItem item = new InventoryItem(5, "Hammer", 12);
+        RecordingCell cell = new RecordingCell();
+
+        mBinder.bind(cell, item, 10, cell.buffer, false);
+        assertEquals("Hammer", cell.shown());
+        assertEquals(BACKGROUND, cell.background);
+        assertEquals(TEXT, cell.textColor);
+
+        mBinder.bind(cell, item, 11, cell.buffer, true);
+        assertEquals("12", cell.shown());
+        assertSame(cell.buffer, cell.shownBuffer);
+        assertEquals(SELECTED_BACKGROUND, cell.background);
+        assertEquals(SELECTED_TEXT, cell.textColor);
+
+        // a selection change only touches the colors
+        mBinder.bindSelection(cell, false);
+        assertEquals("12", cell.shown());
+        assertEquals(BACKGROUND, cell.background);
+    }
+
+    @Test
+    public void cellIdsAreUniquePerCell() {
+        InventoryItem first = new InventoryItem(1, "Saw", 1);
+        InventoryItem second = new InventoryItem(2, "Drill", 2);
+        long[] ids = {
+                InventoryCellBinder.cellId(first, 0), InventoryCellBinder.cellId(first, 1),
+                InventoryCellBinder.cellId(second, 2), InventoryCellBinder.cellId(second, 3) };
+        for (int i = 0; i < ids.length; i++) {
+            for (int j = i + 1; j < ids.length; j++) {
+                assertNotEquals(ids[i], ids[j]);
+            }
+        }
+        // the id depends on the item, not on where it is in the grid
+        assertEquals(InventoryCellBinder.cellId(second, 3), InventoryCellBinder.cellId(second, 101));
+    }
+
+    @Test
+    public void bindAllocatesNothing() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+
+        InventoryItem[] items = new InventoryItem[100];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new InventoryItem(i + 1, "Item " + i, i * 1013 - 5000);
+        }
+        RecordingCell cell = new RecordingCell();
+        int binds = 200_000;
+        long threadId = Thread.currentThread().getId();
+
+        // the first pass loads classes and warms up, the second is measured
+        long allocated = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            long before = allocations.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < binds; i++) {
+                InventoryItem item = items[i % items.length];
+                int position = i % (items.length * InventoryCellBinder.CELLS_PER_ITEM);
+                mBinder.bind(cell, item, position, cell.buffer, (i & 7) == 0);
+                mBinder.bindSelection(cell, (i & 3) == 0);
+            }
+            allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+        }
+
+        // the allocation counter itself may allocate a little, even one object per bind would be >1 MB
+        assertTrue("allocated " + allocated + " bytes over " + binds + " binds", allocated / binds == 0);
+    }
+}
@@ -0,0 +1,141 @@
+package com.cs360.netwiginventoryapp;
+
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests that dispatch inventory diffs through InventoryCellUpdateCallback and count
+ * how many grid cells would be re-bound (onBindViewHolder calls) for each kind of mutation.
+ */
+public class InventoryCellUpdateCallbackTest {
+
+    // applies cell-level updates to a list of cell labels and counts the cells that need binding
+    private static class CellRecorder implements ListUpdateCallback {
+        final List<String> cells = new ArrayList<>();
+        int boundCells = 0;
+
+        CellRecorder(List<InventoryItem> items) {
+            for (InventoryItem item : items) {
+                cells.add(item.getName());
+                cells.add(Integer.toString(item.getQuantity()));
+            }
+        }
+
+        @Override
+        public void onInserted(int position, int count) {
+            for (int i = 0; i < count; i++) {
+                cells.add(position + i, "new");
+            }
+            boundCells += count;
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            for (int i = 0; i < count; i++) {
+                cells.remove(position);
+            }
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            cells.add(toPosition, cells.remove(fromPosition));
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            boundCells += count;
+        }
+    }
+
+    private static CellRecorder dispatch(List<InventoryItem> oldItems, List<InventoryItem> newItems) {
+        InventoryItemDiffCallback itemCallback = new InventoryItemDiffCallback();
+        DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldItems.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newItems.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return itemCallback.areItemsTheSame(oldItems.get(oldPosition), newItems.get(newPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                return itemCallback.areContentsTheSame(oldItems.get(oldPosition), newItems.get(newPosition));
+            }
+
+            @Override
+            public Object getChangePayload(int oldPosition, int newPosition) {
+                return itemCallback.getChangePayload(oldItems.get(oldPosition), newItems.get(newPosition));
+            }
+        });
+        CellRecorder recorder = new CellRecorder(oldItems);
+        result.dispatchUpdatesTo(new InventoryCellUpdateCallback(recorder));
+        return recorder;
+    }
+
+    private static List<InventoryItem> inventory() {
+        return Arrays.asList(
+                new InventoryItem(1, "Hammer", 5),
+                new InventoryItem(2, "Nails", 250),
+                new InventoryItem(3, "Saw", 2));
+    }
+
+    @Test
+    public void quantityEditRebindsOneCell() {
+        List<InventoryItem> edited = new ArrayList<>(inventory());
+        edited.set(1, new InventoryItem(2, "Nails", 240));
+
+        assertEquals(1, dispatch(inventory(), edited).boundCells);
+    }
+
+    @Test
+    public void unchangedReloadRebindsNothing() {
+        assertEquals(0, dispatch(inventory(), inventory()).boundCells);
+    }
+
+    @Test
+    public void addRebindsOnlyNewCells() {
+        List<InventoryItem> added = new ArrayList<>(inventory());
+        added.add(new InventoryItem(4, "Drill", 1));
+
+        CellRecorder recorder = dispatch(inventory(), added);
+        assertEquals(2, recorder.boundCells);
+        assertEquals(8, recorder.cells.size());
+    }
+
+    @Test
+    public void deleteRemovesBothCells() {
+        List<InventoryItem> deleted = new ArrayList<>(inventory());
+        deleted.remove(0);
+
+        CellRecorder recorder = dispatch(inventory(), deleted);
+        assertEquals(0, recorder.boundCells);
+        assertEquals(Arrays.asList("Nails", "250", "Saw", "2"), recorder.cells);
+    }
+
+    @Test
+    public void moveKeepsNameAndQuantityTogether() {
+        List<InventoryItem> moved = Arrays.asList(
+                new InventoryItem(3, "Saw", 2),
+                new InventoryItem(1, "Hammer", 5),
+                new InventoryItem(2, "Nails", 250));
+
+        CellRecorder recorder = dispatch(inventory(), moved);
+        assertEquals(Arrays.asList("Saw", "2", "Hammer", "5", "Nails", "250"), recorder.cells);
+    }
+}
@@ -0,0 +1,63 @@
+package com.cs360.netwiginventoryapp;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the streaming CSV front-end of the bulk import API.
+ */
+public class InventoryCsvReaderTest {
+
+    private static List<InventoryItem> readAll(InventoryCsvReader reader) {
+        List<InventoryItem> items = new ArrayList<>();
+        for (InventoryItem item : reader) {
+            items.add(item);
+        }
+        return items;
+    }
+
+    @Test
+    public void readsItemsAndSkipsHeader() {
+        InventoryCsvReader reader = new InventoryCsvReader(new StringReader(
+                "name,quantity\nHammer,5\nNails , 250\n"));
+        List<InventoryItem> items = readAll(reader);
+
+        assertEquals(2, items.size());
+        assertEquals("Hammer", items.get(0).getName());
+        assertEquals(5, items.get(0).getQuantity());
+        assertEquals("Nails", items.get(1).getName());
+        assertEquals(250, items.get(1).getQuantity());
+        assertEquals(0, reader.getSkippedLines());
+    }
+
+    @Test
+    public void parsesQuotedNames() {
+        InventoryItem item = InventoryCsvReader.parseLine("\"Bolts, 10mm \"\"hex\"\"\",12");
+        assertNotNull(item);
+        assertEquals("Bolts, 10mm \"hex\"", item.getName());
+        assertEquals(12, item.getQuantity());
+    }
+
+    @Test
+    public void countsMalformedLines() {
+        InventoryCsvReader reader = new InventoryCsvReader(new StringReader(
+                "Hammer,5\nno quantity\nWrench,abc\n\nSaw,0\nDrill,3\n"));
+        List<InventoryItem> items = readAll(reader);
+
+        assertEquals(2, items.size());
+        assertEquals("Drill", items.get(1).getName());
+        assertEquals(3, reader.getSkippedLines());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void canOnlyBeIteratedOnce() {
+        InventoryCsvReader reader = new InventoryCsvReader(new StringReader("Hammer,5\n"));
+        readAll(reader);
+        reader.iterator();
+    }
+}
@@ -0,0 +1,185 @@
+package com.cs360.netwiginventoryapp;
+
+import android.database.Cursor;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the streaming inventory export. Rows come from a Cursor proxy that makes
+ * each row on demand, so a million-row table never exists in memory, and the heap still in use
+ * is sampled while the export runs to show the exporter never buffers rows either.
+ */
+public class InventoryExporterTest {
+
+    // a million exported rows are over 20 MB of text, a streaming export retains far less than this
+    private static final long MAX_RETAINED_BYTES = 8 * 1024 * 1024;
+
+    // heap still in use after a collection
+    private static long retainedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // a Cursor over rows (_id, "Item <_id>", _id % 1000), generated as the exporter moves through them
+    private static Cursor generatedCursor(long rowCount) {
+        final long[] position = { 0 };
+        return (Cursor) Proxy.newProxyInstance(Cursor.class.getClassLoader(), new Class<?>[] { Cursor.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "moveToNext":
+                            return ++position[0] <= rowCount;
+                        case "getLong":
+                            return position[0];
+                        case "getString":
+                            return "Item " + position[0];
+                        case "getInt":
+                            return (int) (position[0] % 1000);
+                        case "close":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    // a Cursor over the given names, with _id and quantity both index + 1
+    private static Cursor namesCursor(String... names) {
+        final int[] position = { -1 };
+        return (Cursor) Proxy.newProxyInstance(Cursor.class.getClassLoader(), new Class<?>[] { Cursor.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "moveToNext":
+                            return ++position[0] < names.length;
+                        case "getLong":
+                            return (long) position[0] + 1;
+                        case "getString":
+                            return names[position[0]];
+                        case "getInt":
+                            return position[0] + 1;
+                        case "close":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    // discards output, only counting characters and lines
+    private static class CountingWriter extends Writer {
+        long chars;
+        long lines;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            chars += length;
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    @Test
+    public void streamsMillionRowsAsCsv() throws IOException {
+        CountingWriter out = new CountingWriter();
+        List<Long> progress = new ArrayList<>();
+        long baseline = retainedHeap();
+        long[] peak = { baseline };
+
+        long rows = new InventoryExporter(InventoryExporter.Format.CSV)
+                .export(generatedCursor(1_000_000), out, exported -> {
+                    progress.add(exported);
+                    peak[0] = Math.max(peak[0], retainedHeap());
+                });
+
+        assertEquals(1_000_000, rows);
+        assertTrue("retained " + (peak[0] - baseline) + " bytes", peak[0] - baseline < MAX_RETAINED_BYTES);
+        assertEquals(1_000_001, out.lines); // header + one line per row
+        assertEquals(1_000_000 / InventoryExporter.PROGRESS_INTERVAL + 1, progress.size());
+        assertEquals(Long.valueOf(1_000_000), progress.get(progress.size() - 1));
+    }
+
+    @Test
+    public void streamsMillionRowsAsJsonLines() throws IOException {
+        CountingWriter out = new CountingWriter();
+        long baseline = retainedHeap();
+        long[] peak = { baseline };
+
+        long rows = new InventoryExporter(InventoryExporter.Format.JSON_LINES)
+                .export(generatedCursor(1_000_000), out, exported -> peak[0] = Math.max(peak[0], retainedHeap()));
+
+        assertEquals(1_000_000, rows);
+        assertTrue("retained " + (peak[0] - baseline) + " bytes", peak[0] - baseline < MAX_RETAINED_BYTES);
+        assertEquals(1_000_000, out.lines);
+    }
+
+    @Test
+    public void csvRoundTripsThroughImporter() throws IOException {
+        String[] names = { "Hammer", "Bolts, 10mm \"hex\"", "Tape, \"25ft\"", "Saw" };
+        StringWriter out = new StringWriter();
+        new InventoryExporter(InventoryExporter.Format.CSV).export(namesCursor(names), out, null);
+
+        InventoryCsvReader reader = new InventoryCsvReader(new StringReader(out.toString()));
+        List<InventoryItem> items = new ArrayList<>();
+        for (InventoryItem item : reader) {
+            items.add(item);
+        }
+
+        assertEquals(names.length, items.size());
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], items.get(i).getName());
+            assertEquals(i + 1, items.get(i).getQuantity());
+        }
+        assertEquals(0, reader.getSkippedLines());
+    }
+
+    @Test
+    public void escapesJsonStrings() {
+        StringBuilder line = new StringBuilder();
+        InventoryExporter.appendJsonRow(line, 7, "Bolts \"hex\"\\\n\t\u0001", 12);
+        assertEquals("{\"id\":7,\"name\":\"Bolts \\\"hex\\\"\\\\\\n\\t\\u0001\",\"quantity\":12}\n", line.toString());
+    }
+
+    @Test
+    public void plainNamesAreNotQuoted() {
+        StringBuilder line = new StringBuilder();
+        InventoryExporter.appendCsvRow(line, "Hammer", 5);
+        assertEquals("Hammer,5\n", line.toString());
+    }
+
+    @Test
+    public void stopsWhenInterrupted() throws IOException {
+        CountingWriter out = new CountingWriter();
+        Thread.currentThread().interrupt();
+        try {
+            new InventoryExporter(InventoryExporter.Format.CSV).export(generatedCursor(1_000_000), out, null);
+            fail("export should have been cancelled");
+        } catch (CancellationException expected) {
+            // stopped at the first check, not at the end of the cursor
+            assertEquals(InventoryExporter.PROGRESS_INTERVAL + 1, out.lines);
+        } finally {
+            Thread.interrupted(); // clear the flag for the next test
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.cs360.netwiginventoryapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the columnar InventoryItemStore.
+ */
+public class InventoryItemStoreTest {
+
+    @Test
+    public void growsPastInitialCapacity() {
+        InventoryItemStore store = new InventoryItemStore(2);
+        for (int i = 1; i <= 100; i++) {
+            store.add(i, "Item " + i, i * 10);
+        }
+
+        assertEquals(100, store.size());
+        assertEquals(42, store.getId(41));
+        assertEquals("Item 42", store.getName(41));
+        assertEquals(420, store.getQuantity(41));
+    }
+
+    @Test
+    public void findsRowsById() {
+        InventoryItemStore store = new InventoryItemStore();
+        store.add(3, "Hammer", 5);
+        store.add(7, "Nails", 250);
+        store.add(12, "Saw", 2);
+
+        assertEquals(1, store.indexOfId(7));
+        assertTrue(store.indexOfId(8) < 0);
+        assertEquals("Saw", store.get(store.indexOfId(12)).getName());
+    }
+
+    @Test
+    public void removeShiftsFollowingRows() {
+        InventoryItemStore store = new InventoryItemStore();
+        store.add(1, "Hammer", 5);
+        store.add(2, "Nails", 250);
+        store.add(3, "Saw", 2);
+
+        store.remove(0);
+
+        assertEquals(2, store.size());
+        assertEquals(0, store.indexOfId(2));
+        assertEquals(2, store.getQuantity(1));
+        assertTrue(store.indexOfId(1) < 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOutOfOrderIds() {
+        InventoryItemStore store = new InventoryItemStore();
+        store.add(5, "Hammer", 5);
+        store.add(4, "Nails", 250);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsIndexPastSize() {
+        InventoryItemStore store = new InventoryItemStore();
+        store.add(1, "Hammer", 5);
+        store.getId(1);
+    }
+}
@@ -0,0 +1,41 @@
+package com.cs360.netwiginventoryapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for turning typed search text into an FTS MATCH expression.
+ */
+public class InventorySearchQueryTest {
+
+    @Test
+    public void eachWordBecomesPrefixTerm() {
+        assertEquals("cla* ham*", InventoryDatabase.toMatchQuery("cla ham"));
+        assertEquals("hammer*", InventoryDatabase.toMatchQuery("  Hammer  "));
+    }
+
+    @Test
+    public void punctuationSplitsWords() {
+        assertEquals("2* x4* board*", InventoryDatabase.toMatchQuery("2\"x4 - board"));
+    }
+
+    @Test
+    public void operatorsAndQuotesAreNotInterpreted() {
+        assertEquals("nails* or* screws*", InventoryDatabase.toMatchQuery("nails OR screws"));
+        assertEquals("saw* near* bit*", InventoryDatabase.toMatchQuery("\"saw\" NEAR (bit)*"));
+        assertEquals("not* glue*", InventoryDatabase.toMatchQuery("-NOT glue"));
+    }
+
+    @Test
+    public void nonAsciiKeptAsWordCharacters() {
+        assertEquals("\u00C9tag\u00E8re*", InventoryDatabase.toMatchQuery("\u00C9tag\u00E8re"));
+    }
+
+    @Test
+    public void blankTextHasNoQuery() {
+        assertNull(InventoryDatabase.toMatchQuery(null));
+        assertNull(InventoryDatabase.toMatchQuery(""));
+        assertNull(InventoryDatabase.toMatchQuery(" *\"-() "));
+    }
+}
@@ -0,0 +1,120 @@
+package com.cs360.netwiginventoryapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for LatencyHistogram and the JSON dump of InventoryMetrics.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketsArePowersOfTwo() {
+        assertEquals(0, LatencyHistogram.bucketOf(0));
+        assertEquals(1, LatencyHistogram.bucketOf(1));
+        assertEquals(2, LatencyHistogram.bucketOf(2));
+        assertEquals(2, LatencyHistogram.bucketOf(3));
+        assertEquals(11, LatencyHistogram.bucketOf(1024));
+        assertEquals(63, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+        // every duration is at or below the upper bound of its bucket
+        for (long nanos : new long[] { 0, 1, 7, 8, 1000, 1_000_000, Long.MAX_VALUE }) {
+            assertTrue(nanos <= LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(nanos)));
+        }
+    }
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMeanNanos());
+        assertEquals(0, histogram.percentileNanos(0.5));
+    }
+
+    @Test
+    public void percentilesAreWithinTheirBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 90 fast calls of 100 ns, 10 slow calls of 50 us
+        for (int i = 0; i < 90; i++) {
+            histogram.record(100);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(50_000);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(90 * 100 + 10 * 50_000, histogram.getTotalNanos());
+        assertEquals(50_000, histogram.getMaxNanos());
+        // 100 ns is in [64, 128)
+        assertEquals(127, histogram.percentileNanos(0.50));
+        assertEquals(127, histogram.percentileNanos(0.90));
+        // the slow bucket is [32768, 65536), capped at the largest duration seen
+        assertEquals(50_000, histogram.percentileNanos(0.91));
+        assertEquals(50_000, histogram.percentileNanos(1.0));
+    }
+
+    @Test
+    public void negativeDurationsCountAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getTotalNanos());
+        assertEquals(0, histogram.percentileNanos(1.0));
+    }
+
+    @Test
+    public void resetClearsEverything() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxNanos());
+        assertEquals(0, histogram.percentileNanos(0.99));
+    }
+
+    @Test
+    public void concurrentRecordsAreAllCounted() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int offset = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i + offset);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(9_999 + 3, histogram.getMaxNanos());
+    }
+
+    @Test
+    public void metricsJsonListsRecordedTimersAndCounters() {
+        InventoryMetrics.reset();
+        InventoryMetrics.Timer timer = InventoryMetrics.timer("test.timer");
+        assertSame(timer, InventoryMetrics.timer("test.timer"));
+        InventoryMetrics.timer("test.idle");
+        timer.record(2_000_000);
+        InventoryMetrics.counter("test.counter").add(3);
+
+        String json = InventoryMetrics.toJson();
+        assertTrue(json, json.contains("\"test.timer\":{\"count\":1,\"totalMs\":2.0,"));
+        assertTrue(json, json.contains("\"maxUs\":2000}"));
+        assertTrue(json, json.contains("\"test.counter\":3"));
+        // timers that have not recorded anything are left out
+        assertFalse(json, json.contains("test.idle"));
+
+        InventoryMetrics.reset();
+        assertFalse(InventoryMetrics.toJson().contains("test.timer"));
+    }
+}
@@ -0,0 +1,145 @@
+package com.cs360.netwiginventoryapp;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for low-stock digest coalescing and rate limiting.
+ */
+public class LowStockAlertEngineTest {
+
+    private static final long WINDOW = 30_000;
+    private static final long REFILL = 300_000;
+
+    private ManualScheduler mScheduler;
+    private InMemoryAlertSender mSender;
+    private LowStockAlertEngine mEngine;
+
+    @Before
+    public void setUp() {
+        mScheduler = new ManualScheduler();
+        mSender = new InMemoryAlertSender();
+        mEngine = new LowStockAlertEngine(mSender, "5550100",
+                new TokenBucket(2, REFILL, mScheduler::now), mScheduler, WINDOW);
+    }
+
+    @Test
+    public void singleItemKeepsOriginalMessage() {
+        mEngine.onLowStock(new LowStockAlert(1, "Hammer", 2, 2));
+        assertTrue(mSender.messages.isEmpty());
+
+        mScheduler.advance(WINDOW);
+
+        assertEquals(Arrays.asList("LOW INVENTORY ALERT: Inventory item Hammer has a quantity of 2"), mSender.messages);
+        assertEquals("5550100", mSender.destinations.get(0));
+    }
+
+    @Test
+    public void bulkUpdateSendsOneDigest() {
+        for (int i = 1; i <= 500; i++) {
+            mEngine.onLowStock(new LowStockAlert(i, "Item " + i, 1, 2));
+        }
+
+        mScheduler.advance(WINDOW);
+
+        assertEquals(1, mSender.messages.size());
+        String digest = mSender.messages.get(0);
+        assertTrue(digest, digest.startsWith("LOW INVENTORY ALERT: 500 items are low: Item 1 (1), Item 2 (1)"));
+        assertTrue(digest, digest.endsWith("Item 10 (1) and 490 more"));
+    }
+
+    @Test
+    public void repeatedItemListedOnceWithLatestQuantity() {
+        mEngine.onLowStock(new LowStockAlert(1, "Hammer", 2, 2));
+        mEngine.onLowStock(new LowStockAlert(2, "Saw", 1, 3));
+        mEngine.onLowStock(new LowStockAlert(1, "Hammer", 1, 2));
+
+        mScheduler.advance(WINDOW);
+
+        assertEquals(Arrays.asList("LOW INVENTORY ALERT: 2 items are low: Hammer (1), Saw (1)"), mSender.messages);
+        assertEquals(1, mEngine.getCoalescedCount());
+    }
+
+    @Test
+    public void restockedItemDroppedBeforeSend() {
+        mEngine.onLowStock(new LowStockAlert(1, "Hammer", 2, 2));
+        mEngine.onRestocked(1);
+
+        mScheduler.advance(WINDOW);
+
+        assertTrue(mSender.messages.isEmpty());
+    }
+
+    @Test
+    public void rateLimitDefersDigestUntilNextToken() {
+        for (int window = 0; window < 3; window++) {
+            mEngine.onLowStock(new LowStockAlert(window, "Item " + window, 1, 2));
+            mScheduler.advance(WINDOW);
+        }
+        // burst of 2 used up, the third digest waits
+        assertEquals(2, mSender.messages.size());
+        assertEquals(1, mEngine.getPendingCount());
+
+        // more items pile into the waiting digest instead of producing more texts
+        mEngine.onLowStock(new LowStockAlert(10, "Item 10", 0, 2));
+        mScheduler.advance(REFILL);
+
+        assertEquals(3, mSender.messages.size());
+        assertEquals("LOW INVENTORY ALERT: 2 items are low: Item 2 (1), Item 10 (0)", mSender.messages.get(2));
+        assertEquals(1, mEngine.getDeferredCount());
+        assertEquals(0, mScheduler.pendingTasks());
+    }
+
+    @Test
+    public void deliveryListenerOnlySeesSentDigests() {
+        List<List<LowStockAlert>> delivered = new ArrayList<>();
+        mEngine.setDeliveryListener(delivered::add);
+        for (int window = 0; window < 3; window++) {
+            mEngine.onLowStock(new LowStockAlert(window, "Item " + window, 1, 2));
+            mScheduler.advance(WINDOW);
+        }
+
+        // the third digest is waiting for a token, nothing to record for it yet
+        assertEquals(2, delivered.size());
+        assertEquals(1, delivered.get(1).size());
+        assertEquals(1, delivered.get(1).get(0).getId());
+
+        mScheduler.advance(REFILL);
+        assertEquals(3, delivered.size());
+        assertEquals(2, delivered.get(2).get(0).getId());
+    }
+
+    @Test
+    public void droppedDigestIsNotDelivered() {
+        List<List<LowStockAlert>> delivered = new ArrayList<>();
+        LowStockAlertEngine engine = new LowStockAlertEngine((destination, message) -> false, "5550100",
+                new TokenBucket(2, REFILL, mScheduler::now), mScheduler, WINDOW);
+        engine.setDeliveryListener(delivered::add);
+
+        engine.onLowStock(new LowStockAlert(1, "Hammer", 2, 2));
+        mScheduler.advance(WINDOW);
+
+        assertTrue(delivered.isEmpty());
+        assertEquals(0, engine.getSentCount());
+        assertEquals(1, engine.getDroppedCount());
+        assertEquals(0, engine.getPendingCount());
+    }
+
+    @Test
+    public void sendsAtMostBurstPlusRefillRate() {
+        // one event every second for an hour
+        for (int second = 0; second < 3600; second++) {
+            mEngine.onLowStock(new LowStockAlert(second, "Item " + second, 1, 2));
+            mScheduler.advance(1000);
+        }
+
+        // 2 burst tokens plus one per 5 minutes
+        assertTrue(mSender.messages.size() <= 2 + 3_600_000 / REFILL);
+    }
+}
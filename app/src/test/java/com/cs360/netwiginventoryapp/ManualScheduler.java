@@ -0,0 +1,57 @@
+package com.cs360.netwiginventoryapp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scheduler and clock for local tests. Time only moves when advance() is called,
+ * which runs every task that has come due in order.
+ */
+public class ManualScheduler implements LowStockAlertEngine.Scheduler {
+
+    private static final class Task {
+        final long dueAt;
+        final Runnable runnable;
+
+        Task(long dueAt, Runnable runnable) {
+            this.dueAt = dueAt;
+            this.runnable = runnable;
+        }
+    }
+
+    private final List<Task> mTasks = new ArrayList<>();
+    private long mNow;
+
+    public long now() {
+        return mNow;
+    }
+
+    @Override
+    public void schedule(Runnable task, long delayMillis) {
+        mTasks.add(new Task(mNow + delayMillis, task));
+    }
+
+    public int pendingTasks() {
+        return mTasks.size();
+    }
+
+    // moves the clock forward, running due tasks (including ones they schedule) at their due time
+    public void advance(long millis) {
+        long end = mNow + millis;
+        while (true) {
+            Task next = null;
+            for (Task task : mTasks) {
+                if (task.dueAt <= end && (next == null || task.dueAt < next.dueAt)) {
+                    next = task;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+            mTasks.remove(next);
+            mNow = Math.max(mNow, next.dueAt);
+            next.runnable.run();
+        }
+        mNow = end;
+    }
+}
@@ -0,0 +1,162 @@
+package com.cs360.netwiginventoryapp;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the memory-mapped append-log store: the shared InventoryStore contract, plus
+ * replay after a clean close, after a crash (no close) and after a torn last write, and growth
+ * through compaction.
+ */
+public class MappedLogInventoryStoreTest extends InventoryStoreContractTest {
+
+    private File mFile;
+
+    @Override
+    protected InventoryStore createStore() throws Exception {
+        mFile = File.createTempFile("inventory", ".log");
+        return new MappedLogInventoryStore(mFile, false);
+    }
+
+    @Override
+    protected String storeName() {
+        return "mapped log";
+    }
+
+    @Override
+    @After
+    public void tearDownStore() throws Exception {
+        super.tearDownStore();
+        mFile.delete();
+        new File(mFile.getPath() + ".compact").delete();
+    }
+
+    private MappedLogInventoryStore reopen() throws Exception {
+        return new MappedLogInventoryStore(mFile, false);
+    }
+
+    // one of each kind of record
+    private void writeEveryRecordType() {
+        mStore.addUser("Chad", "Secret");
+        mStore.replacePasswordHash("Chad", "Secret", "Hash");
+        mStore.addInventoryItem("Bolts", 10);
+        mStore.addInventoryItems(Arrays.asList(new InventoryItem("Nuts", 20), new InventoryItem("Washers", 30)), 10, null);
+        InventoryItemStore items = mStore.readInventory();
+        mStore.updateInventoryItemQuantity(items.getId(0), 11);
+        mStore.adjustInventoryItemQuantities(Arrays.asList(
+                new StockAdjustment(items.getId(1), -5), new StockAdjustment(items.getId(2), 5)), 0);
+        mStore.deleteInventoryItem(items.getId(2));
+    }
+
+    private static void assertRecovered(InventoryStore store) {
+        assertEquals("Hash", store.readPasswordHash("chad"));
+        InventoryItemStore items = store.readInventory();
+        assertEquals(2, items.size());
+        assertEquals("Bolts", items.getName(0));
+        assertEquals(11, items.getQuantity(0));
+        assertEquals(15, items.getQuantity(1));
+        assertFalse(store.inventoryItemLookup("Washers"));
+    }
+
+    @Test
+    public void reopenReplaysEveryRecord() throws Exception {
+        writeEveryRecordType();
+        mStore.close();
+
+        MappedLogInventoryStore reopened = reopen();
+        mStore = reopened;
+        assertRecovered(reopened);
+        assertEquals(7, reopened.getRecoveredRecords());
+        assertFalse(reopened.discardedTornTail());
+
+        // ids continue past the deleted row
+        reopened.addInventoryItem("Screws", 1);
+        assertEquals(4, reopened.readInventory().getId(2));
+    }
+
+    @Test
+    public void crashWithoutCloseLosesNothing() throws Exception {
+        writeEveryRecordType();
+
+        // the first store is abandoned as if the process had died, the page cache still has its writes
+        mStore = reopen();
+        assertRecovered(mStore);
+    }
+
+    @Test
+    public void tornLastWriteIsDiscarded() throws Exception {
+        writeEveryRecordType();
+        int end = ((MappedLogInventoryStore) mStore).logEnd();
+        mStore.addInventoryItem("Screws", 1);
+        mStore.close();
+
+        // flip a byte in the last record, as if the crash came part way through writing it
+        try (RandomAccessFile file = new RandomAccessFile(mFile, "rw")) {
+            file.seek(end + 6);
+            int b = file.read();
+            file.seek(end + 6);
+            file.write(b ^ 0xFF);
+        }
+
+        MappedLogInventoryStore reopened = reopen();
+        mStore = reopened;
+        assertTrue(reopened.discardedTornTail());
+        assertRecovered(reopened);
+        assertFalse(reopened.inventoryItemLookup("Screws"));
+
+        // the damaged bytes are overwritten by the next write, which survives another reopen
+        reopened.addInventoryItem("Screws", 2);
+        reopened.close();
+        mStore = reopen();
+        assertTrue(mStore.inventoryItemLookup("Screws"));
+        assertFalse(((MappedLogInventoryStore) mStore).discardedTornTail());
+    }
+
+    @Test
+    public void fullLogIsCompacted() throws Exception {
+        // start again from an empty file with a 4 KB mapping
+        mStore.close();
+        mFile.delete();
+        MappedLogInventoryStore store = new MappedLogInventoryStore(mFile, false, 4096);
+        mStore = store;
+        for (int i = 0; i < 10; i++) {
+            store.addInventoryItem("Item " + i, 0);
+        }
+        // thousands of quantity records, far more than 4 KB, but only 10 live rows
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(store.adjustInventoryItemQuantity(1 + i % 10, 1, 0));
+        }
+        store.addUser("Chad", "Secret");
+        store.replacePasswordHash("Chad", "Secret", "Hash");
+        assertEquals(4096, mFile.length());
+
+        store.close();
+        mStore = reopen();
+        InventoryItemStore items = mStore.readInventory();
+        assertEquals(10, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(500, items.getQuantity(i));
+        }
+        assertEquals("Hash", mStore.readPasswordHash("chad"));
+    }
+
+    @Test
+    public void compactionKeepsIdsUnique() throws Exception {
+        mStore.addInventoryItem("Bolts", 1);
+        mStore.addInventoryItem("Nuts", 2);
+        long nuts = mStore.readInventory().getId(1);
+        mStore.deleteInventoryItem(nuts);
+        ((MappedLogInventoryStore) mStore).compact();
+        mStore.close();
+
+        mStore = reopen();
+        mStore.addInventoryItem("Washers", 3);
+        assertTrue(mStore.readInventory().getId(1) > nuts);
+    }
+}
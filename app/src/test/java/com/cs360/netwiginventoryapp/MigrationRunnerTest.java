@@ -0,0 +1,89 @@
+package com.cs360.netwiginventoryapp;
+
+import android.database.sqlite.SQLiteDatabase;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for how MigrationRunner orders migration steps.
+ */
+public class MigrationRunnerTest {
+
+    private static Migration step(int start, int end) {
+        return new Migration(start, end) {
+            @Override
+            public void migrate(SQLiteDatabase db) {
+            }
+        };
+    }
+
+    @Test
+    public void plansStepsInVersionOrder() {
+        Migration m1 = step(1, 2);
+        Migration m2 = step(2, 3);
+        Migration m3 = step(3, 4);
+        MigrationRunner runner = new MigrationRunner(m3, m1, m2);
+
+        List<Migration> plan = runner.plan(1, 4);
+
+        assertEquals(3, plan.size());
+        assertSame(m1, plan.get(0));
+        assertSame(m2, plan.get(1));
+        assertSame(m3, plan.get(2));
+    }
+
+    @Test
+    public void plansFromIntermediateVersion() {
+        Migration m1 = step(1, 2);
+        Migration m2 = step(2, 3);
+        MigrationRunner runner = new MigrationRunner(m1, m2);
+
+        List<Migration> plan = runner.plan(2, 3);
+
+        assertEquals(1, plan.size());
+        assertSame(m2, plan.get(0));
+    }
+
+    @Test
+    public void prefersLongerStepThatDoesNotOvershoot() {
+        Migration m1 = step(1, 2);
+        Migration m1to3 = step(1, 3);
+        Migration m2 = step(2, 3);
+        Migration m3 = step(3, 4);
+        MigrationRunner runner = new MigrationRunner(m1, m1to3, m2, m3);
+
+        assertSame(m1to3, runner.plan(1, 3).get(0));
+        assertEquals(2, runner.plan(1, 4).size());
+        assertSame(m1, runner.plan(1, 2).get(0));
+    }
+
+    @Test
+    public void emptyPlanWhenAlreadyCurrent() {
+        MigrationRunner runner = new MigrationRunner(step(1, 2));
+
+        assertTrue(runner.plan(2, 2).isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void missingStepFails() {
+        MigrationRunner runner = new MigrationRunner(step(1, 2), step(3, 4));
+
+        runner.plan(1, 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void backwardStepRejected() {
+        step(3, 2);
+    }
+
+    @Test
+    public void schemaHasMigrationPathFromFirstVersion() {
+        List<Migration> plan = InventoryDatabase.MIGRATIONS.plan(1, InventoryDatabase.VERSION);
+
+        assertEquals(InventoryDatabase.VERSION, plan.get(plan.size() - 1).endVersion);
+    }
+}
@@ -0,0 +1,90 @@
+package com.cs360.netwiginventoryapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for PasswordHasher: salted hashes verify only the right password, legacy plaintext
+ * passwords still verify but need a rehash, and malformed stored values never match.
+ * A low iteration count keeps them fast, the work factor itself is measured by PasswordHashBenchmarkTest.
+ */
+public class PasswordHasherTest {
+
+    private final PasswordHasher mHasher = new PasswordHasher(1000);
+
+    @Test
+    public void hashVerifiesOnlyTheRightPassword() {
+        String stored = mHasher.hash("Secret");
+
+        assertTrue(PasswordHasher.isHashed(stored));
+        assertFalse(stored.contains("Secret"));
+        assertTrue(mHasher.verify("Secret", stored));
+        assertFalse(mHasher.verify("secret", stored));
+        assertFalse(mHasher.verify("", stored));
+        assertFalse(mHasher.verify(null, stored));
+    }
+
+    @Test
+    public void everyHashHasItsOwnSalt() {
+        String first = mHasher.hash("Secret");
+        String second = mHasher.hash("Secret");
+
+        assertNotEquals(first, second);
+        assertTrue(mHasher.verify("Secret", first));
+        assertTrue(mHasher.verify("Secret", second));
+    }
+
+    @Test
+    public void hashCarriesItsIterationCount() {
+        String weak = new PasswordHasher(500).hash("Secret");
+
+        // a stronger hasher still verifies it, then asks for an upgrade
+        assertTrue(weak.startsWith(PasswordHasher.PREFIX + "500$"));
+        assertTrue(mHasher.verify("Secret", weak));
+        assertTrue(mHasher.needsRehash(weak));
+        assertFalse(mHasher.needsRehash(mHasher.hash("Secret")));
+        assertFalse(new PasswordHasher(500).needsRehash(mHasher.hash("Secret")));
+    }
+
+    @Test
+    public void plaintextPasswordsVerifyAndNeedRehash() {
+        assertTrue(mHasher.verify("Secret", "Secret"));
+        assertFalse(mHasher.verify("Secret", "secret"));
+        assertFalse(mHasher.verify("Secret", "Secret2"));
+        assertTrue(mHasher.needsRehash("Secret"));
+    }
+
+    @Test
+    public void malformedHashesNeverMatch() {
+        String prefix = PasswordHasher.PREFIX;
+        String[] malformed = {
+                prefix,
+                prefix + "1000",
+                prefix + "1000$c2FsdA",
+                prefix + "x$c2FsdA$aGFzaA",
+                prefix + "0$c2FsdA$aGFzaA",
+                prefix + "99999999999$c2FsdA$aGFzaA",
+                prefix + "1000$$aGFzaA",
+                prefix + "1000$c2FsdA$",
+                prefix + "1000$not base64$aGFzaA",
+                prefix + "1000$c2FsdA$aGFzaA$extra",
+        };
+        for (String stored : malformed) {
+            assertFalse(stored, mHasher.verify(prefix, stored));
+        }
+    }
+
+    @Test
+    public void constantTimeEqualsComparesWholeArrays() {
+        assertTrue(PasswordHasher.constantTimeEquals(new byte[] { 1, 2, 3 }, new byte[] { 1, 2, 3 }));
+        assertFalse(PasswordHasher.constantTimeEquals(new byte[] { 1, 2, 3 }, new byte[] { 1, 2, 4 }));
+        assertFalse(PasswordHasher.constantTimeEquals(new byte[] { 1, 2, 3 }, new byte[] { 1, 2 }));
+        assertTrue(PasswordHasher.constantTimeEquals(new byte[0], new byte[0]));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsZeroIterations() {
+        new PasswordHasher(0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.cs360.netwiginventoryapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for ScanSession batching: scans are counted per code and flushed by size,
+ * by delay, and on close.
+ */
+public class ScanSessionTest {
+
+    private final ManualScheduler mScheduler = new ManualScheduler();
+    private final List<Map<String, Integer>> mBatches = new ArrayList<>();
+
+    private ScanSession newSession(int maxBatch) {
+        return new ScanSession(mBatches::add, mScheduler, maxBatch, 500);
+    }
+
+    @Test
+    public void countsRepeatedCodesInOneBatch() {
+        ScanSession session = newSession(10);
+        session.scan("0001");
+        session.scan("0002");
+        session.scan("0001");
+        session.scan(" 0001\n");
+        session.flush();
+
+        assertEquals(1, mBatches.size());
+        Map<String, Integer> batch = mBatches.get(0);
+        assertEquals(Integer.valueOf(3), batch.get("0001"));
+        assertEquals(Integer.valueOf(1), batch.get("0002"));
+        // first-scanned order
+        assertEquals("0001", batch.keySet().iterator().next());
+    }
+
+    @Test
+    public void flushesWhenBatchIsFull() {
+        ScanSession session = newSession(100);
+        for (int i = 0; i < 250; i++) {
+            session.scan("code" + (i % 7));
+        }
+        assertEquals(2, mBatches.size());
+        assertEquals(50, session.getPendingScans());
+        int total = 0;
+        for (int count : mBatches.get(0).values()) {
+            total += count;
+        }
+        assertEquals(100, total);
+    }
+
+    @Test
+    public void flushesAfterDelay() {
+        ScanSession session = newSession(100);
+        session.scan("0001");
+        mScheduler.advance(499);
+        assertTrue(mBatches.isEmpty());
+        mScheduler.advance(1);
+        assertEquals(1, mBatches.size());
+        assertEquals(0, session.getPendingScans());
+
+        // the next scan starts a new delay
+        session.scan("0002");
+        assertEquals(1, mScheduler.pendingTasks());
+        mScheduler.advance(500);
+        assertEquals(2, mBatches.size());
+    }
+
+    @Test
+    public void ignoresBlankCodes() {
+        ScanSession session = newSession(10);
+        session.scan("");
+        session.scan("   ");
+        session.scan(null);
+        session.close();
+        assertTrue(mBatches.isEmpty());
+        assertEquals(0, session.getScanCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closeFlushesAndRejectsLaterScans() {
+        ScanSession session = newSession(10);
+        session.scan("0001");
+        session.close();
+        assertEquals(1, mBatches.size());
+        session.scan("0002");
+    }
+}
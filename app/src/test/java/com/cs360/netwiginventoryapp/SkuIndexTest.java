@@ -0,0 +1,67 @@
+package com.cs360.netwiginventoryapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the write-through SKU -> id map.
+ */
+public class SkuIndexTest {
+
+    private static SkuIndex loaded(String[] skus, long[] ids) {
+        SkuIndex index = new SkuIndex();
+        index.load(skus, ids, skus.length);
+        return index;
+    }
+
+    @Test
+    public void resolvesLoadedCodes() {
+        SkuIndex index = loaded(new String[] { "0001", "0002" }, new long[] { 10, 20 });
+        assertEquals(10, index.idOf("0001"));
+        assertEquals(20, index.idOf("0002"));
+        assertEquals(SkuIndex.NOT_FOUND, index.idOf("0003"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void recodingDropsOldCode() {
+        SkuIndex index = loaded(new String[] { "0001" }, new long[] { 10 });
+        index.onSkuChanged(10, "0009");
+        assertEquals(SkuIndex.NOT_FOUND, index.idOf("0001"));
+        assertEquals(10, index.idOf("0009"));
+        assertEquals("0009", index.skuOf(10));
+
+        index.onSkuChanged(10, null);
+        assertEquals(SkuIndex.NOT_FOUND, index.idOf("0009"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void deleteDropsCode() {
+        SkuIndex index = loaded(new String[] { "0001", "0002" }, new long[] { 10, 20 });
+        index.onDeleted(10);
+        assertEquals(SkuIndex.NOT_FOUND, index.idOf("0001"));
+        assertEquals(20, index.idOf("0002"));
+    }
+
+    @Test
+    public void codesAreCaseSensitive() {
+        SkuIndex index = loaded(new String[] { "ABC-1" }, new long[] { 10 });
+        assertEquals(SkuIndex.NOT_FOUND, index.idOf("abc-1"));
+    }
+
+    @Test
+    public void writesBeforeLoadAreIgnored() {
+        SkuIndex index = new SkuIndex();
+        index.onSkuChanged(10, "0001");
+        assertFalse(index.isLoaded());
+        index.load(new String[0], new long[0], 0);
+        assertEquals(SkuIndex.NOT_FOUND, index.idOf("0001"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void lookupBeforeLoadThrows() {
+        new SkuIndex().idOf("0001");
+    }
+}
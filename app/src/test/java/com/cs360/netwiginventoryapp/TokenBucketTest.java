@@ -0,0 +1,59 @@
+package com.cs360.netwiginventoryapp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the TokenBucket rate limiter.
+ */
+public class TokenBucketTest {
+
+    private long mNow;
+
+    @Test
+    public void allowsBurstThenBlocks() {
+        TokenBucket bucket = new TokenBucket(3, 1000, () -> mNow);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        assertEquals(1000, bucket.millisUntilNextToken());
+    }
+
+    @Test
+    public void refillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(2, 1000, () -> mNow);
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+
+        mNow = 999;
+        assertFalse(bucket.tryAcquire());
+        assertEquals(1, bucket.millisUntilNextToken());
+
+        mNow = 1000;
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        mNow = 3500;
+        assertEquals(2, bucket.getAvailableTokens());
+    }
+
+    @Test
+    public void neverExceedsCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 1000, () -> mNow);
+
+        mNow = 60_000;
+        assertEquals(2, bucket.getAvailableTokens());
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+        assertFalse(bucket.tryAcquire());
+        assertEquals(1000, bucket.millisUntilNextToken());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyBucket() {
+        new TokenBucket(0, 1000, () -> mNow);
+    }
+}
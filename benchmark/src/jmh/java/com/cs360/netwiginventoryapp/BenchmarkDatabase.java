@@ -0,0 +1,344 @@
+package com.cs360.netwiginventoryapp;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : JDBC copy of the InventoryDatabase (version 9)
+             : schema and hot-path statements, for the JMH
+             : benchmarks.
+             :
+             : InventoryDatabase is an SQLiteOpenHelper and can only
+             : run on a device, so the benchmarks run the same SQL
+             : (same tables, indexes, FTS and ledger/sync/location
+             : triggers)
+             : through sqlite-jdbc instead. Every insert, update and
+             : delete therefore pays for the same trigger work it
+             : does in the app.
+             :
+             : Keep this file in step with InventoryDatabase and
+             : StockLedger when the schema changes, or the numbers
+             : stop meaning anything. create() compares the schema
+             : with the dump in app/schemas, which
+             : InventorySchemaTest checks against the app, and
+             : refuses to run if they differ.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+final class BenchmarkDatabase implements AutoCloseable {
+
+    static final String SQL_INSERT_ITEM = "INSERT INTO inventory (itemname, itemquantity) VALUES (?, ?)";
+    static final String SQL_DELETE_ITEM = "DELETE FROM inventory WHERE _id = ?";
+    // a decrease of the total must be covered by the default location (1), as in InventoryDatabase
+    static final String SQL_UPDATE_ITEM_QTY = "UPDATE inventory SET itemquantity = ?1 WHERE _id = ?2"
+            + " AND (?1 >= itemquantity OR ?1 - (SELECT COALESCE(SUM(quantity), 0) FROM location_stock"
+            + " WHERE itemid = ?2 AND locationid <> 1) >= 0)";
+    static final String SQL_ADJUST_ITEM_QTY = "UPDATE inventory SET itemquantity = itemquantity + ?1"
+            + " WHERE _id = ?2 AND itemquantity + ?1 >= ?3 AND (?1 >= 0 OR COALESCE((SELECT quantity"
+            + " FROM location_stock WHERE itemid = ?2 AND locationid = 1), 0) + ?1 >= ?3)";
+    // the case-insensitive name seek the cache is measured against
+    static final String SQL_ITEM_ID_BY_NAME = "SELECT _id FROM inventory WHERE itemname = ? COLLATE NOCASE LIMIT 1";
+    // inventoryItemLookup() before the statement cache, with the name bound instead of concatenated
+    static final String SQL_ITEM_BY_NAME = "SELECT * FROM inventory WHERE itemname = ? COLLATE NOCASE";
+    static final String SQL_READ_INVENTORY = "SELECT _id, itemname, itemquantity FROM inventory ORDER BY _id";
+    // location reads and writes, as InventoryDatabase's location queries
+    static final String SQL_LOCATION_PAGE_AFTER = "SELECT inventory._id, inventory.itemname, location_stock.quantity"
+            + " FROM location_stock JOIN inventory ON inventory._id = location_stock.itemid"
+            + " WHERE location_stock.locationid = ? AND location_stock.itemid > ? ORDER BY location_stock.itemid LIMIT ?";
+    static final String SQL_INSERT_LOCATION_STOCK = "INSERT OR IGNORE INTO location_stock (itemid, locationid, quantity)"
+            + " SELECT ?1, ?2, 0 WHERE EXISTS (SELECT 1 FROM inventory WHERE _id = ?1)"
+            + " AND EXISTS (SELECT 1 FROM locations WHERE _id = ?2)";
+    static final String SQL_ADJUST_LOCATION_QTY = "UPDATE location_stock SET quantity = quantity + ?3"
+            + " WHERE itemid = ?1 AND locationid = ?2 AND quantity + ?3 >= ?4";
+    // the original readInventory() query, kept for the legacy String[] baseline
+    static final String SQL_READ_INVENTORY_LEGACY = "SELECT * FROM inventory";
+
+    // rows committed per transaction while filling the table
+    private static final int FILL_CHUNK_SIZE = 10_000;
+
+    // InventoryDatabase.VERSION, stored in user_version and checked on every open like SQLiteOpenHelper
+    private static final int VERSION = 9;
+
+    // same expression as InventoryDatabase.NEW_SYNC_ID and StockLedger.NOW_MILLIS
+    private static final String NEW_SYNC_ID = "lower(hex(randomblob(16)))";
+    private static final String NOW_MILLIS = "CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)";
+
+    // the schema as sqlite_master holds it, in the format of app/schemas/inventory-v<VERSION>.sql (one
+    // statement per line), the FTS shadow tables are left out as SQLite creates and words them itself
+    private static final String SQL_DUMP_SCHEMA = "SELECT sql FROM sqlite_master WHERE sql IS NOT NULL"
+            + " AND name NOT LIKE 'sqlite_%' AND name <> 'android_metadata'"
+            + " AND NOT (type = 'table' AND name GLOB '*_fts_*') ORDER BY type, name";
+
+    private static final String[] SCHEMA = {
+            // the users table is never benchmarked, it is here so the whole schema can be compared
+            "CREATE TABLE users (_id INTEGER PRIMARY KEY AUTOINCREMENT, username TEXT NOT NULL, password TEXT NOT NULL)",
+            "CREATE INDEX idx_users_username_nocase ON users (username COLLATE NOCASE)",
+
+            "CREATE TABLE inventory (_id INTEGER PRIMARY KEY AUTOINCREMENT, itemname TEXT NOT NULL,"
+                    + " itemquantity INTEGER NOT NULL, lowthreshold INTEGER NOT NULL DEFAULT 2,"
+                    + " lowalerted INTEGER NOT NULL DEFAULT 0, syncid TEXT, syncbase INTEGER,"
+                    + " syncversion INTEGER NOT NULL DEFAULT 0, sku TEXT)",
+
+            // createLookupIndexes()
+            "CREATE INDEX idx_inventory_itemname_nocase ON inventory (itemname COLLATE NOCASE)",
+
+            // createSearchIndex()
+            "CREATE VIRTUAL TABLE inventory_fts USING fts4(content=\"inventory\", itemname, prefix=\"2,3\")",
+            "CREATE TRIGGER inventory_fts_ai AFTER INSERT ON inventory"
+                    + " BEGIN INSERT INTO inventory_fts (docid, itemname) VALUES (new._id, new.itemname); END",
+            "CREATE TRIGGER inventory_fts_bd BEFORE DELETE ON inventory"
+                    + " BEGIN DELETE FROM inventory_fts WHERE docid = old._id; END",
+            "CREATE TRIGGER inventory_fts_bu BEFORE UPDATE OF itemname ON inventory"
+                    + " BEGIN DELETE FROM inventory_fts WHERE docid = old._id; END",
+            "CREATE TRIGGER inventory_fts_au AFTER UPDATE OF itemname ON inventory"
+                    + " BEGIN INSERT INTO inventory_fts (docid, itemname) VALUES (new._id, new.itemname); END",
+
+            // createLowStockIndex() and createLowStockAlertReset()
+            "CREATE INDEX idx_inventory_low_stock ON inventory (_id) WHERE itemquantity <= lowthreshold",
+            "CREATE TRIGGER inventory_low_alert_reset AFTER UPDATE OF itemquantity, lowthreshold ON inventory"
+                    + " WHEN new.lowalerted = 1 AND new.itemquantity > new.lowthreshold"
+                    + " BEGIN UPDATE inventory SET lowalerted = 0 WHERE _id = new._id; END",
+
+            // StockLedger.createSchema()
+            "CREATE TABLE stock_movements (_id INTEGER PRIMARY KEY AUTOINCREMENT, itemid INTEGER NOT NULL,"
+                    + " kind INTEGER NOT NULL, delta INTEGER NOT NULL, createdat INTEGER NOT NULL)",
+            "CREATE INDEX idx_stock_movements_item_time ON stock_movements (itemid, createdat, delta)",
+            "CREATE INDEX idx_stock_movements_time ON stock_movements (createdat)",
+            "CREATE TABLE stock_snapshots (itemid INTEGER NOT NULL, asof INTEGER NOT NULL,"
+                    + " quantity INTEGER NOT NULL, PRIMARY KEY (itemid, asof)) WITHOUT ROWID",
+            "CREATE TRIGGER stock_movements_ai AFTER INSERT ON inventory BEGIN INSERT INTO stock_movements"
+                    + " (itemid, kind, delta, createdat) VALUES (new._id, " + StockMovement.KIND_ADD + ", new.itemquantity, "
+                    + NOW_MILLIS + "); END",
+            "CREATE TRIGGER stock_movements_au AFTER UPDATE OF itemquantity ON inventory"
+                    + " WHEN new.itemquantity <> old.itemquantity BEGIN INSERT INTO stock_movements"
+                    + " (itemid, kind, delta, createdat) VALUES (new._id, " + StockMovement.KIND_ADJUST
+                    + ", new.itemquantity - old.itemquantity, " + NOW_MILLIS + "); END",
+            "CREATE TRIGGER stock_movements_ad AFTER DELETE ON inventory BEGIN INSERT INTO stock_movements"
+                    + " (itemid, kind, delta, createdat) VALUES (old._id, " + StockMovement.KIND_DELETE + ", -old.itemquantity, "
+                    + NOW_MILLIS + "); END",
+
+            // createSyncTracking()
+            "CREATE UNIQUE INDEX idx_inventory_sync_id ON inventory (syncid)",
+            "CREATE INDEX idx_inventory_sync_dirty ON inventory (_id)"
+                    + " WHERE (syncbase IS NULL OR itemquantity <> syncbase)",
+            "CREATE TABLE sync_tombstones (syncid TEXT PRIMARY KEY) WITHOUT ROWID",
+            "CREATE TABLE sync_state (key TEXT PRIMARY KEY, value TEXT NOT NULL) WITHOUT ROWID",
+            "INSERT INTO sync_state (key, value) VALUES ('device', " + NEW_SYNC_ID + ")",
+            "CREATE TRIGGER inventory_sync_id AFTER INSERT ON inventory WHEN new.syncid IS NULL"
+                    + " BEGIN UPDATE inventory SET syncid = " + NEW_SYNC_ID + " WHERE _id = new._id; END",
+            "CREATE TRIGGER inventory_sync_tombstone AFTER DELETE ON inventory WHEN old.syncbase IS NOT NULL"
+                    + " BEGIN INSERT OR IGNORE INTO sync_tombstones (syncid) VALUES (old.syncid); END",
+
+            // createSkuIndex()
+            "CREATE UNIQUE INDEX idx_inventory_sku ON inventory (sku) WHERE sku IS NOT NULL",
+
+            // createLocations()
+            "CREATE TABLE locations (_id INTEGER PRIMARY KEY AUTOINCREMENT, locationname TEXT NOT NULL)",
+            "CREATE UNIQUE INDEX idx_locations_name_nocase ON locations (locationname COLLATE NOCASE)",
+            "INSERT INTO locations (_id, locationname) VALUES (1, 'Main')",
+            "CREATE TABLE location_stock (itemid INTEGER NOT NULL, locationid INTEGER NOT NULL,"
+                    + " quantity INTEGER NOT NULL, PRIMARY KEY (itemid, locationid)) WITHOUT ROWID",
+            "CREATE INDEX idx_location_stock_location ON location_stock (locationid, itemid)",
+            "CREATE TRIGGER location_stock_total_ai AFTER INSERT ON location_stock"
+                    + " BEGIN UPDATE inventory SET itemquantity = (SELECT COALESCE(SUM(quantity), 0) FROM location_stock"
+                    + " WHERE itemid = new.itemid) WHERE _id = new.itemid AND itemquantity <> (SELECT COALESCE(SUM(quantity), 0)"
+                    + " FROM location_stock WHERE itemid = new.itemid); END",
+            "CREATE TRIGGER location_stock_total_au AFTER UPDATE OF quantity ON location_stock"
+                    + " WHEN new.quantity <> old.quantity"
+                    + " BEGIN UPDATE inventory SET itemquantity = (SELECT COALESCE(SUM(quantity), 0) FROM location_stock"
+                    + " WHERE itemid = new.itemid) WHERE _id = new.itemid AND itemquantity <> (SELECT COALESCE(SUM(quantity), 0)"
+                    + " FROM location_stock WHERE itemid = new.itemid); END",
+            "CREATE TRIGGER location_stock_total_ad AFTER DELETE ON location_stock"
+                    + " BEGIN UPDATE inventory SET itemquantity = (SELECT COALESCE(SUM(quantity), 0) FROM location_stock"
+                    + " WHERE itemid = old.itemid) WHERE _id = old.itemid AND itemquantity <> (SELECT COALESCE(SUM(quantity), 0)"
+                    + " FROM location_stock WHERE itemid = old.itemid); END",
+            "CREATE TRIGGER inventory_location_stock_ai AFTER INSERT ON inventory BEGIN INSERT INTO location_stock"
+                    + " (itemid, locationid, quantity) VALUES (new._id, 1, new.itemquantity); END",
+            "CREATE TRIGGER inventory_location_stock_au AFTER UPDATE OF itemquantity ON inventory"
+                    + " WHEN new.itemquantity <> (SELECT COALESCE(SUM(quantity), 0) FROM location_stock WHERE itemid = new._id)"
+                    + " BEGIN INSERT OR IGNORE INTO location_stock (itemid, locationid, quantity) VALUES (new._id, 1, 0);"
+                    + " UPDATE location_stock SET quantity = new.itemquantity - (SELECT COALESCE(SUM(quantity), 0)"
+                    + " FROM location_stock WHERE itemid = new._id AND locationid <> 1)"
+                    + " WHERE itemid = new._id AND locationid = 1; END",
+            "CREATE TRIGGER inventory_location_stock_ad AFTER DELETE ON inventory"
+                    + " BEGIN DELETE FROM location_stock WHERE itemid = old._id; END",
+    };
+
+    private final File mFile;
+    private Connection mConnection;
+
+    private BenchmarkDatabase(File file, Connection connection) {
+        this.mFile = file;
+        this.mConnection = connection;
+    }
+
+    // creates an empty version 9 database in a temporary file, opened the way InventoryDatabase opens it
+    static BenchmarkDatabase create() throws IOException, SQLException {
+        File file = File.createTempFile("inventory-bench", ".db");
+        BenchmarkDatabase database = new BenchmarkDatabase(file, open(file));
+        boolean created = false;
+        try (Statement statement = database.mConnection.createStatement()) {
+            for (String sql : SCHEMA) {
+                statement.execute(sql);
+            }
+            statement.execute("PRAGMA user_version = " + VERSION);
+            checkSchema(statement);
+            created = true;
+        } finally {
+            if (!created) {
+                // removes the temporary file too
+                database.close();
+            }
+        }
+        return database;
+    }
+
+    // fails unless the schema just created is the app's, as dumped in app/schemas by InventorySchemaTest,
+    // so the benchmarks never time SQL the app no longer runs
+    private static void checkSchema(Statement statement) throws IOException, SQLException {
+        String expected = readSchemaDump();
+        StringBuilder actual = new StringBuilder();
+        try (ResultSet result = statement.executeQuery(SQL_DUMP_SCHEMA)) {
+            while (result.next()) {
+                actual.append(result.getString(1).trim().replaceAll("\\s+", " ")).append(";\n");
+            }
+        }
+        if (!expected.equals(actual.toString())) {
+            throw new IllegalStateException("BenchmarkDatabase is out of step with app/schemas/inventory-v" + VERSION
+                    + ".sql, update SCHEMA to match InventoryDatabase. Expected:\n" + expected + "Created:\n" + actual);
+        }
+    }
+
+    private static String readSchemaDump() throws IOException {
+        String name = "/inventory-v" + VERSION + ".sql";
+        InputStream in = BenchmarkDatabase.class.getResourceAsStream(name);
+        if (in == null) {
+            throw new FileNotFoundException("No schema dump " + name + " on the classpath, see app/schemas");
+        }
+        StringBuilder dump = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                dump.append(line).append('\n');
+            }
+        }
+        return dump.toString();
+    }
+
+    // opens a connection to file and reads the schema version, the work getWritableDatabase() does
+    // when the helper has no open connection
+    private static Connection open(File file) throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+        try (Statement statement = connection.createStatement()) {
+            // Android's enableWriteAheadLogging() runs WAL with synchronous=NORMAL
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+            try (ResultSet result = statement.executeQuery("PRAGMA user_version")) {
+                int version = result.next() ? result.getInt(1) : 0;
+                if (version != 0 && version != VERSION) {
+                    throw new SQLException("Unexpected schema version " + version);
+                }
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    Connection getConnection() {
+        return mConnection;
+    }
+
+    // closes the connection and opens a new one to the same file, as every write did before
+    // InventoryDatabase kept one connection open (db.close() after the write, a fresh
+    // getWritableDatabase() on the next call), statements prepared on the old connection are closed
+    Connection reopen() throws SQLException {
+        mConnection.close();
+        mConnection = open(mFile);
+        return mConnection;
+    }
+
+    // name of the row inserted at position index by fill(), unique and mixed case for the NOCASE lookups
+    static String itemName(int index) {
+        return "Item-" + index;
+    }
+
+    // inserts rows items named itemName(0..rows-1), committing every FILL_CHUNK_SIZE rows like importInventory
+    void fill(int rows) throws SQLException {
+        mConnection.setAutoCommit(false);
+        try (PreparedStatement insert = mConnection.prepareStatement(SQL_INSERT_ITEM)) {
+            for (int i = 0; i < rows; i++) {
+                insert.setString(1, itemName(i));
+                insert.setInt(2, i % 100);
+                insert.executeUpdate();
+                if ((i + 1) % FILL_CHUNK_SIZE == 0) {
+                    mConnection.commit();
+                }
+            }
+            mConnection.commit();
+        } finally {
+            mConnection.setAutoCommit(true);
+        }
+        try (Statement statement = mConnection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    // adds locations - 1 locations after the default one and stocks every item in each of them, so each
+    // item has a row in every location, quantities vary per item and location
+    void fillLocations(int locations) throws SQLException {
+        mConnection.setAutoCommit(false);
+        try (Statement statement = mConnection.createStatement()) {
+            for (int i = 2; i <= locations; i++) {
+                statement.execute("INSERT INTO locations (locationname) VALUES ('Location-" + i + "')");
+            }
+            statement.execute("INSERT INTO location_stock (itemid, locationid, quantity)"
+                    + " SELECT inventory._id, locations._id, (inventory._id + locations._id) % 20"
+                    + " FROM inventory, locations WHERE locations._id <> 1");
+            mConnection.commit();
+            statement.execute("ANALYZE");
+        } finally {
+            mConnection.setAutoCommit(true);
+        }
+    }
+
+    // last _id AUTOINCREMENT handed out, 0 if nothing was ever inserted
+    // (not MAX(_id), AUTOINCREMENT never reuses the ids of deleted rows)
+    long lastId() throws SQLException {
+        try (Statement statement = mConnection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT seq FROM sqlite_sequence WHERE name = 'inventory'")) {
+            return result.next() ? result.getLong(1) : 0;
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            mConnection.close();
+        } finally {
+            // the WAL and shared-memory files are left next to the database
+            new File(mFile.getPath() + "-wal").delete();
+            new File(mFile.getPath() + "-shm").delete();
+            mFile.delete();
+        }
+    }
+
+} // end BenchmarkDatabase()
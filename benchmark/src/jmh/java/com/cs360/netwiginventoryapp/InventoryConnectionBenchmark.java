@@ -0,0 +1,104 @@
+package com.cs360.netwiginventoryapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : JMH benchmark for the connection lifecycle, a
+             : workload of 10k quantity edits on a 10k-item table:
+             : - before: the connection is closed after every edit
+             :   and opened again (journal mode, schema version
+             :   check, statement compile) for the next one, as
+             :   InventoryDatabase did when each write ended with
+             :   db.close()
+             : - after: one long-lived connection and a statement
+             :   compiled once, as InventoryDatabase does now
+             :
+             : Both run in WAL mode, so the difference is the
+             : open/close alone. Each iteration is one batch of
+             : EDITS edits, the score is time per batch, divide by
+             : EDITS for the latency of one edit.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = InventoryConnectionBenchmark.EDITS)
+@Measurement(iterations = 5, batchSize = InventoryConnectionBenchmark.EDITS)
+public class InventoryConnectionBenchmark {
+
+    static final int EDITS = 10_000;
+    private static final int ROWS = 10_000;
+
+    private BenchmarkDatabase mDatabase;
+    private PreparedStatement mAdjust;
+
+    private long mMaxId;
+    private long mNext;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mDatabase = BenchmarkDatabase.create();
+        mDatabase.fill(ROWS);
+        mMaxId = mDatabase.lastId();
+        mAdjust = mDatabase.getConnection().prepareStatement(BenchmarkDatabase.SQL_ADJUST_ITEM_QTY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        mDatabase.close();
+    }
+
+    @Benchmark
+    public int editLongLivedConnection() throws SQLException {
+        return adjust(mAdjust);
+    }
+
+    @Benchmark
+    public int editReopenedConnection() throws SQLException {
+        Connection connection = mDatabase.reopen();
+        try (PreparedStatement adjust = connection.prepareStatement(BenchmarkDatabase.SQL_ADJUST_ITEM_QTY)) {
+            return adjust(adjust);
+        }
+    }
+
+    // +1 on even passes and -1 on odd ones, floor 0 like a normal sale, as in InventoryReadBenchmark
+    private int adjust(PreparedStatement adjust) throws SQLException {
+        adjust.setInt(1, (pass() & 1) == 0 ? 1 : -1);
+        adjust.setLong(2, nextId());
+        adjust.setLong(3, 0);
+        return adjust.executeUpdate();
+    }
+
+    // number of complete passes nextId() has made over the table
+    private long pass() {
+        return mNext / mMaxId;
+    }
+
+    // walks the ids with a prime stride so consecutive edits land on different pages
+    private long nextId() {
+        return (mNext++ * 7919L) % mMaxId + 1;
+    }
+
+} // end InventoryConnectionBenchmark()
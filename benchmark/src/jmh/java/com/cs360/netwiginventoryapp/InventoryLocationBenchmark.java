@@ -0,0 +1,185 @@
+package com.cs360.netwiginventoryapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : JMH benchmarks for multi-location stock, 10k items
+             : stocked in every one of 1, 10 or 50 locations:
+             : - full totals read from the trigger-maintained
+             :   inventory.itemquantity vs a SUM ... GROUP BY over
+             :   location_stock, the aggregate the triggers replace
+             : - one page of a single location's stock
+             : - adjusting one location's quantity (which also
+             :   updates the item's total) vs adjusting the total
+             :
+             : Adjusts alternate +1/-1 from pass to pass as in
+             : InventoryReadBenchmark, so every call changes a row
+             : and pays for the trigger work.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InventoryLocationBenchmark {
+
+    private static final int ROWS = 10_000;
+    // rows per page of the grid, InventoryRepository.DEFAULT_PAGE_SIZE
+    private static final int PAGE_SIZE = 100;
+
+    // the aggregate the maintained total replaces: every item's quantity summed over its locations
+    private static final String SQL_READ_TOTALS_GROUP_BY = "SELECT inventory._id, inventory.itemname,"
+            + " SUM(location_stock.quantity) FROM inventory JOIN location_stock ON location_stock.itemid = inventory._id"
+            + " GROUP BY inventory._id ORDER BY inventory._id";
+
+    @Param({ "1", "10", "50" })
+    public int locations;
+
+    private BenchmarkDatabase mDatabase;
+    private PreparedStatement mReadTotals;
+    private PreparedStatement mReadTotalsGroupBy;
+    private PreparedStatement mLocationPage;
+    private PreparedStatement mInsertStock;
+    private PreparedStatement mAdjustStock;
+    private PreparedStatement mAdjustTotal;
+
+    private long mMaxId;
+    private long mNext;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mDatabase = BenchmarkDatabase.create();
+        mDatabase.fill(ROWS);
+        mDatabase.fillLocations(locations);
+        mMaxId = mDatabase.lastId();
+
+        mReadTotals = mDatabase.getConnection().prepareStatement(BenchmarkDatabase.SQL_READ_INVENTORY);
+        mReadTotalsGroupBy = mDatabase.getConnection().prepareStatement(SQL_READ_TOTALS_GROUP_BY);
+        mLocationPage = mDatabase.getConnection().prepareStatement(BenchmarkDatabase.SQL_LOCATION_PAGE_AFTER);
+        mInsertStock = mDatabase.getConnection().prepareStatement(BenchmarkDatabase.SQL_INSERT_LOCATION_STOCK);
+        mAdjustStock = mDatabase.getConnection().prepareStatement(BenchmarkDatabase.SQL_ADJUST_LOCATION_QTY);
+        mAdjustTotal = mDatabase.getConnection().prepareStatement(BenchmarkDatabase.SQL_ADJUST_ITEM_QTY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        mDatabase.close();
+    }
+
+    /*
+     ***************************************
+     * *   Totals
+     * *************************************
+     */
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public InventoryItemStore readTotalsMaintained() throws SQLException {
+        return readTotals(mReadTotals);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public InventoryItemStore readTotalsGroupBy() throws SQLException {
+        return readTotals(mReadTotalsGroupBy);
+    }
+
+    /*
+     ***************************************
+     * *   One location
+     * *************************************
+     */
+
+    // a page of the last location's stock, starting at a different item each call
+    @Benchmark
+    public long readLocationPage() throws SQLException {
+        mLocationPage.setLong(1, locations);
+        mLocationPage.setLong(2, (mNext++ * 7919L) % (mMaxId - PAGE_SIZE));
+        mLocationPage.setInt(3, PAGE_SIZE);
+        long sum = 0;
+        try (ResultSet result = mLocationPage.executeQuery()) {
+            while (result.next()) {
+                sum += result.getLong(1) + result.getString(2).length() + result.getInt(3);
+            }
+        }
+        return sum;
+    }
+
+    /*
+     ***************************************
+     * *   Writes
+     * *************************************
+     */
+
+    // InventoryDatabase.adjustLocationQuantity(): make sure the row exists, then adjust it, in one transaction
+    @Benchmark
+    public int adjustLocationQuantity() throws SQLException {
+        int delta = (pass() & 1) == 0 ? 1 : -1;
+        long id = nextId();
+        mDatabase.getConnection().setAutoCommit(false);
+        try {
+            mInsertStock.setLong(1, id);
+            mInsertStock.setLong(2, locations);
+            mInsertStock.executeUpdate();
+            mAdjustStock.setLong(1, id);
+            mAdjustStock.setLong(2, locations);
+            mAdjustStock.setInt(3, delta);
+            mAdjustStock.setLong(4, 0);
+            int adjusted = mAdjustStock.executeUpdate();
+            mDatabase.getConnection().commit();
+            return adjusted;
+        } finally {
+            mDatabase.getConnection().setAutoCommit(true);
+        }
+    }
+
+    // InventoryDatabase.adjustInventoryItemQuantity(), the change lands on the default location
+    @Benchmark
+    public int adjustTotalQuantity() throws SQLException {
+        mAdjustTotal.setInt(1, (pass() & 1) == 0 ? 1 : -1);
+        mAdjustTotal.setLong(2, nextId());
+        mAdjustTotal.setLong(3, 0);
+        return mAdjustTotal.executeUpdate();
+    }
+
+    private InventoryItemStore readTotals(PreparedStatement query) throws SQLException {
+        InventoryItemStore inventory = new InventoryItemStore(ROWS);
+        try (ResultSet result = query.executeQuery()) {
+            while (result.next()) {
+                inventory.add(result.getLong(1), result.getString(2), result.getInt(3));
+            }
+        }
+        return inventory;
+    }
+
+    // number of complete passes nextId() has made over the table
+    private long pass() {
+        return mNext / mMaxId;
+    }
+
+    // walks the ids with a prime stride, every id is visited once per pass
+    private long nextId() {
+        return (mNext++ * 7919L) % mMaxId + 1;
+    }
+
+} // end InventoryLocationBenchmark()
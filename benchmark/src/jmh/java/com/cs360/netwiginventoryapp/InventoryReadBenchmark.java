@@ -0,0 +1,189 @@
+package com.cs360.netwiginventoryapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : JMH benchmarks for the inventory read and in-place
+             : update paths, at 1k, 100k and 1M rows:
+             : - item lookup by name, SQL index seek vs InventoryCache
+             : - quantity update and relative adjust by _id
+             : - full table read into an InventoryItemStore
+             : - the original readInventory() + String[] conversion,
+             :   kept as the baseline the store replaced
+             :
+             : Updates walk every row once per pass and alternate
+             : between two values (and +1/-1) from pass to pass, so
+             : each one really changes the row and fires the ledger
+             : trigger, as a user edit would.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InventoryReadBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    private BenchmarkDatabase mDatabase;
+    private PreparedStatement mLookup;
+    private PreparedStatement mUpdate;
+    private PreparedStatement mAdjust;
+    private PreparedStatement mReadAll;
+    private PreparedStatement mReadAllLegacy;
+    private InventoryCache mCache;
+
+    // upper-cased names, so every lookup goes through the case-insensitive path
+    private String[] mLookupNames;
+    private long mMaxId;
+    private long mNext;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mDatabase = BenchmarkDatabase.create();
+        mDatabase.fill(rows);
+        mMaxId = mDatabase.lastId();
+
+        mLookup = mDatabase.getConnection().prepareStatement(BenchmarkDatabase.SQL_ITEM_ID_BY_NAME);
+        mUpdate = mDatabase.getConnection().prepareStatement(BenchmarkDatabase.SQL_UPDATE_ITEM_QTY);
+        mAdjust = mDatabase.getConnection().prepareStatement(BenchmarkDatabase.SQL_ADJUST_ITEM_QTY);
+        mReadAll = mDatabase.getConnection().prepareStatement(BenchmarkDatabase.SQL_READ_INVENTORY);
+        mReadAllLegacy = mDatabase.getConnection().prepareStatement(BenchmarkDatabase.SQL_READ_INVENTORY_LEGACY);
+
+        mCache = new InventoryCache();
+        mCache.load(readInventory());
+
+        // a fixed stride through the table instead of Random, the same rows are hit on every run
+        mLookupNames = new String[1024];
+        for (int i = 0; i < mLookupNames.length; i++) {
+            mLookupNames[i] = BenchmarkDatabase.itemName((int) ((i * 7919L) % rows)).toUpperCase();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        mDatabase.close();
+    }
+
+    /*
+     ***************************************
+     * *   Lookup by name
+     * *************************************
+     */
+
+    @Benchmark
+    public long lookupByNameSql() throws SQLException {
+        mLookup.setString(1, nextName());
+        try (ResultSet result = mLookup.executeQuery()) {
+            return result.next() ? result.getLong(1) : InventoryCache.NOT_FOUND;
+        }
+    }
+
+    @Benchmark
+    public long lookupByNameCache() {
+        return mCache.idOf(nextName());
+    }
+
+    /*
+     ***************************************
+     * *   Update by _id
+     * *************************************
+     */
+
+    @Benchmark
+    public int updateQuantity() throws SQLException {
+        mUpdate.setInt(1, 1000 + (int) (pass() & 1));
+        mUpdate.setLong(2, nextId());
+        return mUpdate.executeUpdate();
+    }
+
+    @Benchmark
+    public int adjustQuantity() throws SQLException {
+        // +1 on even passes and -1 on odd ones, floor 0 like a normal sale
+        mAdjust.setInt(1, (pass() & 1) == 0 ? 1 : -1);
+        mAdjust.setLong(2, nextId());
+        mAdjust.setLong(3, 0);
+        return mAdjust.executeUpdate();
+    }
+
+    /*
+     ***************************************
+     * *   Full table read
+     * *************************************
+     */
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public InventoryItemStore readInventoryStore() throws SQLException {
+        return readInventory();
+    }
+
+    // readInventory() and InventoryActivity.loadInventoryTable() before the columnar store: alternating
+    // name/quantity Strings in an ArrayList, then copied into a String[] for the adapter
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String[] readInventoryLegacyStringArray() throws SQLException {
+        List<String> inventory = new ArrayList<String>();
+        try (ResultSet result = mReadAllLegacy.executeQuery()) {
+            while (result.next()) {
+                inventory.add(result.getString(2));
+                inventory.add(result.getString(3));
+            }
+        }
+        String[] inventory_arr = new String[inventory.size()];
+        for (int i = 0; i < inventory.size(); i++) {
+            inventory_arr[i] = inventory.get(i);
+        }
+        return inventory_arr;
+    }
+
+    // same loop as InventoryDatabase.readInventory()
+    private InventoryItemStore readInventory() throws SQLException {
+        InventoryItemStore inventory = new InventoryItemStore(rows);
+        try (ResultSet result = mReadAll.executeQuery()) {
+            while (result.next()) {
+                inventory.add(result.getLong(1), result.getString(2), result.getInt(3));
+            }
+        }
+        return inventory;
+    }
+
+    private String nextName() {
+        return mLookupNames[(int) (mNext++ & (mLookupNames.length - 1))];
+    }
+
+    // number of complete passes nextId() has made over the table
+    private long pass() {
+        return mNext / mMaxId;
+    }
+
+    // walks the ids with a prime stride so consecutive calls land on different pages, 7919 shares no
+    // factor with the row counts so every id is visited once per pass
+    private long nextId() {
+        return (mNext++ * 7919L) % mMaxId + 1;
+    }
+
+} // end InventoryReadBenchmark()
@@ -0,0 +1,98 @@
+package com.cs360.netwiginventoryapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : JMH benchmarks for repeated item lookups by name,
+             : at 1k and 100k rows:
+             : - the string-built query InventoryDatabase passed to
+             :   rawQuery() before the statement cache, a new SQL
+             :   string per name that SQLite parses and plans on
+             :   every call
+             : - the same query compiled once and re-bound for each
+             :   name, as the StatementCache does
+             :
+             : Both seek the same COLLATE NOCASE index and read the
+             : same row, so the difference is the compile alone.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InventoryStatementBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int rows;
+
+    private BenchmarkDatabase mDatabase;
+    private Statement mStatement;
+    private PreparedStatement mLookup;
+
+    // upper-cased names, so every lookup goes through the case-insensitive path
+    private String[] mLookupNames;
+    private long mNext;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mDatabase = BenchmarkDatabase.create();
+        mDatabase.fill(rows);
+
+        mStatement = mDatabase.getConnection().createStatement();
+        mLookup = mDatabase.getConnection().prepareStatement(BenchmarkDatabase.SQL_ITEM_BY_NAME);
+
+        // a fixed stride through the table instead of Random, the same rows are hit on every run
+        mLookupNames = new String[1024];
+        for (int i = 0; i < mLookupNames.length; i++) {
+            mLookupNames[i] = BenchmarkDatabase.itemName((int) ((i * 7919L) % rows)).toUpperCase();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        mDatabase.close();
+    }
+
+    // the original inventoryItemLookup() query, name concatenated in double quotes as it was
+    @Benchmark
+    public long lookupStringBuilt() throws SQLException {
+        String sql = "SELECT * FROM inventory WHERE itemname = \"" + nextName() + "\" COLLATE NOCASE";
+        try (ResultSet result = mStatement.executeQuery(sql)) {
+            return result.next() ? result.getLong(1) : InventoryCache.NOT_FOUND;
+        }
+    }
+
+    @Benchmark
+    public long lookupPrepared() throws SQLException {
+        mLookup.setString(1, nextName());
+        try (ResultSet result = mLookup.executeQuery()) {
+            return result.next() ? result.getLong(1) : InventoryCache.NOT_FOUND;
+        }
+    }
+
+    private String nextName() {
+        return mLookupNames[(int) (mNext++ & (mLookupNames.length - 1))];
+    }
+
+} // end InventoryStatementBenchmark()
@@ -0,0 +1,124 @@
+package com.cs360.netwiginventoryapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : JMH benchmarks for single-row insert and delete on a
+             : table of 1k, 100k and 1M rows, each in its own
+             : autocommit transaction like addInventoryItem() and
+             : deleteInventoryItem().
+             :
+             : Each iteration runs a fixed batch of BATCH calls, and
+             : the rows it added (or the rows it deletes) are put
+             : back or created outside the measured time, so the
+             : table is the requested size at the start of every
+             : iteration. The score is time per batch, divide by
+             : BATCH for time per row.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = InventoryWriteBenchmark.BATCH)
+@Measurement(iterations = 10, batchSize = InventoryWriteBenchmark.BATCH)
+public class InventoryWriteBenchmark {
+
+    static final int BATCH = 1000;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int rows;
+
+    private BenchmarkDatabase mDatabase;
+    private PreparedStatement mInsert;
+    private PreparedStatement mDelete;
+
+    // first _id of the rows added for (or by) the current iteration
+    private long mFirstBatchId;
+    private long mNextDeleteId;
+    private int mInserted;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mDatabase = BenchmarkDatabase.create();
+        mDatabase.fill(rows);
+        mInsert = mDatabase.getConnection().prepareStatement(BenchmarkDatabase.SQL_INSERT_ITEM);
+        mDelete = mDatabase.getConnection().prepareStatement(BenchmarkDatabase.SQL_DELETE_ITEM);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        mDatabase.close();
+    }
+
+    // for deleteItem(), adds the BATCH rows it removes in this iteration, in one transaction outside the timing
+    @Setup(Level.Iteration)
+    public void addBatchRows(BenchmarkParams params) throws SQLException {
+        mFirstBatchId = mDatabase.lastId() + 1;
+        mNextDeleteId = mFirstBatchId;
+        mInserted = 0;
+        if (!params.getBenchmark().endsWith(".deleteItem")) {
+            return;
+        }
+
+        mDatabase.getConnection().setAutoCommit(false);
+        try {
+            for (int i = 0; i < BATCH; i++) {
+                insertRow();
+            }
+            mDatabase.getConnection().commit();
+        } finally {
+            mDatabase.getConnection().setAutoCommit(true);
+        }
+    }
+
+    // removes whatever the iteration left past the original rows, so the next one starts at the same size
+    @TearDown(Level.Iteration)
+    public void removeBatchRows() throws SQLException {
+        try (Statement statement = mDatabase.getConnection().createStatement()) {
+            statement.executeUpdate("DELETE FROM inventory WHERE _id >= " + mFirstBatchId);
+        }
+    }
+
+    @Benchmark
+    public int insertItem() throws SQLException {
+        return insertRow();
+    }
+
+    @Benchmark
+    public int deleteItem() throws SQLException {
+        mDelete.setLong(1, mNextDeleteId++);
+        return mDelete.executeUpdate();
+    }
+
+    // names continue past the filled rows so the NOCASE index sees new keys, not duplicates
+    private int insertRow() throws SQLException {
+        mInsert.setString(1, BenchmarkDatabase.itemName(rows + mInserted++));
+        mInsert.setInt(2, 1);
+        return mInsert.executeUpdate();
+    }
+
+} // end InventoryWriteBenchmark()
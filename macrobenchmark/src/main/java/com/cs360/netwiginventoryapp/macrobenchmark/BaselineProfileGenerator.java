@@ -0,0 +1,61 @@
+package com.cs360.netwiginventoryapp.macrobenchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import kotlin.Unit;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Generates the Baseline Profile shipped in
+             : app/src/main/baseline-prof.txt.
+             :
+             : Walks the cold start path a user takes every day:
+             : login screen, login (user and password lookups),
+             : first page of the inventory grid, then a few flings
+             : so the paging and bind code is included too.
+             :
+             : Needs a rooted device or emulator (API 28+) or any
+             : API 33+ image. Run
+             :   gradle :macrobenchmark:connectedBenchmarkAndroidTest
+             :     -Pandroid.testInstrumentationRunnerArguments.class=
+             :     com.cs360.netwiginventoryapp.macrobenchmark.BaselineProfileGenerator
+             : then copy the *-baseline-prof.txt it reports over
+             : app/src/main/baseline-prof.txt.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    @Rule
+    public BaselineProfileRule mBaselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void startup() {
+        mBaselineProfileRule.collectBaselineProfile(InventoryFlows.PACKAGE_NAME, scope -> {
+            try {
+                InventoryFlows.seedInventory(scope.getDevice());
+            } catch (IOException e) {
+                throw new AssertionError("Could not seed the inventory table", e);
+            }
+            scope.pressHome();
+            InventoryFlows.startLogin(scope);
+            InventoryFlows.login(scope.getDevice());
+            InventoryFlows.scrollGrid(scope.getDevice());
+            return Unit.INSTANCE;
+        });
+    }
+
+} // end BaselineProfileGenerator()
@@ -0,0 +1,100 @@
+package com.cs360.netwiginventoryapp.macrobenchmark;
+
+import android.content.Intent;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.BySelector;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import java.io.IOException;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : User journeys shared by the macrobenchmarks and the
+             : Baseline Profile generator, driven through UiAutomator
+             : against the app's benchmark build.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+final class InventoryFlows {
+
+    static final String PACKAGE_NAME = "com.cs360.netwiginventoryapp";
+    // rows seeded before every run, a few screens' worth of grid to scroll through
+    static final int SEED_ROWS = 5000;
+
+    static final String USER_NAME = "benchmark";
+    static final String PASSWORD = "benchmark";
+
+    private static final long TIMEOUT_MS = 10_000;
+    private static final BySelector GRID = By.res(PACKAGE_NAME, "inventory_recycler");
+
+    private InventoryFlows() {
+    }
+
+    // fills the inventory table through the benchmark build's BenchmarkSeedReceiver, rows that already
+    // exist are skipped, am broadcast returns once the import has committed
+    static void seedInventory(UiDevice device) throws IOException {
+        device.executeShellCommand("am broadcast --ei rows " + SEED_ROWS
+                + " -n " + PACKAGE_NAME + "/.BenchmarkSeedReceiver");
+    }
+
+    // starts InventoryActivity directly (exported in the benchmark build only) and waits for the grid
+    static void startInventory(MacrobenchmarkScope scope) {
+        Intent intent = new Intent();
+        intent.setClassName(PACKAGE_NAME, PACKAGE_NAME + ".InventoryActivity");
+        scope.startActivityAndWait(intent);
+        waitForGrid(scope.getDevice());
+    }
+
+    // starts the app from its launcher activity, the login screen
+    static void startLogin(MacrobenchmarkScope scope) {
+        Intent intent = new Intent(Intent.ACTION_MAIN);
+        intent.addCategory(Intent.CATEGORY_LAUNCHER);
+        intent.setPackage(PACKAGE_NAME);
+        scope.startActivityAndWait(intent);
+    }
+
+    // logs in from the login screen (creating the account on the first run) and waits for the grid
+    static void login(UiDevice device) {
+        device.wait(Until.hasObject(By.res(PACKAGE_NAME, "username")), TIMEOUT_MS);
+        device.findObject(By.res(PACKAGE_NAME, "username")).setText(USER_NAME);
+        device.findObject(By.res(PACKAGE_NAME, "password")).setText(PASSWORD);
+        device.findObject(By.res(PACKAGE_NAME, "loginText")).click();
+
+        // first run only, "Do you want to create a new account" dialog
+        UiObject2 yes = device.wait(Until.findObject(By.res("android", "button1")), 2_000);
+        if (yes != null) {
+            yes.click();
+        }
+        waitForGrid(device);
+    }
+
+    // flings the grid down a few screens and back up, waiting for each fling to settle
+    static void scrollGrid(UiDevice device) {
+        UiObject2 grid = device.findObject(GRID);
+        // keeps the gesture clear of the system navigation areas
+        grid.setGestureMargin(device.getDisplayWidth() / 5);
+        for (int i = 0; i < 3; i++) {
+            grid.fling(Direction.DOWN);
+            device.waitForIdle();
+        }
+        grid.fling(Direction.UP);
+        device.waitForIdle();
+    }
+
+    private static void waitForGrid(UiDevice device) {
+        if (!device.wait(Until.hasObject(GRID), TIMEOUT_MS)) {
+            throw new AssertionError("Inventory grid not shown within " + TIMEOUT_MS + " ms");
+        }
+    }
+
+} // end InventoryFlows()
@@ -0,0 +1,80 @@
+package com.cs360.netwiginventoryapp.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.UiDevice;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import kotlin.Unit;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Scroll jank benchmark for the inventory grid.
+             : Flings through the seeded rows while paging loads
+             : new pages and reports frame durations (frameCpuTimeMs
+             : and frameOverrunMs percentiles), with and without the
+             : Baseline Profile.
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+@RunWith(Parameterized.class)
+public class ScrollBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> compilationModes() {
+        return Arrays.asList(
+                new Object[] { new CompilationMode.None() },
+                new Object[] { new CompilationMode.Partial() });
+    }
+
+    @Rule
+    public MacrobenchmarkRule mBenchmarkRule = new MacrobenchmarkRule();
+
+    private final CompilationMode mCompilationMode;
+
+    public ScrollBenchmark(CompilationMode compilationMode) {
+        this.mCompilationMode = compilationMode;
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        InventoryFlows.seedInventory(UiDevice.getInstance(InstrumentationRegistry.getInstrumentation()));
+    }
+
+    @Test
+    public void scrollInventory() {
+        mBenchmarkRule.measureRepeated(InventoryFlows.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                mCompilationMode, StartupMode.WARM, ITERATIONS,
+                // opening the grid is not measured, only the flings
+                scope -> {
+                    InventoryFlows.startInventory(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    InventoryFlows.scrollGrid(scope.getDevice());
+                    return Unit.INSTANCE;
+                });
+    }
+
+} // end ScrollBenchmark()
@@ -0,0 +1,104 @@
+package com.cs360.netwiginventoryapp.macrobenchmark;
+
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.UiDevice;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import kotlin.Unit;
+
+/*******************************************************************
+ Author      : Chad Netwig
+ App Name    : Chad's Inventory App
+ Version     : 1.0
+ Date        : October 18, 2026
+             :
+ Description : Cold start benchmarks for the login screen and the
+             : inventory grid.
+             :
+             : startInventory reports time to initial display and
+             : time to full display, InventoryActivity calls
+             : reportFullyDrawn() once the first page of the grid is
+             : on screen.
+             :
+             : Each test runs under three compilation modes so the
+             : gain from the Baseline Profile can be read straight
+             : off the results:
+             : - None: interpreted/JIT only, a fresh install
+             : - Partial: AOT compiled from src/main/baseline-prof.txt
+             : - Full: everything AOT compiled, the upper bound
+             :
+             : Comments have been added throughout to explain logic
+********************************************************************/
+
+@RunWith(Parameterized.class)
+public class StartupBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> compilationModes() {
+        return Arrays.asList(
+                new Object[] { new CompilationMode.None() },
+                new Object[] { new CompilationMode.Partial() },
+                new Object[] { new CompilationMode.Full() });
+    }
+
+    @Rule
+    public MacrobenchmarkRule mBenchmarkRule = new MacrobenchmarkRule();
+
+    private final CompilationMode mCompilationMode;
+
+    public StartupBenchmark(CompilationMode compilationMode) {
+        this.mCompilationMode = compilationMode;
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        InventoryFlows.seedInventory(UiDevice.getInstance(InstrumentationRegistry.getInstrumentation()));
+    }
+
+    @Test
+    public void startLogin() {
+        mBenchmarkRule.measureRepeated(InventoryFlows.PACKAGE_NAME,
+                Collections.singletonList(new StartupTimingMetric()),
+                mCompilationMode, StartupMode.COLD, ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    InventoryFlows.startLogin(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+
+    @Test
+    public void startInventory() {
+        mBenchmarkRule.measureRepeated(InventoryFlows.PACKAGE_NAME,
+                Collections.singletonList(new StartupTimingMetric()),
+                mCompilationMode, StartupMode.COLD, ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    InventoryFlows.startInventory(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+
+} // end StartupBenchmark()